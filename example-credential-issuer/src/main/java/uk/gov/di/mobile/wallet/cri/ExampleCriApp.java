@@ -74,17 +74,20 @@ public class ExampleCriApp extends Application<ConfigurationService> {
         environment
                 .jersey()
                 .register(
-                        new MetadataResource(configurationService, services.getMetadataBuilder()));
+                        new MetadataResource(
+                                configurationService, services.getMetadataBuilder(), objectMapper));
         environment
                 .jersey()
                 .register(new CredentialResource(services.getCredentialService(), objectMapper));
-        environment.jersey().register(new DidDocumentResource(services.getDidDocumentService()));
+        environment
+                .jersey()
+                .register(new DidDocumentResource(services.getDidDocumentService(), objectMapper));
         environment.jersey().register(new JwksResource(services.getJwksService()));
         environment
                 .jersey()
                 .register(
                         new NotificationResource(services.getNotificationService(), objectMapper));
-        environment.jersey().register(new IacasResource(services.getIacasService()));
+        environment.jersey().register(new IacasResource(services.getIacasService(), objectMapper));
         environment.jersey().register(new RevokeResource(services.getRevokeService()));
         environment.jersey().register(new LogoResource());
     }
@@ -11,7 +11,7 @@ import uk.gov.di.mobile.wallet.cri.notification.NotificationService;
 import uk.gov.di.mobile.wallet.cri.revoke.RevokeService;
 import uk.gov.di.mobile.wallet.cri.services.JwksService;
 import uk.gov.di.mobile.wallet.cri.services.data_storage.DynamoDbService;
-import uk.gov.di.mobile.wallet.cri.services.signing.KmsService;
+import uk.gov.di.mobile.wallet.cri.services.signing.KeyProvider;
 
 /**
  * Container for all core application services.
@@ -20,7 +20,7 @@ import uk.gov.di.mobile.wallet.cri.services.signing.KmsService;
  */
 @Getter
 public class Services {
-    private final KmsService kmsService;
+    private final KeyProvider keyProvider;
     private final DynamoDbService dynamoDbService;
     private final PreAuthorizedCodeBuilder preAuthorizedCodeBuilder;
     private final CredentialOfferService credentialOfferService;
@@ -33,7 +33,7 @@ public class Services {
     private final RevokeService revokeService;
 
     private Services(Builder builder) {
-        this.kmsService = builder.kmsService;
+        this.keyProvider = builder.keyProvider;
         this.dynamoDbService = builder.dynamoDbService;
         this.preAuthorizedCodeBuilder = builder.preAuthorizedCodeBuilder;
         this.credentialOfferService = builder.credentialOfferService;
@@ -48,7 +48,7 @@ public class Services {
 
     /** Builder for {@link Services}. */
     public static class Builder {
-        private KmsService kmsService;
+        private KeyProvider keyProvider;
         private DynamoDbService dynamoDbService;
         private PreAuthorizedCodeBuilder preAuthorizedCodeBuilder;
         private CredentialOfferService credentialOfferService;
@@ -60,8 +60,8 @@ public class Services {
         private IacasService iacasService;
         private RevokeService revokeService;
 
-        public Builder kmsService(KmsService kmsService) {
-            this.kmsService = kmsService;
+        public Builder keyProvider(KeyProvider keyProvider) {
+            this.keyProvider = keyProvider;
             return this;
         }
 
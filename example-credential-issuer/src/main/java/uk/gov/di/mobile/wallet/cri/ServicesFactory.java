@@ -5,22 +5,27 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.io.Resources;
 import io.dropwizard.client.JerseyClientBuilder;
 import io.dropwizard.core.setup.Environment;
+import io.dropwizard.lifecycle.AutoCloseableManager;
 import jakarta.ws.rs.client.Client;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.http.auth.aws.signer.AwsV4HttpSigner;
 import uk.gov.di.mobile.wallet.cri.annotations.ExcludeFromGeneratedCoverageReport;
-import uk.gov.di.mobile.wallet.cri.credential.CredentialHandlerFactory;
+import uk.gov.di.mobile.wallet.cri.credential.CredentialHandlerRegistry;
 import uk.gov.di.mobile.wallet.cri.credential.CredentialService;
 import uk.gov.di.mobile.wallet.cri.credential.CredentialType;
 import uk.gov.di.mobile.wallet.cri.credential.DocumentStoreClient;
 import uk.gov.di.mobile.wallet.cri.credential.SigV4RequestFilter;
 import uk.gov.di.mobile.wallet.cri.credential.StatusListClient;
+import uk.gov.di.mobile.wallet.cri.credential.StatusListIndexPool;
+import uk.gov.di.mobile.wallet.cri.credential.StatusListIndexProvider;
 import uk.gov.di.mobile.wallet.cri.credential.StatusListRequestTokenBuilder;
 import uk.gov.di.mobile.wallet.cri.credential.jwt.CredentialBuilder;
+import uk.gov.di.mobile.wallet.cri.credential.jwt.basic_check_credential.BasicCheckCredentialHandler;
 import uk.gov.di.mobile.wallet.cri.credential.jwt.basic_check_credential.BasicCheckCredentialSubject;
+import uk.gov.di.mobile.wallet.cri.credential.jwt.digital_veteran_card.DigitalVeteranCardHandler;
 import uk.gov.di.mobile.wallet.cri.credential.jwt.digital_veteran_card.VeteranCardCredentialSubject;
+import uk.gov.di.mobile.wallet.cri.credential.jwt.social_security_credential.SocialSecurityCredentialHandler;
 import uk.gov.di.mobile.wallet.cri.credential.jwt.social_security_credential.SocialSecurityCredentialSubject;
-import uk.gov.di.mobile.wallet.cri.credential.mdoc.DigestIDGenerator;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.IssuerSignedFactory;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.IssuerSignedItemFactory;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.MdocCredentialBuilder;
@@ -33,7 +38,9 @@ import uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor.JacksonCBOREncoderProvid
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.cose.COSEKeyFactory;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.cose.COSESigner;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.mobile_driving_licence.DrivingLicenceDocument;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.mobile_driving_licence.MobileDrivingLicenceHandler;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.simple_mdoc.SimpleDocument;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.simple_mdoc.SimpleMdocHandler;
 import uk.gov.di.mobile.wallet.cri.credential.proof.ProofJwtService;
 import uk.gov.di.mobile.wallet.cri.credential.util.CredentialExpiryCalculator;
 import uk.gov.di.mobile.wallet.cri.credential_offer.CredentialOfferService;
@@ -43,20 +50,32 @@ import uk.gov.di.mobile.wallet.cri.iacas.IacasService;
 import uk.gov.di.mobile.wallet.cri.metadata.MetadataBuilder;
 import uk.gov.di.mobile.wallet.cri.notification.NotificationService;
 import uk.gov.di.mobile.wallet.cri.revoke.RevokeService;
+import uk.gov.di.mobile.wallet.cri.services.AwsClientFactory;
 import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 import uk.gov.di.mobile.wallet.cri.services.JwksService;
 import uk.gov.di.mobile.wallet.cri.services.authentication.AccessTokenService;
+import uk.gov.di.mobile.wallet.cri.services.authentication.VerifiedAccessTokenCache;
 import uk.gov.di.mobile.wallet.cri.services.certificate.CertificateProvider;
 import uk.gov.di.mobile.wallet.cri.services.data_storage.DynamoDbService;
 import uk.gov.di.mobile.wallet.cri.services.object_storage.S3Service;
+import uk.gov.di.mobile.wallet.cri.services.signing.AsyncSignLimiter;
+import uk.gov.di.mobile.wallet.cri.services.signing.KeyProvider;
 import uk.gov.di.mobile.wallet.cri.services.signing.KmsService;
+import uk.gov.di.mobile.wallet.cri.services.signing.LocalKeyProvider;
+import uk.gov.di.mobile.wallet.cri.services.signing.PublicKeyCache;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyPool;
 
 import java.io.IOException;
 import java.net.URL;
-import java.security.MessageDigest;
+import java.nio.file.Path;
 import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Factory for creating and wiring all application services.
@@ -81,16 +100,40 @@ public class ServicesFactory {
             ConfigurationService configurationService, Environment environment)
             throws NoSuchAlgorithmException {
 
-        KmsService kmsService = new KmsService(KmsService.getClient(configurationService));
+        AwsClientFactory awsClientFactory = new AwsClientFactory(configurationService);
+        environment.lifecycle().manage(new AutoCloseableManager(awsClientFactory));
+
+        // Background refreshes of the in-memory caches run here rather than on the common pool,
+        // where a slow KMS, S3 or JWKS call would hold up unrelated work
+        ExecutorService cacheRefreshExecutor =
+                environment
+                        .lifecycle()
+                        .executorService("cache-refresh-%d")
+                        .minThreads(2)
+                        .maxThreads(2)
+                        .build();
+
+        KeyProvider keyProvider =
+                createKeyProvider(
+                        configurationService,
+                        environment,
+                        awsClientFactory,
+                        cacheRefreshExecutor);
+        SigningKeyPool signingKeyPool =
+                createSigningKeyPool(
+                        configurationService, configurationService.getSigningKeyAliases());
+        SigningKeyPool documentSigningKeyPool =
+                createSigningKeyPool(
+                        configurationService, configurationService.getDocumentSigningKeyArns());
         PreAuthorizedCodeBuilder preAuthorizedCodeBuilder =
-                new PreAuthorizedCodeBuilder(configurationService, kmsService);
+                new PreAuthorizedCodeBuilder(configurationService, keyProvider, signingKeyPool);
 
         CredentialOfferService credentialOfferService =
                 new CredentialOfferService(configurationService, preAuthorizedCodeBuilder);
 
         DynamoDbService dynamoDbService =
                 new DynamoDbService(
-                        DynamoDbService.getClient(configurationService),
+                        awsClientFactory.createDynamoDbClient(),
                         configurationService.getCredentialOfferCacheTableName(),
                         configurationService.getCredentialStoreTableName());
 
@@ -101,50 +144,67 @@ public class ServicesFactory {
                         .using(configurationService.getHttpClient())
                         .build("example-cri");
 
-        JwksService jwksService = new JwksService(configurationService, kmsService);
+        PublicKeyCache publicKeyCache =
+                new PublicKeyCache(keyProvider, configurationService, cacheRefreshExecutor);
+        JwksService jwksService =
+                new JwksService(
+                        configurationService,
+                        publicKeyCache,
+                        cacheRefreshExecutor,
+                        environment.metrics());
 
         Set<String> supportedCredentialConfigurationIds = loadSupportedCredentialConfigurationIds();
 
         AccessTokenService accessTokenService =
                 new AccessTokenService(
-                        jwksService, configurationService, supportedCredentialConfigurationIds);
+                        jwksService,
+                        configurationService,
+                        supportedCredentialConfigurationIds,
+                        new VerifiedAccessTokenCache(
+                                configurationService.getVerifiedAccessTokenCacheMaximumSize(),
+                                Duration.ofSeconds(
+                                        configurationService
+                                                .getVerifiedAccessTokenCacheMaximumTtlInSecs()),
+                                Clock.systemUTC(),
+                                environment.metrics()));
         ProofJwtService proofJwtService = new ProofJwtService(configurationService);
 
         CBOREncoder cborEncoder =
                 new CBOREncoder(JacksonCBOREncoderProvider.configuredCBORMapper());
-        IssuerSignedItemFactory issuerSignedItemFactory =
-                new IssuerSignedItemFactory(new DigestIDGenerator());
-        ValueDigestsFactory valueDigestsFactory =
-                new ValueDigestsFactory(cborEncoder, MessageDigest.getInstance("SHA-256"));
+        IssuerSignedItemFactory issuerSignedItemFactory = new IssuerSignedItemFactory();
+        ValueDigestsFactory valueDigestsFactory = new ValueDigestsFactory("SHA-256");
         ValidityInfoFactory validityInfoFactory = new ValidityInfoFactory();
         COSEKeyFactory coseKeyFactory = new COSEKeyFactory();
         MobileSecurityObjectFactory mobileSecurityObjectFactory =
                 new MobileSecurityObjectFactory(
                         valueDigestsFactory, validityInfoFactory, coseKeyFactory);
-        COSESigner coseSigner =
-                new COSESigner(
-                        cborEncoder, kmsService, configurationService.getDocumentSigningKey1Arn());
-        S3Service s3Service = new S3Service(S3Service.getClient(configurationService));
+        COSESigner coseSigner = new COSESigner(cborEncoder, keyProvider, documentSigningKeyPool);
+        S3Service s3Service = new S3Service(awsClientFactory.createS3Client());
         CertificateProvider certificateProvider =
                 new CertificateProvider(
-                        s3Service, configurationService.getCertificatesBucketName());
+                        s3Service,
+                        configurationService.getCertificatesBucketName(),
+                        Duration.ofSeconds(
+                                configurationService.getCertificateRefreshIntervalInSecs()),
+                        cacheRefreshExecutor,
+                        Clock.systemUTC(),
+                        environment.metrics());
         IssuerSignedFactory issuerSignedFactory =
                 new IssuerSignedFactory(
                         mobileSecurityObjectFactory,
                         cborEncoder,
                         coseSigner,
-                        certificateProvider,
-                        configurationService.getDocumentSigningKey1Arn());
+                        certificateProvider);
 
         DocumentStoreClient documentStoreClient =
                 new DocumentStoreClient(configurationService, httpClient);
 
         CredentialBuilder<BasicCheckCredentialSubject> basicCheckCredentialBuilder =
-                new CredentialBuilder<>(configurationService, kmsService);
+                new CredentialBuilder<>(configurationService, keyProvider, signingKeyPool);
         CredentialBuilder<SocialSecurityCredentialSubject> socialSecurityCredentialBuilder =
-                new CredentialBuilder<>(configurationService, kmsService);
+                new CredentialBuilder<>(configurationService, keyProvider, signingKeyPool);
         CredentialBuilder<VeteranCardCredentialSubject> digitalVeteranCardCredentialBuilder =
-                new CredentialBuilder<>(configurationService, kmsService);
+                new CredentialBuilder<>(configurationService, keyProvider, signingKeyPool);
 
         NamespacesFactory<DrivingLicenceDocument> drivingLicenceNamespacesFactory =
                 new NamespacesFactory<>(issuerSignedItemFactory);
@@ -164,16 +224,30 @@ public class ServicesFactory {
                         issuerSignedFactory,
                         CredentialType.SIMPLE_MDOC.getType());
 
-        CredentialHandlerFactory credentialHandlerFactory =
-                new CredentialHandlerFactory(
-                        basicCheckCredentialBuilder,
-                        socialSecurityCredentialBuilder,
-                        digitalVeteranCardCredentialBuilder,
-                        drivingLicenceMdocCredentialBuilder,
-                        simpleDocumentMdocBuilder);
+        CredentialHandlerRegistry credentialHandlerRegistry =
+                new CredentialHandlerRegistry.Builder()
+                        .register(
+                                CredentialType.BASIC_DISCLOSURE_CREDENTIAL,
+                                new BasicCheckCredentialHandler(basicCheckCredentialBuilder))
+                        .register(
+                                CredentialType.SOCIAL_SECURITY_CREDENTIAL,
+                                new SocialSecurityCredentialHandler(
+                                        socialSecurityCredentialBuilder))
+                        .register(
+                                CredentialType.DIGITAL_VETERAN_CARD,
+                                new DigitalVeteranCardHandler(digitalVeteranCardCredentialBuilder))
+                        .register(
+                                CredentialType.MOBILE_DRIVING_LICENCE,
+                                new MobileDrivingLicenceHandler(
+                                        drivingLicenceMdocCredentialBuilder))
+                        .register(
+                                CredentialType.SIMPLE_MDOC,
+                                new SimpleMdocHandler(simpleDocumentMdocBuilder))
+                        .build();
 
         StatusListRequestTokenBuilder statusListRequestTokenBuilder =
-                new StatusListRequestTokenBuilder(configurationService, kmsService);
+                new StatusListRequestTokenBuilder(
+                        configurationService, keyProvider, signingKeyPool);
 
         boolean sigV4Enabled = configurationService.isSigV4Enabled();
         Client statusListHttpClient =
@@ -197,24 +271,33 @@ public class ServicesFactory {
                         accessTokenService,
                         proofJwtService,
                         documentStoreClient,
-                        credentialHandlerFactory,
+                        credentialHandlerRegistry,
                         new CredentialExpiryCalculator(),
-                        statusListClient);
+                        createStatusListIndexProvider(
+                                configurationService, environment, statusListClient),
+                        createIssuanceExecutor(configurationService, environment),
+                        Duration.ofMillis(configurationService.getIssuanceDeadlineInMillis()));
 
         DidDocumentService didDocumentService =
-                new DidDocumentService(configurationService, kmsService);
+                new DidDocumentService(configurationService, publicKeyCache);
 
         NotificationService notificationService =
                 new NotificationService(dynamoDbService, accessTokenService);
 
         IacasService iacasService =
                 new IacasService(
-                        certificateProvider, configurationService.getCertificateAuthorityArn());
+                        certificateProvider,
+                        configurationService.getCertificateAuthorityArn(),
+                        configurationService.getRetiringCertificateAuthorityArns(),
+                        Duration.ofSeconds(
+                                configurationService.getCertificateRefreshIntervalInSecs()),
+                        cacheRefreshExecutor,
+                        Clock.systemUTC());
 
         RevokeService revokeService = new RevokeService(dynamoDbService, statusListClient);
 
         return new Services.Builder()
-                .kmsService(kmsService)
+                .keyProvider(keyProvider)
                 .dynamoDbService(dynamoDbService)
                 .preAuthorizedCodeBuilder(preAuthorizedCodeBuilder)
                 .credentialOfferService(credentialOfferService)
@@ -228,6 +311,109 @@ public class ServicesFactory {
                 .build();
     }
 
+    /**
+     * Creates the provider of the keys credentials and tokens are signed with. Keys are held in KMS
+     * unless the local signing key provider is enabled. When asynchronous signing is enabled, KMS
+     * sign calls made during issuance go through the asynchronous client with a bounded number in
+     * flight.
+     */
+    private static KeyProvider createKeyProvider(
+            ConfigurationService configurationService,
+            Environment environment,
+            AwsClientFactory awsClientFactory,
+            Executor cacheRefreshExecutor) {
+        if (configurationService.isLocalSigningKeyProviderEnabled()) {
+            String keyDirectory = configurationService.getLocalSigningKeyDirectory();
+            return keyDirectory.isEmpty()
+                    ? new LocalKeyProvider()
+                    : new LocalKeyProvider(Path.of(keyDirectory));
+        }
+        if (!configurationService.isAsyncSigningEnabled()) {
+            return new KmsService(
+                    awsClientFactory.createKmsClient(),
+                    Duration.ofSeconds(configurationService.getKeyMetadataCacheTtlInSecs()),
+                    Duration.ofSeconds(configurationService.getKeyMetadataRefreshAheadInSecs()),
+                    cacheRefreshExecutor);
+        }
+        AsyncSignLimiter asyncSignLimiter =
+                new AsyncSignLimiter(
+                        configurationService.getAsyncSigningMaxInFlight(),
+                        configurationService.getAsyncSigningMaxQueued(),
+                        Duration.ofMillis(configurationService.getAsyncSigningTimeoutInMillis()),
+                        environment.metrics(),
+                        "kms.sign");
+        return new KmsService(
+                awsClientFactory.createKmsClient(),
+                awsClientFactory.createKmsAsyncClient(),
+                asyncSignLimiter,
+                Duration.ofSeconds(configurationService.getKeyMetadataCacheTtlInSecs()),
+                Duration.ofSeconds(configurationService.getKeyMetadataRefreshAheadInSecs()),
+                cacheRefreshExecutor);
+    }
+
+    /** Creates a pool that spreads signing across the given keys. */
+    private static SigningKeyPool createSigningKeyPool(
+            ConfigurationService configurationService, List<String> keyAliases) {
+        return new SigningKeyPool(
+                keyAliases,
+                configurationService.isLeastLoadedSigningKeySelectionEnabled()
+                        ? SigningKeyPool.SelectionStrategy.LEAST_LOADED
+                        : SigningKeyPool.SelectionStrategy.ROUND_ROBIN,
+                Duration.ofMillis(configurationService.getSigningKeyThrottleCooldownInMillis()),
+                Clock.systemUTC());
+    }
+
+    /**
+     * Creates the executor that credential issuance steps run on. When concurrent issuance is
+     * disabled every step runs on the request thread.
+     */
+    private static Executor createIssuanceExecutor(
+            ConfigurationService configurationService, Environment environment) {
+        if (!configurationService.isConcurrentIssuanceEnabled()) {
+            return Runnable::run;
+        }
+        int threads = configurationService.getIssuanceThreadPoolSize();
+        return environment
+                .lifecycle()
+                .executorService("credential-issuance-%d")
+                .minThreads(threads)
+                .maxThreads(threads)
+                .build();
+    }
+
+    /**
+     * Creates the provider that credential issuance takes status list indices from. When the index
+     * pool is disabled every index is requested from the status list service on demand.
+     */
+    private static StatusListIndexProvider createStatusListIndexProvider(
+            ConfigurationService configurationService,
+            Environment environment,
+            StatusListClient statusListClient) {
+        if (!configurationService.isStatusListIndexPoolEnabled()) {
+            return statusListClient;
+        }
+        Executor refillExecutor =
+                environment
+                        .lifecycle()
+                        .executorService("status-list-index-pool-%d")
+                        .minThreads(1)
+                        .maxThreads(1)
+                        .build();
+        StatusListIndexPool statusListIndexPool =
+                new StatusListIndexPool(
+                        statusListClient,
+                        Duration.ofSeconds(
+                                configurationService.getStatusListIndexPoolBucketInSecs()),
+                        configurationService.getStatusListIndexPoolLowWaterMark(),
+                        configurationService.getStatusListIndexPoolHighWaterMark(),
+                        refillExecutor,
+                        Clock.systemUTC(),
+                        environment.metrics());
+        // Registered after its executor, so it is stopped first
+        environment.lifecycle().manage(statusListIndexPool);
+        return statusListIndexPool;
+    }
+
     private static Set<String> loadSupportedCredentialConfigurationIds() {
         try {
             URL resource = Resources.getResource("credential_configurations_supported.json");
@@ -6,6 +6,7 @@ import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
 import java.security.cert.CertificateException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface CredentialHandler {
     String buildCredential(
@@ -13,4 +14,40 @@ public interface CredentialHandler {
             ProofJwtService.ProofJwtData proofData,
             Optional<StatusListClient.StatusListInformation> statusListInformation)
             throws SigningException, ObjectStoreException, CertificateException;
+
+    /**
+     * Builds the credential without blocking on the key provider. Handlers that do not override
+     * this build the credential on the calling thread and return a completed future.
+     *
+     * @return A future completed with the credential, or failed with a {@link SigningException} if
+     *     signing fails.
+     */
+    default CompletableFuture<String> buildCredentialAsync(
+            DocumentStoreRecord document,
+            ProofJwtService.ProofJwtData proofData,
+            Optional<StatusListClient.StatusListInformation> statusListInformation)
+            throws ObjectStoreException, CertificateException {
+        try {
+            return CompletableFuture.completedFuture(
+                    buildCredential(document, proofData, statusListInformation));
+        } catch (SigningException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
+    /**
+     * Builds the credential for writing straight into the response body. Handlers that do not
+     * override this build the credential as a string and write it out when the response is sent.
+     *
+     * @return A future completed with the credential, or failed with a {@link SigningException} if
+     *     signing fails.
+     */
+    default CompletableFuture<StreamingCredential> buildStreamingCredentialAsync(
+            DocumentStoreRecord document,
+            ProofJwtService.ProofJwtData proofData,
+            Optional<StatusListClient.StatusListInformation> statusListInformation)
+            throws ObjectStoreException, CertificateException {
+        return buildCredentialAsync(document, proofData, statusListInformation)
+                .thenApply(StreamingCredential::of);
+    }
 }
@@ -0,0 +1,64 @@
+package uk.gov.di.mobile.wallet.cri.credential;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Immutable registry of the handler for each credential type.
+ *
+ * <p>Handlers are stateless, so one handler per credential type is built at startup and shared by
+ * all requests. Use the {@link Builder} to register the handlers; supporting a new credential type
+ * means registering its handler.
+ */
+public class CredentialHandlerRegistry {
+
+    private final Map<CredentialType, CredentialHandler> handlers;
+
+    private CredentialHandlerRegistry(EnumMap<CredentialType, CredentialHandler> handlers) {
+        this.handlers = Collections.unmodifiableMap(new EnumMap<>(handlers));
+    }
+
+    /**
+     * Gets the handler registered for a credential type.
+     *
+     * @param vcType The credential type, as stored in the document store record.
+     * @return The handler for the credential type.
+     * @throws IllegalArgumentException If the credential type is unknown or has no handler.
+     */
+    public CredentialHandler getHandler(String vcType) {
+        CredentialHandler handler = handlers.get(CredentialType.fromType(vcType));
+        if (handler == null) {
+            throw new IllegalArgumentException(
+                    "No handler registered for credential type: " + vcType);
+        }
+        return handler;
+    }
+
+    /** Builder for {@link CredentialHandlerRegistry}. */
+    public static class Builder {
+        private final EnumMap<CredentialType, CredentialHandler> handlers =
+                new EnumMap<>(CredentialType.class);
+
+        /**
+         * Registers the handler for a credential type.
+         *
+         * @param credentialType The credential type.
+         * @param handler The handler for the credential type.
+         * @return This builder.
+         * @throws IllegalArgumentException If a handler is already registered for the type.
+         */
+        public Builder register(CredentialType credentialType, CredentialHandler handler) {
+            if (handlers.putIfAbsent(credentialType, handler) != null) {
+                throw new IllegalArgumentException(
+                        "Handler already registered for credential type: "
+                                + credentialType.getType());
+            }
+            return this;
+        }
+
+        public CredentialHandlerRegistry build() {
+            return new CredentialHandlerRegistry(handlers);
+        }
+    }
+}
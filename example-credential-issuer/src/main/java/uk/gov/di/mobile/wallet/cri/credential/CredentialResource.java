@@ -46,7 +46,9 @@ public class CredentialResource {
             SignedJWT accessToken = parseAuthorizationHeader(authorizationHeader);
             SignedJWT proofJwt = parseRequestBody(payload);
 
-            CredentialResponse credential = credentialService.getCredential(accessToken, proofJwt);
+            // The credential is copied straight into the response body as it is sent
+            StreamingCredentialResponse credential =
+                    credentialService.getStreamingCredential(accessToken, proofJwt);
             return ResponseUtil.ok(credential);
         } catch (Exception exception) {
             LOGGER.error("An error happened trying to create a credential: ", exception);
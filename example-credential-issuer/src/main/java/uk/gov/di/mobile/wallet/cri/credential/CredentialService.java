@@ -1,7 +1,5 @@
 package uk.gov.di.mobile.wallet.cri.credential;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.io.Resources;
 import com.nimbusds.jwt.SignedJWT;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,116 +12,280 @@ import uk.gov.di.mobile.wallet.cri.services.authentication.AccessTokenService;
 import uk.gov.di.mobile.wallet.cri.services.authentication.AccessTokenValidationException;
 import uk.gov.di.mobile.wallet.cri.services.data_storage.DataStore;
 import uk.gov.di.mobile.wallet.cri.services.data_storage.DataStoreException;
-import uk.gov.di.mobile.wallet.cri.services.object_storage.ObjectStoreException;
-import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.security.cert.CertificateException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 
 import static uk.gov.di.mobile.wallet.cri.credential.CredentialType.MOBILE_DRIVING_LICENCE;
 import static uk.gov.di.mobile.wallet.cri.credential.CredentialType.SIMPLE_MDOC;
 
+/**
+ * Issues credentials to the wallet.
+ *
+ * <p>Validation is ordered by cost. The access token and proof JWT headers and claims, and the
+ * nonce they share, are checked on the request thread first, so a malformed or mismatched request
+ * is rejected before any JWKS fetch, did:key resolution or signature verification is made.
+ *
+ * <p>Issuance is then modelled as a dependency graph of steps. Access token and proof JWT signature
+ * verification are independent of each other, so these overlap. Once the request has been
+ * validated, the credential offer is redeemed and its document fetched, followed by the status list
+ * index request and credential build. The steps run on the supplied {@link Executor}: a thread pool
+ * gives concurrent issuance, while a same-thread executor runs every step on the request thread in
+ * order. The credential is signed through the key provider's asynchronous API, which only frees the
+ * issuance thread while KMS signs when ASYNC_SIGNING_ENABLED is set. That is disabled by default,
+ * and the credential is then signed with a blocking KMS call on the issuance thread.
+ *
+ * <p>Failures are reported in the same order as the checks are made, so a request that fails
+ * several checks always maps to the same error, whichever step finished first.
+ */
 public class CredentialService {
 
+    private static final String INTERNAL_ERROR_MESSAGE =
+            "Failed to issue credential due to an internal error";
+
     private final DataStore dataStore;
     private final AccessTokenService accessTokenService;
     private final ProofJwtService proofJwtService;
     private final DocumentStoreClient documentStoreClient;
-    private final CredentialHandlerFactory credentialHandlerFactory;
+    private final CredentialHandlerRegistry credentialHandlerRegistry;
     private final CredentialExpiryCalculator credentialExpiryCalculator;
-    private final StatusListClient statusListClient;
+    private final StatusListIndexProvider statusListIndexProvider;
+    private final Executor issuanceExecutor;
+    private final Duration issuanceDeadline;
+    private final RefreshCredentialTemplates refreshCredentialTemplates;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CredentialService.class);
 
+    /**
+     * Source document of a credential, the identifier it will be stored under, and the credential
+     * offer redeemed for it, which is null for a refresh.
+     */
+    private record IssuanceSource(
+            String credentialIdentifier,
+            DocumentStoreRecord document,
+            CachedCredentialOffer redeemedOffer) {}
+
+    /** A single issuance step, which may throw any of the exceptions raised during issuance. */
+    @FunctionalInterface
+    private interface IssuanceStep<T> {
+        T run() throws Exception;
+    }
+
+    /**
+     * Constructs a CredentialService that runs every issuance step on the request thread.
+     *
+     * @param dataStore Store for credential offers and issued credentials.
+     * @param accessTokenService Service for verifying access tokens.
+     * @param proofJwtService Service for verifying proof JWTs.
+     * @param documentStoreClient Client for fetching documents from the document store.
+     * @param credentialHandlerRegistry Registry of credential type specific handlers.
+     * @param credentialExpiryCalculator Calculator for the issued credential's expiry.
+     * @param statusListIndexProvider Provides status list indexes.
+     */
+    public CredentialService(
+            DataStore dataStore,
+            AccessTokenService accessTokenService,
+            ProofJwtService proofJwtService,
+            DocumentStoreClient documentStoreClient,
+            CredentialHandlerRegistry credentialHandlerRegistry,
+            CredentialExpiryCalculator credentialExpiryCalculator,
+            StatusListIndexProvider statusListIndexProvider) {
+        this(
+                dataStore,
+                accessTokenService,
+                proofJwtService,
+                documentStoreClient,
+                credentialHandlerRegistry,
+                credentialExpiryCalculator,
+                statusListIndexProvider,
+                Runnable::run,
+                Duration.ofSeconds(10));
+    }
+
+    /**
+     * Constructs a CredentialService that runs issuance steps on the given executor.
+     *
+     * @param dataStore Store for credential offers and issued credentials.
+     * @param accessTokenService Service for verifying access tokens.
+     * @param proofJwtService Service for verifying proof JWTs.
+     * @param documentStoreClient Client for fetching documents from the document store.
+     * @param credentialHandlerRegistry Registry of credential type specific handlers.
+     * @param credentialExpiryCalculator Calculator for the issued credential's expiry.
+     * @param statusListIndexProvider Provides status list indexes.
+     * @param issuanceExecutor Executor the issuance steps run on.
+     * @param issuanceDeadline Maximum time allowed to issue a single credential.
+     */
+    public CredentialService(
+            DataStore dataStore,
+            AccessTokenService accessTokenService,
+            ProofJwtService proofJwtService,
+            DocumentStoreClient documentStoreClient,
+            CredentialHandlerRegistry credentialHandlerRegistry,
+            CredentialExpiryCalculator credentialExpiryCalculator,
+            StatusListIndexProvider statusListIndexProvider,
+            Executor issuanceExecutor,
+            Duration issuanceDeadline) {
+        this(
+                dataStore,
+                accessTokenService,
+                proofJwtService,
+                documentStoreClient,
+                credentialHandlerRegistry,
+                credentialExpiryCalculator,
+                statusListIndexProvider,
+                issuanceExecutor,
+                issuanceDeadline,
+                RefreshCredentialTemplates.load());
+    }
+
+    /**
+     * Constructs a CredentialService that runs issuance steps on the given executor, and issues
+     * refresh credentials from the given templates.
+     *
+     * @param dataStore Store for credential offers and issued credentials.
+     * @param accessTokenService Service for verifying access tokens.
+     * @param proofJwtService Service for verifying proof JWTs.
+     * @param documentStoreClient Client for fetching documents from the document store.
+     * @param credentialHandlerRegistry Registry of credential type specific handlers.
+     * @param credentialExpiryCalculator Calculator for the issued credential's expiry.
+     * @param statusListIndexProvider Provides status list indexes.
+     * @param issuanceExecutor Executor the issuance steps run on.
+     * @param issuanceDeadline Maximum time allowed to issue a single credential.
+     * @param refreshCredentialTemplates Documents that refresh credentials are issued from.
+     */
     public CredentialService(
             DataStore dataStore,
             AccessTokenService accessTokenService,
             ProofJwtService proofJwtService,
             DocumentStoreClient documentStoreClient,
-            CredentialHandlerFactory credentialHandlerFactory,
+            CredentialHandlerRegistry credentialHandlerRegistry,
             CredentialExpiryCalculator credentialExpiryCalculator,
-            StatusListClient statusListClient) {
+            StatusListIndexProvider statusListIndexProvider,
+            Executor issuanceExecutor,
+            Duration issuanceDeadline,
+            RefreshCredentialTemplates refreshCredentialTemplates) {
         this.dataStore = dataStore;
         this.accessTokenService = accessTokenService;
         this.proofJwtService = proofJwtService;
         this.documentStoreClient = documentStoreClient;
-        this.credentialHandlerFactory = credentialHandlerFactory;
+        this.credentialHandlerRegistry = credentialHandlerRegistry;
         this.credentialExpiryCalculator = credentialExpiryCalculator;
-        this.statusListClient = statusListClient;
+        this.statusListIndexProvider = statusListIndexProvider;
+        this.issuanceExecutor = issuanceExecutor;
+        this.issuanceDeadline = issuanceDeadline;
+        this.refreshCredentialTemplates = refreshCredentialTemplates;
     }
 
-    public CredentialResponse getCredential(SignedJWT accessToken, SignedJWT proofJwt)
+    /**
+     * Issues a credential, leaving it to be written straight into the response body. The
+     * credential is signed, encoded and stored before this returns; only writing it out is deferred
+     * until the response is sent.
+     *
+     * @param accessToken The access token sent with the credential request.
+     * @param proofJwt The proof JWT sent in the credential request body.
+     * @return The credential response, ready to be written to the response body.
+     */
+    public StreamingCredentialResponse getStreamingCredential(
+            SignedJWT accessToken, SignedJWT proofJwt)
             throws AccessTokenValidationException,
                     NonceValidationException,
                     ProofJwtValidationException,
                     CredentialOfferException,
                     CredentialServiceException {
+        long deadline = System.nanoTime() + issuanceDeadline.toNanos();
         try {
             AccessTokenService.AccessTokenData accessTokenData =
-                    accessTokenService.verifyAccessToken(accessToken);
+                    accessTokenService.verifyAccessTokenClaims(accessToken);
+            ProofJwtService.ProofJwtClaims proofJwtClaims =
+                    proofJwtService.verifyProofJwtClaims(proofJwt);
+            verifyNonce(accessTokenData, proofJwtClaims);
 
-            ProofJwtService.ProofJwtData proofJwtData = proofJwtService.verifyProofJwt(proofJwt);
+            CompletableFuture<Void> accessTokenSignatureFuture =
+                    runStep(
+                            () -> {
+                                accessTokenService.verifyAccessTokenSignature(
+                                        accessToken, accessTokenData);
+                                return null;
+                            });
+            CompletableFuture<ProofJwtService.ProofJwtData> proofJwtDataFuture =
+                    runStep(
+                            () ->
+                                    proofJwtService.verifyProofJwtSignature(
+                                            proofJwt, proofJwtClaims));
+            CompletableFuture<IssuanceSource> issuanceSourceFuture =
+                    CompletableFuture.allOf(accessTokenSignatureFuture, proofJwtDataFuture)
+                            .thenCompose(
+                                    ignored -> runStep(() -> getIssuanceSource(accessTokenData)));
 
-            if (!proofJwtData.nonce().equals(accessTokenData.nonce())) {
-                throw new NonceValidationException(
-                        "Access token c_nonce claim does not match Proof JWT nonce claim");
-            }
-
-            String credentialIdentifier = accessTokenData.credentialIdentifier();
-            boolean isRefreshCredential = credentialIdentifier == null;
-
-            DocumentStoreRecord document;
-            String walletSubjectId = accessTokenData.walletSubjectId();
-
-            if (isRefreshCredential) {
-                String credentialConfigurationId = accessTokenData.credentialConfigurationId();
-                document = loadRefreshCredential(credentialConfigurationId);
-                credentialIdentifier = UUID.randomUUID().toString();
-            } else {
-                CachedCredentialOffer credentialOffer =
-                        dataStore.getCredentialOffer(credentialIdentifier);
-                if (!isValidCredentialOffer(credentialOffer, credentialIdentifier)) {
-                    throw new CredentialOfferException("Credential offer validation failed");
-                }
+            await(accessTokenSignatureFuture, deadline);
+            ProofJwtService.ProofJwtData proofJwtData = await(proofJwtDataFuture, deadline);
 
-                if (!credentialOffer
-                        .getWalletSubjectId()
-                        .equals(accessTokenData.walletSubjectId())) {
-                    throw new AccessTokenValidationException(
-                            "Access token sub claim does not match cached walletSubjectId");
+            IssuanceSource issuanceSource;
+            try {
+                issuanceSource = await(issuanceSourceFuture, deadline);
+            } catch (CredentialServiceException exception) {
+                if (isDeadlineExceeded(exception)) {
+                    // The abandoned step may still redeem the offer, so restore it if it does
+                    issuanceSourceFuture.thenAccept(
+                            source -> restoreRedeemedOffer(source, exception));
                 }
-
-                String itemId = credentialOffer.getItemId();
-                document = documentStoreClient.getDocument(itemId);
-
-                // Delete credential offer after redeeming it to prevent replay
-                dataStore.deleteCredentialOffer(credentialIdentifier);
+                throw exception;
             }
+            String credentialIdentifier = issuanceSource.credentialIdentifier();
+            DocumentStoreRecord document = issuanceSource.document();
 
             String notificationId = UUID.randomUUID().toString();
             String vcType = document.getVcType();
             CredentialType credentialType = CredentialType.fromType(vcType);
             long expiry = credentialExpiryCalculator.calculateExpiry(document);
+            boolean hasStatusList =
+                    credentialType == MOBILE_DRIVING_LICENCE || credentialType == SIMPLE_MDOC;
 
-            Optional<StatusListClient.StatusListInformation> statusListInformation =
-                    Optional.empty();
-            if (credentialType == MOBILE_DRIVING_LICENCE || credentialType == SIMPLE_MDOC) {
-                statusListInformation = Optional.of(statusListClient.getIndex(expiry));
-            }
+            CompletableFuture<Optional<StatusListClient.StatusListInformation>>
+                    statusListInformationFuture =
+                            runStep(
+                                    () ->
+                                            hasStatusList
+                                                    ? Optional.of(
+                                                            statusListIndexProvider.getIndex(
+                                                                    expiry))
+                                                    : Optional.empty());
+            CredentialHandler handler = credentialHandlerRegistry.getHandler(vcType);
+            CompletableFuture<StreamingCredential> credentialFuture =
+                    statusListInformationFuture.thenCompose(
+                            statusList ->
+                                    composeStep(
+                                            () ->
+                                                    handler.buildStreamingCredentialAsync(
+                                                            document, proofJwtData, statusList)));
 
-            CredentialHandler handler = credentialHandlerFactory.createHandler(vcType);
-            String credential =
-                    handler.buildCredential(document, proofJwtData, statusListInformation);
+            Optional<StatusListClient.StatusListInformation> statusListInformation;
+            StreamingCredential credential;
+            try {
+                statusListInformation = await(statusListInformationFuture, deadline);
+                credential = await(credentialFuture, deadline);
+            } catch (CredentialServiceException exception) {
+                if (isDeadlineExceeded(exception)) {
+                    // Nothing has been stored, so the wallet can retry with the same offer
+                    restoreRedeemedOffer(issuanceSource, exception);
+                }
+                throw exception;
+            }
 
             StoredCredential storedCredential =
                     StoredCredential.builder()
                             .credentialIdentifier(credentialIdentifier)
                             .notificationId(notificationId)
-                            .walletSubjectId(walletSubjectId)
+                            .walletSubjectId(accessTokenData.walletSubjectId())
                             .timeToLive(expiry)
                             .statusList(statusListInformation)
                             .documentId(document.getDocumentId())
@@ -131,44 +293,195 @@ public class CredentialService {
 
             dataStore.saveStoredCredential(storedCredential);
 
-            return new CredentialResponse(credential, notificationId);
-        } catch (DataStoreException
-                | SigningException
-                | MdocException
-                | ObjectStoreException
-                | CertificateException
+            return new StreamingCredentialResponse(credential, notificationId);
+        } catch (DataStoreException | IllegalArgumentException exception) {
+            throw new CredentialServiceException(INTERNAL_ERROR_MESSAGE, exception);
+        }
+    }
+
+    /**
+     * Resolves the document to issue a credential from. Refresh requests carry no credential
+     * identifier and are issued from a refresh template; all other requests redeem a credential
+     * offer and fetch its document from the document store. If the offer belongs to another wallet
+     * or its document cannot be fetched, the offer is restored so that it is not used up.
+     *
+     * @param accessTokenData The verified access token data.
+     * @return The document and the identifier to store the issued credential under.
+     */
+    private IssuanceSource getIssuanceSource(AccessTokenService.AccessTokenData accessTokenData)
+            throws AccessTokenValidationException,
+                    CredentialOfferException,
+                    DataStoreException,
+                    DocumentStoreException {
+        String credentialIdentifier = accessTokenData.credentialIdentifier();
+
+        if (credentialIdentifier == null) {
+            String credentialConfigurationId = accessTokenData.credentialConfigurationId();
+            return new IssuanceSource(
+                    UUID.randomUUID().toString(),
+                    refreshCredentialTemplates.getDocument(credentialConfigurationId),
+                    null);
+        }
+
+        // Redeeming deletes the offer in the same request that reads it, to prevent replay
+        CachedCredentialOffer credentialOffer =
+                dataStore.redeemCredentialOffer(
+                        credentialIdentifier, Instant.now().getEpochSecond());
+        if (credentialOffer == null) {
+            getLogger()
+                    .error(
+                            "Credential offer {} was not found or has expired",
+                            credentialIdentifier);
+            throw new CredentialOfferException("Credential offer validation failed");
+        }
+
+        try {
+            if (!credentialOffer.getWalletSubjectId().equals(accessTokenData.walletSubjectId())) {
+                throw new AccessTokenValidationException(
+                        "Access token sub claim does not match cached walletSubjectId");
+            }
+
+            DocumentStoreRecord document =
+                    documentStoreClient.getDocument(credentialOffer.getItemId());
+            return new IssuanceSource(credentialIdentifier, document, credentialOffer);
+        } catch (AccessTokenValidationException
                 | DocumentStoreException
-                | StatusListClientException
-                | IllegalArgumentException
-                | IOException exception) {
-            throw new CredentialServiceException(
-                    "Failed to issue credential due to an internal error", exception);
+                | RuntimeException exception) {
+            // The offer used to be deleted only once its document had been fetched
+            restoreCredentialOffer(credentialOffer, exception);
+            throw exception;
         }
     }
 
-    private DocumentStoreRecord loadRefreshCredential(String credentialConfigurationId)
-            throws IOException {
-        String json =
-                Resources.toString(
-                        Resources.getResource(
-                                "refresh_credentials/" + credentialConfigurationId + ".json"),
-                        StandardCharsets.UTF_8);
-        json = json.replace("{{UNIQUE_DOCUMENT_NUMBER}}", "RFH" + UUID.randomUUID());
-        return new ObjectMapper().readValue(json, DocumentStoreRecord.class);
+    private void restoreRedeemedOffer(IssuanceSource issuanceSource, Exception failure) {
+        if (issuanceSource.redeemedOffer() != null) {
+            restoreCredentialOffer(issuanceSource.redeemedOffer(), failure);
+        }
     }
 
-    private boolean isValidCredentialOffer(
-            CachedCredentialOffer credentialOffer, String credentialOfferId) {
-        long now = Instant.now().getEpochSecond();
+    private void restoreCredentialOffer(CachedCredentialOffer credentialOffer, Exception failure) {
+        try {
+            dataStore.saveCredentialOffer(credentialOffer);
+        } catch (DataStoreException | RuntimeException exception) {
+            getLogger()
+                    .error(
+                            "Failed to restore credential offer {}",
+                            credentialOffer.getCredentialIdentifier(),
+                            exception);
+            failure.addSuppressed(exception);
+        }
+    }
 
-        if (credentialOffer == null) {
-            getLogger().error("Credential offer {} was not found", credentialOfferId);
-            return false;
-        } else if (now > credentialOffer.getTimeToLive()) {
-            getLogger().error("Credential offer {} is expired", credentialOfferId);
-            return false;
+    private static void verifyNonce(
+            AccessTokenService.AccessTokenData accessTokenData,
+            ProofJwtService.ProofJwtClaims proofJwtClaims)
+            throws NonceValidationException {
+        if (!proofJwtClaims.nonce().equals(accessTokenData.nonce())) {
+            throw new NonceValidationException(
+                    "Access token c_nonce claim does not match Proof JWT nonce claim");
+        }
+    }
+
+    /**
+     * Runs an issuance step on the issuance executor.
+     *
+     * @param step The step to run.
+     * @return A future completed with the step's result, or with the exception it threw.
+     */
+    private <T> CompletableFuture<T> runStep(IssuanceStep<T> step) {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        return step.run();
+                    } catch (RuntimeException exception) {
+                        throw exception;
+                    } catch (Exception exception) {
+                        throw new CompletionException(exception);
+                    }
+                },
+                issuanceExecutor);
+    }
+
+    /**
+     * Runs an issuance step that starts asynchronous work on the issuance executor, without holding
+     * the executor's thread while that work completes.
+     *
+     * @param step The step to run.
+     * @return A future completed once the work started by the step completes.
+     */
+    private <T> CompletableFuture<T> composeStep(IssuanceStep<CompletableFuture<T>> step) {
+        return runStep(step).thenCompose(Function.identity());
+    }
+
+    /**
+     * Waits for an issuance step to complete within the request deadline, and maps its failure to
+     * the exception reported to the caller.
+     *
+     * @param future The future of the step to wait for.
+     * @param deadline The request deadline, in {@link System#nanoTime()} units.
+     * @return The step's result.
+     */
+    private <T> T await(CompletableFuture<T> future, long deadline)
+            throws AccessTokenValidationException,
+                    NonceValidationException,
+                    ProofJwtValidationException,
+                    CredentialOfferException,
+                    CredentialServiceException {
+        try {
+            long remaining = Math.max(0L, deadline - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new CredentialServiceException("Credential issuance was interrupted", exception);
+        } catch (TimeoutException exception) {
+            // The step is not cancelled: a step that has started cannot be interrupted, so it runs
+            // to completion and its result is discarded
+            throw new CredentialServiceException(
+                    "Credential issuance did not complete within " + issuanceDeadline, exception);
+        } catch (ExecutionException exception) {
+            throw mapFailure(exception.getCause());
+        }
+    }
+
+    private static boolean isDeadlineExceeded(CredentialServiceException exception) {
+        return exception.getCause() instanceof TimeoutException;
+    }
+
+    private static CredentialServiceException mapFailure(Throwable cause)
+            throws AccessTokenValidationException,
+                    NonceValidationException,
+                    ProofJwtValidationException,
+                    CredentialOfferException,
+                    CredentialServiceException {
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof AccessTokenValidationException exception) {
+            throw exception;
+        }
+        if (cause instanceof NonceValidationException exception) {
+            throw exception;
+        }
+        if (cause instanceof ProofJwtValidationException exception) {
+            throw exception;
+        }
+        if (cause instanceof CredentialOfferException exception) {
+            throw exception;
+        }
+        if (cause instanceof CredentialServiceException exception) {
+            throw exception;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        // Invalid arguments and mdoc build failures are internal errors, as they were when issuance
+        // ran on the request thread
+        if (cause instanceof RuntimeException exception
+                && !(exception instanceof IllegalArgumentException)
+                && !(exception instanceof MdocException)) {
+            throw exception;
         }
-        return true;
+        return new CredentialServiceException(INTERNAL_ERROR_MESSAGE, (Exception) cause);
     }
 
     protected Logger getLogger() {
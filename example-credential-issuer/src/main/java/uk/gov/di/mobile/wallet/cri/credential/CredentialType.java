@@ -1,21 +1,36 @@
 package uk.gov.di.mobile.wallet.cri.credential;
 
 import lombok.Getter;
+import uk.gov.di.mobile.wallet.cri.credential.jwt.basic_check_credential.BasicCheckDocument;
+import uk.gov.di.mobile.wallet.cri.credential.jwt.digital_veteran_card.VeteranCardDocument;
+import uk.gov.di.mobile.wallet.cri.credential.jwt.social_security_credential.SocialSecurityDocument;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.mobile_driving_licence.DrivingLicenceDocument;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.simple_mdoc.SimpleDocument;
 
 @Getter
 public enum CredentialType {
-    SOCIAL_SECURITY_CREDENTIAL("SocialSecurityCredential", "National Insurance number"),
-    BASIC_DISCLOSURE_CREDENTIAL("BasicDisclosureCredential", "Basic DBS check result"),
-    DIGITAL_VETERAN_CARD("DigitalVeteranCard", "HM Armed Forces Veteran Card"),
-    MOBILE_DRIVING_LICENCE("org.iso.18013.5.1.mDL", null),
-    SIMPLE_MDOC("uk.gov.account.wallet-onboarding.example-credential-issuer.simplemdoc.1", null);
+    SOCIAL_SECURITY_CREDENTIAL(
+            "SocialSecurityCredential", "National Insurance number", SocialSecurityDocument.class),
+    BASIC_DISCLOSURE_CREDENTIAL(
+            "BasicDisclosureCredential", "Basic DBS check result", BasicCheckDocument.class),
+    DIGITAL_VETERAN_CARD(
+            "DigitalVeteranCard", "HM Armed Forces Veteran Card", VeteranCardDocument.class),
+    MOBILE_DRIVING_LICENCE("org.iso.18013.5.1.mDL", null, DrivingLicenceDocument.class),
+    SIMPLE_MDOC(
+            "uk.gov.account.wallet-onboarding.example-credential-issuer.simplemdoc.1",
+            null,
+            SimpleDocument.class);
 
     private final String type;
     private final String name;
 
-    CredentialType(String type, String name) {
+    /** The class the document store data of this credential type is read into. */
+    private final Class<?> documentType;
+
+    CredentialType(String type, String name, Class<?> documentType) {
         this.type = type;
         this.name = name;
+        this.documentType = documentType;
     }
 
     public static CredentialType fromType(String type) {
@@ -0,0 +1,55 @@
+package uk.gov.di.mobile.wallet.cri.credential;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+
+/**
+ * Reads the data of a document store record into a typed document.
+ *
+ * <p>All readers share one {@link ObjectMapper}, and each is bound to its document class when it
+ * is created, so the deserializer for that class is resolved once rather than on every request.
+ * Binary fields such as portraits are decoded straight from the token stream. Padding is optional,
+ * as it is for {@link java.util.Base64#getDecoder()}.
+ *
+ * @param <T> The type of document read.
+ */
+public class DocumentDataReader<T> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Base64Variant BASE64 =
+            Base64Variants.MIME_NO_LINEFEEDS.withReadPadding(
+                    Base64Variant.PaddingReadBehaviour.PADDING_ALLOWED);
+
+    private final ObjectReader reader;
+
+    private DocumentDataReader(Class<T> documentType) {
+        this.reader = MAPPER.readerFor(documentType).with(BASE64);
+    }
+
+    /**
+     * Creates a reader for the given document class.
+     *
+     * @param documentType The class of document to read.
+     * @return The reader.
+     */
+    public static <T> DocumentDataReader<T> forType(Class<T> documentType) {
+        return new DocumentDataReader<>(documentType);
+    }
+
+    /**
+     * Reads document data into a typed document.
+     *
+     * @param parser A parser positioned at the start of the document data.
+     * @return The typed document.
+     * @throws IOException If the data cannot be read as this reader's document type.
+     */
+    public T read(JsonParser parser) throws IOException {
+        return reader.readValue(parser);
+    }
+}
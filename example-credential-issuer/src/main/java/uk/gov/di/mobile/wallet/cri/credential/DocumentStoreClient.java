@@ -1,5 +1,6 @@
 package uk.gov.di.mobile.wallet.cri.credential;
 
+import jakarta.ws.rs.ProcessingException;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
@@ -32,6 +33,10 @@ public class DocumentStoreClient {
         } catch (URISyntaxException exception) {
             String errorMessage = String.format("Invalid URI constructed for document: %s", itemId);
             throw new DocumentStoreException(errorMessage, exception);
+        } catch (ProcessingException exception) {
+            // The request failed, or the record's data could not be read as its typed document
+            String errorMessage = String.format("Failed to read document: %s", itemId);
+            throw new DocumentStoreException(errorMessage, exception);
         }
     }
 
@@ -1,59 +1,85 @@
 package uk.gov.di.mobile.wallet.cri.credential;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.Getter;
-import uk.gov.di.mobile.wallet.cri.annotations.ExcludeFromGeneratedCoverageReport;
 
-import java.util.Map;
 import java.util.Optional;
 
 @Getter
+@JsonDeserialize(using = DocumentStoreRecordDeserializer.class)
 public class DocumentStoreRecord {
-    @JsonProperty("itemId")
-    private String itemId;
+    private final String itemId;
 
-    @JsonProperty("documentId")
-    private String documentId;
+    private final String documentId;
 
-    @JsonProperty("data")
-    private Map<String, Object> data;
+    /**
+     * The record's data, read into the document class of its credential type. See {@link
+     * DocumentStoreRecordDeserializer}.
+     */
+    private final Object document;
 
-    @JsonProperty("vcType")
-    private String vcType;
+    private final String vcType;
 
-    @JsonProperty("credentialTtlSeconds")
-    private long credentialTtlSeconds;
+    private final long credentialTtlSeconds;
 
     /**
      * Optional duration in seconds from credential issuance when the credential is expected to be
      * updated. When absent, no expectedUpdate claim is included in the issued credential.
      */
-    @JsonProperty("expectedUpdateSeconds")
-    private Long expectedUpdateSeconds;
+    private final Long expectedUpdateSeconds;
 
-    @ExcludeFromGeneratedCoverageReport
-    public DocumentStoreRecord() {
-        // Empty constructor required for deserialization
-    }
-
-    @JsonCreator
     public DocumentStoreRecord(
-            @JsonProperty(value = "itemId", required = true) String itemId,
-            @JsonProperty(value = "documentId", required = true) String documentId,
-            @JsonProperty(value = "data", required = true) Map<String, Object> data,
-            @JsonProperty(value = "vcType", required = true) String vcType,
-            @JsonProperty(value = "credentialTtlSeconds", required = true)
-                    long credentialTtlSeconds,
-            @JsonProperty(value = "expectedUpdateSeconds") Long expectedUpdateSeconds) {
+            String itemId,
+            String documentId,
+            Object document,
+            String vcType,
+            long credentialTtlSeconds,
+            Long expectedUpdateSeconds) {
         this.itemId = itemId;
         this.documentId = documentId;
-        this.data = data;
+        this.document = document;
         this.vcType = vcType;
         this.credentialTtlSeconds = credentialTtlSeconds;
         this.expectedUpdateSeconds = expectedUpdateSeconds;
     }
 
+    /**
+     * Returns the record's document. Lombok does not generate this getter, as {@link
+     * #getDocument(Class)} shares its name.
+     *
+     * @return The document, read into the document class of the record's credential type.
+     */
+    public Object getDocument() {
+        return document;
+    }
+
+    /**
+     * Returns the record's document as the given document class.
+     *
+     * @param documentType The document class of the record's credential type.
+     * @return The typed document.
+     * @throws IllegalArgumentException If the document is not of the given class.
+     */
+    public <T> T getDocument(Class<T> documentType) {
+        if (!documentType.isInstance(document)) {
+            throw new IllegalArgumentException(
+                    String.format(
+                            "Document %s is not a %s", documentId, documentType.getSimpleName()));
+        }
+        return documentType.cast(document);
+    }
+
+    /**
+     * Returns a copy of this record holding a different document.
+     *
+     * @param document The document of the copy.
+     * @return The copy.
+     */
+    public DocumentStoreRecord withDocument(Object document) {
+        return new DocumentStoreRecord(
+                itemId, documentId, document, vcType, credentialTtlSeconds, expectedUpdateSeconds);
+    }
+
     /**
      * Returns the optional expected update duration in seconds.
      *
@@ -0,0 +1,139 @@
+package uk.gov.di.mobile.wallet.cri.credential;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deserializer for {@link DocumentStoreRecord}.
+ *
+ * <p>Reads the record in a single streaming pass, binding its {@code data} straight into the
+ * document class of its {@code vcType}, as given by {@link CredentialType#getDocumentType()}. The
+ * document store writes {@code vcType} before {@code data}, so the data is normally read as it is
+ * parsed. If {@code data} comes first, its tokens are buffered and read once {@code vcType} is
+ * known. Data of an unknown credential type is read as a map, and the unknown type is reported when
+ * a handler is looked up for it.
+ */
+public class DocumentStoreRecordDeserializer extends StdDeserializer<DocumentStoreRecord> {
+
+    private static final List<String> REQUIRED_PROPERTIES =
+            List.of("itemId", "documentId", "data", "vcType", "credentialTtlSeconds");
+
+    private static final Map<String, DocumentDataReader<?>> DOCUMENT_READERS = documentReaders();
+
+    public DocumentStoreRecordDeserializer() {
+        super(DocumentStoreRecord.class);
+    }
+
+    /**
+     * Deserializes a {@link DocumentStoreRecord} and its typed document.
+     *
+     * @param parser the {@link JsonParser} positioned at the start of the record
+     * @param context the {@link DeserializationContext} used to read the record's other properties
+     * @return the {@link DocumentStoreRecord}
+     * @throws com.fasterxml.jackson.databind.exc.MismatchedInputException if a required property
+     *     is missing
+     * @throws IOException on read errors, or if the data cannot be read as its document class
+     */
+    @Override
+    public DocumentStoreRecord deserialize(JsonParser parser, DeserializationContext context)
+            throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            return (DocumentStoreRecord)
+                    context.handleUnexpectedToken(DocumentStoreRecord.class, parser);
+        }
+
+        Set<String> presentProperties = new HashSet<>();
+        String itemId = null;
+        String documentId = null;
+        String vcType = null;
+        Long credentialTtlSeconds = null;
+        Long expectedUpdateSeconds = null;
+        Object document = null;
+        TokenBuffer bufferedData = null;
+
+        for (String name = parser.nextFieldName(); name != null; name = parser.nextFieldName()) {
+            parser.nextToken();
+            presentProperties.add(name);
+            switch (name) {
+                case "itemId" -> itemId = readNullable(parser, context, String.class);
+                case "documentId" -> documentId = readNullable(parser, context, String.class);
+                case "vcType" -> vcType = readNullable(parser, context, String.class);
+                case "credentialTtlSeconds" ->
+                        credentialTtlSeconds = readNullable(parser, context, Long.class);
+                case "expectedUpdateSeconds" ->
+                        expectedUpdateSeconds = readNullable(parser, context, Long.class);
+                case "data" -> {
+                    if (vcType != null) {
+                        document = readDocument(parser, context, vcType);
+                    } else {
+                        bufferedData = context.bufferAsCopyOfValue(parser);
+                    }
+                }
+                default ->
+                        context.handleUnknownProperty(
+                                parser, this, DocumentStoreRecord.class, name);
+            }
+        }
+
+        for (String property : REQUIRED_PROPERTIES) {
+            if (!presentProperties.contains(property)) {
+                return context.reportInputMismatch(
+                        this, "Missing required property '%s' for DocumentStoreRecord", property);
+            }
+        }
+
+        if (bufferedData != null) {
+            try (JsonParser dataParser = bufferedData.asParserOnFirstToken()) {
+                document = readDocument(dataParser, context, vcType);
+            }
+        }
+
+        return new DocumentStoreRecord(
+                itemId,
+                documentId,
+                document,
+                vcType,
+                credentialTtlSeconds == null ? 0L : credentialTtlSeconds,
+                expectedUpdateSeconds);
+    }
+
+    private static Object readDocument(
+            JsonParser parser, DeserializationContext context, String vcType) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        DocumentDataReader<?> documentReader = vcType == null ? null : DOCUMENT_READERS.get(vcType);
+        if (documentReader == null) {
+            return context.readValue(parser, Map.class);
+        }
+        return documentReader.read(parser);
+    }
+
+    private static <T> T readNullable(
+            JsonParser parser, DeserializationContext context, Class<T> type) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return context.readValue(parser, type);
+    }
+
+    private static Map<String, DocumentDataReader<?>> documentReaders() {
+        Map<String, DocumentDataReader<?>> documentReaders = new HashMap<>();
+        for (CredentialType credentialType : CredentialType.values()) {
+            documentReaders.put(
+                    credentialType.getType(),
+                    DocumentDataReader.forType(credentialType.getDocumentType()));
+        }
+        return Map.copyOf(documentReaders);
+    }
+}
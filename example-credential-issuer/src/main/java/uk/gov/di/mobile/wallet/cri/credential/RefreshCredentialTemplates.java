@@ -0,0 +1,96 @@
+package uk.gov.di.mobile.wallet.cri.credential;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.Resources;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.mobile_driving_licence.DrivingLicenceDocument;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.simple_mdoc.SimpleDocument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Documents that refresh credentials are issued from, one per credential type.
+ *
+ * <p>Each template is read from {@code refresh_credentials/<vcType>.json} and parsed into a typed
+ * {@link DocumentStoreRecord} once, when the templates are loaded. Documents whose number is the
+ * {@value #UNIQUE_DOCUMENT_NUMBER} placeholder are copied with a unique number each time a refresh
+ * credential is requested. All other templates are immutable and returned as they are.
+ */
+public class RefreshCredentialTemplates {
+
+    static final String UNIQUE_DOCUMENT_NUMBER = "{{UNIQUE_DOCUMENT_NUMBER}}";
+
+    private static final String UNIQUE_DOCUMENT_NUMBER_PREFIX = "RFH";
+
+    private final Map<CredentialType, Template> templates;
+
+    /**
+     * A parsed template, and the function that copies its document with a given document number,
+     * or null if its document number does not vary.
+     */
+    private record Template(
+            DocumentStoreRecord documentStoreRecord, Function<String, Object> numberedDocument) {}
+
+    private RefreshCredentialTemplates(Map<CredentialType, Template> templates) {
+        this.templates = templates;
+    }
+
+    /**
+     * Loads and parses the refresh credential template of every credential type.
+     *
+     * @return The templates.
+     * @throws IllegalStateException If a template cannot be read or parsed.
+     */
+    public static RefreshCredentialTemplates load() {
+        ObjectMapper mapper = new ObjectMapper();
+        Map<CredentialType, Template> templates = new EnumMap<>(CredentialType.class);
+        for (CredentialType credentialType : CredentialType.values()) {
+            String fileName = "refresh_credentials/" + credentialType.getType() + ".json";
+            try (InputStream inputStream = Resources.getResource(fileName).openStream()) {
+                DocumentStoreRecord documentStoreRecord =
+                        mapper.readValue(inputStream, DocumentStoreRecord.class);
+                Object document = documentStoreRecord.getDocument();
+                templates.put(
+                        credentialType,
+                        new Template(documentStoreRecord, numberedDocument(document)));
+            } catch (IOException | IllegalArgumentException exception) {
+                throw new IllegalStateException("Failed to load " + fileName, exception);
+            }
+        }
+        return new RefreshCredentialTemplates(templates);
+    }
+
+    /**
+     * Gets the document to issue a refresh credential from.
+     *
+     * @param credentialConfigurationId The credential configuration ID, which is the credential's
+     *     vcType.
+     * @return The document, with a unique document number where the template has a placeholder.
+     * @throws IllegalArgumentException If there is no template for the credential configuration.
+     */
+    public DocumentStoreRecord getDocument(String credentialConfigurationId) {
+        Template template = templates.get(CredentialType.fromType(credentialConfigurationId));
+        if (template.numberedDocument() == null) {
+            return template.documentStoreRecord();
+        }
+        String documentNumber = UNIQUE_DOCUMENT_NUMBER_PREFIX + UUID.randomUUID();
+        Object document = template.numberedDocument().apply(documentNumber);
+        return template.documentStoreRecord().withDocument(document);
+    }
+
+    private static Function<String, Object> numberedDocument(Object document) {
+        if (document instanceof DrivingLicenceDocument drivingLicenceDocument
+                && UNIQUE_DOCUMENT_NUMBER.equals(drivingLicenceDocument.getDocumentNumber())) {
+            return drivingLicenceDocument::withDocumentNumber;
+        }
+        if (document instanceof SimpleDocument simpleDocument
+                && UNIQUE_DOCUMENT_NUMBER.equals(simpleDocument.getDocumentNumber())) {
+            return simpleDocument::withDocumentNumber;
+        }
+        return null;
+    }
+}
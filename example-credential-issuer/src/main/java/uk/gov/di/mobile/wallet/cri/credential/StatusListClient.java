@@ -7,14 +7,18 @@ import jakarta.ws.rs.core.Response;
 import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 
 import java.net.URI;
+import java.util.List;
 
-public class StatusListClient {
+public class StatusListClient implements StatusListIndexProvider {
 
     public record StatusListInformation(Integer idx, String uri) {}
 
+    public record IndexReservations(List<StatusListInformation> indices) {}
+
     public record RevokeResponse(String message, Long revokedAt) {}
 
     private static final String ISSUE_ENDPOINT = "/issue";
+    private static final String ISSUE_BATCH_ENDPOINT = "/issue/batch";
     private static final String REVOKE_ENDPOINT = "/revoke";
 
     private final ConfigurationService configurationService;
@@ -30,6 +34,7 @@ public class StatusListClient {
         this.tokenBuilder = tokenBuilder;
     }
 
+    @Override
     public StatusListInformation getIndex(long credentialExpiry) throws StatusListClientException {
         try {
             String token = tokenBuilder.buildIssueToken(credentialExpiry);
@@ -55,6 +60,40 @@ public class StatusListClient {
         }
     }
 
+    /**
+     * Reserves a batch of status list indices that all share the given status expiry.
+     *
+     * @param statusExpiry The expiry, in epoch seconds, of every reserved index
+     * @param count The number of indices to reserve
+     * @return The reserved indices, which may be fewer than requested
+     * @throws StatusListClientException If the reservation request fails
+     */
+    public List<StatusListInformation> reserveIndices(long statusExpiry, int count)
+            throws StatusListClientException {
+        try {
+            String token = tokenBuilder.buildIssueBatchToken(statusExpiry, count);
+            String url = buildUrl(ISSUE_BATCH_ENDPOINT);
+
+            Response response =
+                    httpClient
+                            .target(url)
+                            .request(MediaType.APPLICATION_JSON)
+                            .post(Entity.entity(token, "application/jwt"));
+
+            if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+                throw new StatusListClientException(
+                        String.format(
+                                "Request to reserve credential indices failed with status code %s",
+                                response.getStatus()));
+            }
+            return response.readEntity(IndexReservations.class).indices();
+        } catch (StatusListClientException exception) {
+            throw exception;
+        } catch (Exception exception) {
+            throw new StatusListClientException("Failed to reserve credential indices", exception);
+        }
+    }
+
     public RevokeResponse revokeCredential(int index, String uri) throws StatusListClientException {
         try {
             String token = tokenBuilder.buildRevokeToken(index, uri);
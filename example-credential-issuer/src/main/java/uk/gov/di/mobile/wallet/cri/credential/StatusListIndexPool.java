@@ -0,0 +1,214 @@
+package uk.gov.di.mobile.wallet.cri.credential;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.Managed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a pool of reserved status list indices, so that issuing a credential does not have to wait
+ * for a signed request to the status list service.
+ *
+ * <p>Reservations are bucketed by expiry window. A credential expiring at {@code t} takes an index
+ * from the bucket ending at {@code t} rounded up to the next window boundary. That bucket's indices
+ * were reserved with the boundary as their status expiry, so an index never expires before the
+ * credential it is used for. When a bucket falls below the low-water mark it is topped up to the
+ * high-water mark in the background with a single batch request. If a bucket is empty, the index is
+ * requested directly from the status list service.
+ *
+ * <p>Buckets that have not been used for a full window are dropped. On shutdown, prefetching stops
+ * and any remaining reservations are discarded. Discarded indices are never embedded in a
+ * credential and lapse at their status expiry.
+ */
+public class StatusListIndexPool implements StatusListIndexProvider, Managed {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatusListIndexPool.class);
+
+    private final StatusListClient statusListClient;
+    private final long bucketWindowSeconds;
+    private final int lowWaterMark;
+    private final int highWaterMark;
+    private final Executor refillExecutor;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refillFailures;
+    private final Counter discarded;
+
+    private final Map<Long, Bucket> buckets = new ConcurrentHashMap<>();
+    private volatile boolean stopped;
+
+    private static final class Bucket {
+        private final Queue<StatusListClient.StatusListInformation> indices =
+                new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private volatile Instant lastUsedAt;
+
+        private Bucket(Instant createdAt) {
+            this.lastUsedAt = createdAt;
+        }
+
+        private int drain() {
+            int drained = 0;
+            while (indices.poll() != null) {
+                drained++;
+            }
+            size.addAndGet(-drained);
+            return drained;
+        }
+    }
+
+    /**
+     * @param statusListClient Client used to reserve indices, and to request them directly when a
+     *     bucket is empty.
+     * @param bucketWindow The width of each expiry bucket.
+     * @param lowWaterMark The bucket size below which a background refill is started.
+     * @param highWaterMark The bucket size a refill tops up to.
+     * @param refillExecutor Executor background refills are run on.
+     * @param clock Clock used to track bucket usage.
+     * @param metricRegistry Registry the pool's counters are added to.
+     * @throws IllegalArgumentException If the low-water mark is not below the high-water mark
+     */
+    public StatusListIndexPool(
+            StatusListClient statusListClient,
+            Duration bucketWindow,
+            int lowWaterMark,
+            int highWaterMark,
+            Executor refillExecutor,
+            Clock clock,
+            MetricRegistry metricRegistry) {
+        if (lowWaterMark >= highWaterMark) {
+            throw new IllegalArgumentException(
+                    "Status list index pool low-water mark must be below its high-water mark");
+        }
+        this.statusListClient = statusListClient;
+        this.bucketWindowSeconds = bucketWindow.toSeconds();
+        this.lowWaterMark = lowWaterMark;
+        this.highWaterMark = highWaterMark;
+        this.refillExecutor = refillExecutor;
+        this.clock = clock;
+        this.hits = metricRegistry.counter("status-list.index-pool.hits");
+        this.misses = metricRegistry.counter("status-list.index-pool.misses");
+        this.refillFailures = metricRegistry.counter("status-list.index-pool.refill-failures");
+        this.discarded = metricRegistry.counter("status-list.index-pool.discarded");
+    }
+
+    @Override
+    public StatusListClient.StatusListInformation getIndex(long credentialExpiry)
+            throws StatusListClientException {
+        if (stopped) {
+            return statusListClient.getIndex(credentialExpiry);
+        }
+
+        long bucketEnd = bucketEndFor(credentialExpiry);
+        Instant now = clock.instant();
+        Bucket bucket = buckets.computeIfAbsent(bucketEnd, key -> new Bucket(now));
+        bucket.lastUsedAt = now;
+
+        StatusListClient.StatusListInformation reserved = bucket.indices.poll();
+        if (reserved != null) {
+            bucket.size.decrementAndGet();
+            hits.inc();
+        } else {
+            misses.inc();
+        }
+        refillIfLow(bucketEnd, bucket);
+
+        return reserved != null ? reserved : statusListClient.getIndex(credentialExpiry);
+    }
+
+    @Override
+    public void start() {
+        // Buckets are created and filled on first use
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        int unused = 0;
+        for (Bucket bucket : buckets.values()) {
+            unused += bucket.drain();
+        }
+        buckets.clear();
+        discarded.inc(unused);
+        if (unused > 0) {
+            LOGGER.info(
+                    "Discarded {} unused status list index reservations, which lapse at their"
+                            + " status expiry",
+                    unused);
+        }
+    }
+
+    private long bucketEndFor(long credentialExpiry) {
+        long windows =
+                Math.floorDiv(credentialExpiry + bucketWindowSeconds - 1, bucketWindowSeconds);
+        return windows * bucketWindowSeconds;
+    }
+
+    private void refillIfLow(long bucketEnd, Bucket bucket) {
+        if (bucket.size.get() >= lowWaterMark || !bucket.refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(() -> refill(bucketEnd, bucket));
+        } catch (RejectedExecutionException exception) {
+            // The executor is shutting down, so this bucket will not be refilled
+            bucket.refilling.set(false);
+        }
+    }
+
+    private void refill(long bucketEnd, Bucket bucket) {
+        try {
+            evictUnusedBuckets();
+            int count = highWaterMark - bucket.size.get();
+            if (stopped || count <= 0) {
+                return;
+            }
+            List<StatusListClient.StatusListInformation> reserved =
+                    statusListClient.reserveIndices(bucketEnd, count);
+            bucket.indices.addAll(reserved);
+            bucket.size.addAndGet(reserved.size());
+            if (stopped || buckets.get(bucketEnd) != bucket) {
+                // The pool stopped or dropped this bucket while the request was in flight
+                discarded.inc(bucket.drain());
+            }
+        } catch (Exception exception) {
+            refillFailures.inc();
+            LOGGER.warn(
+                    "Failed to reserve status list indices with status expiry {}",
+                    bucketEnd,
+                    exception);
+        } finally {
+            bucket.refilling.set(false);
+        }
+    }
+
+    private void evictUnusedBuckets() {
+        Instant cutoff = clock.instant().minusSeconds(bucketWindowSeconds);
+        buckets.entrySet()
+                .removeIf(
+                        entry -> {
+                            Bucket bucket = entry.getValue();
+                            if (!bucket.lastUsedAt.isBefore(cutoff)) {
+                                return false;
+                            }
+                            discarded.inc(bucket.drain());
+                            return true;
+                        });
+    }
+}
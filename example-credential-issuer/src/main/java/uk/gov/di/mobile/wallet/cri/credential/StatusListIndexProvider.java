@@ -0,0 +1,15 @@
+package uk.gov.di.mobile.wallet.cri.credential;
+
+/** Provides the status list index to embed in a newly issued credential. */
+public interface StatusListIndexProvider {
+
+    /**
+     * Gets a status list index for a credential.
+     *
+     * @param credentialExpiry The credential expiry, in epoch seconds
+     * @return The status list index and URI
+     * @throws StatusListClientException If no index can be obtained
+     */
+    StatusListClient.StatusListInformation getIndex(long credentialExpiry)
+            throws StatusListClientException;
+}
@@ -15,13 +15,14 @@ import uk.gov.di.mobile.wallet.cri.annotations.ExcludeFromGeneratedCoverageRepor
 import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 import uk.gov.di.mobile.wallet.cri.services.signing.KeyProvider;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyMetadata;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyPool;
 
 import java.time.Clock;
 import java.time.Instant;
 import java.util.UUID;
 
 import static uk.gov.di.mobile.wallet.cri.services.signing.SignatureHelper.toBase64UrlEncodedSignature;
-import static uk.gov.di.mobile.wallet.cri.util.HashUtil.sha256Hex;
 
 public class StatusListRequestTokenBuilder {
 
@@ -31,23 +32,29 @@ public class StatusListRequestTokenBuilder {
     private static final String CLAIM_STATUS_EXPIRY = "statusExpiry";
     private static final String CLAIM_URI = "uri";
     private static final String CLAIM_INDEX = "idx";
+    private static final String CLAIM_COUNT = "count";
 
     private final ConfigurationService configurationService;
     private final KeyProvider keyProvider;
+    private final SigningKeyPool signingKeyPool;
     private final Clock clock;
 
     @ExcludeFromGeneratedCoverageReport
     public StatusListRequestTokenBuilder(
-            ConfigurationService configurationService, KeyProvider keyProvider) {
-        this.configurationService = configurationService;
-        this.keyProvider = keyProvider;
-        this.clock = Clock.systemUTC();
+            ConfigurationService configurationService,
+            KeyProvider keyProvider,
+            SigningKeyPool signingKeyPool) {
+        this(configurationService, keyProvider, signingKeyPool, Clock.systemUTC());
     }
 
     public StatusListRequestTokenBuilder(
-            ConfigurationService configurationService, KeyProvider keyProvider, Clock clock) {
+            ConfigurationService configurationService,
+            KeyProvider keyProvider,
+            SigningKeyPool signingKeyPool,
+            Clock clock) {
         this.configurationService = configurationService;
         this.keyProvider = keyProvider;
+        this.signingKeyPool = signingKeyPool;
         this.clock = clock;
     }
 
@@ -56,14 +63,24 @@ public class StatusListRequestTokenBuilder {
         return buildToken(claims);
     }
 
+    public String buildIssueBatchToken(long statusExpiry, int count) throws SigningException {
+        JWTClaimsSet claims = buildIssueBatchClaims(statusExpiry, count);
+        return buildToken(claims);
+    }
+
     public String buildRevokeToken(int index, String uri) throws SigningException {
         JWTClaimsSet claims = buildRevokeClaims(uri, index);
         return buildToken(claims);
     }
 
     private String buildToken(JWTClaimsSet claimsSet) throws SigningException {
-        String keyId = keyProvider.getKeyId(configurationService.getSigningKeyAlias());
-        Base64URL encodedHeader = buildEncodedHeader(keyId);
+        return signingKeyPool.withKey(keyAlias -> buildToken(keyAlias, claimsSet));
+    }
+
+    private String buildToken(String keyAlias, JWTClaimsSet claimsSet) throws SigningException {
+        SigningKeyMetadata keyMetadata = keyProvider.getKeyMetadata(keyAlias);
+        String keyId = keyMetadata.keyId();
+        Base64URL encodedHeader = buildEncodedHeader(keyMetadata.hashedKeyId());
         Base64URL encodedClaims = buildEncodedClaims(claimsSet);
         String message = encodedHeader + "." + encodedClaims;
 
@@ -89,8 +106,7 @@ public class StatusListRequestTokenBuilder {
         return toBase64UrlEncodedSignature(signResult);
     }
 
-    private Base64URL buildEncodedHeader(String keyId) {
-        String hashedKeyId = sha256Hex(keyId);
+    private Base64URL buildEncodedHeader(String hashedKeyId) {
         JWSHeader jwsHeader =
                 new JWSHeader.Builder(SIGNING_ALGORITHM)
                         .keyID(hashedKeyId)
@@ -107,6 +123,13 @@ public class StatusListRequestTokenBuilder {
         return createBaseClaimsBuilder().claim(CLAIM_STATUS_EXPIRY, credentialExpiry).build();
     }
 
+    private JWTClaimsSet buildIssueBatchClaims(long statusExpiry, int count) {
+        return createBaseClaimsBuilder()
+                .claim(CLAIM_STATUS_EXPIRY, statusExpiry)
+                .claim(CLAIM_COUNT, count)
+                .build();
+    }
+
     private JWTClaimsSet buildRevokeClaims(String uri, int index) {
         return createBaseClaimsBuilder().claim(CLAIM_URI, uri).claim(CLAIM_INDEX, index).build();
     }
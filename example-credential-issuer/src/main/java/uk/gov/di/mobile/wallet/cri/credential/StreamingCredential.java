@@ -0,0 +1,40 @@
+package uk.gov.di.mobile.wallet.cri.credential;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A built credential that is written to the response when it is sent, rather than held in memory
+ * as a string.
+ *
+ * <p>Implementations write the content of a JSON string, without the surrounding quotes, so that
+ * the credential can be placed directly inside the credential response.
+ *
+ * <p>A credential is written after it has been stored and the response status has been sent, so a
+ * failure while writing truncates a successful response. Implementations should do any work that
+ * can fail, such as encoding, while the credential is built, and only copy it out when written.
+ */
+@FunctionalInterface
+public interface StreamingCredential {
+
+    /**
+     * Writes the credential to the given stream. The stream is not closed.
+     *
+     * @param outputStream The stream to write the credential to.
+     * @throws IOException If the credential cannot be written.
+     */
+    void writeTo(OutputStream outputStream) throws IOException;
+
+    /**
+     * Wraps a credential that has already been built as a string.
+     *
+     * @param credential The credential, e.g. a compact serialized JWT.
+     * @return A streaming credential that writes the JSON-escaped credential.
+     */
+    static StreamingCredential of(String credential) {
+        return outputStream ->
+                outputStream.write(JsonStringEncoder.getInstance().quoteAsUTF8(credential));
+    }
+}
@@ -0,0 +1,40 @@
+package uk.gov.di.mobile.wallet.cri.credential;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.ws.rs.core.StreamingOutput;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes the credential response JSON, with the credential streamed straight into the response
+ * body. The envelope is written around the credential, so the encoded credential is never held in
+ * memory in full.
+ */
+public class StreamingCredentialResponse implements StreamingOutput {
+
+    private static final byte[] CREDENTIAL_PREFIX =
+            "{\"credentials\":[{\"credential\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NOTIFICATION_ID_PREFIX =
+            "\"}],\"notification_id\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final StreamingCredential credential;
+    @Getter private final String notificationId;
+
+    public StreamingCredentialResponse(StreamingCredential credential, String notificationId) {
+        this.credential = credential;
+        this.notificationId = notificationId;
+    }
+
+    @Override
+    public void write(OutputStream outputStream) throws IOException {
+        outputStream.write(CREDENTIAL_PREFIX);
+        credential.writeTo(outputStream);
+        outputStream.write(NOTIFICATION_ID_PREFIX);
+        outputStream.write(JsonStringEncoder.getInstance().quoteAsUTF8(notificationId));
+        outputStream.write(SUFFIX);
+    }
+}
@@ -16,6 +16,8 @@ import uk.gov.di.mobile.wallet.cri.credential.CredentialType;
 import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 import uk.gov.di.mobile.wallet.cri.services.signing.KeyProvider;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyMetadata;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyPool;
 
 import java.time.Clock;
 import java.time.Instant;
@@ -23,6 +25,8 @@ import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static uk.gov.di.mobile.wallet.cri.services.signing.SignatureHelper.toBase64UrlEncodedSignature;
 import static uk.gov.di.mobile.wallet.cri.util.HashUtil.*;
@@ -32,22 +36,28 @@ public class CredentialBuilder<T extends CredentialSubject> {
     private static final JWSAlgorithm SIGNING_ALGORITHM = JWSAlgorithm.ES256;
     private final ConfigurationService configurationService;
     private final KeyProvider keyProvider;
+    private final SigningKeyPool signingKeyPool;
     private final Clock clock;
     private static final DateTimeFormatter ISO_FORMATTER =
             DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'").withZone(ZoneOffset.UTC);
 
     @ExcludeFromGeneratedCoverageReport
-    public CredentialBuilder(ConfigurationService configurationService, KeyProvider keyProvider) {
-        this.configurationService = configurationService;
-        this.keyProvider = keyProvider;
-        this.clock = Clock.systemUTC();
+    public CredentialBuilder(
+            ConfigurationService configurationService,
+            KeyProvider keyProvider,
+            SigningKeyPool signingKeyPool) {
+        this(configurationService, keyProvider, signingKeyPool, Clock.systemUTC());
     }
 
     // Required to mock time in unit tests
     public CredentialBuilder(
-            ConfigurationService configurationService, KeyProvider keyProvider, Clock clock) {
+            ConfigurationService configurationService,
+            KeyProvider keyProvider,
+            SigningKeyPool signingKeyPool,
+            Clock clock) {
         this.configurationService = configurationService;
         this.keyProvider = keyProvider;
+        this.signingKeyPool = signingKeyPool;
         this.clock = clock;
     }
 
@@ -87,36 +97,136 @@ public class CredentialBuilder<T extends CredentialSubject> {
             long credentialTtlSeconds,
             Optional<Long> expectedUpdateSeconds)
             throws SigningException {
-        String keyId = keyProvider.getKeyId(configurationService.getSigningKeyAlias());
-        var encodedHeader = getEncodedHeader(keyId);
-        var encodedClaims =
-                getEncodedClaims(
+        return signingKeyPool.withKey(
+                keyAlias ->
+                        buildCredential(
+                                keyAlias,
+                                credentialSubject,
+                                credentialType,
+                                credentialTtlSeconds,
+                                expectedUpdateSeconds));
+    }
+
+    /**
+     * Builds a signed credential as {@link #buildCredential(CredentialSubject, CredentialType,
+     * long, Optional)} does, without blocking on the key provider.
+     *
+     * @param credentialSubject The credential subject containing claims to include.
+     * @param credentialType The type of credential being issued.
+     * @param credentialTtlSeconds The credential validity period in seconds.
+     * @param expectedUpdateSeconds Optional duration in seconds from issuance when the credential
+     *     is expected to be updated.
+     * @return A future completed with the signed credential as a compact JWS string, or failed
+     *     with a {@link SigningException} if signing fails.
+     */
+    public CompletableFuture<String> buildCredentialAsync(
+            T credentialSubject,
+            CredentialType credentialType,
+            long credentialTtlSeconds,
+            Optional<Long> expectedUpdateSeconds) {
+        return signingKeyPool.withKeyAsync(
+                keyAlias ->
+                        buildCredentialAsync(
+                                keyAlias,
+                                credentialSubject,
+                                credentialType,
+                                credentialTtlSeconds,
+                                expectedUpdateSeconds));
+    }
+
+    private String buildCredential(
+            String keyAlias,
+            T credentialSubject,
+            CredentialType credentialType,
+            long credentialTtlSeconds,
+            Optional<Long> expectedUpdateSeconds)
+            throws SigningException {
+        SigningKeyMetadata keyMetadata = keyProvider.getKeyMetadata(keyAlias);
+        var message =
+                getMessage(
+                        keyMetadata,
                         credentialSubject,
                         credentialType,
                         credentialTtlSeconds,
                         expectedUpdateSeconds);
-        var message = encodedHeader + "." + encodedClaims;
-
-        byte[] encodedHash = sha256(message);
-
-        var signRequest =
-                SignRequest.builder()
-                        .message(SdkBytes.fromByteArray(encodedHash))
-                        .messageType(MessageType.DIGEST)
-                        .keyId(keyId)
-                        .signingAlgorithm(SigningAlgorithmSpec.ECDSA_SHA_256)
-                        .build();
 
         try {
-            SignResponse signResult = keyProvider.sign(signRequest);
+            SignResponse signResult =
+                    keyProvider.sign(createSignRequest(message, keyMetadata.keyId()));
             String signature = toBase64UrlEncodedSignature(signResult);
             return message + "." + signature;
         } catch (Exception exception) {
-            throw new SigningException(
-                    String.format("Error signing token: %s", exception.getMessage()), exception);
+            throw signingFailed(exception);
         }
     }
 
+    private CompletableFuture<String> buildCredentialAsync(
+            String keyAlias,
+            T credentialSubject,
+            CredentialType credentialType,
+            long credentialTtlSeconds,
+            Optional<Long> expectedUpdateSeconds) {
+        SigningKeyMetadata keyMetadata = keyProvider.getKeyMetadata(keyAlias);
+        var message =
+                getMessage(
+                        keyMetadata,
+                        credentialSubject,
+                        credentialType,
+                        credentialTtlSeconds,
+                        expectedUpdateSeconds);
+
+        return keyProvider
+                .signAsync(createSignRequest(message, keyMetadata.keyId()))
+                .handle(
+                        (signResult, exception) -> {
+                            if (exception != null) {
+                                throw new CompletionException(
+                                        signingFailed(
+                                                exception instanceof CompletionException
+                                                        ? exception.getCause()
+                                                        : exception));
+                            }
+                            try {
+                                return message + "." + toBase64UrlEncodedSignature(signResult);
+                            } catch (Exception encodingException) {
+                                throw new CompletionException(signingFailed(encodingException));
+                            }
+                        });
+    }
+
+    private String getMessage(
+            SigningKeyMetadata keyMetadata,
+            T credentialSubject,
+            CredentialType credentialType,
+            long credentialTtlSeconds,
+            Optional<Long> expectedUpdateSeconds) {
+        var encodedHeader = getEncodedHeader(keyMetadata);
+        var encodedClaims =
+                getEncodedClaims(
+                        credentialSubject,
+                        credentialType,
+                        credentialTtlSeconds,
+                        expectedUpdateSeconds);
+        return encodedHeader + "." + encodedClaims;
+    }
+
+    private static SignRequest createSignRequest(String message, String keyId) {
+        byte[] encodedHash = sha256(message);
+        return SignRequest.builder()
+                .message(SdkBytes.fromByteArray(encodedHash))
+                .messageType(MessageType.DIGEST)
+                .keyId(keyId)
+                .signingAlgorithm(SigningAlgorithmSpec.ECDSA_SHA_256)
+                .build();
+    }
+
+    private static SigningException signingFailed(Throwable cause) {
+        Exception exception =
+                cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+        return new SigningException(
+                String.format("Error signing token: %s", cause.getMessage()), exception);
+    }
+
     private Base64URL getEncodedClaims(
             T credentialSubject,
             CredentialType credentialType,
@@ -155,10 +265,8 @@ public class CredentialBuilder<T extends CredentialSubject> {
         return Base64URL.encode(claimsBuilder.build().toString());
     }
 
-    private Base64URL getEncodedHeader(String keyId) {
-        String hashedKeyId = sha256Hex(keyId);
-        String didKeyId =
-                "did:web:" + configurationService.getSelfUrl().getHost() + "#" + hashedKeyId;
+    private Base64URL getEncodedHeader(SigningKeyMetadata keyMetadata) {
+        String didKeyId = keyMetadata.didWebKeyId(configurationService.getSelfUrl().getHost());
         var jwsHeader =
                 new JWSHeader.Builder(SIGNING_ALGORITHM)
                         .keyID(didKeyId)
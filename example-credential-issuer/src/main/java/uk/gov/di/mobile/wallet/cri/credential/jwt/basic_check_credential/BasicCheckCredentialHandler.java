@@ -1,6 +1,5 @@
 package uk.gov.di.mobile.wallet.cri.credential.jwt.basic_check_credential;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import uk.gov.di.mobile.wallet.cri.credential.CredentialHandler;
 import uk.gov.di.mobile.wallet.cri.credential.DocumentStoreRecord;
 import uk.gov.di.mobile.wallet.cri.credential.StatusListClient;
@@ -10,13 +9,13 @@ import uk.gov.di.mobile.wallet.cri.credential.proof.ProofJwtService;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static uk.gov.di.mobile.wallet.cri.credential.CredentialType.BASIC_DISCLOSURE_CREDENTIAL;
 
 public class BasicCheckCredentialHandler implements CredentialHandler {
 
     private final CredentialBuilder<BasicCheckCredentialSubject> credentialBuilder;
-    private final ObjectMapper mapper = new ObjectMapper();
 
     public BasicCheckCredentialHandler(
             CredentialBuilder<BasicCheckCredentialSubject> credentialBuilder) {
@@ -29,16 +28,31 @@ public class BasicCheckCredentialHandler implements CredentialHandler {
             ProofJwtService.ProofJwtData proofData,
             Optional<StatusListClient.StatusListInformation> statusListInformation)
             throws SigningException {
-        BasicCheckDocument document =
-                mapper.convertValue(documentStoreRecord.getData(), BasicCheckDocument.class);
-
-        BasicCheckCredentialSubject subject =
-                CredentialSubjectMapper.buildBasicCheckCredentialSubject(
-                        document, proofData.didKey());
+        BasicCheckCredentialSubject subject = buildSubject(documentStoreRecord, proofData);
 
         return credentialBuilder.buildCredential(
                 subject,
                 BASIC_DISCLOSURE_CREDENTIAL,
                 documentStoreRecord.getCredentialTtlSeconds());
     }
+
+    @Override
+    public CompletableFuture<String> buildCredentialAsync(
+            DocumentStoreRecord documentStoreRecord,
+            ProofJwtService.ProofJwtData proofData,
+            Optional<StatusListClient.StatusListInformation> statusListInformation) {
+        return credentialBuilder.buildCredentialAsync(
+                buildSubject(documentStoreRecord, proofData),
+                BASIC_DISCLOSURE_CREDENTIAL,
+                documentStoreRecord.getCredentialTtlSeconds(),
+                Optional.empty());
+    }
+
+    private BasicCheckCredentialSubject buildSubject(
+            DocumentStoreRecord documentStoreRecord, ProofJwtService.ProofJwtData proofData) {
+        BasicCheckDocument document = documentStoreRecord.getDocument(BasicCheckDocument.class);
+
+        return CredentialSubjectMapper.buildBasicCheckCredentialSubject(
+                document, proofData.didKey());
+    }
 }
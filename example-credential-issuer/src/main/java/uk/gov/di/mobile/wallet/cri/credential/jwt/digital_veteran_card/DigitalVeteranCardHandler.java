@@ -1,6 +1,5 @@
 package uk.gov.di.mobile.wallet.cri.credential.jwt.digital_veteran_card;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import uk.gov.di.mobile.wallet.cri.credential.CredentialHandler;
 import uk.gov.di.mobile.wallet.cri.credential.DocumentStoreRecord;
 import uk.gov.di.mobile.wallet.cri.credential.StatusListClient;
@@ -10,13 +9,13 @@ import uk.gov.di.mobile.wallet.cri.credential.proof.ProofJwtService;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static uk.gov.di.mobile.wallet.cri.credential.CredentialType.DIGITAL_VETERAN_CARD;
 
 public class DigitalVeteranCardHandler implements CredentialHandler {
 
     private final CredentialBuilder<VeteranCardCredentialSubject> credentialBuilder;
-    private final ObjectMapper mapper = new ObjectMapper();
 
     public DigitalVeteranCardHandler(
             CredentialBuilder<VeteranCardCredentialSubject> credentialBuilder) {
@@ -29,12 +28,7 @@ public class DigitalVeteranCardHandler implements CredentialHandler {
             ProofJwtService.ProofJwtData proofData,
             Optional<StatusListClient.StatusListInformation> statusListInformation)
             throws SigningException {
-        VeteranCardDocument document =
-                mapper.convertValue(documentStoreRecord.getData(), VeteranCardDocument.class);
-
-        VeteranCardCredentialSubject subject =
-                CredentialSubjectMapper.buildVeteranCardCredentialSubject(
-                        document, proofData.didKey());
+        VeteranCardCredentialSubject subject = buildSubject(documentStoreRecord, proofData);
 
         return credentialBuilder.buildCredential(
                 subject,
@@ -42,4 +36,24 @@ public class DigitalVeteranCardHandler implements CredentialHandler {
                 documentStoreRecord.getCredentialTtlSeconds(),
                 documentStoreRecord.getExpectedUpdateSeconds());
     }
+
+    @Override
+    public CompletableFuture<String> buildCredentialAsync(
+            DocumentStoreRecord documentStoreRecord,
+            ProofJwtService.ProofJwtData proofData,
+            Optional<StatusListClient.StatusListInformation> statusListInformation) {
+        return credentialBuilder.buildCredentialAsync(
+                buildSubject(documentStoreRecord, proofData),
+                DIGITAL_VETERAN_CARD,
+                documentStoreRecord.getCredentialTtlSeconds(),
+                documentStoreRecord.getExpectedUpdateSeconds());
+    }
+
+    private VeteranCardCredentialSubject buildSubject(
+            DocumentStoreRecord documentStoreRecord, ProofJwtService.ProofJwtData proofData) {
+        VeteranCardDocument document = documentStoreRecord.getDocument(VeteranCardDocument.class);
+
+        return CredentialSubjectMapper.buildVeteranCardCredentialSubject(
+                document, proofData.didKey());
+    }
 }
@@ -1,6 +1,5 @@
 package uk.gov.di.mobile.wallet.cri.credential.jwt.social_security_credential;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import uk.gov.di.mobile.wallet.cri.credential.CredentialHandler;
 import uk.gov.di.mobile.wallet.cri.credential.DocumentStoreRecord;
 import uk.gov.di.mobile.wallet.cri.credential.StatusListClient;
@@ -10,13 +9,13 @@ import uk.gov.di.mobile.wallet.cri.credential.proof.ProofJwtService;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static uk.gov.di.mobile.wallet.cri.credential.CredentialType.SOCIAL_SECURITY_CREDENTIAL;
 
 public class SocialSecurityCredentialHandler implements CredentialHandler {
 
     private final CredentialBuilder<SocialSecurityCredentialSubject> credentialBuilder;
-    private final ObjectMapper mapper = new ObjectMapper();
 
     public SocialSecurityCredentialHandler(
             CredentialBuilder<SocialSecurityCredentialSubject> credentialBuilder) {
@@ -29,14 +28,30 @@ public class SocialSecurityCredentialHandler implements CredentialHandler {
             ProofJwtService.ProofJwtData proofData,
             Optional<StatusListClient.StatusListInformation> statusListInformation)
             throws SigningException {
-        SocialSecurityDocument document =
-                mapper.convertValue(documentStoreRecord.getData(), SocialSecurityDocument.class);
-
-        SocialSecurityCredentialSubject subject =
-                CredentialSubjectMapper.buildSocialSecurityCredentialSubject(
-                        document, proofData.didKey());
+        SocialSecurityCredentialSubject subject = buildSubject(documentStoreRecord, proofData);
 
         return credentialBuilder.buildCredential(
                 subject, SOCIAL_SECURITY_CREDENTIAL, documentStoreRecord.getCredentialTtlSeconds());
     }
+
+    @Override
+    public CompletableFuture<String> buildCredentialAsync(
+            DocumentStoreRecord documentStoreRecord,
+            ProofJwtService.ProofJwtData proofData,
+            Optional<StatusListClient.StatusListInformation> statusListInformation) {
+        return credentialBuilder.buildCredentialAsync(
+                buildSubject(documentStoreRecord, proofData),
+                SOCIAL_SECURITY_CREDENTIAL,
+                documentStoreRecord.getCredentialTtlSeconds(),
+                Optional.empty());
+    }
+
+    private SocialSecurityCredentialSubject buildSubject(
+            DocumentStoreRecord documentStoreRecord, ProofJwtService.ProofJwtData proofData) {
+        SocialSecurityDocument document =
+                documentStoreRecord.getDocument(SocialSecurityDocument.class);
+
+        return CredentialSubjectMapper.buildSocialSecurityCredentialSubject(
+                document, proofData.didKey());
+    }
 }
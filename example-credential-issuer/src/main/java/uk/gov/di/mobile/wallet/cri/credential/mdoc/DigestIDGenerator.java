@@ -11,8 +11,12 @@ import java.security.SecureRandom;
  * <p>The generator starts with a randomly initialized 'number' and an 'increment', both within
  * predefined bounds. Each call to the {@link #next()} method calculates the next ID in the sequence
  * by adding the 'increment' to the current 'number'.
+ *
+ * <p>A generator is not thread-safe. A new one is created for each credential, so every credential
+ * gets its own random start and increment and no state is shared between concurrent requests.
  */
 public class DigestIDGenerator {
+    private static final SecureRandom secureRandom = new SecureRandom();
     private int number;
     private final int increment;
     private static final int NUMBER_LOWER_BOUND = 0;
@@ -29,7 +33,6 @@ public class DigestIDGenerator {
      * #INCREMENT_UPPER_BOUND}.
      */
     public DigestIDGenerator() {
-        SecureRandom secureRandom = new SecureRandom();
         this.number =
                 secureRandom.nextInt(NUMBER_ID_UPPER_BOUND - NUMBER_LOWER_BOUND)
                         + NUMBER_LOWER_BOUND;
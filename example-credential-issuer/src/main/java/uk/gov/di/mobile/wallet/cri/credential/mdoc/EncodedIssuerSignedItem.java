@@ -0,0 +1,44 @@
+package uk.gov.di.mobile.wallet.cri.credential.mdoc;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An {@link IssuerSignedItem} that has been CBOR-encoded once for inclusion in an mdoc.
+ *
+ * <p>The encoded item is the content of the tag-24 byte string (IssuerSignedItemBytes) that is
+ * both hashed into the {@link ValueDigests} and embedded in the {@link IssuerSigned} nameSpaces,
+ * so the two are guaranteed to match.
+ *
+ * @param digestId The digest ID of the item.
+ * @param encodedItem The CBOR encoding of the item.
+ */
+public record EncodedIssuerSignedItem(Integer digestId, byte[] encodedItem) {
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EncodedIssuerSignedItem that)) return false;
+        return Objects.equals(digestId, that.digestId)
+                && Arrays.equals(encodedItem, that.encodedItem);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(digestId);
+        result = 31 * result + Arrays.hashCode(encodedItem);
+        return result;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "EncodedIssuerSignedItem{"
+                + "digestId="
+                + digestId
+                + ", encodedItem="
+                + Arrays.toString(encodedItem)
+                + '}';
+    }
+}
@@ -0,0 +1,6 @@
+package uk.gov.di.mobile.wallet.cri.credential.mdoc;
+
+import java.util.List;
+import java.util.Map;
+
+public record EncodedNamespaces(Map<String, List<EncodedIssuerSignedItem>> namespaces) {}
@@ -10,28 +10,29 @@ import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 import uk.gov.di.mobile.wallet.cri.util.ArnUtil;
 
 import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
 import java.security.interfaces.ECPublicKey;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class IssuerSignedFactory {
     private final MobileSecurityObjectFactory mobileSecurityObjectFactory;
     private final CBOREncoder cborEncoder;
     private final COSESigner coseSigner;
     private final CertificateProvider certificateProvider;
-    private final String documentSigningKey1Arn;
 
     public IssuerSignedFactory(
             MobileSecurityObjectFactory mobileSecurityObjectFactory,
             CBOREncoder cborEncoder,
             COSESigner coseSigner,
-            CertificateProvider certificateProvider,
-            String documentSigningKey1Arn) {
+            CertificateProvider certificateProvider) {
         this.mobileSecurityObjectFactory = mobileSecurityObjectFactory;
         this.cborEncoder = cborEncoder;
         this.coseSigner = coseSigner;
         this.certificateProvider = certificateProvider;
-        this.documentSigningKey1Arn = documentSigningKey1Arn;
     }
 
     public IssuerSigned build(
@@ -42,21 +43,90 @@ public class IssuerSignedFactory {
             Optional<Long> expectedUpdateSeconds,
             String docType)
             throws MdocException, SigningException, CertificateException, ObjectStoreException {
+        // Each item is encoded once and the same bytes are both digested and embedded
+        EncodedNamespaces encodedNamespaces = encode(namespaces);
+        byte[] mobileSecurityObjectBytes =
+                encodeMobileSecurityObject(
+                        encodedNamespaces,
+                        publicKey,
+                        statusListInformation,
+                        credentialTtlSeconds,
+                        expectedUpdateSeconds,
+                        docType);
+        COSESign1 sign1 = coseSigner.sign(mobileSecurityObjectBytes, this::getEncodedCertificate);
+
+        return new IssuerSigned(encodedNamespaces.namespaces(), sign1);
+    }
+
+    /**
+     * Builds an {@link IssuerSigned} structure without blocking on the key provider. Everything
+     * except the signature is built on the calling thread.
+     *
+     * @return A future completed with the {@link IssuerSigned} structure, or failed with a {@link
+     *     SigningException} if signing fails, or with a {@link CertificateException} or {@link
+     *     ObjectStoreException} if the signing key's certificate cannot be retrieved.
+     */
+    public CompletableFuture<IssuerSigned> buildAsync(
+            Namespaces namespaces,
+            ECPublicKey publicKey,
+            StatusListClient.StatusListInformation statusListInformation,
+            long credentialTtlSeconds,
+            Optional<Long> expectedUpdateSeconds,
+            String docType)
+            throws MdocException {
+        EncodedNamespaces encodedNamespaces = encode(namespaces);
+        byte[] mobileSecurityObjectBytes =
+                encodeMobileSecurityObject(
+                        encodedNamespaces,
+                        publicKey,
+                        statusListInformation,
+                        credentialTtlSeconds,
+                        expectedUpdateSeconds,
+                        docType);
+
+        return coseSigner
+                .signAsync(mobileSecurityObjectBytes, this::getEncodedCertificate)
+                .thenApply(sign1 -> new IssuerSigned(encodedNamespaces.namespaces(), sign1));
+    }
+
+    private byte[] encodeMobileSecurityObject(
+            EncodedNamespaces encodedNamespaces,
+            ECPublicKey publicKey,
+            StatusListClient.StatusListInformation statusListInformation,
+            long credentialTtlSeconds,
+            Optional<Long> expectedUpdateSeconds,
+            String docType)
+            throws MdocException {
         MobileSecurityObject mobileSecurityObject =
                 mobileSecurityObjectFactory.build(
-                        namespaces,
+                        encodedNamespaces,
                         publicKey,
                         statusListInformation,
                         credentialTtlSeconds,
                         expectedUpdateSeconds,
                         docType);
-        byte[] mobileSecurityObjectBytes = cborEncoder.encode(mobileSecurityObject);
-
-        String certificateId = ArnUtil.extractKeyId(documentSigningKey1Arn);
+        return cborEncoder.encode(mobileSecurityObject);
+    }
 
-        X509Certificate certificate = certificateProvider.getSigningCertificate(certificateId);
-        COSESign1 sign1 = coseSigner.sign(mobileSecurityObjectBytes, certificate);
+    private byte[] getEncodedCertificate(String documentSigningKeyArn)
+            throws CertificateException, ObjectStoreException {
+        // Each document signing key's certificate is stored under the key's ID
+        String certificateId = ArnUtil.extractKeyId(documentSigningKeyArn);
+        return certificateProvider.getEncodedSigningCertificate(certificateId);
+    }
 
-        return new IssuerSigned(namespaces.namespaces(), sign1);
+    private EncodedNamespaces encode(Namespaces namespaces) throws MdocException {
+        Map<String, List<EncodedIssuerSignedItem>> encoded = new LinkedHashMap<>();
+        for (var entry : namespaces.namespaces().entrySet()) {
+            List<EncodedIssuerSignedItem> encodedItems = new ArrayList<>(entry.getValue().size());
+            for (IssuerSignedItem issuerSignedItem : entry.getValue()) {
+                encodedItems.add(
+                        new EncodedIssuerSignedItem(
+                                issuerSignedItem.digestId(),
+                                cborEncoder.encodeIssuerSignedItem(issuerSignedItem)));
+            }
+            encoded.put(entry.getKey(), encodedItems);
+        }
+        return new EncodedNamespaces(encoded);
     }
 }
@@ -5,31 +5,26 @@ import java.security.SecureRandom;
 /**
  * Factory class responsible for creating {@link IssuerSignedItem} instances.
  *
- * <p>This factory generates IssuerSignedItems with a digest ID and random bytes. It uses a {@link
- * DigestIDGenerator} to produce the digest IDs.
+ * <p>This factory generates IssuerSignedItems with a digest ID and random bytes. The digest IDs
+ * come from the {@link DigestIDGenerator} of the credential being built, so the factory itself
+ * holds no mutable state and can be shared between concurrent requests.
  */
 public class IssuerSignedItemFactory {
     private static final int RANDOM_BYTES_LENGTH = 16;
-    private final DigestIDGenerator digestIDGenerator;
     private static final SecureRandom secureRandom = new SecureRandom();
 
-    /**
-     * Constructs the factory with the given DigestIDGenerator.
-     *
-     * @param digestIDGenerator The generator used to produce digest IDs.
-     */
-    public IssuerSignedItemFactory(DigestIDGenerator digestIDGenerator) {
-        this.digestIDGenerator = digestIDGenerator;
-    }
-
     /**
      * Builds an {@link IssuerSignedItem} with the provided element identifier and value.
      *
      * @param elementIdentifier The identifier or name of the data element.
      * @param elementValue The value of the data element.
+     * @param digestIDGenerator The generator for the credential the item belongs to.
      * @return A new {@link IssuerSignedItem} instance.
      */
-    public IssuerSignedItem build(final String elementIdentifier, final Object elementValue) {
+    public IssuerSignedItem build(
+            final String elementIdentifier,
+            final Object elementValue,
+            final DigestIDGenerator digestIDGenerator) {
         byte[] randomBytes = generateRandomBytes();
         int digestID = digestIDGenerator.next();
 
@@ -1,18 +1,24 @@
 package uk.gov.di.mobile.wallet.cri.credential.mdoc;
 
 import uk.gov.di.mobile.wallet.cri.credential.StatusListClient;
+import uk.gov.di.mobile.wallet.cri.credential.StreamingCredential;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor.CBOREncoder;
 import uk.gov.di.mobile.wallet.cri.services.object_storage.ObjectStoreException;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.security.cert.CertificateException;
 import java.security.interfaces.ECPublicKey;
 import java.util.Base64;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Builds an {@link IssuerSigned} mDoc structure from the given document and returns it as
- * Base64URL-encoded CBOR.
+ * Base64URL-encoded CBOR, either as a string or as a {@link StreamingCredential} that Base64URL
+ * encodes it as it is written to the response.
  */
 public class MdocCredentialBuilder<T> {
 
@@ -96,9 +102,112 @@ public class MdocCredentialBuilder<T> {
                         credentialTtlSeconds,
                         expectedUpdateSeconds,
                         docType);
+        return encode(issuerSigned);
+    }
+
+    /**
+     * Creates an {@link IssuerSigned} structure as {@link #buildCredential(Object, ECPublicKey,
+     * StatusListClient.StatusListInformation, long, Optional)} does, without blocking on the key
+     * provider.
+     *
+     * @param document Typed credential document
+     * @param publicKey Device public key
+     * @param statusListInformation Status list information (URI and index)
+     * @param credentialTtlSeconds Credential validity period in seconds
+     * @param expectedUpdateSeconds Optional duration in seconds from issuance when the credential
+     *     is expected to be updated
+     * @return A future completed with the Base64URL string of the CBOR-encoded {@link
+     *     IssuerSigned}, or failed with a {@link SigningException} when signing fails, or with an
+     *     {@link ObjectStoreException} or {@link CertificateException} when certificate material
+     *     cannot be retrieved or processed
+     */
+    public CompletableFuture<String> buildCredentialAsync(
+            T document,
+            ECPublicKey publicKey,
+            StatusListClient.StatusListInformation statusListInformation,
+            long credentialTtlSeconds,
+            Optional<Long> expectedUpdateSeconds) {
+        Namespaces namespaces = namespacesFactory.build(document);
+        return issuerSignedFactory
+                .buildAsync(
+                        namespaces,
+                        publicKey,
+                        statusListInformation,
+                        credentialTtlSeconds,
+                        expectedUpdateSeconds,
+                        docType)
+                .thenApply(this::encode);
+    }
+
+    /**
+     * Creates an {@link IssuerSigned} structure as {@link #buildCredentialAsync(Object,
+     * ECPublicKey, StatusListClient.StatusListInformation, long, Optional)} does, and CBOR encodes
+     * it before the future completes, so an encoding failure fails issuance before the credential
+     * is stored. Only the Base64URL encoding is deferred: it is written straight into the response
+     * body, so the Base64URL string is never held in memory.
+     *
+     * @param document Typed credential document
+     * @param publicKey Device public key
+     * @param statusListInformation Status list information (URI and index)
+     * @param credentialTtlSeconds Credential validity period in seconds
+     * @param expectedUpdateSeconds Optional duration in seconds from issuance when the credential
+     *     is expected to be updated
+     * @return A future completed with the {@link StreamingCredential}, or failed as {@link
+     *     #buildCredentialAsync(Object, ECPublicKey, StatusListClient.StatusListInformation, long,
+     *     Optional)} is
+     */
+    public CompletableFuture<StreamingCredential> buildStreamingCredentialAsync(
+            T document,
+            ECPublicKey publicKey,
+            StatusListClient.StatusListInformation statusListInformation,
+            long credentialTtlSeconds,
+            Optional<Long> expectedUpdateSeconds) {
+        Namespaces namespaces = namespacesFactory.build(document);
+        return issuerSignedFactory
+                .buildAsync(
+                        namespaces,
+                        publicKey,
+                        statusListInformation,
+                        credentialTtlSeconds,
+                        expectedUpdateSeconds,
+                        docType)
+                .thenApply(issuerSigned -> stream(cborEncoder.encode(issuerSigned)));
+    }
+
+    private String encode(IssuerSigned issuerSigned) {
         byte[] cborEncodedMobileDrivingLicence = cborEncoder.encode(issuerSigned);
         return Base64.getUrlEncoder()
                 .withoutPadding()
                 .encodeToString(cborEncodedMobileDrivingLicence);
     }
+
+    private static StreamingCredential stream(byte[] cborEncodedIssuerSigned) {
+        return outputStream -> {
+            // Closing the Base64URL encoder writes its last block but must leave the response open
+            try (OutputStream base64UrlStream =
+                    Base64.getUrlEncoder()
+                            .withoutPadding()
+                            .wrap(new NonClosingOutputStream(outputStream))) {
+                base64UrlStream.write(cborEncodedIssuerSigned);
+            }
+        };
+    }
+
+    /** Passes writes straight through to the wrapped stream, and ignores close. */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() {
+            // The wrapped stream is owned by the caller
+        }
+    }
 }
@@ -44,7 +44,7 @@ public class MobileSecurityObjectFactory {
      *
      * <p>
      *
-     * @param nameSpaces The namespaces from which to generate value digests.
+     * @param nameSpaces The encoded namespaces from which to generate value digests.
      * @param publicKey The device's elliptic curve public key that will be encoded into the COSE
      *     key.
      * @param statusListInformation Status list data containing index and URI information for
@@ -55,16 +55,14 @@ public class MobileSecurityObjectFactory {
      *     expected to be updated.
      * @param docType Document type for the {@link MobileSecurityObject}
      * @return {@link MobileSecurityObject}
-     * @throws MdocException If an error occurs when building the {@link ValueDigests}
      */
     public MobileSecurityObject build(
-            Namespaces nameSpaces,
+            EncodedNamespaces nameSpaces,
             ECPublicKey publicKey,
             StatusListClient.StatusListInformation statusListInformation,
             long credentialTtlSeconds,
             Optional<Long> expectedUpdateSeconds,
-            String docType)
-            throws MdocException {
+            String docType) {
         COSEKey coseKey = coseKeyFactory.fromECPublicKey(publicKey);
         Set<String> authorizedNameSpaces = nameSpaces.namespaces().keySet();
         KeyAuthorizations keyAuthorizations = new KeyAuthorizations(authorizedNameSpaces);
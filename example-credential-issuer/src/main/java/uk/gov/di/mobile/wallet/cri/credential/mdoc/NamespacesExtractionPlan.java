@@ -0,0 +1,147 @@
+package uk.gov.di.mobile.wallet.cri.credential.mdoc;
+
+import uk.gov.di.mobile.wallet.cri.annotations.Namespace;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static uk.gov.di.mobile.wallet.cri.credential.mdoc.CamelToSnake.camelToSnake;
+
+/**
+ * The precomputed steps for extracting {@link Namespaces} from a document class.
+ *
+ * <p>A plan is built once per document class, on first use, by reflecting over its fields
+ * annotated with {@link Namespace}. It holds the namespaces in the order they are first declared
+ * and, for each, the data element identifiers (already converted to snake_case) together with a
+ * {@link MethodHandle} that reads the field. Running the plan against a document does no further
+ * reflection.
+ *
+ * @param namespaces The namespaces to extract, in order.
+ */
+record NamespacesExtractionPlan(List<NamespacePlan> namespaces) {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final Map<Class<?>, NamespacesExtractionPlan> PLANS = new ConcurrentHashMap<>();
+
+    /**
+     * @param namespace The namespace name.
+     * @param elements The data elements in the namespace, in declaration order.
+     */
+    record NamespacePlan(String namespace, List<ElementPlan> elements) {}
+
+    /**
+     * @param elementIdentifier The snake_case data element identifier.
+     * @param fieldName The name of the field the element is read from.
+     * @param getter Reads the field from a document, with type {@code (Object)Object}.
+     * @param optional Whether the field is an {@link Optional} that must be unwrapped.
+     */
+    record ElementPlan(
+            String elementIdentifier, String fieldName, MethodHandle getter, boolean optional) {}
+
+    /**
+     * Gets the plan for a document class, building it on first use.
+     *
+     * @param documentClass The document class.
+     * @return The cached plan for the class.
+     * @throws MdocException When an annotated field cannot be accessed
+     */
+    static NamespacesExtractionPlan forClass(Class<?> documentClass) throws MdocException {
+        return PLANS.computeIfAbsent(documentClass, NamespacesExtractionPlan::build);
+    }
+
+    /**
+     * Runs the plan against a document, creating an {@link IssuerSignedItem} for each element.
+     * Empty {@link Optional} fields are skipped.
+     *
+     * @param document Annotated document instance
+     * @param issuerSignedItemFactory Factory used to create each {@link IssuerSignedItem}
+     * @param digestIDGenerator Generator for the digest IDs of this document's items
+     * @return Namespaces mapped to their {@link IssuerSignedItem} structures
+     * @throws MdocException When a field cannot be read
+     */
+    Namespaces extract(
+            Object document,
+            IssuerSignedItemFactory issuerSignedItemFactory,
+            DigestIDGenerator digestIDGenerator)
+            throws MdocException {
+        Map<String, List<IssuerSignedItem>> result = new LinkedHashMap<>();
+        for (NamespacePlan namespacePlan : namespaces) {
+            List<IssuerSignedItem> issuerSignedItems =
+                    new ArrayList<>(namespacePlan.elements().size());
+            for (ElementPlan element : namespacePlan.elements()) {
+                Object fieldValue = read(element, document);
+                if (element.optional()) {
+                    Optional<?> optional = (Optional<?>) fieldValue;
+                    if (optional == null || optional.isEmpty()) {
+                        continue;
+                    }
+                    fieldValue = optional.get();
+                }
+                issuerSignedItems.add(
+                        issuerSignedItemFactory.build(
+                                element.elementIdentifier(), fieldValue, digestIDGenerator));
+            }
+            result.put(namespacePlan.namespace(), issuerSignedItems);
+        }
+        return new Namespaces(result);
+    }
+
+    private static Object read(ElementPlan element, Object document) throws MdocException {
+        try {
+            return (Object) element.getter().invokeExact(document);
+        } catch (Error | RuntimeException exception) {
+            throw exception;
+        } catch (Throwable throwable) {
+            throw new MdocException(
+                    String.format(
+                            "Failed to access property %s to build IssuerSignedItem",
+                            element.fieldName()),
+                    new IllegalStateException(throwable));
+        }
+    }
+
+    @SuppressWarnings("java:S3011") // Suppressing "Accessibility bypass" warning
+    private static NamespacesExtractionPlan build(Class<?> documentClass) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        Map<String, List<ElementPlan>> elementsByNamespace = new LinkedHashMap<>();
+        for (Field field : documentClass.getDeclaredFields()) {
+            Namespace namespace = field.getAnnotation(Namespace.class);
+            if (namespace == null) {
+                continue;
+            }
+            MethodHandle getter;
+            try {
+                field.setAccessible(true);
+                getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            } catch (IllegalAccessException | RuntimeException exception) {
+                throw new MdocException(
+                        String.format(
+                                "Failed to access property %s to build IssuerSignedItem",
+                                field.getName()),
+                        exception);
+            }
+            elementsByNamespace
+                    .computeIfAbsent(namespace.value(), key -> new ArrayList<>())
+                    .add(
+                            new ElementPlan(
+                                    camelToSnake(field.getName()),
+                                    field.getName(),
+                                    getter,
+                                    Optional.class.isAssignableFrom(field.getType())));
+        }
+
+        List<NamespacePlan> namespaces = new ArrayList<>(elementsByNamespace.size());
+        elementsByNamespace.forEach(
+                (namespace, elements) ->
+                        namespaces.add(new NamespacePlan(namespace, List.copyOf(elements))));
+        return new NamespacesExtractionPlan(List.copyOf(namespaces));
+    }
+}
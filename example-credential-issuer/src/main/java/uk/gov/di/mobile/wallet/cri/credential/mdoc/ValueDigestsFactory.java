@@ -1,33 +1,46 @@
 package uk.gov.di.mobile.wallet.cri.credential.mdoc;
 
-import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
-import uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor.CBOREncoder;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor.EmbeddedCBORHeader;
 
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Factory class responsible for generating message digests for {@link IssuerSignedItem} instances.
  *
- * <p>Uses a provided {@link CBORMapper} to serialize items and a {@link MessageDigest} to compute
- * digests.
+ * <p>Digests are computed over the already encoded items in an {@link EncodedNamespaces}, so the
+ * bytes that are hashed are exactly the bytes that are embedded in the {@link IssuerSigned}.
+ *
+ * <p>A {@link MessageDigest} is stateful and not thread-safe, so each thread that builds
+ * credentials gets its own instance rather than sharing one.
  */
 public class ValueDigestsFactory {
-    private final CBOREncoder cborEncoder;
-    private final MessageDigest messageDigest;
+    private final ThreadLocal<MessageDigest> messageDigest;
+
+    /**
+     * Constructs a new instance that calculates digests with the given algorithm.
+     *
+     * @param digestAlgorithm The name of the digest algorithm, for example "SHA-256".
+     * @throws NoSuchAlgorithmException If the algorithm is not available.
+     */
+    public ValueDigestsFactory(String digestAlgorithm) throws NoSuchAlgorithmException {
+        // Fail at startup rather than on the first credential
+        MessageDigest.getInstance(digestAlgorithm);
+        this.messageDigest = ThreadLocal.withInitial(() -> createMessageDigest(digestAlgorithm));
+    }
 
     /**
-     * Constructs a new instance using the given {@link CBORMapper} for serialization and {@link
-     * MessageDigest} for digest calculation.
+     * Constructs a new instance using the given supplier to create a {@link MessageDigest} for each
+     * thread.
      *
-     * @param cborEncoder Used to serialize {@link IssuerSignedItem} instances.
-     * @param messageDigest Used to calculate the digest.
+     * @param messageDigestSupplier Creates the {@link MessageDigest} used to calculate digests.
      */
-    public ValueDigestsFactory(CBOREncoder cborEncoder, MessageDigest messageDigest) {
-        this.cborEncoder = cborEncoder;
-        this.messageDigest = messageDigest;
+    ValueDigestsFactory(Supplier<MessageDigest> messageDigestSupplier) {
+        this.messageDigest = ThreadLocal.withInitial(messageDigestSupplier);
     }
 
     /**
@@ -36,30 +49,31 @@ public class ValueDigestsFactory {
      * @return The digest algorithm used for this instance's generation of message digests.
      */
     public String getDigestAlgorithm() {
-        return messageDigest.getAlgorithm();
+        return messageDigest.get().getAlgorithm();
     }
 
     /**
      * Creates a {@link ValueDigests} instance by calculating digests for each {@link
      * IssuerSignedItem} in the provided namespaces.
      *
-     * <p>For each namespace key, serializes each {@link IssuerSignedItem} and computes its digest,
+     * <p>For each namespace key, computes the digest of each encoded {@link IssuerSignedItem},
      * building a map of digest IDs to digest byte arrays.
      *
-     * @param namespaces A map from namespace strings to lists of {@link IssuerSignedItem}s.
+     * @param namespaces A map from namespace strings to lists of encoded {@link
+     *     IssuerSignedItem}s.
      * @return A new {@link ValueDigests} instance containing the calculated digests.
      */
-    public ValueDigests createFromNamespaces(Namespaces namespaces) throws MdocException {
+    public ValueDigests createFromNamespaces(EncodedNamespaces namespaces) {
         // Map to hold the final result: namespace -> (digestId -> digest bytes)
         final Map<String, Map<Integer, byte[]>> namespaceToValueDigests = new HashMap<>();
 
         for (var entry : namespaces.namespaces().entrySet()) {
-            // For each namespace, process its list of IssuerSignedItems:
-            // 1. Serialize and digest each item
+            // For each namespace, process its list of encoded IssuerSignedItems:
+            // 1. Digest each item
             // 2. Collect results into a map from digestId to digest bytes
             Map<Integer, byte[]> digestIdToDigest =
                     entry.getValue().stream()
-                            .map(this::serializeAndComputeDigest)
+                            .map(this::computeDigest)
                             .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
 
             namespaceToValueDigests.put(entry.getKey(), digestIdToDigest);
@@ -70,21 +84,33 @@ public class ValueDigestsFactory {
     }
 
     /**
-     * Serializes the given {@link IssuerSignedItem} and computes its digest.
+     * Computes the digest of the given encoded {@link IssuerSignedItem}.
+     *
+     * <p>The digest covers the IssuerSignedItemBytes, that is the tag 24 and byte string header
+     * followed by the encoded item, as embedded in the {@link IssuerSigned} nameSpaces.
      *
-     * @param issuerSignedItem The item to digest.
+     * @param encodedIssuerSignedItem The encoded item to digest.
      * @return A map entry where the key is the digest ID and the value is the digest byte array.
-     * @throws MdocException If serialization or digest calculation fails.
      */
-    private Map.Entry<Integer, byte[]> serializeAndComputeDigest(
-            final IssuerSignedItem issuerSignedItem) throws MdocException {
-        // Serialize the IssuerSignedItem to a CBOR byte array
-        byte[] serializedIssuerSignedItem = cborEncoder.encode(issuerSignedItem);
+    private Map.Entry<Integer, byte[]> computeDigest(
+            final EncodedIssuerSignedItem encodedIssuerSignedItem) {
+        byte[] encodedItem = encodedIssuerSignedItem.encodedItem();
 
-        // Compute the digest over the serialized bytes
-        byte[] digest = messageDigest.digest(serializedIssuerSignedItem);
+        // Hash the embedded CBOR header, then the encoded item, without copying the item
+        MessageDigest threadMessageDigest = messageDigest.get();
+        threadMessageDigest.update(EmbeddedCBORHeader.forLength(encodedItem.length));
+        byte[] digest = threadMessageDigest.digest(encodedItem);
 
         // Return a map entry pairing the digest ID with the computed digest bytes
-        return Map.entry(issuerSignedItem.digestId(), digest);
+        return Map.entry(encodedIssuerSignedItem.digestId(), digest);
+    }
+
+    private static MessageDigest createMessageDigest(String digestAlgorithm) {
+        try {
+            return MessageDigest.getInstance(digestAlgorithm);
+        } catch (NoSuchAlgorithmException exception) {
+            // Already checked in the constructor
+            throw new IllegalStateException(exception);
+        }
     }
 }
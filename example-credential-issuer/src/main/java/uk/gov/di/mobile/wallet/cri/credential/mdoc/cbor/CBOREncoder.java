@@ -1,15 +1,20 @@
 package uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor;
 
 import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.IssuerSignedItem;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.MdocException;
 
 import java.io.IOException;
 
 /**
  * Encodes Java objects into CBOR (Concise Binary Object Representation) format. This class utilises
- * a {@link CBORMapper} to perform the encoding.
+ * a {@link CBORMapper} to perform the encoding, into a buffer reused by the calling thread (see
+ * {@link ReusableCBORBuffer}), so only the returned array is allocated for each encoding.
  */
 public class CBOREncoder {
+    private static final String SIGNATURE1_CONTEXT = "Signature1";
+    private static final byte[] EMPTY_EXTERNAL_AAD = new byte[0];
+
     private final CBORMapper mapper;
 
     /**
@@ -31,7 +36,58 @@ public class CBOREncoder {
      */
     public byte[] encode(Object dataToEncode) throws MdocException {
         try {
-            return this.mapper.writeValueAsBytes(dataToEncode);
+            return ReusableCBORBuffer.encode(
+                    this.mapper.getFactory(),
+                    this.mapper,
+                    generator -> this.mapper.writeValue(generator, dataToEncode));
+        } catch (IOException exception) {
+            throw new MdocException("Failed to CBOR encode data", exception);
+        }
+    }
+
+    /**
+     * Encodes the given {@link IssuerSignedItem} as a plain CBOR map, without the tag 24 wrapper
+     * that {@link IssuerSignedItemCBORSerializer} adds. The result is the content of the embedded
+     * byte string.
+     *
+     * @param issuerSignedItem The item to encode.
+     * @return A byte array containing the CBOR map representation of the item.
+     * @throws MdocException If an error occurs during the encoding process.
+     */
+    public byte[] encodeIssuerSignedItem(IssuerSignedItem issuerSignedItem) throws MdocException {
+        try {
+            return ReusableCBORBuffer.encode(
+                    this.mapper.getFactory(),
+                    this.mapper,
+                    generator -> IssuerSignedItemWriter.write(generator, issuerSignedItem));
+        } catch (IOException exception) {
+            throw new MdocException("Failed to CBOR encode data", exception);
+        }
+    }
+
+    /**
+     * Encodes the Sig_structure that is signed to create a COSE_Sign1 (RFC 8152 section 4.4). The
+     * four elements are written directly, rather than serializing an intermediate array, and the
+     * external AAD is always empty for an mdoc.
+     *
+     * @param protectedHeader The CBOR-encoded protected header.
+     * @param payload The payload being signed.
+     * @return A byte array containing the CBOR representation of the Sig_structure.
+     * @throws MdocException If an error occurs during the encoding process.
+     */
+    public byte[] encodeSigStructure(byte[] protectedHeader, byte[] payload) throws MdocException {
+        try {
+            return ReusableCBORBuffer.encode(
+                    this.mapper.getFactory(),
+                    this.mapper,
+                    generator -> {
+                        generator.writeStartArray(null, 4);
+                        generator.writeString(SIGNATURE1_CONTEXT);
+                        generator.writeBinary(protectedHeader);
+                        generator.writeBinary(EMPTY_EXTERNAL_AAD);
+                        generator.writeBinary(payload);
+                        generator.writeEndArray();
+                    });
         } catch (IOException exception) {
             throw new MdocException("Failed to CBOR encode data", exception);
         }
@@ -0,0 +1,66 @@
+package uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor;
+
+import uk.gov.di.mobile.wallet.cri.annotations.ExcludeFromGeneratedCoverageReport;
+
+/**
+ * Builds the header that precedes an embedded CBOR data item (RFC 8949 section 3.4.5.1): tag 24
+ * followed by the length of the byte string holding the encoded item.
+ *
+ * <p>Lengths use the shortest form, matching what {@link
+ * com.fasterxml.jackson.dataformat.cbor.CBORGenerator} writes for {@code writeTag(24)} followed by
+ * {@code writeBinary(bytes)}.
+ */
+public final class EmbeddedCBORHeader {
+
+    private static final byte TAG_24_FIRST_BYTE = (byte) 0xd8;
+    private static final byte TAG_24_SECOND_BYTE = 0x18;
+    private static final int BYTE_STRING_MAJOR_TYPE = 0x40;
+    private static final int ONE_BYTE_LENGTH = 24;
+    private static final int TWO_BYTE_LENGTH = 25;
+    private static final int FOUR_BYTE_LENGTH = 26;
+
+    @ExcludeFromGeneratedCoverageReport
+    private EmbeddedCBORHeader() {
+        throw new IllegalStateException("Instantiation is not valid for this class.");
+    }
+
+    /**
+     * Returns the tag 24 and byte string header for an encoded item of the given length.
+     *
+     * @param length the length in bytes of the encoded item
+     * @return the header bytes
+     */
+    public static byte[] forLength(int length) {
+        if (length < ONE_BYTE_LENGTH) {
+            return new byte[] {
+                TAG_24_FIRST_BYTE, TAG_24_SECOND_BYTE, (byte) (BYTE_STRING_MAJOR_TYPE | length)
+            };
+        }
+        if (length < 0x100) {
+            return new byte[] {
+                TAG_24_FIRST_BYTE,
+                TAG_24_SECOND_BYTE,
+                (byte) (BYTE_STRING_MAJOR_TYPE | ONE_BYTE_LENGTH),
+                (byte) length
+            };
+        }
+        if (length < 0x10000) {
+            return new byte[] {
+                TAG_24_FIRST_BYTE,
+                TAG_24_SECOND_BYTE,
+                (byte) (BYTE_STRING_MAJOR_TYPE | TWO_BYTE_LENGTH),
+                (byte) (length >> 8),
+                (byte) length
+            };
+        }
+        return new byte[] {
+            TAG_24_FIRST_BYTE,
+            TAG_24_SECOND_BYTE,
+            (byte) (BYTE_STRING_MAJOR_TYPE | FOUR_BYTE_LENGTH),
+            (byte) (length >> 24),
+            (byte) (length >> 16),
+            (byte) (length >> 8),
+            (byte) length
+        };
+    }
+}
@@ -4,8 +4,8 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.EncodedIssuerSignedItem;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.IssuerSigned;
-import uk.gov.di.mobile.wallet.cri.credential.mdoc.IssuerSignedItem;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.cose.COSESign1;
 
 import java.io.IOException;
@@ -18,8 +18,9 @@ import java.util.Map;
  * <p>Serializes an {@link IssuerSigned} object as a definite-length CBOR map with two entries:
  *
  * <ul>
- *   <li><b>nameSpaces</b>: a definite-length CBOR map from namespace strings to arrays of {@link
- *       IssuerSignedItem} objects serialized via the configured {@link IssuerSignedCBORSerializer}
+ *   <li><b>nameSpaces</b>: a definite-length CBOR map from namespace strings to arrays of
+ *       IssuerSignedItemBytes, each written as tag 24 followed by the byte string of the already
+ *       encoded {@link EncodedIssuerSignedItem}
  *   <li><b>issuerAuth</b>: a COSE_Sign1 structure represented as an array of four elements:
  *       <ol>
  *         <li>protected header, a byte string
@@ -59,12 +60,15 @@ public class IssuerSignedCBORSerializer extends StdSerializer<IssuerSigned> {
 
         cborGenerator.writeFieldName("nameSpaces");
         cborGenerator.writeStartObject();
-        for (Map.Entry<String, List<IssuerSignedItem>> entry : value.nameSpaces().entrySet()) {
+        for (Map.Entry<String, List<EncodedIssuerSignedItem>> entry :
+                value.nameSpaces().entrySet()) {
             cborGenerator.writeFieldName(entry.getKey());
             cborGenerator.writeStartArray();
 
-            for (IssuerSignedItem issuerSignedItem : entry.getValue()) {
-                cborGenerator.writeObject(issuerSignedItem);
+            for (EncodedIssuerSignedItem issuerSignedItem : entry.getValue()) {
+                // Embed the bytes that were digested into the MSO, rather than re-encoding
+                cborGenerator.writeTag(24);
+                cborGenerator.writeBinary(issuerSignedItem.encodedItem());
             }
             cborGenerator.writeEndArray();
         }
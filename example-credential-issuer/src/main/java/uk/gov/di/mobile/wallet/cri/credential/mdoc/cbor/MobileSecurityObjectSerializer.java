@@ -3,11 +3,9 @@ package uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
-import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.MobileSecurityObject;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 /**
@@ -16,9 +14,10 @@ import java.io.IOException;
  * <p>Serializes an {@link MobileSecurityObject} object as an embedded CBOR data item (RFC 8949).
  *
  * <ul>
- *   <li>Encodes the item using the current codec and an inner CBOR generator.
+ *   <li>Encodes the item using the current codec and an inner CBOR generator, into a buffer reused
+ *       by the thread (see {@link ReusableCBORBuffer}).
  *   <li>Prefixes with CBOR tag 24 to mark the following byte string as embedded CBOR.
- *   <li>Writes the map's CBOR byte string after the tag.
+ *   <li>Writes the map's CBOR byte string after the tag, straight from the buffer.
  * </ul>
  */
 public class MobileSecurityObjectSerializer extends StdSerializer<MobileSecurityObject> {
@@ -45,13 +44,8 @@ public class MobileSecurityObjectSerializer extends StdSerializer<MobileSecurity
             throw new IllegalArgumentException("Requires CBORGenerator");
         }
 
-        CBORFactory factory = new CBORFactory();
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try (CBORGenerator innerGenerator = factory.createGenerator(baos)) {
-            innerGenerator.setCodec(generator.getCodec());
-            MobileSecurityObjectWriter.write(innerGenerator, value);
-        }
-        cborGenerator.writeTag(24);
-        cborGenerator.writeBinary(baos.toByteArray());
+        ReusableCBORBuffer.writeEmbedded(
+                cborGenerator,
+                innerGenerator -> MobileSecurityObjectWriter.write(innerGenerator, value));
     }
 }
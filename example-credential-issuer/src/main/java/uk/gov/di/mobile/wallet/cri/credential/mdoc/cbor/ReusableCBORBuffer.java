@@ -0,0 +1,108 @@
+package uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor;
+
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A buffer, pooled per thread, that mdoc structures are CBOR encoded into, so that encoding a
+ * credential does not allocate a new stream and backing array for every item.
+ *
+ * <p>An embedded CBOR data item (tag 24) is written with its length first, so the item is encoded
+ * into the buffer and then written to the enclosing generator straight from the buffer, without
+ * first being copied to an array of its own. Embedded items are encoded with generators from one
+ * shared {@link CBORFactory}, whose output buffers Jackson recycles per thread.
+ *
+ * <p>Each thread keeps a small pool of buffers, as items are nested: the mobile security object
+ * is itself embedded CBOR, and is encoded while its caller's buffer is in use. A buffer that grows
+ * past {@link #MAX_RETAINED_CAPACITY} is shrunk when it is released, so a large portrait does not
+ * keep memory pinned to the thread.
+ */
+final class ReusableCBORBuffer extends ByteArrayOutputStream {
+
+    private static final CBORFactory SHARED_FACTORY = new CBORFactory();
+    private static final int EMBEDDED_CBOR_TAG = 24;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final int MAX_POOLED_PER_THREAD = 4;
+    private static final ThreadLocal<Deque<ReusableCBORBuffer>> THREAD_POOL =
+            ThreadLocal.withInitial(ArrayDeque::new);
+
+    /** Writes a CBOR data item to the generator it is given. */
+    @FunctionalInterface
+    interface ItemWriter {
+        void write(CBORGenerator generator) throws IOException;
+    }
+
+    private ReusableCBORBuffer() {
+        super(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Encodes a CBOR data item.
+     *
+     * @param factory the factory to create the generator with
+     * @param codec the codec used to write nested objects
+     * @param itemWriter writes the item
+     * @return the encoded item
+     * @throws IOException on write errors
+     */
+    static byte[] encode(CBORFactory factory, ObjectCodec codec, ItemWriter itemWriter)
+            throws IOException {
+        ReusableCBORBuffer buffer = acquire();
+        try {
+            buffer.encodeItem(factory, codec, itemWriter);
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * Writes a CBOR data item to the given generator as embedded CBOR: tag 24 followed by a byte
+     * string holding the encoded item.
+     *
+     * @param generator the generator to write the embedded item to
+     * @param itemWriter writes the item
+     * @throws IOException on write errors
+     */
+    static void writeEmbedded(CBORGenerator generator, ItemWriter itemWriter) throws IOException {
+        ReusableCBORBuffer buffer = acquire();
+        try {
+            buffer.encodeItem(SHARED_FACTORY, generator.getCodec(), itemWriter);
+            generator.writeTag(EMBEDDED_CBOR_TAG);
+            generator.writeBinary(buffer.buf, 0, buffer.count);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static ReusableCBORBuffer acquire() {
+        ReusableCBORBuffer buffer = THREAD_POOL.get().pollFirst();
+        return buffer != null ? buffer : new ReusableCBORBuffer();
+    }
+
+    private void encodeItem(CBORFactory factory, ObjectCodec codec, ItemWriter itemWriter)
+            throws IOException {
+        try (CBORGenerator generator = factory.createGenerator(this)) {
+            generator.setCodec(codec);
+            itemWriter.write(generator);
+        }
+    }
+
+    private void release() {
+        if (buf.length > MAX_RETAINED_CAPACITY) {
+            buf = new byte[INITIAL_CAPACITY];
+        }
+        reset();
+        Deque<ReusableCBORBuffer> pool = THREAD_POOL.get();
+        if (pool.size() < MAX_POOLED_PER_THREAD) {
+            pool.offerFirst(this);
+        }
+    }
+}
@@ -12,97 +12,183 @@ import software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.MdocException;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor.CBOREncoder;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.cose.constants.COSEAlgorithms;
+import uk.gov.di.mobile.wallet.cri.services.object_storage.ObjectStoreException;
 import uk.gov.di.mobile.wallet.cri.services.signing.KeyProvider;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyPool;
 
 import java.math.BigInteger;
-import java.security.cert.CertificateEncodingException;
-import java.security.cert.X509Certificate;
+import java.security.cert.CertificateException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static uk.gov.di.mobile.wallet.cri.util.HashUtil.sha256;
 
 public class COSESigner {
+    private static final COSEProtectedHeader PROTECTED_HEADER =
+            new COSEProtectedHeader(COSEAlgorithms.ES256);
+
     private final CBOREncoder cborEncoder;
     private final KeyProvider keyProvider;
-    private final String documentSigningKeyArn;
+    private final SigningKeyPool documentSigningKeyPool;
+
+    /** Looks up the document signing certificate issued for a signing key. */
+    @FunctionalInterface
+    public interface CertificateSource {
+        /**
+         * @param keyArn the ARN of the key the payload was signed with
+         * @return the DER-encoded X.509 certificate issued for the key
+         * @throws CertificateException if the certificate cannot be parsed
+         * @throws ObjectStoreException if the certificate cannot be retrieved
+         */
+        byte[] getEncodedCertificate(String keyArn)
+                throws CertificateException, ObjectStoreException;
+    }
+
+    private record KeySignature(String keyArn, byte[] signature) {}
 
     public COSESigner(
-            CBOREncoder cborEncoder, KeyProvider keyProvider, String documentSigningKeyArn) {
+            CBOREncoder cborEncoder,
+            KeyProvider keyProvider,
+            SigningKeyPool documentSigningKeyPool) {
         this.cborEncoder = cborEncoder;
         this.keyProvider = keyProvider;
-        this.documentSigningKeyArn = documentSigningKeyArn;
+        this.documentSigningKeyPool = documentSigningKeyPool;
     }
 
     /**
-     * Signs the provided payload and creates a COSE_Sign1 structure.
+     * Signs the provided payload with a key from the document signing key pool and creates a
+     * COSE_Sign1 structure. The certificate is not covered by the signature, so it is only looked
+     * up once the key has been chosen.
      *
      * @param payload the data to be signed
-     * @param certificate the X.509 certificate to include in the unprotected header
+     * @param certificateSource source of the X.509 certificate of the signing key, to include in
+     *     the unprotected header
      * @return a COSESign1 structure containing headers, payload, and signature
      * @throws SigningException if the signing operation fails
      * @throws MdocException if CBOR encoding fails
-     * @throws CertificateEncodingException if the certificate cannot be encoded
+     * @throws CertificateException if the certificate cannot be parsed
+     * @throws ObjectStoreException if the certificate cannot be retrieved
      */
-    public COSESign1 sign(byte[] payload, X509Certificate certificate)
-            throws SigningException, MdocException, CertificateEncodingException {
-        COSEUnprotectedHeader unprotectedHeader =
-                new COSEUnprotectedHeader(certificate.getEncoded());
-        COSEProtectedHeader protectedHeader = new COSEProtectedHeader(COSEAlgorithms.ES256);
-        byte[] protectedHeaderEncoded = cborEncoder.encode(protectedHeader);
-        byte[] toBeSigned = createSigStructure(protectedHeaderEncoded, payload);
-        byte[] signature = signPayload(toBeSigned);
+    public COSESign1 sign(byte[] payload, CertificateSource certificateSource)
+            throws SigningException, MdocException, CertificateException, ObjectStoreException {
+        byte[] protectedHeaderEncoded = cborEncoder.encode(PROTECTED_HEADER);
+        byte[] toBeSigned = cborEncoder.encodeSigStructure(protectedHeaderEncoded, payload);
+        KeySignature keySignature =
+                documentSigningKeyPool.withKey(
+                        keyArn -> new KeySignature(keyArn, signPayload(toBeSigned, keyArn)));
+        byte[] encodedCertificate = certificateSource.getEncodedCertificate(keySignature.keyArn());
 
-        return new COSESign1Builder()
-                .protectedHeader(protectedHeaderEncoded)
-                .unprotectedHeader(unprotectedHeader)
-                .payload(payload)
-                .signature(signature)
-                .build();
+        return buildSign1(
+                protectedHeaderEncoded, encodedCertificate, payload, keySignature.signature());
     }
 
     /**
-     * Creates a Sig_structure as defined in RFC 8152.
+     * Signs the provided payload without blocking on the key provider, and creates a COSE_Sign1
+     * structure once the signature is available.
      *
-     * @param protectedHeaders the CBOR-encoded protected headers
-     * @param payload the payload to be signed
-     * @return the CBOR-encoded Sig_structure
+     * @param payload the data to be signed
+     * @param certificateSource source of the X.509 certificate of the signing key, to include in
+     *     the unprotected header
+     * @return a future completed with the COSESign1 structure, or failed with a {@link
+     *     SigningException} if the signing operation fails, or with the exception thrown by the
+     *     certificate source
+     * @throws MdocException if CBOR encoding fails
      */
-    private byte[] createSigStructure(byte[] protectedHeaders, byte[] payload) {
-        Object[] sigStructure = new Object[4];
-        sigStructure[0] = "Signature1"; // Context string for COSE_Sign1
-        sigStructure[1] = protectedHeaders; // Serialized protected headers
-        sigStructure[2] = new byte[0]; // External AAD (empty for mDoc)
-        sigStructure[3] = payload; // Payload being signed
-        return cborEncoder.encode(sigStructure);
+    public CompletableFuture<COSESign1> signAsync(
+            byte[] payload, CertificateSource certificateSource) throws MdocException {
+        byte[] protectedHeaderEncoded = cborEncoder.encode(PROTECTED_HEADER);
+        byte[] toBeSigned = cborEncoder.encodeSigStructure(protectedHeaderEncoded, payload);
+
+        return documentSigningKeyPool
+                .withKeyAsync(keyArn -> signPayloadAsync(toBeSigned, keyArn))
+                .thenApply(
+                        keySignature -> {
+                            byte[] encodedCertificate;
+                            try {
+                                encodedCertificate =
+                                        certificateSource.getEncodedCertificate(
+                                                keySignature.keyArn());
+                            } catch (CertificateException | ObjectStoreException exception) {
+                                throw new CompletionException(exception);
+                            }
+                            return buildSign1(
+                                    protectedHeaderEncoded,
+                                    encodedCertificate,
+                                    payload,
+                                    keySignature.signature());
+                        });
+    }
+
+    private CompletableFuture<KeySignature> signPayloadAsync(byte[] toBeSigned, String keyArn) {
+        return keyProvider
+                .signAsync(createSignRequest(toBeSigned, keyArn))
+                .handle(
+                        (signResult, exception) -> {
+                            if (exception != null) {
+                                throw new CompletionException(
+                                        signingFailed(
+                                                exception instanceof CompletionException
+                                                        ? exception.getCause()
+                                                        : exception));
+                            }
+                            try {
+                                return new KeySignature(
+                                        keyArn, toP1363(signResult.signature().asByteArray()));
+                            } catch (RuntimeException conversionException) {
+                                throw new CompletionException(signingFailed(conversionException));
+                            }
+                        });
+    }
+
+    private static COSESign1 buildSign1(
+            byte[] protectedHeaderEncoded,
+            byte[] encodedCertificate,
+            byte[] payload,
+            byte[] signature) {
+        return new COSESign1Builder()
+                .protectedHeader(protectedHeaderEncoded)
+                .unprotectedHeader(new COSEUnprotectedHeader(encodedCertificate))
+                .payload(payload)
+                .signature(signature)
+                .build();
     }
 
     /**
      * Signs the provided payload using ECDSA with P-256.
      *
      * @param toBeSigned the Sig_structure to be signed
+     * @param keyArn the ARN of the key to sign with
      * @return the signature in IEEE P-1363 format
      * @throws SigningException if signing fails
      */
-    private byte[] signPayload(byte[] toBeSigned) throws SigningException {
-        byte[] hash = sha256(toBeSigned);
-        var signRequest =
-                SignRequest.builder()
-                        .message(SdkBytes.fromByteArray(hash))
-                        .messageType(MessageType.DIGEST)
-                        .keyId(documentSigningKeyArn)
-                        .signingAlgorithm(SigningAlgorithmSpec.ECDSA_SHA_256)
-                        .build();
-
+    private byte[] signPayload(byte[] toBeSigned, String keyArn) throws SigningException {
         try {
-            SignResponse signResult = keyProvider.sign(signRequest);
+            SignResponse signResult = keyProvider.sign(createSignRequest(toBeSigned, keyArn));
             byte[] derSignature = signResult.signature().asByteArray();
             return toP1363(derSignature);
         } catch (Exception exception) {
-            throw new SigningException(
-                    String.format("Error signing MSO: %s", exception.getMessage()), exception);
+            throw signingFailed(exception);
         }
     }
 
+    private static SignRequest createSignRequest(byte[] toBeSigned, String keyArn) {
+        byte[] hash = sha256(toBeSigned);
+        return SignRequest.builder()
+                .message(SdkBytes.fromByteArray(hash))
+                .messageType(MessageType.DIGEST)
+                .keyId(keyArn)
+                .signingAlgorithm(SigningAlgorithmSpec.ECDSA_SHA_256)
+                .build();
+    }
+
+    private static SigningException signingFailed(Throwable cause) {
+        Exception exception =
+                cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+        return new SigningException(
+                String.format("Error signing MSO: %s", cause.getMessage()), exception);
+    }
+
     /**
      * Converts an ASN.1/DER-encoded ECDSA signature to IEEE P-1363 format as required by RFC 8152.
      *
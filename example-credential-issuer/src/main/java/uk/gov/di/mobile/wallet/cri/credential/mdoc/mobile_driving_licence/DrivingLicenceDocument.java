@@ -83,13 +83,54 @@ public class DrivingLicenceDocument {
     @Namespace(NamespaceTypes.GB)
     private final Optional<List<DrivingPrivilege>> provisionalDrivingPrivileges;
 
-    @JsonCreator
     public DrivingLicenceDocument(
+            String familyName,
+            String givenName,
+            String title,
+            boolean welshLicence,
+            String portrait,
+            String birthDate,
+            String birthPlace,
+            String issueDate,
+            String expiryDate,
+            String issuingAuthority,
+            String issuingCountry,
+            String documentNumber,
+            String[] residentAddress,
+            String residentPostalCode,
+            String residentCity,
+            List<DrivingPrivilege> drivingPrivileges,
+            String unDistinguishingSign,
+            List<DrivingPrivilege> provisionalDrivingPrivileges) {
+        this(
+                familyName,
+                givenName,
+                title,
+                welshLicence,
+                getBytesFromBase64(Objects.requireNonNull(portrait, "portrait is required")),
+                birthDate,
+                birthPlace,
+                issueDate,
+                expiryDate,
+                issuingAuthority,
+                issuingCountry,
+                documentNumber,
+                residentAddress,
+                residentPostalCode,
+                residentCity,
+                drivingPrivileges,
+                unDistinguishingSign,
+                provisionalDrivingPrivileges);
+    }
+
+    /** Jackson decodes the base64 portrait straight from the token stream into its bytes. */
+    @JsonCreator
+    private DrivingLicenceDocument(
             @JsonProperty("family_name") String familyName,
             @JsonProperty("given_name") String givenName,
             @JsonProperty("title") String title,
             @JsonProperty("welsh_licence") boolean welshLicence,
-            @JsonProperty("portrait") String portrait,
+            @JsonProperty("portrait") byte[] portrait,
             @JsonProperty("birth_date") String birthDate,
             @JsonProperty("birth_place") String birthPlace,
             @JsonProperty("issue_date") String issueDate,
@@ -108,8 +149,7 @@ public class DrivingLicenceDocument {
         this.givenName = Objects.requireNonNull(givenName, "given_name is required");
         this.title = Objects.requireNonNull(title, "title is required");
         this.welshLicence = welshLicence;
-        this.portrait =
-                getBytesFromBase64(Objects.requireNonNull(portrait, "portrait is required"));
+        this.portrait = Objects.requireNonNull(portrait, "portrait is required");
         this.birthDate = parseDate(Objects.requireNonNull(birthDate, "birth_date is required"));
         this.ageOver18 = getAge(this.birthDate) >= 18;
         this.ageOver21 = getAge(this.birthDate) >= 21;
@@ -138,6 +178,41 @@ public class DrivingLicenceDocument {
         this.provisionalDrivingPrivileges = Optional.ofNullable(provisionalDrivingPrivileges);
     }
 
+    private DrivingLicenceDocument(DrivingLicenceDocument document, String documentNumber) {
+        this.familyName = document.familyName;
+        this.givenName = document.givenName;
+        this.title = document.title;
+        this.welshLicence = document.welshLicence;
+        this.portrait = document.portrait;
+        this.birthDate = document.birthDate;
+        this.ageOver18 = getAge(this.birthDate) >= 18;
+        this.ageOver21 = getAge(this.birthDate) >= 21;
+        this.ageOver25 = getAge(this.birthDate) >= 25;
+        this.birthPlace = document.birthPlace;
+        this.issueDate = document.issueDate;
+        this.expiryDate = document.expiryDate;
+        this.issuingAuthority = document.issuingAuthority;
+        this.issuingCountry = document.issuingCountry;
+        this.documentNumber = Objects.requireNonNull(documentNumber, "document_number is required");
+        this.residentAddress = document.residentAddress;
+        this.residentPostalCode = document.residentPostalCode;
+        this.residentCity = document.residentCity;
+        this.drivingPrivileges = document.drivingPrivileges;
+        this.unDistinguishingSign = document.unDistinguishingSign;
+        this.provisionalDrivingPrivileges = document.provisionalDrivingPrivileges;
+    }
+
+    /**
+     * Returns a copy of this document with a different document number. The copy shares every
+     * other field with this document, and its age attributes are recalculated for today's date.
+     *
+     * @param documentNumber The document number of the copy.
+     * @return The copy.
+     */
+    public DrivingLicenceDocument withDocumentNumber(String documentNumber) {
+        return new DrivingLicenceDocument(this, documentNumber);
+    }
+
     private LocalDate parseDate(String dateString) {
         DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("dd-MM-yyyy");
         return LocalDate.parse(dateString, dateFormat);
@@ -147,7 +222,7 @@ public class DrivingLicenceDocument {
         return Period.between(birthDate, LocalDate.now(ZoneOffset.UTC)).getYears();
     }
 
-    private byte[] getBytesFromBase64(String base64String) {
+    private static byte[] getBytesFromBase64(String base64String) {
         return Base64.getDecoder().decode(base64String);
     }
 }
@@ -1,9 +1,9 @@
 package uk.gov.di.mobile.wallet.cri.credential.mdoc.mobile_driving_licence;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import uk.gov.di.mobile.wallet.cri.credential.CredentialHandler;
 import uk.gov.di.mobile.wallet.cri.credential.DocumentStoreRecord;
 import uk.gov.di.mobile.wallet.cri.credential.StatusListClient;
+import uk.gov.di.mobile.wallet.cri.credential.StreamingCredential;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.MdocCredentialBuilder;
 import uk.gov.di.mobile.wallet.cri.credential.proof.ProofJwtService;
 import uk.gov.di.mobile.wallet.cri.services.object_storage.ObjectStoreException;
@@ -11,11 +11,11 @@ import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
 import java.security.cert.CertificateException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class MobileDrivingLicenceHandler implements CredentialHandler {
 
     private final MdocCredentialBuilder<DrivingLicenceDocument> mdocCredentialBuilder;
-    private final ObjectMapper mapper = new ObjectMapper();
 
     public MobileDrivingLicenceHandler(
             MdocCredentialBuilder<DrivingLicenceDocument> mdocCredentialBuilder) {
@@ -28,7 +28,7 @@ public class MobileDrivingLicenceHandler implements CredentialHandler {
             Optional<StatusListClient.StatusListInformation> statusListInformation)
             throws ObjectStoreException, SigningException, CertificateException {
         DrivingLicenceDocument document =
-                mapper.convertValue(documentStoreRecord.getData(), DrivingLicenceDocument.class);
+                documentStoreRecord.getDocument(DrivingLicenceDocument.class);
 
         return mdocCredentialBuilder.buildCredential(
                 document,
@@ -37,4 +37,36 @@ public class MobileDrivingLicenceHandler implements CredentialHandler {
                 documentStoreRecord.getCredentialTtlSeconds(),
                 documentStoreRecord.getExpectedUpdateSeconds());
     }
+
+    @Override
+    public CompletableFuture<String> buildCredentialAsync(
+            DocumentStoreRecord documentStoreRecord,
+            ProofJwtService.ProofJwtData proofData,
+            Optional<StatusListClient.StatusListInformation> statusListInformation) {
+        DrivingLicenceDocument document =
+                documentStoreRecord.getDocument(DrivingLicenceDocument.class);
+
+        return mdocCredentialBuilder.buildCredentialAsync(
+                document,
+                proofData.publicKey(),
+                statusListInformation.orElseThrow(),
+                documentStoreRecord.getCredentialTtlSeconds(),
+                documentStoreRecord.getExpectedUpdateSeconds());
+    }
+
+    @Override
+    public CompletableFuture<StreamingCredential> buildStreamingCredentialAsync(
+            DocumentStoreRecord documentStoreRecord,
+            ProofJwtService.ProofJwtData proofData,
+            Optional<StatusListClient.StatusListInformation> statusListInformation) {
+        DrivingLicenceDocument document =
+                documentStoreRecord.getDocument(DrivingLicenceDocument.class);
+
+        return mdocCredentialBuilder.buildStreamingCredentialAsync(
+                document,
+                proofData.publicKey(),
+                statusListInformation.orElseThrow(),
+                documentStoreRecord.getCredentialTtlSeconds(),
+                documentStoreRecord.getExpectedUpdateSeconds());
+    }
 }
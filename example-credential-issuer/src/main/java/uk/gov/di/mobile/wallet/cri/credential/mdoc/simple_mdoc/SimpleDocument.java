@@ -46,11 +46,36 @@ public class SimpleDocument {
     @Namespace(NamespaceTypes.SIMPLE_MDOC)
     private final int numberOfFishingRods;
 
-    @JsonCreator
     public SimpleDocument(
+            String familyName,
+            String givenName,
+            String portrait,
+            String birthDate,
+            String issueDate,
+            String expiryDate,
+            String issuingCountry,
+            String documentNumber,
+            String typeOfFish,
+            int numberOfFishingRods) {
+        this(
+                familyName,
+                givenName,
+                getBytesFromBase64(Objects.requireNonNull(portrait, "portrait is required")),
+                birthDate,
+                issueDate,
+                expiryDate,
+                issuingCountry,
+                documentNumber,
+                typeOfFish,
+                numberOfFishingRods);
+    }
+
+    /** Jackson decodes the base64 portrait straight from the token stream into its bytes. */
+    @JsonCreator
+    private SimpleDocument(
             @JsonProperty("family_name") String familyName,
             @JsonProperty("given_name") String givenName,
-            @JsonProperty("portrait") String portrait,
+            @JsonProperty("portrait") byte[] portrait,
             @JsonProperty("birth_date") String birthDate,
             @JsonProperty("issue_date") String issueDate,
             @JsonProperty("expiry_date") String expiryDate,
@@ -60,8 +85,7 @@ public class SimpleDocument {
             @JsonProperty("number_of_fishing_rods") int numberOfFishingRods) {
         this.familyName = Objects.requireNonNull(familyName, "family_name is required");
         this.givenName = Objects.requireNonNull(givenName, "given_name is required");
-        this.portrait =
-                getBytesFromBase64(Objects.requireNonNull(portrait, "portrait is required"));
+        this.portrait = Objects.requireNonNull(portrait, "portrait is required");
         this.birthDate = parseDate(Objects.requireNonNull(birthDate, "birth_date is required"));
         this.issueDate = parseDate(Objects.requireNonNull(issueDate, "issue_date is required"));
         this.expiryDate = parseDate(Objects.requireNonNull(expiryDate, "expiry_date is required"));
@@ -71,12 +95,36 @@ public class SimpleDocument {
         this.numberOfFishingRods = numberOfFishingRods;
     }
 
+    private SimpleDocument(SimpleDocument document, String documentNumber) {
+        this.familyName = document.familyName;
+        this.givenName = document.givenName;
+        this.portrait = document.portrait;
+        this.birthDate = document.birthDate;
+        this.issueDate = document.issueDate;
+        this.expiryDate = document.expiryDate;
+        this.issuingCountry = document.issuingCountry;
+        this.documentNumber = Objects.requireNonNull(documentNumber, "document_number is required");
+        this.typeOfFish = document.typeOfFish;
+        this.numberOfFishingRods = document.numberOfFishingRods;
+    }
+
+    /**
+     * Returns a copy of this document with a different document number. The copy shares every
+     * other field with this document.
+     *
+     * @param documentNumber The document number of the copy.
+     * @return The copy.
+     */
+    public SimpleDocument withDocumentNumber(String documentNumber) {
+        return new SimpleDocument(this, documentNumber);
+    }
+
     private LocalDate parseDate(String dateString) {
         DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("dd-MM-yyyy");
         return LocalDate.parse(dateString, dateFormat);
     }
 
-    private byte[] getBytesFromBase64(String base64String) {
+    private static byte[] getBytesFromBase64(String base64String) {
         return Base64.getDecoder().decode(base64String);
     }
 }
@@ -1,9 +1,9 @@
 package uk.gov.di.mobile.wallet.cri.credential.mdoc.simple_mdoc;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import uk.gov.di.mobile.wallet.cri.credential.CredentialHandler;
 import uk.gov.di.mobile.wallet.cri.credential.DocumentStoreRecord;
 import uk.gov.di.mobile.wallet.cri.credential.StatusListClient;
+import uk.gov.di.mobile.wallet.cri.credential.StreamingCredential;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.MdocCredentialBuilder;
 import uk.gov.di.mobile.wallet.cri.credential.proof.ProofJwtService;
 import uk.gov.di.mobile.wallet.cri.services.object_storage.ObjectStoreException;
@@ -11,11 +11,11 @@ import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
 import java.security.cert.CertificateException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class SimpleMdocHandler implements CredentialHandler {
 
     private final MdocCredentialBuilder<SimpleDocument> mdocBuilder;
-    private final ObjectMapper mapper = new ObjectMapper();
 
     public SimpleMdocHandler(MdocCredentialBuilder<SimpleDocument> mdocBuilder) {
         this.mdocBuilder = mdocBuilder;
@@ -26,8 +26,7 @@ public class SimpleMdocHandler implements CredentialHandler {
             ProofJwtService.ProofJwtData proofData,
             Optional<StatusListClient.StatusListInformation> statusListInformation)
             throws ObjectStoreException, SigningException, CertificateException {
-        SimpleDocument document =
-                mapper.convertValue(documentStoreRecord.getData(), SimpleDocument.class);
+        SimpleDocument document = documentStoreRecord.getDocument(SimpleDocument.class);
 
         return mdocBuilder.buildCredential(
                 document,
@@ -35,4 +34,34 @@ public class SimpleMdocHandler implements CredentialHandler {
                 statusListInformation.orElseThrow(),
                 documentStoreRecord.getCredentialTtlSeconds());
     }
+
+    @Override
+    public CompletableFuture<String> buildCredentialAsync(
+            DocumentStoreRecord documentStoreRecord,
+            ProofJwtService.ProofJwtData proofData,
+            Optional<StatusListClient.StatusListInformation> statusListInformation) {
+        SimpleDocument document = documentStoreRecord.getDocument(SimpleDocument.class);
+
+        return mdocBuilder.buildCredentialAsync(
+                document,
+                proofData.publicKey(),
+                statusListInformation.orElseThrow(),
+                documentStoreRecord.getCredentialTtlSeconds(),
+                Optional.empty());
+    }
+
+    @Override
+    public CompletableFuture<StreamingCredential> buildStreamingCredentialAsync(
+            DocumentStoreRecord documentStoreRecord,
+            ProofJwtService.ProofJwtData proofData,
+            Optional<StatusListClient.StatusListInformation> statusListInformation) {
+        SimpleDocument document = documentStoreRecord.getDocument(SimpleDocument.class);
+
+        return mdocBuilder.buildStreamingCredentialAsync(
+                document,
+                proofData.publicKey(),
+                statusListInformation.orElseThrow(),
+                documentStoreRecord.getCredentialTtlSeconds(),
+                Optional.empty());
+    }
 }
@@ -11,6 +11,7 @@ import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import com.nimbusds.jwt.proc.BadJWTException;
 import com.nimbusds.jwt.proc.DefaultJWTClaimsVerifier;
+import uk.gov.di.mobile.wallet.cri.credential.proof.did_key.DidKeyPublicKeyCache;
 import uk.gov.di.mobile.wallet.cri.credential.proof.did_key.DidKeyResolver;
 import uk.gov.di.mobile.wallet.cri.credential.proof.did_key.InvalidDidKeyException;
 import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
@@ -36,6 +37,7 @@ public class ProofJwtService {
     private static final String EXPECTED_JWT_TYPE = "openid4vci-proof+jwt";
 
     private final ConfigurationService configurationService;
+    private final DidKeyPublicKeyCache didKeyPublicKeyCache;
 
     /**
      * Data container for verified Proof JWT information.
@@ -47,12 +49,35 @@ public class ProofJwtService {
     public record ProofJwtData(String didKey, String nonce, ECPublicKey publicKey) {}
 
     /**
-     * Constructs a new ProofJwtService with the specified configuration service.
+     * Data container for Proof JWT information whose signature has not yet been verified.
+     *
+     * @param didKey The did:key from the JWT header
+     * @param nonce The nonce value from the JWT payload
+     */
+    public record ProofJwtClaims(String didKey, String nonce) {}
+
+    /**
+     * Constructs a new ProofJwtService with a did:key cache sized from configuration.
      *
      * @param configurationService The configuration service for retrieving application settings
      */
     public ProofJwtService(ConfigurationService configurationService) {
+        this(
+                configurationService,
+                new DidKeyPublicKeyCache(
+                        new DidKeyResolver(), configurationService.getDidKeyCacheMaximumSize()));
+    }
+
+    /**
+     * Constructs a new ProofJwtService that resolves did:keys through the given cache.
+     *
+     * @param configurationService The configuration service for retrieving application settings
+     * @param didKeyPublicKeyCache Cache of the public keys resolved from did:keys
+     */
+    public ProofJwtService(
+            ConfigurationService configurationService, DidKeyPublicKeyCache didKeyPublicKeyCache) {
         this.configurationService = configurationService;
+        this.didKeyPublicKeyCache = didKeyPublicKeyCache;
     }
 
     /**
@@ -63,17 +88,53 @@ public class ProofJwtService {
      * @throws ProofJwtValidationException On any error verifying the token claims and signature
      */
     public ProofJwtData verifyProofJwt(SignedJWT proofJwt) throws ProofJwtValidationException {
+        return verifyProofJwtSignature(proofJwt, verifyProofJwtClaims(proofJwt));
+    }
+
+    /**
+     * Verifies the Proof JWT header and payload claims, without resolving the did:key or verifying
+     * the signature. The claims are parsed once and read for both verification and extraction.
+     *
+     * <p>These checks are cheap, so they are made first to reject invalid proofs before any
+     * elliptic curve work is done. The claims returned must not be trusted until {@link
+     * #verifyProofJwtSignature(SignedJWT, ProofJwtClaims)} has also succeeded.
+     *
+     * @param proofJwt The Proof JWT to verify
+     * @return ProofJwtClaims containing the did:key and nonce
+     * @throws ProofJwtValidationException On invalid header or payload claims
+     */
+    public ProofJwtClaims verifyProofJwtClaims(SignedJWT proofJwt)
+            throws ProofJwtValidationException {
         verifyTokenHeader(proofJwt);
-        verifyTokenClaims(proofJwt);
+        try {
+            JWTClaimsSet claimsSet = proofJwt.getJWTClaimsSet();
+            verifyTokenClaims(claimsSet);
+            return new ProofJwtClaims(
+                    proofJwt.getHeader().getKeyID(), claimsSet.getStringClaim(NONCE));
+        } catch (ParseException exception) {
+            throw new ProofJwtValidationException(
+                    String.format("Error extracting Proof JWT data: %s", exception.getMessage()),
+                    exception);
+        }
+    }
 
-        String didKey = proofJwt.getHeader().getKeyID();
-        ECPublicKey publicKey = getPublicKey(didKey);
+    /**
+     * Resolves the public key from the Proof JWT's did:key and verifies the signature with it.
+     *
+     * @param proofJwt The Proof JWT to verify
+     * @param proofJwtClaims The claims returned by {@link #verifyProofJwtClaims(SignedJWT)}
+     * @return ProofJwtData containing the did:key, nonce, and public key
+     * @throws ProofJwtValidationException On error resolving the did:key or verifying the signature
+     */
+    public ProofJwtData verifyProofJwtSignature(SignedJWT proofJwt, ProofJwtClaims proofJwtClaims)
+            throws ProofJwtValidationException {
+        ECPublicKey publicKey = getPublicKey(proofJwtClaims.didKey());
 
         if (!verifyTokenSignature(proofJwt, publicKey)) {
             throw new ProofJwtValidationException("Proof JWT signature verification failed");
         }
 
-        return extractProofJwtData(proofJwt, publicKey);
+        return new ProofJwtData(proofJwtClaims.didKey(), proofJwtClaims.nonce(), publicKey);
     }
 
     /**
@@ -112,10 +173,10 @@ public class ProofJwtService {
     /**
      * Verifies that the required payload claims are present and match expected values.
      *
-     * @param proofJwt The Proof JWT to validate
+     * @param claimsSet The Proof JWT payload claims to validate
      * @throws ProofJwtValidationException On invalid payload claims
      */
-    private void verifyTokenClaims(SignedJWT proofJwt) throws ProofJwtValidationException {
+    private void verifyTokenClaims(JWTClaimsSet claimsSet) throws ProofJwtValidationException {
         String expectedAudience = configurationService.getSelfUrl().toString();
         JWTClaimsSet expectedClaimValues =
                 new JWTClaimsSet.Builder()
@@ -125,17 +186,17 @@ public class ProofJwtService {
         HashSet<String> requiredClaims = new HashSet<>(Arrays.asList("iat", NONCE));
 
         try {
-            JWTClaimsSet jwtClaimsSet = proofJwt.getJWTClaimsSet();
             DefaultJWTClaimsVerifier<?> verifier =
                     new DefaultJWTClaimsVerifier<>(expectedClaimValues, requiredClaims);
-            verifier.verify(jwtClaimsSet, null);
-        } catch (BadJWTException | ParseException exception) {
+            verifier.verify(claimsSet, null);
+        } catch (BadJWTException exception) {
             throw new ProofJwtValidationException(exception.getMessage(), exception);
         }
     }
 
     /**
-     * Extracts the EC public key from the did:key.
+     * Extracts the EC public key from the did:key, or gets it from the cache if the did:key has
+     * been resolved before.
      *
      * @param didKey The did:key to resolve
      * @return The EC public key
@@ -144,10 +205,7 @@ public class ProofJwtService {
      */
     private ECPublicKey getPublicKey(String didKey) throws ProofJwtValidationException {
         try {
-            DidKeyResolver didKeyResolver = new DidKeyResolver();
-            DidKeyResolver.DecodedKeyData resolvedDidKey = didKeyResolver.decodeDidKey(didKey);
-            byte[] rawPublicKeyBytes = resolvedDidKey.rawPublicKeyBytes();
-            return didKeyResolver.generatePublicKeyFromBytes(rawPublicKeyBytes);
+            return didKeyPublicKeyCache.getPublicKey(didKey);
         } catch (NoSuchAlgorithmException
                 | InvalidKeySpecException
                 | InvalidDidKeyException exception) {
@@ -181,28 +239,4 @@ public class ProofJwtService {
                     exception);
         }
     }
-
-    /**
-     * Extracts data from the verified Proof JWT.
-     *
-     * <p>This method is called after successful verification to extract the relevant information
-     * from the JWT into a structured object.
-     *
-     * @param proofJwt The verified Proof JWT
-     * @param publicKey The public key from the did:key
-     * @return ProofJwtData containing the extracted information
-     * @throws ProofJwtValidationException On error parsing the JWT claims
-     */
-    private static ProofJwtData extractProofJwtData(SignedJWT proofJwt, ECPublicKey publicKey)
-            throws ProofJwtValidationException {
-        try {
-            JWSHeader header = proofJwt.getHeader();
-            JWTClaimsSet claimsSet = proofJwt.getJWTClaimsSet();
-            return new ProofJwtData(header.getKeyID(), claimsSet.getStringClaim(NONCE), publicKey);
-        } catch (ParseException exception) {
-            throw new ProofJwtValidationException(
-                    String.format("Error extracting Proof JWT data: %s", exception.getMessage()),
-                    exception);
-        }
-    }
 }
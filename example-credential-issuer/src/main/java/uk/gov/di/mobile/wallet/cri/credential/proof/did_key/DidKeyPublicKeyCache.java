@@ -0,0 +1,71 @@
+package uk.gov.di.mobile.wallet.cri.credential.proof.did_key;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least recently used cache of the public keys resolved from did:keys.
+ *
+ * <p>A wallet proves possession of the same did:key on its credential, refresh and notification
+ * requests, so resolving each did:key once saves the base58 decoding and point decompression on
+ * every later request. Only successfully resolved keys are cached. When the cache is full, the
+ * least recently used did:key is evicted. Concurrent misses for the same did:key may each resolve
+ * it; the results are identical.
+ */
+public class DidKeyPublicKeyCache {
+
+    private final DidKeyResolver didKeyResolver;
+    private final Map<String, ECPublicKey> publicKeys;
+
+    /**
+     * @param didKeyResolver Resolver used on a cache miss.
+     * @param maximumSize The maximum number of did:keys held.
+     */
+    public DidKeyPublicKeyCache(DidKeyResolver didKeyResolver, int maximumSize) {
+        this.didKeyResolver = didKeyResolver;
+        this.publicKeys =
+                Collections.synchronizedMap(
+                        new LinkedHashMap<>(16, 0.75f, true) {
+                            @Override
+                            protected boolean removeEldestEntry(
+                                    Map.Entry<String, ECPublicKey> eldest) {
+                                return size() > maximumSize;
+                            }
+                        });
+    }
+
+    /**
+     * Gets the public key a did:key resolves to, resolving it if it is not cached.
+     *
+     * @param didKey The did:key to resolve
+     * @return The EC public key
+     * @throws InvalidDidKeyException On error validating the did:key
+     * @throws NoSuchAlgorithmException On error creating a key factory with an invalid algorithm
+     * @throws InvalidKeySpecException On error generating the public key
+     */
+    public ECPublicKey getPublicKey(String didKey)
+            throws InvalidDidKeyException, NoSuchAlgorithmException, InvalidKeySpecException {
+        ECPublicKey publicKey = publicKeys.get(didKey);
+        if (publicKey != null) {
+            return publicKey;
+        }
+
+        DidKeyResolver.DecodedKeyData resolvedDidKey = didKeyResolver.decodeDidKey(didKey);
+        publicKey = didKeyResolver.generatePublicKeyFromBytes(resolvedDidKey.rawPublicKeyBytes());
+        publicKeys.put(didKey, publicKey);
+        return publicKey;
+    }
+
+    /**
+     * Gets the number of did:keys currently cached.
+     *
+     * @return The number of cached did:keys
+     */
+    public int size() {
+        return publicKeys.size();
+    }
+}
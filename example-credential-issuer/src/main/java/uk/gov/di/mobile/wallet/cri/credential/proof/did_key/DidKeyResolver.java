@@ -12,11 +12,21 @@ import java.security.interfaces.ECPublicKey;
 import java.security.spec.ECPoint;
 import java.security.spec.ECPublicKeySpec;
 import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
 import java.util.Base64;
-import java.util.HexFormat;
 
 public class DidKeyResolver {
 
+    // Curve parameters are immutable, so they are looked up once rather than for every key
+    private static final ECNamedCurveParameterSpec CURVE_PARAMETERS =
+            ECNamedCurveTable.getParameterSpec("secp256r1");
+    private static final ECNamedCurveSpec CURVE_SPEC =
+            new ECNamedCurveSpec(
+                    "secp256r1",
+                    CURVE_PARAMETERS.getCurve(),
+                    CURVE_PARAMETERS.getG(),
+                    CURVE_PARAMETERS.getN());
+
     @SuppressWarnings("java:S6218")
     public record DecodedKeyData(
             /*
@@ -96,45 +106,28 @@ public class DidKeyResolver {
     /**
      * Extracts the public key material from the function input.
      *
+     * <p>The multicodec header is read as an unsigned varint directly from the bytes, and the
+     * public key material is the bytes that follow it.
+     *
      * @param keyBytes The multicodec identifier for the public key type and the public key material
      * @return DecodedKeyData
      * @throws InvalidDidKeyException On error validating the did:key
      */
     private static DecodedKeyData extractPublicKey(byte[] keyBytes) throws InvalidDidKeyException {
-        String hex = HexUtils.bytesToHex(keyBytes);
         Multicodec multicodec = Multicodec.P256_PUB;
 
-        byte[] keyHexBytes = removeMulticodec(hex, multicodec);
+        UnsignedVarint.Decoded header = UnsignedVarint.decode(keyBytes);
+        if (header.value() != multicodec.value) {
+            throw new InvalidDidKeyException("did:key multicodec value is not supported");
+        }
+        byte[] publicKeyBytes = Arrays.copyOfRange(keyBytes, header.length(), keyBytes.length);
 
         // check if key is compressed by checking that its length is 33 bytes and the first byte is
         // either 0x02 (2) or 0x03 (3)
-        assertPublicKeyIsCompressed(multicodec, keyHexBytes);
+        assertPublicKeyIsCompressed(multicodec, publicKeyBytes);
 
         return new DecodedKeyData(
-                multicodec, keyHexBytes, Base64.getUrlEncoder().encodeToString(keyHexBytes));
-    }
-
-    /**
-     * Validates that key starts with the expected unsigned varint of the multicodec and then
-     * removes it, returning only the public key material.
-     *
-     * @param multicodec The key's multicodec value
-     * @param hexKey The multicodec identifier for the public key type and the public key material
-     *     hex encoded
-     * @return The public key material in byte array format
-     * @throws InvalidDidKeyException On an invalid multicodec
-     */
-    private static byte[] removeMulticodec(String hexKey, Multicodec multicodec)
-            throws InvalidDidKeyException {
-        // check if hex encoded public key starts with the unsigned varint of the multicodec value
-        // supported
-        if (!hexKey.startsWith(multicodec.uvarintcode)) {
-            throw new InvalidDidKeyException("did:key multicodec value is not supported");
-        }
-        // extract the actual public key by removing the multicodec
-        String keyHex = hexKey.substring(multicodec.uvarintcode.length());
-
-        return HexFormat.of().parseHex(keyHex);
+                multicodec, publicKeyBytes, Base64.getUrlEncoder().encodeToString(publicKeyBytes));
     }
 
     /**
@@ -142,23 +135,23 @@ public class DidKeyResolver {
      * prefix 2 or 3.
      *
      * @param multicodec The key's multicodec value
-     * @param keyHexBytes The public key material
+     * @param publicKeyBytes The public key material
      * @throws InvalidDidKeyException On a public key that is not compressed
      */
-    private static void assertPublicKeyIsCompressed(Multicodec multicodec, byte[] keyHexBytes)
+    private static void assertPublicKeyIsCompressed(Multicodec multicodec, byte[] publicKeyBytes)
             throws InvalidDidKeyException {
-        if (keyHexBytes.length != multicodec.expectedKeyLength) {
+        if (publicKeyBytes.length != multicodec.expectedKeyLength) {
             throw new InvalidDidKeyException(
                     String.format(
                             "Expected key length equal to %s, but found %s instead",
-                            multicodec.expectedKeyLength, keyHexBytes.length));
+                            multicodec.expectedKeyLength, publicKeyBytes.length));
         }
 
-        if (keyHexBytes[0] != 2 && keyHexBytes[0] != 3) {
+        if (publicKeyBytes[0] != 2 && publicKeyBytes[0] != 3) {
             throw new InvalidDidKeyException(
                     String.format(
                             "Expected key prefix equal to 2 or 3, but found %s instead",
-                            keyHexBytes[0]));
+                            publicKeyBytes[0]));
         }
     }
 
@@ -172,13 +165,10 @@ public class DidKeyResolver {
      */
     public ECPublicKey generatePublicKeyFromBytes(byte[] compressedPublicKey)
             throws NoSuchAlgorithmException, InvalidKeySpecException {
-        ECNamedCurveParameterSpec spec = ECNamedCurveTable.getParameterSpec("secp256r1");
-        byte[] publicKeyUncompressed = decompressKey(compressedPublicKey, spec);
+        byte[] publicKeyUncompressed = decompressKey(compressedPublicKey, CURVE_PARAMETERS);
 
-        ECNamedCurveSpec params =
-                new ECNamedCurveSpec("secp256r1", spec.getCurve(), spec.getG(), spec.getN());
-        ECPoint point = ECPointUtil.decodePoint(params.getCurve(), publicKeyUncompressed);
-        ECPublicKeySpec publicKeySpec = new ECPublicKeySpec(point, params);
+        ECPoint point = ECPointUtil.decodePoint(CURVE_SPEC.getCurve(), publicKeyUncompressed);
+        ECPublicKeySpec publicKeySpec = new ECPublicKeySpec(point, CURVE_SPEC);
 
         KeyFactory keyFactory = KeyFactory.getInstance("EC");
         return (ECPublicKey) keyFactory.generatePublic(publicKeySpec);
@@ -6,15 +6,15 @@ public enum Multicodec {
     /** The codec code value. */
     public final String code;
 
+    /** The codec code value, as a number. */
+    public final long value;
+
     /** The compressed public key length in bytes. */
     public final int expectedKeyLength;
 
-    /** The unsigned varint encoding of the code. */
-    public final String uvarintcode;
-
     Multicodec(String code, int expectedKeyLength) {
         this.code = code;
+        this.value = Long.parseLong(code, 16);
         this.expectedKeyLength = expectedKeyLength;
-        this.uvarintcode = HexUtils.hexToVarintHex(this.code);
     }
 }
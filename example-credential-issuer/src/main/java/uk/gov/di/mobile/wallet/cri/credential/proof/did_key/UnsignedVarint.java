@@ -0,0 +1,53 @@
+package uk.gov.di.mobile.wallet.cri.credential.proof.did_key;
+
+import uk.gov.di.mobile.wallet.cri.annotations.ExcludeFromGeneratedCoverageReport;
+
+/**
+ * Reads multiformats unsigned varints, as used for multicodec headers, directly from bytes.
+ *
+ * <p>Each byte holds 7 bits of the value, least significant group first, and has its most
+ * significant bit set if another byte follows. For example, the P-256 multicodec 0x1200 is encoded
+ * as the bytes 0x80 0x24.
+ */
+public class UnsignedVarint {
+
+    /** The multiformats specification limits unsigned varints to 9 bytes (63 bits). */
+    private static final int MAX_LENGTH = 9;
+
+    @ExcludeFromGeneratedCoverageReport
+    private UnsignedVarint() {
+        throw new IllegalStateException("Instantiation is not valid for this class.");
+    }
+
+    /**
+     * A decoded unsigned varint.
+     *
+     * @param value The decoded value
+     * @param length The number of bytes the varint was encoded in
+     */
+    public record Decoded(long value, int length) {}
+
+    /**
+     * Decodes the unsigned varint at the start of the given bytes.
+     *
+     * @param bytes The bytes to read from
+     * @return The decoded value and the number of bytes it was encoded in
+     * @throws InvalidDidKeyException If the bytes do not start with a valid, minimally encoded
+     *     unsigned varint
+     */
+    public static Decoded decode(byte[] bytes) throws InvalidDidKeyException {
+        long value = 0;
+        for (int index = 0; index < bytes.length && index < MAX_LENGTH; index++) {
+            int current = bytes[index] & 0xFF;
+            value |= (long) (current & 0x7F) << (7 * index);
+            if ((current & 0x80) == 0) {
+                if (current == 0 && index > 0) {
+                    throw new InvalidDidKeyException(
+                            "did:key multicodec header is not minimally encoded");
+                }
+                return new Decoded(value, index + 1);
+            }
+        }
+        throw new InvalidDidKeyException("did:key multicodec header is not a valid unsigned varint");
+    }
+}
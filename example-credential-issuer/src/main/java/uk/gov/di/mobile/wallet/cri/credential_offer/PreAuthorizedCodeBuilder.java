@@ -14,11 +14,12 @@ import software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec;
 import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 import uk.gov.di.mobile.wallet.cri.services.signing.KeyProvider;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyMetadata;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyPool;
 
 import java.time.Instant;
 
 import static uk.gov.di.mobile.wallet.cri.services.signing.SignatureHelper.toBase64UrlEncodedSignature;
-import static uk.gov.di.mobile.wallet.cri.util.HashUtil.sha256Hex;
 
 public class PreAuthorizedCodeBuilder {
 
@@ -26,18 +27,29 @@ public class PreAuthorizedCodeBuilder {
     private static final JOSEObjectType JWT = JOSEObjectType.JWT;
     private final ConfigurationService configurationService;
     private final KeyProvider keyProvider;
+    private final SigningKeyPool signingKeyPool;
 
     public PreAuthorizedCodeBuilder(
-            ConfigurationService configurationService, KeyProvider keyProvider) {
+            ConfigurationService configurationService,
+            KeyProvider keyProvider,
+            SigningKeyPool signingKeyPool) {
         this.configurationService = configurationService;
         this.keyProvider = keyProvider;
+        this.signingKeyPool = signingKeyPool;
     }
 
     public SignedJWT buildPreAuthorizedCode(String credentialIdentifier, String credentialType)
             throws SigningException {
-        String keyId = keyProvider.getKeyId(configurationService.getSigningKeyAlias());
-        String hashedKeyId = sha256Hex(keyId);
-        var encodedHeader = getEncodedHeader(hashedKeyId);
+        return signingKeyPool.withKey(
+                keyAlias -> buildPreAuthorizedCode(keyAlias, credentialIdentifier, credentialType));
+    }
+
+    private SignedJWT buildPreAuthorizedCode(
+            String keyAlias, String credentialIdentifier, String credentialType)
+            throws SigningException {
+        SigningKeyMetadata keyMetadata = keyProvider.getKeyMetadata(keyAlias);
+        String keyId = keyMetadata.keyId();
+        var encodedHeader = getEncodedHeader(keyMetadata.hashedKeyId());
         var encodedClaims = getEncodedClaims(credentialIdentifier, credentialType);
         var message = encodedHeader + "." + encodedClaims;
         var signRequest =
@@ -1,34 +1,57 @@
 package uk.gov.di.mobile.wallet.cri.did_document;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.inject.Singleton;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.bouncycastle.openssl.PEMException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.gov.di.mobile.wallet.cri.responses.PrecomputedResponse;
 import uk.gov.di.mobile.wallet.cri.responses.ResponseUtil;
 import uk.gov.di.mobile.wallet.cri.services.signing.KeyNotActiveException;
 
 import java.security.NoSuchAlgorithmException;
 
+/**
+ * Serves the credential issuer's DID document.
+ *
+ * <p>The document is serialized once per set of public signing keys and served with a strong ETag.
+ * It changes whenever a signing key is rotated, so clients must revalidate it before reuse.
+ */
 @Singleton
 @Path("/.well-known/did.json")
 public class DidDocumentResource {
 
     private final DidDocumentService didDocumentService;
+    private final ObjectMapper objectMapper;
+    private volatile SerializedDidDocument serialized;
     private static final Logger LOGGER = LoggerFactory.getLogger(DidDocumentResource.class);
 
-    public DidDocumentResource(DidDocumentService didDocumentService) {
+    private record SerializedDidDocument(DidDocument didDocument, PrecomputedResponse response) {}
+
+    public DidDocumentResource(DidDocumentService didDocumentService, ObjectMapper objectMapper) {
         this.didDocumentService = didDocumentService;
+        this.objectMapper = objectMapper;
     }
 
     @GET
-    public Response getDidDocument() {
+    public Response getDidDocument(@HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
         try {
             DidDocument didDocument = didDocumentService.generateDidDocument();
-            return ResponseUtil.ok(didDocument, true);
+            SerializedDidDocument current = serialized;
+            if (current == null || current.didDocument() != didDocument) {
+                current = new SerializedDidDocument(didDocument, serialize(didDocument));
+                serialized = current;
+            }
+            return current.response().respond(ifNoneMatch);
         } catch (IllegalArgumentException
+                | JsonProcessingException
                 | PEMException
                 | NoSuchAlgorithmException
                 | KeyNotActiveException exception) {
@@ -36,4 +59,11 @@ public class DidDocumentResource {
             return ResponseUtil.internalServerError();
         }
     }
+
+    private PrecomputedResponse serialize(DidDocument didDocument) throws JsonProcessingException {
+        return new PrecomputedResponse(
+                objectMapper.writeValueAsBytes(didDocument),
+                MediaType.APPLICATION_JSON_TYPE.withCharset("UTF-8"),
+                ResponseUtil.NO_CACHE);
+    }
 }
@@ -4,10 +4,10 @@ import com.nimbusds.jose.jwk.ECKey;
 import org.bouncycastle.openssl.PEMException;
 import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 import uk.gov.di.mobile.wallet.cri.services.signing.KeyNotActiveException;
-import uk.gov.di.mobile.wallet.cri.services.signing.KeyProvider;
+import uk.gov.di.mobile.wallet.cri.services.signing.PublicKeyCache;
 
 import java.security.NoSuchAlgorithmException;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 
 public class DidDocumentService {
@@ -17,21 +17,47 @@ public class DidDocumentService {
     private static final List<String> CONTEXT =
             List.of("https://www.w3.org/ns/did/v1", "https://w3id.org/security/suites/jws-2020/v1");
     private final ConfigurationService configurationService;
-    private final KeyProvider keyProvider;
+    private final PublicKeyCache publicKeyCache;
+    private volatile GeneratedDidDocument generated;
 
-    public DidDocumentService(ConfigurationService configurationService, KeyProvider keyProvider) {
+    private record GeneratedDidDocument(List<ECKey> keys, DidDocument didDocument) {}
+
+    public DidDocumentService(
+            ConfigurationService configurationService, PublicKeyCache publicKeyCache) {
         this.configurationService = configurationService;
-        this.keyProvider = keyProvider;
+        this.publicKeyCache = publicKeyCache;
     }
 
+    /**
+     * Generates the DID document publishing the public key of every active signing key. The
+     * document is only rebuilt when the cached public keys change, so the same instance is
+     * returned until then.
+     *
+     * @return The DID document.
+     * @throws PEMException If a public key cannot be parsed.
+     * @throws NoSuchAlgorithmException If the required algorithm is not available.
+     * @throws KeyNotActiveException If none of the signing keys is in an active state.
+     */
     public DidDocument generateDidDocument()
             throws PEMException, NoSuchAlgorithmException, KeyNotActiveException {
+        List<ECKey> keys = publicKeyCache.getActiveKeys();
+        GeneratedDidDocument current = generated;
+        if (current == null || current.keys() != keys) {
+            current = new GeneratedDidDocument(keys, buildDidDocument(keys));
+            generated = current;
+        }
+        return current.didDocument();
+    }
 
-        String keyAlias = configurationService.getSigningKeyAlias();
+    private DidDocument buildDidDocument(List<ECKey> keys) {
         String controller = CONTROLLER_PREFIX + configurationService.getSelfUrl().getHost();
-        Did did = generateDid(keyAlias, controller);
-        List<Did> verificationMethod = Collections.singletonList(did);
-        List<String> assertionMethod = Collections.singletonList(did.getId());
+        List<Did> verificationMethod = new ArrayList<>();
+        List<String> assertionMethod = new ArrayList<>();
+        for (ECKey jwk : keys) {
+            Did did = generateDid(jwk, controller);
+            verificationMethod.add(did);
+            assertionMethod.add(did.getId());
+        }
 
         return new DidDocumentBuilder()
                 .setContext(CONTEXT)
@@ -41,14 +67,7 @@ public class DidDocumentService {
                 .build();
     }
 
-    private Did generateDid(String keyAlias, String controller)
-            throws PEMException, NoSuchAlgorithmException, KeyNotActiveException {
-
-        if (!keyProvider.isKeyActive(keyAlias)) {
-            throw new KeyNotActiveException("Public key is not active");
-        }
-
-        ECKey jwk = keyProvider.getPublicKey(keyAlias);
+    private Did generateDid(ECKey jwk, String controller) {
         String keyId = jwk.getKeyID();
         String id = controller + "#" + keyId;
 
@@ -1,17 +1,25 @@
 package uk.gov.di.mobile.wallet.cri.iacas;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.inject.Singleton;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.gov.di.mobile.wallet.cri.responses.PrecomputedResponse;
 import uk.gov.di.mobile.wallet.cri.responses.ResponseUtil;
 
 /**
  * JAX-RS resource class for serving IACA (Issuing Authority Certificate Authority) certificates.
  *
  * <p>This resource exposes the "/iacas" endpoint, allowing clients to retrieve the list of IACAs.
+ * The list is serialized once per version of the IACAs and served with a strong ETag, so clients
+ * that poll the endpoint can revalidate their copy and receive 304 Not Modified.
  *
  * @see Iacas
  */
@@ -21,19 +29,36 @@ public class IacasResource {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(IacasResource.class);
     private final IacasService iacasService;
+    private final ObjectMapper objectMapper;
+    private volatile SerializedIacas serialized;
 
-    public IacasResource(IacasService iacasService) {
+    private record SerializedIacas(Iacas iacas, PrecomputedResponse response) {}
+
+    public IacasResource(IacasService iacasService, ObjectMapper objectMapper) {
         this.iacasService = iacasService;
+        this.objectMapper = objectMapper;
     }
 
     @GET
-    public Response getIacas() {
+    public Response getIacas(@HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
         try {
             Iacas iacas = iacasService.getIacas();
-            return ResponseUtil.ok(iacas);
+            SerializedIacas current = serialized;
+            if (current == null || current.iacas() != iacas) {
+                current = new SerializedIacas(iacas, serialize(iacas));
+                serialized = current;
+            }
+            return current.response().respond(ifNoneMatch);
         } catch (Exception exception) {
             LOGGER.error("An error happened trying to generate the IACAs: ", exception);
             return ResponseUtil.internalServerError();
         }
     }
+
+    private PrecomputedResponse serialize(Iacas iacas) throws JsonProcessingException {
+        return new PrecomputedResponse(
+                objectMapper.writeValueAsBytes(iacas),
+                MediaType.APPLICATION_JSON_TYPE.withCharset("UTF-8"),
+                ResponseUtil.NO_CACHE);
+    }
 }
@@ -1,41 +1,186 @@
 package uk.gov.di.mobile.wallet.cri.iacas;
 
 import com.nimbusds.jose.JOSEException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import uk.gov.di.mobile.wallet.cri.services.certificate.CertificateProvider;
 import uk.gov.di.mobile.wallet.cri.services.object_storage.ObjectStoreException;
+import uk.gov.di.mobile.wallet.cri.services.object_storage.VersionedObject;
 
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateEncodingException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static uk.gov.di.mobile.wallet.cri.util.ArnUtil.extractCertificateAuthorityId;
 
+/**
+ * Provides the IACAs published by the credential issuer.
+ *
+ * <p>The IACAs are built from the root certificates of the active certificate authority and of any
+ * certificate authorities being rotated out, and are held in memory. Once they are older than the
+ * refresh interval, the next lookup still returns them but starts a background conditional GET of
+ * each root certificate using its stored ETag. An IACA is only rebuilt when its certificate has
+ * changed, and the same {@link Iacas} instance is returned until one does. The last good IACAs are
+ * kept if the refresh fails.
+ */
 public class IacasService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(IacasService.class);
+
     private final CertificateProvider certificateProvider;
-    private final String certificateAuthorityArn;
+    private final List<CertificateAuthority> certificateAuthorities;
+    private final Duration refreshInterval;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    private final Object loadLock = new Object();
+    private final AtomicBoolean refreshInFlight = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+
+    private record CertificateAuthority(String id, boolean active) {}
+
+    private record CachedIaca(Iaca iaca, String eTag) {}
+
+    private record Snapshot(List<CachedIaca> cachedIacas, Iacas iacas, Instant checkedAt) {
+
+        Snapshot withCheckedAt(Instant instant) {
+            return new Snapshot(cachedIacas, iacas, instant);
+        }
+    }
 
     /**
-     * Constructs the IacasService with required dependencies.
+     * Constructs the IacasService for an active certificate authority and any that are being
+     * rotated out.
      *
      * @param certificateProvider Provides access to the object storage.
-     * @param certificateAuthorityArn The certificate authority ARN.
+     * @param certificateAuthorityArn The active certificate authority ARN.
+     * @param retiringCertificateAuthorityArns The ARNs of certificate authorities being rotated
+     *     out, whose IACAs are published as inactive.
+     * @param refreshInterval How long the IACAs are served before their certificates are checked
+     *     for changes.
+     * @param refreshExecutor Executor background refreshes are run on.
+     * @param clock Clock used to measure the age of the IACAs.
+     * @throws IllegalArgumentException If a certificate authority ARN is malformed.
      */
-    public IacasService(CertificateProvider certificateProvider, String certificateAuthorityArn) {
+    public IacasService(
+            CertificateProvider certificateProvider,
+            String certificateAuthorityArn,
+            List<String> retiringCertificateAuthorityArns,
+            Duration refreshInterval,
+            Executor refreshExecutor,
+            Clock clock) {
         this.certificateProvider = certificateProvider;
-        this.certificateAuthorityArn = certificateAuthorityArn;
+        List<CertificateAuthority> authorities = new ArrayList<>();
+        authorities.add(
+                new CertificateAuthority(
+                        extractCertificateAuthorityId(certificateAuthorityArn), true));
+        for (String retiringArn : retiringCertificateAuthorityArns) {
+            authorities.add(
+                    new CertificateAuthority(extractCertificateAuthorityId(retiringArn), false));
+        }
+        this.certificateAuthorities = List.copyOf(authorities);
+        this.refreshInterval = refreshInterval;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
     }
 
+    /**
+     * Gets the IACAs, loading them on first use.
+     *
+     * @return The active IACA followed by any retiring IACAs.
+     * @throws ObjectStoreException If a root certificate cannot be fetched.
+     * @throws CertificateEncodingException If a root certificate cannot be encoded.
+     * @throws NoSuchAlgorithmException If SHA-256 is not available.
+     * @throws JOSEException If the public key cannot be extracted from a root certificate.
+     */
     public Iacas getIacas()
             throws ObjectStoreException,
                     CertificateEncodingException,
                     NoSuchAlgorithmException,
                     JOSEException {
-        String certificateAuthorityId = extractCertificateAuthorityId(certificateAuthorityArn);
-        String certificatePem = certificateProvider.getRootCertificate(certificateAuthorityId);
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (loadLock) {
+                current = snapshot;
+                if (current == null) {
+                    current = load(null);
+                    snapshot = current;
+                }
+            }
+            return current.iacas();
+        }
+
+        if (!clock.instant().isBefore(current.checkedAt().plus(refreshInterval))) {
+            refreshInBackground(current);
+        }
+        return current.iacas();
+    }
+
+    private void refreshInBackground(Snapshot current) {
+        if (!refreshInFlight.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(
+                    () -> {
+                        try {
+                            snapshot = load(current);
+                        } catch (Exception exception) {
+                            LOGGER.warn(
+                                    "Failed to refresh the IACAs, keeping the last good IACAs",
+                                    exception);
+                            // Wait a full interval before trying again
+                            snapshot = current.withCheckedAt(clock.instant());
+                        } finally {
+                            refreshInFlight.set(false);
+                        }
+                    });
+        } catch (RejectedExecutionException exception) {
+            // The executor is shutting down, so the next request tries the refresh again
+            refreshInFlight.set(false);
+        }
+    }
 
-        Iaca iaca = Iaca.fromCertificate(certificateAuthorityId, true, certificatePem);
+    private Snapshot load(Snapshot previous)
+            throws ObjectStoreException,
+                    CertificateEncodingException,
+                    NoSuchAlgorithmException,
+                    JOSEException {
+        List<CachedIaca> cachedIacas = new ArrayList<>();
+        boolean changed = previous == null;
+        for (int i = 0; i < certificateAuthorities.size(); i++) {
+            CertificateAuthority authority = certificateAuthorities.get(i);
+            CachedIaca cached = previous == null ? null : previous.cachedIacas().get(i);
+            Optional<VersionedObject> object =
+                    certificateProvider.getRootCertificateIfChanged(
+                            authority.id(), cached == null ? null : cached.eTag());
+            if (object.isPresent()) {
+                String certificatePem = new String(object.get().content(), StandardCharsets.UTF_8);
+                Iaca iaca =
+                        Iaca.fromCertificate(authority.id(), authority.active(), certificatePem);
+                cachedIacas.add(new CachedIaca(iaca, object.get().eTag()));
+                changed = true;
+            } else if (cached != null) {
+                cachedIacas.add(cached);
+            } else {
+                throw new ObjectStoreException(
+                        "Root certificate not returned: " + authority.id(), null);
+            }
+        }
 
-        return new Iacas(List.of(iaca));
+        Iacas iacas =
+                changed
+                        ? new Iacas(cachedIacas.stream().map(CachedIaca::iaca).toList())
+                        : previous.iacas();
+        return new Snapshot(List.copyOf(cachedIacas), iacas, clock.instant());
     }
 }
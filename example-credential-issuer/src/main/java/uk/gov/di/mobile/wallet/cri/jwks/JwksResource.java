@@ -3,33 +3,52 @@ package uk.gov.di.mobile.wallet.cri.jwks;
 import com.nimbusds.jose.jwk.JWKSet;
 import jakarta.inject.Singleton;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.bouncycastle.openssl.PEMException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.gov.di.mobile.wallet.cri.responses.PrecomputedResponse;
 import uk.gov.di.mobile.wallet.cri.responses.ResponseUtil;
 import uk.gov.di.mobile.wallet.cri.services.JwksService;
 import uk.gov.di.mobile.wallet.cri.services.signing.KeyNotActiveException;
 
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 
+/**
+ * Serves the credential issuer's JWKS.
+ *
+ * <p>The key set is serialized once per set of public signing keys and served with a strong ETag.
+ * It changes whenever a signing key is rotated, so clients must revalidate it before reuse.
+ */
 @Singleton
 @Path("/.well-known/jwks.json")
 public class JwksResource {
 
     private final JwksService jwksService;
+    private volatile SerializedJwks serialized;
     private static final Logger LOGGER = LoggerFactory.getLogger(JwksResource.class);
 
+    private record SerializedJwks(JWKSet jwkSet, PrecomputedResponse response) {}
+
     public JwksResource(JwksService jwksService) {
         this.jwksService = jwksService;
     }
 
     @GET
-    public Response getJwks() {
+    public Response getJwks(@HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
         try {
-            JWKSet jwkSet = jwksService.generateJwks().toPublicJWKSet();
-            return ResponseUtil.ok(jwkSet.toString(), true);
+            JWKSet jwkSet = jwksService.generateJwks();
+            SerializedJwks current = serialized;
+            if (current == null || current.jwkSet() != jwkSet) {
+                current = new SerializedJwks(jwkSet, serialize(jwkSet));
+                serialized = current;
+            }
+            return current.response().respond(ifNoneMatch);
         } catch (IllegalArgumentException
                 | PEMException
                 | NoSuchAlgorithmException
@@ -38,4 +57,11 @@ public class JwksResource {
             return ResponseUtil.internalServerError();
         }
     }
+
+    private static PrecomputedResponse serialize(JWKSet jwkSet) {
+        return new PrecomputedResponse(
+                jwkSet.toPublicJWKSet().toString().getBytes(StandardCharsets.UTF_8),
+                MediaType.APPLICATION_JSON_TYPE.withCharset("UTF-8"),
+                ResponseUtil.NO_CACHE);
+    }
 }
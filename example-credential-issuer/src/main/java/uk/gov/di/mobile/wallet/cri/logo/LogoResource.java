@@ -2,44 +2,70 @@ package uk.gov.di.mobile.wallet.cri.logo;
 
 import jakarta.inject.Singleton;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import uk.gov.di.mobile.wallet.cri.responses.PrecomputedResponse;
 import uk.gov.di.mobile.wallet.cri.responses.ResponseUtil;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.function.Supplier;
 
+/**
+ * Serves the issuer logo referenced by the credential issuer metadata.
+ *
+ * <p>The logo is read into memory once, when the resource is created, and served with a strong
+ * ETag. It only changes with a new release, so it is marked immutable for a day.
+ */
 @Path("/logo.png")
 @Singleton
 public class LogoResource {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LogoResource.class);
     private static final String FILE_NAME = "logo.png";
-    private final Supplier<InputStream> logoStreamSupplier;
+    private static final MediaType IMAGE_PNG = new MediaType("image", "png");
+    private static final String CACHE_CONTROL =
+            PrecomputedResponse.publicMaxAge(86400) + ", immutable";
+
+    private final PrecomputedResponse logoResponse;
+    private final Response.Status unavailableStatus;
 
     public LogoResource() {
         this(() -> LogoResource.class.getClassLoader().getResourceAsStream(FILE_NAME));
     }
 
     public LogoResource(Supplier<InputStream> logoStreamSupplier) {
-        this.logoStreamSupplier = logoStreamSupplier;
-    }
-
-    @GET
-    @Produces("image/png")
-    public Response getLogo() {
+        PrecomputedResponse response = null;
+        Response.Status status = Response.Status.INTERNAL_SERVER_ERROR;
         try (InputStream logoStream = logoStreamSupplier.get()) {
             if (logoStream == null) {
                 LOGGER.error("Logo file not found: {}", FILE_NAME);
-                return ResponseUtil.notFound();
+                status = Response.Status.NOT_FOUND;
+            } else {
+                byte[] logo = logoStream.readAllBytes();
+                response = new PrecomputedResponse(logo, IMAGE_PNG, CACHE_CONTROL);
             }
-            return Response.ok(logoStream.readAllBytes()).type("image/png").build();
-        } catch (Exception exception) {
-            LOGGER.error("An error happened trying to get the logo: ", exception);
-            return ResponseUtil.internalServerError();
+        } catch (IOException exception) {
+            LOGGER.error("An error happened trying to read the logo: ", exception);
+        }
+        this.logoResponse = response;
+        this.unavailableStatus = status;
+    }
+
+    @GET
+    @Produces("image/png")
+    public Response getLogo(@HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        if (logoResponse == null) {
+            return unavailableStatus == Response.Status.NOT_FOUND
+                    ? ResponseUtil.notFound()
+                    : ResponseUtil.internalServerError();
         }
+        return logoResponse.respond(ifNoneMatch);
     }
 }
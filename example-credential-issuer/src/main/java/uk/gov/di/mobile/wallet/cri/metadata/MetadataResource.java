@@ -1,14 +1,17 @@
 package uk.gov.di.mobile.wallet.cri.metadata;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.inject.Singleton;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import uk.gov.di.mobile.wallet.cri.responses.ResponseUtil;
+import uk.gov.di.mobile.wallet.cri.responses.PrecomputedResponse;
 import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 
+import java.io.IOException;
 import java.util.List;
 
 @Singleton
@@ -24,21 +27,34 @@ public class MetadataResource {
     private static final String CREDENTIAL_CONFIGURATION_SUPPORTED_FILE_NAME =
             "credential_configurations_supported.json";
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(MetadataResource.class);
-
     private final ConfigurationService configurationService;
-    private final MetadataBuilder metadataBuilder;
+    private final PrecomputedResponse metadataResponse;
 
     /**
-     * Creates a new MetadataResource instance.
+     * Creates a new MetadataResource instance, building and serializing the issuer metadata once.
      *
      * @param configurationService Service for accessing application configuration.
      * @param metadataBuilder Builder for constructing the issuer metadata.
+     * @param objectMapper Mapper the metadata is serialized with.
+     * @throws IllegalStateException If the metadata cannot be built or serialized.
      */
     public MetadataResource(
-            ConfigurationService configurationService, MetadataBuilder metadataBuilder) {
+            ConfigurationService configurationService,
+            MetadataBuilder metadataBuilder,
+            ObjectMapper objectMapper) {
         this.configurationService = configurationService;
-        this.metadataBuilder = metadataBuilder;
+        try {
+            byte[] metadata = objectMapper.writeValueAsBytes(buildMetadata(metadataBuilder));
+            this.metadataResponse =
+                    new PrecomputedResponse(
+                            metadata,
+                            MediaType.APPLICATION_JSON_TYPE.withCharset("UTF-8"),
+                            PrecomputedResponse.publicMaxAge(
+                                    configurationService.getMetadataCacheMaxAgeInSecs()));
+        } catch (IOException exception) {
+            throw new IllegalStateException(
+                    "Failed to build the credential issuer metadata", exception);
+        }
     }
 
     /**
@@ -54,33 +70,32 @@ public class MetadataResource {
      *   <li>Display information
      * </ul>
      *
-     * @return HTTP 200 with metadata JSON on success, HTTP 500 on error.
+     * <p>The metadata does not change while the service is running, so it is served from the bytes
+     * serialized at startup, with a strong ETag and a configurable max-age.
+     *
+     * @param ifNoneMatch The request's If-None-Match header, if any.
+     * @return HTTP 200 with metadata JSON, or HTTP 304 if the client's copy is current.
      */
     @GET
-    public Response getMetadata() {
-        try {
-            String selfUrl = configurationService.getSelfUrl().toString();
-            String iacasEndpoint = getIacasEndpoint(selfUrl);
+    public Response getMetadata(@HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        return metadataResponse.respond(ifNoneMatch);
+    }
 
-            Metadata metadata =
-                    metadataBuilder
-                            .setCredentialIssuer(selfUrl)
-                            .setCredentialEndpoint(selfUrl + CREDENTIAL_ENDPOINT)
-                            .setAuthorizationServers(
-                                    List.of(configurationService.getOneLoginAuthServerUrl()))
-                            .setNotificationEndpoint(selfUrl + NOTIFICATION_ENDPOINT)
-                            .setIacasEndpoint(iacasEndpoint)
-                            .setCredentialConfigurationsSupported(
-                                    CREDENTIAL_CONFIGURATION_SUPPORTED_FILE_NAME,
-                                    configurationService.getCredentialStoreUrl().toString())
-                            .setDisplay(selfUrl + LOGO_ENDPOINT)
-                            .build();
+    private Metadata buildMetadata(MetadataBuilder metadataBuilder) throws IOException {
+        String selfUrl = configurationService.getSelfUrl().toString();
+        String iacasEndpoint = getIacasEndpoint(selfUrl);
 
-            return ResponseUtil.ok(metadata, true);
-        } catch (Exception exception) {
-            LOGGER.error("An error happened trying to get the metadata: ", exception);
-            return ResponseUtil.internalServerError();
-        }
+        return metadataBuilder
+                .setCredentialIssuer(selfUrl)
+                .setCredentialEndpoint(selfUrl + CREDENTIAL_ENDPOINT)
+                .setAuthorizationServers(List.of(configurationService.getOneLoginAuthServerUrl()))
+                .setNotificationEndpoint(selfUrl + NOTIFICATION_ENDPOINT)
+                .setIacasEndpoint(iacasEndpoint)
+                .setCredentialConfigurationsSupported(
+                        CREDENTIAL_CONFIGURATION_SUPPORTED_FILE_NAME,
+                        configurationService.getCredentialStoreUrl().toString())
+                .setDisplay(selfUrl + LOGO_ENDPOINT)
+                .build();
     }
 
     /**
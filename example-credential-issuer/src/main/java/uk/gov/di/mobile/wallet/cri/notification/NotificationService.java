@@ -26,9 +26,15 @@ public class NotificationService {
                     AccessTokenValidationException,
                     InvalidNotificationIdException {
 
+        // Claims are checked before the signature, which needs a JWKS fetch
         AccessTokenService.AccessTokenData accessTokenData =
-                accessTokenService.verifyAccessToken(accessToken);
+                accessTokenService.verifyAccessTokenClaims(accessToken);
         String credentialIdentifier = accessTokenData.credentialIdentifier();
+        if (credentialIdentifier == null) {
+            throw new AccessTokenValidationException(
+                    "Access token 'credential_identifiers' claim is missing");
+        }
+        accessTokenService.verifyAccessTokenSignature(accessToken, accessTokenData);
 
         StoredCredential storedCredential = dataStore.getStoredCredential(credentialIdentifier);
 
@@ -0,0 +1,99 @@
+package uk.gov.di.mobile.wallet.cri.responses;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * A response body that is built and serialized once, and served with a strong ETag.
+ *
+ * <p>The ETag is the SHA-256 hash of the body, so it changes whenever the body does. A request
+ * whose {@code If-None-Match} header matches the ETag is answered with 304 Not Modified and no
+ * body. The body bytes are shared by every response and must not be modified.
+ */
+public class PrecomputedResponse {
+
+    private final byte[] body;
+    private final MediaType mediaType;
+    private final String cacheControl;
+    private final String entityTag;
+
+    /**
+     * @param body The response body.
+     * @param mediaType The media type of the body.
+     * @param cacheControl The Cache-Control header sent with the body and with 304 responses.
+     */
+    public PrecomputedResponse(byte[] body, MediaType mediaType, String cacheControl) {
+        this.body = body;
+        this.mediaType = mediaType;
+        this.cacheControl = cacheControl;
+        this.entityTag = entityTagOf(body);
+    }
+
+    /**
+     * Builds a Cache-Control header value that lets any cache store the response for the given
+     * time.
+     *
+     * @param maxAgeInSecs How long the response is fresh for, in seconds.
+     * @return The Cache-Control header value.
+     */
+    public static String publicMaxAge(long maxAgeInSecs) {
+        return "public, max-age=" + maxAgeInSecs;
+    }
+
+    /**
+     * Gets the strong ETag of the body, including its quotes.
+     *
+     * @return The ETag.
+     */
+    public String getEntityTag() {
+        return entityTag;
+    }
+
+    /**
+     * Builds the response to a request.
+     *
+     * @param ifNoneMatch The request's If-None-Match header, or null if it has none.
+     * @return 304 Not Modified if the header matches the ETag, otherwise 200 OK with the body.
+     */
+    public Response respond(String ifNoneMatch) {
+        Response.ResponseBuilder builder =
+                matches(ifNoneMatch) ? Response.notModified() : Response.ok(body, mediaType);
+        return builder.header(HttpHeaders.ETAG, entityTag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .build();
+    }
+
+    /**
+     * Checks an If-None-Match header against the ETag. As the header is only used for GET and HEAD
+     * requests, tags are compared weakly, so a {@code W/} prefix is ignored.
+     */
+    private boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if ("*".equals(candidate) || entityTag.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String entityTagOf(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + '"';
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
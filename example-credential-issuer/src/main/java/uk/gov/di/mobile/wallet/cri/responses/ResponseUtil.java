@@ -7,6 +7,7 @@ import jakarta.ws.rs.core.Response;
 public class ResponseUtil {
 
     public static final String NO_STORE = "no-store";
+    public static final String NO_CACHE = "no-cache";
 
     private ResponseUtil() {
         throw new IllegalStateException("Instantiation is not valid for this class.");
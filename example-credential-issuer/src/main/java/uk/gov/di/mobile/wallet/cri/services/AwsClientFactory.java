@@ -0,0 +1,177 @@
+package uk.gov.di.mobile.wallet.cri.services;
+
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClientBuilder;
+import software.amazon.awssdk.services.kms.KmsAsyncClient;
+import software.amazon.awssdk.services.kms.KmsAsyncClientBuilder;
+import software.amazon.awssdk.services.kms.KmsClient;
+import software.amazon.awssdk.services.kms.KmsClientBuilder;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Creates the AWS service clients used by the application.
+ *
+ * <p>Every client shares a single pooled HTTP client, so connections to AWS are kept alive and
+ * reused between requests instead of being opened per call. Idle connections are reaped, and
+ * connections are retired after a fixed lifetime so that DNS changes are picked up. Each service
+ * client has its own API call attempt timeout.
+ *
+ * <p>Asynchronous clients share a separate non-blocking HTTP client, configured the same way and
+ * only created once an asynchronous client is first requested.
+ *
+ * <p>The shared HTTP clients are not closed along with the service clients, so this factory must be
+ * closed once they are no longer in use.
+ */
+public class AwsClientFactory implements AutoCloseable {
+
+    private final ConfigurationService configurationService;
+    private final SdkHttpClient httpClient;
+    private SdkAsyncHttpClient asyncHttpClient;
+
+    public AwsClientFactory(ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+        this.httpClient =
+                ApacheHttpClient.builder()
+                        .maxConnections(configurationService.getAwsHttpMaxConnections())
+                        .connectionTimeout(
+                                Duration.ofMillis(
+                                        configurationService.getAwsHttpConnectionTimeoutInMillis()))
+                        .connectionAcquisitionTimeout(
+                                Duration.ofMillis(
+                                        configurationService
+                                                .getAwsHttpConnectionAcquisitionTimeoutInMillis()))
+                        .socketTimeout(
+                                Duration.ofMillis(
+                                        configurationService.getAwsHttpSocketTimeoutInMillis()))
+                        .connectionMaxIdleTime(
+                                Duration.ofSeconds(
+                                        configurationService.getAwsHttpConnectionMaxIdleInSecs()))
+                        .useIdleConnectionReaper(true)
+                        .connectionTimeToLive(
+                                Duration.ofSeconds(
+                                        configurationService.getAwsHttpConnectionTtlInSecs()))
+                        .tcpKeepAlive(configurationService.isAwsHttpTcpKeepAliveEnabled())
+                        .build();
+    }
+
+    public DynamoDbEnhancedClient createDynamoDbClient() {
+        DynamoDbClientBuilder builder =
+                DynamoDbClient.builder()
+                        .httpClient(httpClient)
+                        .overrideConfiguration(
+                                withAttemptTimeout(
+                                        configurationService
+                                                .getDynamoDbApiCallAttemptTimeoutInMillis()))
+                        .region(Region.of(configurationService.getAwsRegion()));
+        if (isLocal()) {
+            builder.endpointOverride(URI.create(configurationService.getLocalAwsEndpoint()));
+        }
+        return DynamoDbEnhancedClient.builder().dynamoDbClient(builder.build()).build();
+    }
+
+    public KmsClient createKmsClient() {
+        KmsClientBuilder builder =
+                KmsClient.builder()
+                        .httpClient(httpClient)
+                        .overrideConfiguration(
+                                withAttemptTimeout(
+                                        configurationService.getKmsApiCallAttemptTimeoutInMillis()))
+                        .credentialsProvider(DefaultCredentialsProvider.builder().build())
+                        .region(Region.of(configurationService.getAwsRegion()));
+        if (isLocal()) {
+            builder.endpointOverride(URI.create(configurationService.getKmsEndpoint()));
+        }
+        return builder.build();
+    }
+
+    public KmsAsyncClient createKmsAsyncClient() {
+        KmsAsyncClientBuilder builder =
+                KmsAsyncClient.builder()
+                        .httpClient(getAsyncHttpClient())
+                        .overrideConfiguration(
+                                withAttemptTimeout(
+                                        configurationService.getKmsApiCallAttemptTimeoutInMillis()))
+                        .credentialsProvider(DefaultCredentialsProvider.builder().build())
+                        .region(Region.of(configurationService.getAwsRegion()));
+        if (isLocal()) {
+            builder.endpointOverride(URI.create(configurationService.getKmsEndpoint()));
+        }
+        return builder.build();
+    }
+
+    public S3Client createS3Client() {
+        S3ClientBuilder builder =
+                S3Client.builder()
+                        .httpClient(httpClient)
+                        .overrideConfiguration(
+                                withAttemptTimeout(
+                                        configurationService.getS3ApiCallAttemptTimeoutInMillis()))
+                        .credentialsProvider(DefaultCredentialsProvider.builder().build())
+                        .region(Region.of(configurationService.getAwsRegion()));
+        if (isLocal()) {
+            builder.endpointOverride(URI.create(configurationService.getLocalAwsEndpoint()))
+                    .forcePathStyle(true); // Required for running locally with local aws
+        }
+        return builder.build();
+    }
+
+    @Override
+    public synchronized void close() {
+        httpClient.close();
+        if (asyncHttpClient != null) {
+            asyncHttpClient.close();
+        }
+    }
+
+    private synchronized SdkAsyncHttpClient getAsyncHttpClient() {
+        if (asyncHttpClient == null) {
+            asyncHttpClient =
+                    NettyNioAsyncHttpClient.builder()
+                            .maxConcurrency(configurationService.getAwsHttpMaxConnections())
+                            .connectionTimeout(
+                                    Duration.ofMillis(
+                                            configurationService
+                                                    .getAwsHttpConnectionTimeoutInMillis()))
+                            .connectionAcquisitionTimeout(
+                                    Duration.ofMillis(
+                                            configurationService
+                                                    .getAwsHttpConnectionAcquisitionTimeoutInMillis()))
+                            .readTimeout(
+                                    Duration.ofMillis(
+                                            configurationService.getAwsHttpSocketTimeoutInMillis()))
+                            .connectionMaxIdleTime(
+                                    Duration.ofSeconds(
+                                            configurationService
+                                                    .getAwsHttpConnectionMaxIdleInSecs()))
+                            .connectionTimeToLive(
+                                    Duration.ofSeconds(
+                                            configurationService.getAwsHttpConnectionTtlInSecs()))
+                            .tcpKeepAlive(configurationService.isAwsHttpTcpKeepAliveEnabled())
+                            .build();
+        }
+        return asyncHttpClient;
+    }
+
+    private boolean isLocal() {
+        String environment = configurationService.getEnvironment();
+        return environment.equals("local") || environment.equals("ci");
+    }
+
+    private static ClientOverrideConfiguration withAttemptTimeout(int attemptTimeoutInMillis) {
+        return ClientOverrideConfiguration.builder()
+                .apiCallAttemptTimeout(Duration.ofMillis(attemptTimeoutInMillis))
+                .build();
+    }
+}
@@ -5,6 +5,8 @@ import io.dropwizard.client.JerseyClientConfiguration;
 import io.dropwizard.core.Configuration;
 
 import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Configuration service for managing application settings. Provides environment variable-based
@@ -13,6 +15,8 @@ import java.net.URI;
 public class ConfigurationService extends Configuration {
 
     private static final String LOCAL_STS_MOCK_URL = "http://localhost:9090";
+    private static final List<String> LOCAL_SIGNING_KEY_ENVIRONMENTS =
+            List.of("local", "ci", "dev");
 
     private JerseyClientConfiguration httpClient = new JerseyClientConfiguration();
 
@@ -87,6 +91,49 @@ public class ConfigurationService extends Configuration {
         return getEnvOrDefault("SIGNING_KEY_ALIAS", "alias/localSigningKeyAlias");
     }
 
+    /**
+     * Gets whether signing keys are held in process instead of in KMS. Set SIGNING_KEY_PROVIDER to
+     * "local" to enable this for load testing or running without KMS, or to "kms" (the default) to
+     * sign with KMS. The local provider is only allowed in the local, ci and dev environments.
+     *
+     * @return True if the local signing key provider is enabled
+     * @throws IllegalArgumentException if SIGNING_KEY_PROVIDER is invalid, or is "local" in any
+     *     other environment
+     */
+    public boolean isLocalSigningKeyProviderEnabled() {
+        String key = "SIGNING_KEY_PROVIDER";
+        String value = getEnvOrDefault(key, "kms");
+        switch (value) {
+            case "kms":
+                return false;
+            case "local":
+                String environment = getEnvironment();
+                if (!LOCAL_SIGNING_KEY_ENVIRONMENTS.contains(environment)) {
+                    throw new IllegalArgumentException(
+                            "Invalid value for "
+                                    + key
+                                    + ": "
+                                    + value
+                                    + " (not allowed in "
+                                    + environment
+                                    + ")");
+                }
+                return true;
+            default:
+                throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+        }
+    }
+
+    /**
+     * Gets the directory the local signing key provider stores its keys in, so that they survive
+     * restarts. When empty, local keys are only held in memory.
+     *
+     * @return The local signing key directory, or an empty string
+     */
+    public String getLocalSigningKeyDirectory() {
+        return getEnvOrDefault("LOCAL_SIGNING_KEY_DIRECTORY", "");
+    }
+
     /**
      * Gets the ARN of the document signing key.
      *
@@ -109,6 +156,21 @@ public class ConfigurationService extends Configuration {
                 "arn:aws:acm-pca:eu-west-2:000000000000:certificate-authority/6bb42872-f4ed-4d55-a937-b8ffb8760de4");
     }
 
+    /**
+     * Gets the ARNs of certificate authorities that are being rotated out. Set
+     * RETIRING_CERTIFICATE_AUTHORITY_ARNS to a comma-separated list to keep publishing their root
+     * certificates as inactive IACAs while credentials they issued are still in use.
+     *
+     * @return The retiring certificate authority ARNs, or an empty list if there are none
+     */
+    public List<String> getRetiringCertificateAuthorityArns() {
+        String value = getEnvOrDefault("RETIRING_CERTIFICATE_AUTHORITY_ARNS", "");
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(entry -> !entry.isEmpty())
+                .toList();
+    }
+
     /**
      * Gets the S3 bucket name for storing root and document signing certificates.
      *
@@ -118,6 +180,101 @@ public class ConfigurationService extends Configuration {
         return getEnvOrDefault("CERTIFICATES_BUCKET_NAME", "certificates");
     }
 
+    // ===========================================
+    // AWS HTTP CLIENT
+    // ===========================================
+    /**
+     * Gets the maximum number of connections the HTTP client shared by the AWS service clients
+     * keeps open.
+     *
+     * @return The maximum number of connections
+     */
+    public int getAwsHttpMaxConnections() {
+        return getIntEnvOrDefault("AWS_HTTP_MAX_CONNECTIONS", 50);
+    }
+
+    /**
+     * Gets how long to wait for a connection to an AWS service to be established.
+     *
+     * @return The connection timeout in milliseconds
+     */
+    public int getAwsHttpConnectionTimeoutInMillis() {
+        return getIntEnvOrDefault("AWS_HTTP_CONNECTION_TIMEOUT_MILLIS", 2000);
+    }
+
+    /**
+     * Gets how long to wait for a connection from the pool when every connection is in use.
+     *
+     * @return The connection acquisition timeout in milliseconds
+     */
+    public int getAwsHttpConnectionAcquisitionTimeoutInMillis() {
+        return getIntEnvOrDefault("AWS_HTTP_CONNECTION_ACQUISITION_TIMEOUT_MILLIS", 1000);
+    }
+
+    /**
+     * Gets how long to wait for data on an open connection to an AWS service.
+     *
+     * @return The socket timeout in milliseconds
+     */
+    public int getAwsHttpSocketTimeoutInMillis() {
+        return getIntEnvOrDefault("AWS_HTTP_SOCKET_TIMEOUT_MILLIS", 5000);
+    }
+
+    /**
+     * Gets how long a pooled connection may sit idle before it is closed.
+     *
+     * @return The maximum idle time in seconds
+     */
+    public int getAwsHttpConnectionMaxIdleInSecs() {
+        return getIntEnvOrDefault("AWS_HTTP_CONNECTION_MAX_IDLE_SECONDS", 60);
+    }
+
+    /**
+     * Gets how long a pooled connection is reused before it is closed, so that DNS changes are
+     * picked up.
+     *
+     * @return The connection time to live in seconds
+     */
+    public int getAwsHttpConnectionTtlInSecs() {
+        return getIntEnvOrDefault("AWS_HTTP_CONNECTION_TTL_SECONDS", 300);
+    }
+
+    /**
+     * Gets whether TCP keep-alive is enabled on connections to AWS services.
+     *
+     * @return True if TCP keep-alive is enabled
+     */
+    public boolean isAwsHttpTcpKeepAliveEnabled() {
+        return Boolean.parseBoolean(getEnvOrDefault("AWS_HTTP_TCP_KEEP_ALIVE", "true"));
+    }
+
+    /**
+     * Gets how long a single attempt at a DynamoDB API call may take before it is retried.
+     *
+     * @return The DynamoDB API call attempt timeout in milliseconds
+     */
+    public int getDynamoDbApiCallAttemptTimeoutInMillis() {
+        return getIntEnvOrDefault("DYNAMODB_API_CALL_ATTEMPT_TIMEOUT_MILLIS", 1000);
+    }
+
+    /**
+     * Gets how long a single attempt at a KMS API call may take before it is retried.
+     *
+     * @return The KMS API call attempt timeout in milliseconds
+     */
+    public int getKmsApiCallAttemptTimeoutInMillis() {
+        return getIntEnvOrDefault("KMS_API_CALL_ATTEMPT_TIMEOUT_MILLIS", 2000);
+    }
+
+    /**
+     * Gets how long a single attempt at an S3 API call may take before it is retried.
+     *
+     * @return The S3 API call attempt timeout in milliseconds
+     */
+    public int getS3ApiCallAttemptTimeoutInMillis() {
+        return getIntEnvOrDefault("S3_API_CALL_ATTEMPT_TIMEOUT_MILLIS", 3000);
+    }
+
     // ===========================================
     // AUTHENTICATION
     // ===========================================
@@ -256,6 +413,358 @@ public class ConfigurationService extends Configuration {
         return createValidatedUri(key, uriString);
     }
 
+    /**
+     * Gets whether status list indices are taken from a pool of reservations prefetched in the
+     * background. When disabled, an index is requested from the status list service for every
+     * credential.
+     *
+     * @return True if the status list index pool is enabled
+     */
+    public boolean isStatusListIndexPoolEnabled() {
+        return Boolean.parseBoolean(getEnvOrDefault("STATUS_LIST_INDEX_POOL_ENABLED", "false"));
+    }
+
+    /**
+     * Gets the width of the expiry windows status list index reservations are bucketed by. An
+     * index can outlive its credential by up to this long.
+     *
+     * @return The bucket window in seconds
+     */
+    public int getStatusListIndexPoolBucketInSecs() {
+        return getIntEnvOrDefault("STATUS_LIST_INDEX_POOL_BUCKET_SECONDS", 3600);
+    }
+
+    /**
+     * Gets the number of reserved indices in a bucket below which more are reserved.
+     *
+     * @return The low-water mark
+     */
+    public int getStatusListIndexPoolLowWaterMark() {
+        return getIntEnvOrDefault("STATUS_LIST_INDEX_POOL_LOW_WATER_MARK", 20);
+    }
+
+    /**
+     * Gets the number of reserved indices a bucket is topped up to.
+     *
+     * @return The high-water mark
+     */
+    public int getStatusListIndexPoolHighWaterMark() {
+        return getIntEnvOrDefault("STATUS_LIST_INDEX_POOL_HIGH_WATER_MARK", 100);
+    }
+
+    // ===========================================
+    // CREDENTIAL ISSUANCE
+    // ===========================================
+    /**
+     * Gets whether independent credential issuance steps (e.g. access token and proof JWT
+     * verification) run concurrently on the issuance thread pool. When disabled, every step runs on
+     * the request thread in order.
+     *
+     * @return True if concurrent issuance is enabled
+     */
+    public boolean isConcurrentIssuanceEnabled() {
+        return Boolean.parseBoolean(getEnvOrDefault("CONCURRENT_ISSUANCE_ENABLED", "false"));
+    }
+
+    /**
+     * Gets the number of threads in the pool used to run credential issuance steps concurrently.
+     *
+     * @return The issuance thread pool size
+     */
+    public int getIssuanceThreadPoolSize() {
+        return getIntEnvOrDefault("ISSUANCE_THREAD_POOL_SIZE", 32);
+    }
+
+    /**
+     * Gets the deadline for issuing a single credential in milliseconds. Requests that have not
+     * completed within this time fail with an internal error.
+     *
+     * @return The issuance deadline in milliseconds
+     */
+    public long getIssuanceDeadlineInMillis() {
+        return getIntEnvOrDefault("ISSUANCE_DEADLINE_MILLIS", 10000);
+    }
+
+    // ===========================================
+    // ASYNC SIGNING
+    // ===========================================
+    /**
+     * Gets whether KMS sign calls made while issuing credentials are sent through the asynchronous
+     * KMS client, so that no thread waits on KMS. When disabled, issuance signs with the blocking
+     * client.
+     *
+     * @return True if asynchronous KMS signing is enabled
+     */
+    public boolean isAsyncSigningEnabled() {
+        return Boolean.parseBoolean(getEnvOrDefault("ASYNC_SIGNING_ENABLED", "false"));
+    }
+
+    /**
+     * Gets the maximum number of asynchronous KMS sign calls in flight at once.
+     *
+     * @return The maximum number of sign calls in flight
+     */
+    public int getAsyncSigningMaxInFlight() {
+        return getIntEnvOrDefault("ASYNC_SIGNING_MAX_IN_FLIGHT", 64);
+    }
+
+    /**
+     * Gets the maximum number of asynchronous KMS sign calls waiting to start. Sign calls made
+     * while the queue is full fail immediately.
+     *
+     * @return The maximum number of queued sign calls
+     */
+    public int getAsyncSigningMaxQueued() {
+        return getIntEnvOrDefault("ASYNC_SIGNING_MAX_QUEUED", 512);
+    }
+
+    /**
+     * Gets how long an asynchronous KMS sign call may take, including its time in the queue.
+     *
+     * @return The sign timeout in milliseconds
+     */
+    public int getAsyncSigningTimeoutInMillis() {
+        return getIntEnvOrDefault("ASYNC_SIGNING_TIMEOUT_MILLIS", 5000);
+    }
+
+    // ===========================================
+    // SIGNING KEY POOL
+    // ===========================================
+    /**
+     * Gets the aliases of the keys JWTs are signed with. Set SIGNING_KEY_ALIASES to a
+     * comma-separated list to spread signing across several keys; otherwise only SIGNING_KEY_ALIAS
+     * is used. Every key is published in the JWKS and DID document.
+     *
+     * @return The signing key aliases
+     */
+    public List<String> getSigningKeyAliases() {
+        return getListEnvOrDefault("SIGNING_KEY_ALIASES", getSigningKeyAlias());
+    }
+
+    /**
+     * Gets the ARNs of the keys mdocs are signed with. Set DOCUMENT_SIGNING_KEY_ARNS to a
+     * comma-separated list to spread signing across several keys, each with its own document
+     * signing certificate; otherwise only DOCUMENT_SIGNING_KEY_1_ARN is used.
+     *
+     * @return The document signing key ARNs
+     */
+    public List<String> getDocumentSigningKeyArns() {
+        return getListEnvOrDefault("DOCUMENT_SIGNING_KEY_ARNS", getDocumentSigningKey1Arn());
+    }
+
+    /**
+     * Gets whether each signature is made with the pooled key that has the fewest sign calls in
+     * flight. Set SIGNING_KEY_SELECTION_STRATEGY to "least-loaded" to enable this, or to
+     * "round-robin" (the default) to use each key in turn.
+     *
+     * @return True if least-loaded signing key selection is enabled
+     * @throws IllegalArgumentException if SIGNING_KEY_SELECTION_STRATEGY is invalid
+     */
+    public boolean isLeastLoadedSigningKeySelectionEnabled() {
+        String key = "SIGNING_KEY_SELECTION_STRATEGY";
+        String value = getEnvOrDefault(key, "round-robin");
+        switch (value) {
+            case "round-robin":
+                return false;
+            case "least-loaded":
+                return true;
+            default:
+                throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+        }
+    }
+
+    /**
+     * Gets how long a pooled signing key that KMS has throttled is passed over for.
+     *
+     * @return The throttled key cooldown in milliseconds
+     */
+    public int getSigningKeyThrottleCooldownInMillis() {
+        return getIntEnvOrDefault("SIGNING_KEY_THROTTLE_COOLDOWN_MILLIS", 1000);
+    }
+
+    // ===========================================
+    // JWKS CACHE
+    // ===========================================
+    /**
+     * Gets how long the authorization server's JWKS is served from cache before it must be
+     * fetched again.
+     *
+     * @return The JWKS cache TTL in seconds
+     */
+    public int getJwksCacheTtlInSecs() {
+        return getIntEnvOrDefault("JWKS_CACHE_TTL_SECONDS", 300);
+    }
+
+    /**
+     * Gets how long before the JWKS cache expires that a background refresh is started, so that
+     * requests do not wait on the fetch.
+     *
+     * @return The refresh-ahead window in seconds
+     */
+    public int getJwksRefreshAheadInSecs() {
+        return getIntEnvOrDefault("JWKS_REFRESH_AHEAD_SECONDS", 30);
+    }
+
+    /**
+     * Gets how long after expiry a cached JWKS may still be used when the authorization server
+     * cannot be reached.
+     *
+     * @return The stale-if-error window in seconds
+     */
+    public int getJwksStaleIfErrorInSecs() {
+        return getIntEnvOrDefault("JWKS_STALE_IF_ERROR_SECONDS", 3600);
+    }
+
+    /**
+     * Gets how long a key ID that was not found in a freshly fetched JWKS is remembered, so that
+     * repeated requests with an unknown key ID do not trigger a fetch each time.
+     *
+     * @return The unknown key ID TTL in seconds
+     */
+    public int getJwksUnknownKeyIdTtlInSecs() {
+        return getIntEnvOrDefault("JWKS_UNKNOWN_KID_TTL_SECONDS", 60);
+    }
+
+    /**
+     * Gets the minimum time between JWKS fetches caused by key IDs that are not in a fresh cached
+     * JWKS, so that requests with many distinct unknown key IDs cannot each trigger a fetch.
+     *
+     * @return The minimum interval between fetches for unknown key IDs in seconds
+     */
+    public int getJwksMissRefreshMinIntervalInSecs() {
+        return getIntEnvOrDefault("JWKS_MISS_REFRESH_MIN_INTERVAL_SECONDS", 30);
+    }
+
+    // ===========================================
+    // ACCESS TOKEN VERIFICATION
+    // ===========================================
+    /**
+     * Gets whether access token signatures are verified with the BouncyCastle engine, which
+     * precomputes a multiplication table for each authorization server key. Set
+     * ACCESS_TOKEN_VERIFICATION_ENGINE to "fixed-point" to enable this, or to "jca" (the default)
+     * to verify with the JCA provider.
+     *
+     * @return True if fixed-point access token verification is enabled
+     * @throws IllegalArgumentException if ACCESS_TOKEN_VERIFICATION_ENGINE is invalid
+     */
+    public boolean isFixedPointAccessTokenVerificationEnabled() {
+        String key = "ACCESS_TOKEN_VERIFICATION_ENGINE";
+        String value = getEnvOrDefault(key, "jca");
+        switch (value) {
+            case "jca":
+                return false;
+            case "fixed-point":
+                return true;
+            default:
+                throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+        }
+    }
+
+    // ===========================================
+    // VERIFIED ACCESS TOKEN CACHE
+    // ===========================================
+    /**
+     * Gets the maximum number of verified access tokens that are cached.
+     *
+     * @return The verified access token cache maximum size
+     */
+    public int getVerifiedAccessTokenCacheMaximumSize() {
+        return getIntEnvOrDefault("VERIFIED_ACCESS_TOKEN_CACHE_MAXIMUM_SIZE", 10000);
+    }
+
+    /**
+     * Gets the longest time a verified access token is cached for. Tokens are never cached beyond
+     * their expiration time.
+     *
+     * @return The verified access token cache maximum TTL in seconds
+     */
+    public int getVerifiedAccessTokenCacheMaximumTtlInSecs() {
+        return getIntEnvOrDefault("VERIFIED_ACCESS_TOKEN_CACHE_MAX_TTL_SECONDS", 300);
+    }
+
+    // ===========================================
+    // KEY METADATA CACHE
+    // ===========================================
+    /**
+     * Gets how long the metadata resolved for a signing key alias is cached before KMS is asked
+     * again.
+     *
+     * @return The key metadata cache TTL in seconds
+     */
+    public int getKeyMetadataCacheTtlInSecs() {
+        return getIntEnvOrDefault("KEY_METADATA_CACHE_TTL_SECONDS", 300);
+    }
+
+    /**
+     * Gets how long before cached key metadata expires that it is reloaded in the background.
+     *
+     * @return The refresh-ahead window in seconds
+     */
+    public int getKeyMetadataRefreshAheadInSecs() {
+        return getIntEnvOrDefault("KEY_METADATA_REFRESH_AHEAD_SECONDS", 60);
+    }
+
+    // ===========================================
+    // PUBLIC KEY CACHE
+    // ===========================================
+    /**
+     * Gets how long the public signing keys published in the DID document and JWKS are served from
+     * cache before they are loaded from KMS again.
+     *
+     * @return The public key cache TTL in seconds
+     */
+    public int getPublicKeyCacheTtlInSecs() {
+        return getIntEnvOrDefault("PUBLIC_KEY_CACHE_TTL_SECONDS", 300);
+    }
+
+    /**
+     * Gets how long before the cached public signing keys expire that they are reloaded in the
+     * background.
+     *
+     * @return The refresh-ahead window in seconds
+     */
+    public int getPublicKeyRefreshAheadInSecs() {
+        return getIntEnvOrDefault("PUBLIC_KEY_REFRESH_AHEAD_SECONDS", 60);
+    }
+
+    // ===========================================
+    // CERTIFICATE CACHE
+    // ===========================================
+    /**
+     * Gets how often a cached document signing or root certificate is checked against the
+     * certificates bucket for changes.
+     *
+     * @return The certificate refresh interval in seconds
+     */
+    public int getCertificateRefreshIntervalInSecs() {
+        return getIntEnvOrDefault("CERTIFICATE_REFRESH_INTERVAL_SECONDS", 300);
+    }
+
+    // ===========================================
+    // DID KEY CACHE
+    // ===========================================
+    /**
+     * Gets the maximum number of did:keys whose resolved public keys are cached.
+     *
+     * @return The did:key cache maximum size
+     */
+    public int getDidKeyCacheMaximumSize() {
+        return getIntEnvOrDefault("DID_KEY_CACHE_MAXIMUM_SIZE", 10000);
+    }
+
+    // ===========================================
+    // METADATA
+    // ===========================================
+    /**
+     * Gets how long clients and caches may reuse the credential issuer metadata before checking it
+     * again.
+     *
+     * @return The metadata Cache-Control max-age in seconds
+     */
+    public int getMetadataCacheMaxAgeInSecs() {
+        return getIntEnvOrDefault("METADATA_CACHE_MAX_AGE_SECONDS", 300);
+    }
+
     // ===========================================
     // HELPER METHODS
     // ===========================================
@@ -270,6 +779,53 @@ public class ConfigurationService extends Configuration {
         return System.getenv().getOrDefault(key, defaultValue);
     }
 
+    /**
+     * Helper method to get a positive integer environment variable or return default value.
+     *
+     * @param key The environment variable key
+     * @param defaultValue The default value if environment variable is not set
+     * @return The environment variable value or default
+     * @throws IllegalArgumentException if the value is not a positive integer
+     */
+    private int getIntEnvOrDefault(String key, int defaultValue) {
+        String value = getEnvOrDefault(key, String.valueOf(defaultValue));
+        try {
+            int parsedValue = Integer.parseInt(value);
+            if (parsedValue <= 0) {
+                throw new IllegalArgumentException(
+                        "Invalid value for " + key + ": " + value + " (must be positive)");
+            }
+            return parsedValue;
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value, exception);
+        }
+    }
+
+    /**
+     * Helper method to get a comma-separated list environment variable or return a single default
+     * value. Blank entries are ignored.
+     *
+     * @param key The environment variable key
+     * @param defaultValue The default value if environment variable is not set
+     * @return The environment variable values or a list containing the default
+     * @throws IllegalArgumentException if the value has no non-blank entries
+     */
+    private List<String> getListEnvOrDefault(String key, String defaultValue) {
+        String value = System.getenv(key);
+        if (value == null) {
+            return List.of(defaultValue);
+        }
+        List<String> values =
+                Arrays.stream(value.split(","))
+                        .map(String::trim)
+                        .filter(entry -> !entry.isEmpty())
+                        .toList();
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+        }
+        return values;
+    }
+
     /**
      * Helper method to create and validate URI from environment variable.
      *
@@ -0,0 +1,245 @@
+package uk.gov.di.mobile.wallet.cri.services;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory cache of a remote JWKS, keyed by key ID.
+ *
+ * <p>The key set is fetched from the underlying {@link JWKSource} and served from memory until its
+ * TTL expires. Within the refresh-ahead window before expiry, a cache hit starts a background
+ * refresh so that requests do not wait on the fetch. A key ID that is not cached causes at most one
+ * fetch at a time, which concurrent callers share. Key IDs that are still absent after a fetch are
+ * remembered for a short period so that they do not trigger a fetch on every request, and while the
+ * key set is fresh, misses refresh it at most once per minimum interval, however many distinct key
+ * IDs are requested. When a fetch fails, the previous key set continues to be served until the
+ * stale-if-error window has passed.
+ */
+public class JwksCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwksCache.class);
+    private static final JWKSelector ALL_KEYS = new JWKSelector(new JWKMatcher.Builder().build());
+    private static final int MAX_UNKNOWN_KEY_IDS = 1000;
+
+    private final JWKSource<SecurityContext> jwkSource;
+    private final Duration timeToLive;
+    private final Duration refreshAhead;
+    private final Duration staleIfError;
+    private final Duration unknownKeyIdTtl;
+    private final Duration missRefreshMinInterval;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter unknownKeyIdHits;
+    private final Counter rateLimitedMisses;
+    private final Counter refreshFailures;
+
+    private final Map<String, Instant> unknownKeyIds = new ConcurrentHashMap<>();
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlightRefresh =
+            new AtomicReference<>();
+    private final AtomicReference<Instant> lastMissRefreshAt = new AtomicReference<>();
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(Map<String, JWK> keysById, Instant fetchedAt) {}
+
+    /**
+     * @param jwkSource Source the key set is fetched from.
+     * @param timeToLive How long a fetched key set is served without being fetched again.
+     * @param refreshAhead How long before expiry a background refresh is started.
+     * @param staleIfError How long after expiry a key set is still served if fetching fails.
+     * @param unknownKeyIdTtl How long a key ID not found in a fresh key set is remembered.
+     * @param missRefreshMinInterval Minimum time between refreshes of a fresh key set caused by
+     *     key IDs that are not in it.
+     * @param refreshExecutor Executor background refreshes are run on.
+     * @param clock Clock used to measure the age of the key set.
+     * @param metricRegistry Registry the cache hit and miss counters are registered with.
+     */
+    public JwksCache(
+            JWKSource<SecurityContext> jwkSource,
+            Duration timeToLive,
+            Duration refreshAhead,
+            Duration staleIfError,
+            Duration unknownKeyIdTtl,
+            Duration missRefreshMinInterval,
+            Executor refreshExecutor,
+            Clock clock,
+            MetricRegistry metricRegistry) {
+        this.jwkSource = jwkSource;
+        this.timeToLive = timeToLive;
+        this.refreshAhead = refreshAhead;
+        this.staleIfError = staleIfError;
+        this.unknownKeyIdTtl = unknownKeyIdTtl;
+        this.missRefreshMinInterval = missRefreshMinInterval;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.hits = metricRegistry.counter("jwks.cache.hits");
+        this.misses = metricRegistry.counter("jwks.cache.misses");
+        this.unknownKeyIdHits = metricRegistry.counter("jwks.cache.unknown-kid-hits");
+        this.rateLimitedMisses = metricRegistry.counter("jwks.cache.rate-limited-misses");
+        this.refreshFailures = metricRegistry.counter("jwks.cache.refresh-failures");
+    }
+
+    /**
+     * Gets the key with the given key ID, fetching the key set if it is not cached.
+     *
+     * @param keyId The key ID to search for.
+     * @return The matching JWK.
+     * @throws KeySourceException If the key set cannot be fetched and no usable cached copy
+     *     exists, or no key is found with the given ID.
+     */
+    public JWK getKey(String keyId) throws KeySourceException {
+        Instant now = clock.instant();
+        Snapshot current = snapshot;
+
+        if (current != null && now.isBefore(expiryOf(current))) {
+            JWK jwk = current.keysById().get(keyId);
+            if (jwk != null) {
+                hits.inc();
+                if (!now.isBefore(expiryOf(current).minus(refreshAhead))) {
+                    startRefresh(refreshExecutor);
+                }
+                return jwk;
+            }
+        }
+
+        Instant unknownUntil = unknownKeyIds.get(keyId);
+        if (unknownUntil != null && now.isBefore(unknownUntil)) {
+            unknownKeyIdHits.inc();
+            throw keyNotFound(keyId);
+        }
+
+        misses.inc();
+        if (current != null && now.isBefore(expiryOf(current)) && !claimMissRefresh(now)) {
+            // Another miss refreshed the key set within the minimum interval
+            rateLimitedMisses.inc();
+            JWK jwk = awaitInFlightRefresh().keysById().get(keyId);
+            if (jwk == null) {
+                throw keyNotFound(keyId);
+            }
+            return jwk;
+        }
+
+        JWK jwk = refresh(current, now).keysById().get(keyId);
+        if (jwk == null) {
+            rememberUnknownKeyId(keyId, now);
+            throw keyNotFound(keyId);
+        }
+        return jwk;
+    }
+
+    private Snapshot refresh(Snapshot current, Instant now) throws KeySourceException {
+        try {
+            // Fetch on the calling thread, or wait for a fetch that is already in progress
+            return startRefresh(Runnable::run).join();
+        } catch (CompletionException exception) {
+            if (current != null && now.isBefore(expiryOf(current).plus(staleIfError))) {
+                LOGGER.warn(
+                        "Failed to refresh JWKS, serving key set fetched at {}",
+                        current.fetchedAt(),
+                        exception.getCause());
+                return current;
+            }
+            if (exception.getCause() instanceof KeySourceException keySourceException) {
+                throw keySourceException;
+            }
+            throw new KeySourceException("Failed to retrieve JWKS", exception.getCause());
+        }
+    }
+
+    private boolean claimMissRefresh(Instant now) {
+        Instant last = lastMissRefreshAt.get();
+        return (last == null || !now.isBefore(last.plus(missRefreshMinInterval)))
+                && lastMissRefreshAt.compareAndSet(last, now);
+    }
+
+    private Snapshot awaitInFlightRefresh() {
+        CompletableFuture<Snapshot> inFlight = inFlightRefresh.get();
+        if (inFlight != null) {
+            try {
+                return inFlight.join();
+            } catch (CompletionException exception) {
+                // The cached key set is still fresh, so it is served instead
+            }
+        }
+        return snapshot;
+    }
+
+    private CompletableFuture<Snapshot> startRefresh(Executor executor) {
+        CompletableFuture<Snapshot> refresh = new CompletableFuture<>();
+        CompletableFuture<Snapshot> existing = inFlightRefresh.compareAndExchange(null, refresh);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(
+                    () -> {
+                        try {
+                            Snapshot fetched = fetch();
+                            snapshot = fetched;
+                            refresh.complete(fetched);
+                        } catch (Exception exception) {
+                            refreshFailures.inc();
+                            refresh.completeExceptionally(exception);
+                        } finally {
+                            inFlightRefresh.set(null);
+                        }
+                    });
+        } catch (RejectedExecutionException exception) {
+            // The executor is shutting down, so the key set is fetched by the next miss instead
+            inFlightRefresh.set(null);
+            refresh.completeExceptionally(exception);
+        }
+        return refresh;
+    }
+
+    private Snapshot fetch() throws KeySourceException {
+        Map<String, JWK> keysById = new HashMap<>();
+        for (JWK jwk : jwkSource.get(ALL_KEYS, null)) {
+            if (jwk.getKeyID() != null) {
+                keysById.put(jwk.getKeyID(), jwk);
+            }
+        }
+        // Keys published since they were last looked up are no longer unknown
+        unknownKeyIds.keySet().removeIf(keysById::containsKey);
+        return new Snapshot(Map.copyOf(keysById), clock.instant());
+    }
+
+    private void rememberUnknownKeyId(String keyId, Instant now) {
+        if (unknownKeyIds.size() >= MAX_UNKNOWN_KEY_IDS) {
+            unknownKeyIds.values().removeIf(unknownUntil -> !now.isBefore(unknownUntil));
+            if (unknownKeyIds.size() >= MAX_UNKNOWN_KEY_IDS) {
+                unknownKeyIds.clear();
+            }
+        }
+        unknownKeyIds.put(keyId, now.plus(unknownKeyIdTtl));
+    }
+
+    private Instant expiryOf(Snapshot snapshot) {
+        return snapshot.fetchedAt().plus(timeToLive);
+    }
+
+    private static KeySourceException keyNotFound(String keyId) {
+        return new KeySourceException("No key found with key ID: " + keyId);
+    }
+}
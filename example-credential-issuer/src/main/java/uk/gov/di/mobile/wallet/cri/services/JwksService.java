@@ -1,20 +1,24 @@
 package uk.gov.di.mobile.wallet.cri.services;
 
+import com.codahale.metrics.MetricRegistry;
 import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.ECKey;
 import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKMatcher;
-import com.nimbusds.jose.jwk.JWKSelector;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
 import com.nimbusds.jose.proc.SecurityContext;
 import org.bouncycastle.openssl.PEMException;
 import uk.gov.di.mobile.wallet.cri.services.signing.KeyNotActiveException;
-import uk.gov.di.mobile.wallet.cri.services.signing.KeyProvider;
+import uk.gov.di.mobile.wallet.cri.services.signing.PublicKeyCache;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Service for managing JSON Web Key Sets (JWKS).
@@ -27,38 +31,61 @@ import java.security.NoSuchAlgorithmException;
  *   <li>Generating the credential issuer's own JWKS from KMS for publication.
  * </ul>
  *
- * <p>The JWKS source is lazily initialised on first use and cached for subsequent calls.
+ * <p>The authorization server's keys are held in a {@link JwksCache}, which is lazily initialised
+ * on first use and shared by subsequent calls. The credential issuer's own keys are read from a
+ * {@link PublicKeyCache}, and its JWKS is only rebuilt when they change.
  */
 public class JwksService {
 
-    private JWKSource<SecurityContext> jwkSource;
+    private final JWKSource<SecurityContext> jwkSource;
     private final ConfigurationService configurationService;
-    private final KeyProvider keyProvider;
+    private final PublicKeyCache publicKeyCache;
+    private final Executor refreshExecutor;
+    private final MetricRegistry metricRegistry;
+    private final Object jwksCacheLock = new Object();
+    private volatile JwksCache jwksCache;
+    private volatile GeneratedJwks generatedJwks;
+
+    private record GeneratedJwks(List<ECKey> keys, JWKSet jwkSet) {}
 
     /**
-     * Constructs a JwksService that lazily resolves the JWKS endpoint at runtime.
+     * Constructs a JwksService that lazily resolves the JWKS endpoint at runtime and reports JWKS
+     * cache metrics.
      *
      * @param configurationService Service providing the authorization server URL and JWKS endpoint.
-     * @param keyProvider Provider for signing key operations.
+     * @param publicKeyCache Cache of the credential issuer's public signing keys.
+     * @param refreshExecutor Executor background JWKS refreshes are run on.
+     * @param metricRegistry Registry the JWKS cache metrics are registered with.
      */
-    public JwksService(ConfigurationService configurationService, KeyProvider keyProvider) {
+    public JwksService(
+            ConfigurationService configurationService,
+            PublicKeyCache publicKeyCache,
+            Executor refreshExecutor,
+            MetricRegistry metricRegistry) {
         this.configurationService = configurationService;
-        this.keyProvider = keyProvider;
+        this.publicKeyCache = publicKeyCache;
+        this.refreshExecutor = refreshExecutor;
+        this.metricRegistry = metricRegistry;
+        this.jwkSource = null;
     }
 
     /**
      * Constructs a JwksService with a pre-configured JWK source. Intended for testing.
      *
      * @param configurationService Service providing configuration values.
-     * @param keyProvider Provider for signing key operations.
+     * @param publicKeyCache Cache of the credential issuer's public signing keys.
+     * @param refreshExecutor Executor background JWKS refreshes are run on.
      * @param jwkSource Pre-configured JWK source to use for key retrieval.
      */
     public JwksService(
             ConfigurationService configurationService,
-            KeyProvider keyProvider,
+            PublicKeyCache publicKeyCache,
+            Executor refreshExecutor,
             JWKSource<SecurityContext> jwkSource) {
         this.configurationService = configurationService;
-        this.keyProvider = keyProvider;
+        this.publicKeyCache = publicKeyCache;
+        this.refreshExecutor = refreshExecutor;
+        this.metricRegistry = new MetricRegistry();
         this.jwkSource = jwkSource;
     }
 
@@ -71,49 +98,71 @@ public class JwksService {
      *     no key is found with the given ID.
      */
     public JWK retrieveJwkFromURLWithKeyId(String keyId) throws KeySourceException {
-        JWKSelector selector = new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build());
-        return getJwkSource().get(selector, null).stream()
-                .findFirst()
-                .orElseThrow(() -> new KeySourceException("No key found with key ID: " + keyId));
+        return getJwksCache().getKey(keyId);
     }
 
     /**
-     * Generates the credential issuer's public JWKS from KMS.
+     * Generates the credential issuer's public JWKS from the cached public signing keys. The same
+     * instance is returned until the keys change.
      *
-     * @return A JWKSet containing the issuer's public signing key.
-     * @throws PEMException If the public key cannot be parsed.
+     * @return A JWKSet containing the public key of every active signing key.
+     * @throws PEMException If a public key cannot be parsed.
      * @throws NoSuchAlgorithmException If the required algorithm is not available.
-     * @throws KeyNotActiveException If the signing key is not in an active state.
+     * @throws KeyNotActiveException If none of the signing keys is in an active state.
      */
     public JWKSet generateJwks()
             throws PEMException, NoSuchAlgorithmException, KeyNotActiveException {
+        List<ECKey> keys = publicKeyCache.getActiveKeys();
+        GeneratedJwks current = generatedJwks;
+        if (current == null || current.keys() != keys) {
+            current = new GeneratedJwks(keys, new JWKSet(List.<JWK>copyOf(keys)));
+            generatedJwks = current;
+        }
+        return current.jwkSet();
+    }
 
-        String keyAlias = configurationService.getSigningKeyAlias();
-        if (!keyProvider.isKeyActive(keyAlias)) {
-            throw new KeyNotActiveException("Public key is not active");
+    private JwksCache getJwksCache() throws KeySourceException {
+        JwksCache cache = jwksCache;
+        if (cache == null) {
+            synchronized (jwksCacheLock) {
+                cache = jwksCache;
+                if (cache == null) {
+                    cache = createJwksCache();
+                    jwksCache = cache;
+                }
+            }
         }
+        return cache;
+    }
 
-        return new JWKSet(keyProvider.getPublicKey(keyAlias));
+    private JwksCache createJwksCache() throws KeySourceException {
+        return new JwksCache(
+                jwkSource != null ? jwkSource : buildJwkSource(),
+                Duration.ofSeconds(configurationService.getJwksCacheTtlInSecs()),
+                Duration.ofSeconds(configurationService.getJwksRefreshAheadInSecs()),
+                Duration.ofSeconds(configurationService.getJwksStaleIfErrorInSecs()),
+                Duration.ofSeconds(configurationService.getJwksUnknownKeyIdTtlInSecs()),
+                Duration.ofSeconds(configurationService.getJwksMissRefreshMinIntervalInSecs()),
+                refreshExecutor,
+                Clock.systemUTC(),
+                metricRegistry);
     }
 
-    private JWKSource<SecurityContext> getJwkSource() throws KeySourceException {
-        if (jwkSource == null) {
-            try {
-                URL url =
-                        new URL(
-                                configurationService.getOneLoginAuthServerUrl()
-                                        + configurationService.getJwksEndpoint());
-                jwkSource =
-                        JWKSourceBuilder.create(url)
-                                .retrying(true)
-                                .refreshAheadCache(false)
-                                .cache(false)
-                                .rateLimited(false)
-                                .build();
-            } catch (MalformedURLException e) {
-                throw new KeySourceException("Failed to build JWKS URL", e);
-            }
+    private JWKSource<SecurityContext> buildJwkSource() throws KeySourceException {
+        try {
+            URL url =
+                    new URL(
+                            configurationService.getOneLoginAuthServerUrl()
+                                    + configurationService.getJwksEndpoint());
+            // Caching, refresh-ahead and rate limiting of unknown key ID fetches are in JwksCache
+            return JWKSourceBuilder.create(url)
+                    .retrying(true)
+                    .refreshAheadCache(false)
+                    .cache(false)
+                    .rateLimited(false)
+                    .build();
+        } catch (MalformedURLException e) {
+            throw new KeySourceException("Failed to build JWKS URL", e);
         }
-        return jwkSource;
     }
 }
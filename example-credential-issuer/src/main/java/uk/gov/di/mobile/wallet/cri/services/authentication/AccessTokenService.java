@@ -1,10 +1,12 @@
 package uk.gov.di.mobile.wallet.cri.services.authentication;
 
+import com.codahale.metrics.MetricRegistry;
 import com.nimbusds.jose.Algorithm;
 import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JOSEObjectType;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
 import com.nimbusds.jose.crypto.ECDSAVerifier;
 import com.nimbusds.jose.jwk.Curve;
 import com.nimbusds.jose.jwk.ECKey;
@@ -21,6 +23,8 @@ import uk.gov.di.mobile.wallet.cri.services.JwksService;
 import javax.management.InvalidAttributeValueException;
 
 import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 
@@ -40,11 +44,17 @@ public class AccessTokenService {
     private static final String REQUIRED_KEY_TYPE = "EC";
     private static final Curve REQUIRED_CURVE = Curve.P_256;
 
+    private static final int DEFAULT_VERIFIED_TOKEN_CACHE_SIZE = 1000;
+    private static final Duration DEFAULT_VERIFIED_TOKEN_CACHE_TTL = Duration.ofMinutes(5);
+
     private static final Logger LOGGER = LoggerFactory.getLogger(AccessTokenService.class);
 
     private final JwksService jwksService;
     private final ConfigurationService configurationService;
     private final Set<String> supportedCredentialConfigurationIds;
+    private final VerifiedAccessTokenCache verifiedAccessTokenCache;
+    private final AccessTokenVerifierCache verifierCache =
+            new AccessTokenVerifierCache(this::createVerifier);
 
     /**
      * Container for access token data.
@@ -72,9 +82,35 @@ public class AccessTokenService {
             JwksService jwksService,
             ConfigurationService configurationService,
             Set<String> supportedCredentialConfigurationIds) {
+        this(
+                jwksService,
+                configurationService,
+                supportedCredentialConfigurationIds,
+                new VerifiedAccessTokenCache(
+                        DEFAULT_VERIFIED_TOKEN_CACHE_SIZE,
+                        DEFAULT_VERIFIED_TOKEN_CACHE_TTL,
+                        Clock.systemUTC(),
+                        new MetricRegistry()));
+    }
+
+    /**
+     * Constructs a new AccessTokenService that caches verified access tokens in the given cache.
+     *
+     * @param jwksService Service to retrieve JWKs for signature validation.
+     * @param configurationService Service providing configuration values.
+     * @param supportedCredentialConfigurationIds — the set of valid credential configuration IDs
+     *     from issuer metadata.
+     * @param verifiedAccessTokenCache Cache of access tokens that have been fully verified.
+     */
+    public AccessTokenService(
+            JwksService jwksService,
+            ConfigurationService configurationService,
+            Set<String> supportedCredentialConfigurationIds,
+            VerifiedAccessTokenCache verifiedAccessTokenCache) {
         this.jwksService = jwksService;
         this.configurationService = configurationService;
         this.supportedCredentialConfigurationIds = supportedCredentialConfigurationIds;
+        this.verifiedAccessTokenCache = verifiedAccessTokenCache;
     }
 
     /**
@@ -86,18 +122,74 @@ public class AccessTokenService {
      */
     public AccessTokenData verifyAccessToken(SignedJWT accessToken)
             throws AccessTokenValidationException {
+        AccessTokenData accessTokenData = verifyAccessTokenClaims(accessToken);
+        verifyAccessTokenSignature(accessToken, accessTokenData);
+        return accessTokenData;
+    }
+
+    /**
+     * Verifies the access token's header and claims, and extracts its data, without verifying its
+     * signature. The claims are parsed once and read for both verification and extraction.
+     *
+     * <p>These checks need no network call or signature verification, so they are made first to
+     * reject invalid tokens cheaply. The data returned must not be trusted until {@link
+     * #verifyAccessTokenSignature(SignedJWT, AccessTokenData)} has also succeeded. If the token
+     * has already been fully verified and is still cached, its cached data is returned instead.
+     *
+     * @param accessToken The signed JWT access token.
+     * @return The extracted access token data.
+     * @throws AccessTokenValidationException If the header or claims are invalid.
+     */
+    public AccessTokenData verifyAccessTokenClaims(SignedJWT accessToken)
+            throws AccessTokenValidationException {
+        AccessTokenData cachedAccessTokenData = verifiedAccessTokenCache.get(accessToken);
+        if (cachedAccessTokenData != null) {
+            return cachedAccessTokenData;
+        }
+
         verifyTokenHeader(accessToken);
-        verifyTokenClaims(accessToken);
+        try {
+            JWTClaimsSet jwtClaimsSet = accessToken.getJWTClaimsSet();
+            verifyTokenClaims(jwtClaimsSet);
+            return extractAccessTokenData(jwtClaimsSet);
+        } catch (ParseException exception) {
+            throw new AccessTokenValidationException(exception.getMessage(), exception);
+        }
+    }
 
+    /**
+     * Verifies the access token's signature against the authorization server's JWKS, unless
+     * signature verification is skipped in this environment or the token is already cached as
+     * verified. Once the signature is verified, the token's data is cached until it expires.
+     *
+     * @param accessToken The signed JWT access token.
+     * @param accessTokenData The data returned by {@link #verifyAccessTokenClaims(SignedJWT)} for
+     *     the same token.
+     * @throws AccessTokenValidationException If the signature is invalid or cannot be verified.
+     */
+    public void verifyAccessTokenSignature(SignedJWT accessToken, AccessTokenData accessTokenData)
+            throws AccessTokenValidationException {
         if (isSignatureVerificationSkipped()) {
             getLogger()
                     .warn(
                             "Signature verification skipped for environment: {}",
                             configurationService.getEnvironment());
-        } else if (!verifyTokenSignature(accessToken)) {
+            return;
+        }
+        if (verifiedAccessTokenCache.contains(accessToken)) {
+            return;
+        }
+        if (!verifyTokenSignature(accessToken)) {
             throw new AccessTokenValidationException("Access token signature verification failed");
         }
-        return extractAccessTokenData(accessToken);
+        try {
+            verifiedAccessTokenCache.put(
+                    accessToken,
+                    accessTokenData,
+                    accessToken.getJWTClaimsSet().getExpirationTime());
+        } catch (ParseException exception) {
+            throw new AccessTokenValidationException(exception.getMessage(), exception);
+        }
     }
 
     private boolean isSignatureVerificationSkipped() {
@@ -138,10 +230,11 @@ public class AccessTokenService {
     /**
      * Verifies the access token's claims.
      *
-     * @param accessToken The signed JWT access token.
+     * @param jwtClaimsSet The access token's claims.
      * @throws AccessTokenValidationException If the claims are invalid.
      */
-    private void verifyTokenClaims(SignedJWT accessToken) throws AccessTokenValidationException {
+    private void verifyTokenClaims(JWTClaimsSet jwtClaimsSet)
+            throws AccessTokenValidationException {
         try {
             String expectedIssuer = configurationService.getOneLoginAuthServerUrl();
             String expectedAudience = configurationService.getSelfUrl().toString();
@@ -157,7 +250,6 @@ public class AccessTokenService {
                             CLAIM_CREDENTIAL_CONFIGURATION_IDS,
                             CLAIM_EXPIRATION_TIME,
                             CLAIM_JWT_ID);
-            JWTClaimsSet jwtClaimsSet = accessToken.getJWTClaimsSet();
             DefaultJWTClaimsVerifier<?> verifier =
                     new DefaultJWTClaimsVerifier<>(expectedClaimValues, requiredClaims);
 
@@ -202,61 +294,72 @@ public class AccessTokenService {
         String keyId = accessToken.getHeader().getKeyID();
         try {
             JWK jwk = jwksService.retrieveJwkFromURLWithKeyId(keyId);
+            JWSVerifier verifier = verifierCache.getVerifier(keyId, jwk);
+            return accessToken.verify(verifier);
+        } catch (JOSEException exception) {
+            throw new AccessTokenValidationException(exception.getMessage(), exception);
+        }
+    }
 
-            Algorithm algorithm = jwk.getAlgorithm();
-            // Check that the JWK's algorithm matches expectation, if present
-            if (algorithm != null && !EXPECTED_SIGNING_ALGORITHM.equals(algorithm)) {
-                throw new AccessTokenValidationException(
-                        String.format(
-                                "JWK alg claim [%s] does not match expected alg [%s]",
-                                algorithm, EXPECTED_SIGNING_ALGORITHM));
-            }
+    /**
+     * Checks that a JWK can verify ES256 signatures, and builds a verifier for it using the
+     * verification engine selected by configuration.
+     *
+     * @param jwk The JWK to build a verifier for.
+     * @return The verifier.
+     * @throws AccessTokenValidationException If the JWK is not an ES256 key.
+     * @throws JOSEException If the verifier cannot be built.
+     */
+    private JWSVerifier createVerifier(JWK jwk)
+            throws AccessTokenValidationException, JOSEException {
+        Algorithm algorithm = jwk.getAlgorithm();
+        // Check that the JWK's algorithm matches expectation, if present
+        if (algorithm != null && !EXPECTED_SIGNING_ALGORITHM.equals(algorithm)) {
+            throw new AccessTokenValidationException(
+                    String.format(
+                            "JWK alg claim [%s] does not match expected alg [%s]",
+                            algorithm, EXPECTED_SIGNING_ALGORITHM));
+        }
 
-            // If alg is not set, check key type and curve for ES256 compatibility
-            if (algorithm == null) {
-                if (!REQUIRED_KEY_TYPE.equals(jwk.getKeyType().getValue())) {
-                    throw new AccessTokenValidationException("JWK key type is not EC");
-                }
-                ECKey ecKey = (ECKey) jwk;
-                if (!REQUIRED_CURVE.equals(ecKey.getCurve())) {
-                    throw new AccessTokenValidationException(
-                            "JWK curve does not match expected curve for ES256");
-                }
+        // If alg is not set, check key type and curve for ES256 compatibility
+        if (algorithm == null) {
+            if (!REQUIRED_KEY_TYPE.equals(jwk.getKeyType().getValue())) {
+                throw new AccessTokenValidationException("JWK key type is not EC");
             }
+            ECKey ecKey = (ECKey) jwk;
+            if (!REQUIRED_CURVE.equals(ecKey.getCurve())) {
+                throw new AccessTokenValidationException(
+                        "JWK curve does not match expected curve for ES256");
+            }
+        }
 
-            final ECKey publicKey = new ECKey.Builder(jwk.toECKey()).build();
-            ECDSAVerifier verifier = new ECDSAVerifier(publicKey);
-            return accessToken.verify(verifier);
-        } catch (JOSEException exception) {
-            throw new AccessTokenValidationException(exception.getMessage(), exception);
+        final ECKey publicKey = new ECKey.Builder(jwk.toECKey()).build();
+        if (configurationService.isFixedPointAccessTokenVerificationEnabled()) {
+            return new FixedPointES256Verifier(publicKey);
         }
+        return new ECDSAVerifier(publicKey);
     }
 
     /**
-     * Extracts data from the access token.
+     * Extracts data from the access token's claims.
      *
-     * @param token The signed JWT access token.
+     * @param jwtClaimsSet The verified access token claims.
      * @return The extracted access token data.
-     * @throws AccessTokenValidationException If the token data is invalid.
+     * @throws ParseException If a claim has an unexpected type.
      */
-    private static AccessTokenData extractAccessTokenData(SignedJWT token)
-            throws AccessTokenValidationException {
-        try {
-            JWTClaimsSet jwtClaimsSet = token.getJWTClaimsSet();
-            List<String> credentialIdentifiers =
-                    jwtClaimsSet.getStringListClaim(CLAIM_CREDENTIAL_IDENTIFIERS);
-            String credentialIdentifier =
-                    credentialIdentifiers != null ? credentialIdentifiers.get(0) : null;
-            String credentialConfigurationId =
-                    jwtClaimsSet.getStringListClaim(CLAIM_CREDENTIAL_CONFIGURATION_IDS).get(0);
-            return new AccessTokenData(
-                    jwtClaimsSet.getSubject(),
-                    jwtClaimsSet.getStringClaim(CLAIM_C_NONCE),
-                    credentialIdentifier,
-                    credentialConfigurationId);
-        } catch (ParseException exception) {
-            throw new AccessTokenValidationException(exception.getMessage(), exception);
-        }
+    private static AccessTokenData extractAccessTokenData(JWTClaimsSet jwtClaimsSet)
+            throws ParseException {
+        List<String> credentialIdentifiers =
+                jwtClaimsSet.getStringListClaim(CLAIM_CREDENTIAL_IDENTIFIERS);
+        String credentialIdentifier =
+                credentialIdentifiers != null ? credentialIdentifiers.get(0) : null;
+        String credentialConfigurationId =
+                jwtClaimsSet.getStringListClaim(CLAIM_CREDENTIAL_CONFIGURATION_IDS).get(0);
+        return new AccessTokenData(
+                jwtClaimsSet.getSubject(),
+                jwtClaimsSet.getStringClaim(CLAIM_C_NONCE),
+                credentialIdentifier,
+                credentialConfigurationId);
     }
 
     protected Logger getLogger() {
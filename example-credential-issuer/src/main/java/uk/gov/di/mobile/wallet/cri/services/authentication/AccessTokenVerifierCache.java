@@ -0,0 +1,63 @@
+package uk.gov.di.mobile.wallet.cri.services.authentication;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.jwk.JWK;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of access token signature verifiers, keyed by key ID.
+ *
+ * <p>The authorization server signs access tokens with a small number of long-lived keys, so the
+ * verifier for each key is built once and reused. A cached verifier is only reused while the JWKS
+ * still publishes the same key under its key ID; if the key changes, a new verifier is built.
+ */
+public class AccessTokenVerifierCache {
+
+    /** The authorization server publishes only a few keys, so this bound is never reached. */
+    private static final int MAX_ENTRIES = 32;
+
+    /** Builds a verifier for a key. */
+    @FunctionalInterface
+    public interface VerifierFactory {
+        JWSVerifier create(JWK jwk) throws AccessTokenValidationException, JOSEException;
+    }
+
+    private record Entry(JWK jwk, JWSVerifier verifier) {}
+
+    private final VerifierFactory verifierFactory;
+    private final Map<String, Entry> verifiers = new ConcurrentHashMap<>();
+
+    /**
+     * @param verifierFactory Builds the verifier for a key that is not cached.
+     */
+    public AccessTokenVerifierCache(VerifierFactory verifierFactory) {
+        this.verifierFactory = verifierFactory;
+    }
+
+    /**
+     * Gets the verifier for a key, building it if the key has not been seen before or has changed.
+     *
+     * @param keyId The key ID the access token was signed with.
+     * @param jwk The key, as currently published in the JWKS under that key ID.
+     * @return The verifier for the key.
+     * @throws AccessTokenValidationException If the key cannot be used to verify access tokens.
+     * @throws JOSEException If the verifier cannot be built.
+     */
+    public JWSVerifier getVerifier(String keyId, JWK jwk)
+            throws AccessTokenValidationException, JOSEException {
+        Entry entry = verifiers.get(keyId);
+        if (entry != null && (entry.jwk() == jwk || entry.jwk().equals(jwk))) {
+            return entry.verifier();
+        }
+
+        JWSVerifier verifier = verifierFactory.create(jwk);
+        if (verifiers.size() >= MAX_ENTRIES) {
+            verifiers.clear();
+        }
+        verifiers.put(keyId, new Entry(jwk, verifier));
+        return verifier;
+    }
+}
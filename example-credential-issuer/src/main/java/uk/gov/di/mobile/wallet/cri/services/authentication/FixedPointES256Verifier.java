@@ -0,0 +1,136 @@
+package uk.gov.di.mobile.wallet.cri.services.authentication;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.util.Base64URL;
+import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.bouncycastle.crypto.ec.CustomNamedCurves;
+import org.bouncycastle.math.ec.ECMultiplier;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+import org.bouncycastle.math.ec.FixedPointUtil;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * ES256 signature verifier for a long-lived public key, backed by BouncyCastle.
+ *
+ * <p>ECDSA verification computes u1·G + u2·Q, where G is the curve's base point and Q is the
+ * public key. The JCA verifier treats Q as an arbitrary point and performs a generic double scalar
+ * multiplication on every call. This verifier instead precomputes a fixed-point comb table for Q
+ * when it is constructed, and reuses it, together with the shared table for G, for every
+ * signature. Construction is therefore more expensive than for the JCA verifier, and it only pays
+ * off when the verifier is reused for many signatures, as it is for the authorization server's
+ * keys.
+ */
+public class FixedPointES256Verifier implements JWSVerifier {
+
+    private static final X9ECParameters CURVE = CustomNamedCurves.getByName("secp256r1");
+    private static final BigInteger ORDER = CURVE.getN();
+    private static final ECPoint BASE_POINT = CURVE.getG();
+    private static final ECMultiplier MULTIPLIER = new FixedPointCombMultiplier();
+    private static final int COORDINATE_LENGTH = 32;
+
+    static {
+        FixedPointUtil.precompute(BASE_POINT);
+    }
+
+    private final ECPoint publicPoint;
+    private final JCAContext jcaContext = new JCAContext();
+
+    /**
+     * Constructs a verifier for the given P-256 public key and precomputes its multiplication
+     * table.
+     *
+     * @param publicKey The P-256 public key to verify signatures with.
+     * @throws JOSEException If the key is not a valid P-256 public key.
+     */
+    public FixedPointES256Verifier(ECKey publicKey) throws JOSEException {
+        if (!Curve.P_256.equals(publicKey.getCurve())) {
+            throw new JOSEException("Unsupported elliptic curve: " + publicKey.getCurve());
+        }
+        try {
+            publicPoint =
+                    CURVE.getCurve()
+                            .validatePoint(
+                                    publicKey.getX().decodeToBigInteger(),
+                                    publicKey.getY().decodeToBigInteger());
+        } catch (IllegalArgumentException exception) {
+            throw new JOSEException("Public key is not on the P-256 curve", exception);
+        }
+        FixedPointUtil.precompute(publicPoint);
+    }
+
+    @Override
+    public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+        return Set.of(JWSAlgorithm.ES256);
+    }
+
+    @Override
+    public JCAContext getJCAContext() {
+        return jcaContext;
+    }
+
+    @Override
+    public boolean verify(JWSHeader header, byte[] signingInput, Base64URL signature)
+            throws JOSEException {
+        if (!JWSAlgorithm.ES256.equals(header.getAlgorithm())) {
+            throw new JOSEException("Unsupported JWS algorithm: " + header.getAlgorithm());
+        }
+        // No critical header parameters are understood, so none may be present
+        if (header.getCriticalParams() != null && !header.getCriticalParams().isEmpty()) {
+            return false;
+        }
+
+        byte[] signatureBytes = signature.decode();
+        if (signatureBytes.length != 2 * COORDINATE_LENGTH) {
+            return false;
+        }
+        BigInteger r =
+                new BigInteger(1, Arrays.copyOfRange(signatureBytes, 0, COORDINATE_LENGTH));
+        BigInteger s =
+                new BigInteger(
+                        1,
+                        Arrays.copyOfRange(
+                                signatureBytes, COORDINATE_LENGTH, signatureBytes.length));
+        if (!isInRange(r) || !isInRange(s)) {
+            return false;
+        }
+
+        BigInteger e = new BigInteger(1, sha256(signingInput));
+        BigInteger w = s.modInverse(ORDER);
+        BigInteger u1 = e.multiply(w).mod(ORDER);
+        BigInteger u2 = r.multiply(w).mod(ORDER);
+
+        ECPoint point =
+                MULTIPLIER
+                        .multiply(BASE_POINT, u1)
+                        .add(MULTIPLIER.multiply(publicPoint, u2))
+                        .normalize();
+        if (point.isInfinity()) {
+            return false;
+        }
+        return point.getAffineXCoord().toBigInteger().mod(ORDER).equals(r);
+    }
+
+    private static boolean isInRange(BigInteger value) {
+        return value.signum() > 0 && value.compareTo(ORDER) < 0;
+    }
+
+    private static byte[] sha256(byte[] input) throws JOSEException {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new JOSEException(exception.getMessage(), exception);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package uk.gov.di.mobile.wallet.cri.services.authentication;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of access tokens whose header, claims and signature have all been verified.
+ *
+ * <p>A wallet presents the same access token to the credential endpoint and, shortly afterwards,
+ * to the notification endpoint. Caching the data extracted from a verified token lets the second
+ * request skip the claims checks, the JWKS lookup and the signature verification.
+ *
+ * <p>Tokens are keyed by the SHA-256 hash of their compact serialization, so a token is only
+ * served from the cache if it is byte-for-byte identical to the one that was verified, including
+ * its signature. An entry expires at the token's expiration time, or after the maximum time to
+ * live if that is sooner. When the cache is full, the least recently used token is evicted.
+ */
+public class VerifiedAccessTokenCache {
+
+    private final Duration maximumTtl;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Map<String, Entry> entries;
+
+    private record Entry(AccessTokenService.AccessTokenData accessTokenData, Instant expiresAt) {}
+
+    /**
+     * @param maximumSize The maximum number of tokens held.
+     * @param maximumTtl The longest time a token is cached for, whatever its expiration time.
+     * @param clock Clock used to expire tokens.
+     * @param metricRegistry Registry the cache hit and miss metrics are registered with.
+     */
+    public VerifiedAccessTokenCache(
+            int maximumSize, Duration maximumTtl, Clock clock, MetricRegistry metricRegistry) {
+        this.maximumTtl = maximumTtl;
+        this.clock = clock;
+        this.hits = metricRegistry.counter("access-token.cache.hits");
+        this.misses = metricRegistry.counter("access-token.cache.misses");
+        metricRegistry.register(
+                "access-token.cache.hit-ratio",
+                new RatioGauge() {
+                    @Override
+                    protected Ratio getRatio() {
+                        return Ratio.of(hits.getCount(), hits.getCount() + misses.getCount());
+                    }
+                });
+        this.entries =
+                Collections.synchronizedMap(
+                        new LinkedHashMap<>(16, 0.75f, true) {
+                            @Override
+                            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                                return size() > maximumSize;
+                            }
+                        });
+    }
+
+    /**
+     * Gets the data extracted from an access token when it was verified, if it is cached and has
+     * not expired. Hits and misses are counted.
+     *
+     * @param accessToken The access token.
+     * @return The cached access token data, or null if the token is not cached.
+     */
+    public AccessTokenService.AccessTokenData get(SignedJWT accessToken) {
+        Entry entry = getEntry(accessToken);
+        if (entry == null) {
+            misses.inc();
+            return null;
+        }
+        hits.inc();
+        return entry.accessTokenData();
+    }
+
+    /**
+     * Checks whether an access token is cached and has not expired, without counting a hit or
+     * miss.
+     *
+     * @param accessToken The access token.
+     * @return True if the token has been verified and is still cached.
+     */
+    public boolean contains(SignedJWT accessToken) {
+        return getEntry(accessToken) != null;
+    }
+
+    /**
+     * Caches the data extracted from a fully verified access token. Tokens that have already
+     * expired are not cached.
+     *
+     * @param accessToken The verified access token.
+     * @param accessTokenData The data extracted from the token.
+     * @param expirationTime The token's expiration time.
+     */
+    public void put(
+            SignedJWT accessToken,
+            AccessTokenService.AccessTokenData accessTokenData,
+            Date expirationTime) {
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(maximumTtl);
+        if (expirationTime.toInstant().isBefore(expiresAt)) {
+            expiresAt = expirationTime.toInstant();
+        }
+        if (!now.isBefore(expiresAt)) {
+            return;
+        }
+        entries.put(keyOf(accessToken), new Entry(accessTokenData, expiresAt));
+    }
+
+    /**
+     * Gets the number of tokens currently cached, including any that have expired but not yet
+     * been removed.
+     *
+     * @return The number of cached tokens.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private Entry getEntry(SignedJWT accessToken) {
+        // A token that has not been signed has no compact serialization and is never cached
+        if (accessToken.getState() == JWSObject.State.UNSIGNED) {
+            return null;
+        }
+        String key = keyOf(accessToken);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!clock.instant().isBefore(entry.expiresAt())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private static String keyOf(SignedJWT accessToken) {
+        try {
+            byte[] hash =
+                    MessageDigest.getInstance("SHA-256")
+                            .digest(accessToken.serialize().getBytes(StandardCharsets.US_ASCII));
+            return Base64URL.encode(hash).toString();
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -1,16 +1,39 @@
 package uk.gov.di.mobile.wallet.cri.services.certificate;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import uk.gov.di.mobile.wallet.cri.services.object_storage.ObjectStore;
 import uk.gov.di.mobile.wallet.cri.services.object_storage.ObjectStoreException;
+import uk.gov.di.mobile.wallet.cri.services.object_storage.VersionedObject;
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
+/**
+ * Provides the certificates stored in the certificates bucket.
+ *
+ * <p>Document signing certificates are cached in memory by certificate ID, together with their DER
+ * encoding. Once an entry is older than the refresh interval, the next lookup still returns it but
+ * starts a background conditional GET using the stored ETag. The cached entry is replaced only
+ * when the object has changed, and is kept if the refresh fails.
+ */
 public class CertificateProvider {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(CertificateProvider.class);
     private static final String SIGN_CERT_PATH = "sign/";
     private static final String ROOT_CERT_PATH = "root/";
     private static final String CERTIFICATE_FILE_NAME = "/certificate.pem";
@@ -18,16 +41,60 @@ public class CertificateProvider {
 
     private final ObjectStore objectStore;
     private final String bucketName;
+    private final Duration refreshInterval;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter reloads;
+    private final Counter refreshFailures;
 
-    public CertificateProvider(ObjectStore objectStore, String bucketName) {
+    private final Map<String, CachedCertificate> signingCertificates = new ConcurrentHashMap<>();
+    private final Set<String> refreshesInFlight = ConcurrentHashMap.newKeySet();
+
+    private record CachedCertificate(
+            X509Certificate certificate, byte[] encoded, String eTag, Instant checkedAt) {
+
+        CachedCertificate withCheckedAt(Instant instant) {
+            return new CachedCertificate(certificate, encoded, eTag, instant);
+        }
+    }
+
+    public CertificateProvider(
+            ObjectStore objectStore,
+            String bucketName,
+            Duration refreshInterval,
+            Executor refreshExecutor,
+            Clock clock,
+            MetricRegistry metricRegistry) {
         this.objectStore = objectStore;
         this.bucketName = bucketName;
+        this.refreshInterval = refreshInterval;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.hits = metricRegistry.counter("signing-certificate.cache.hits");
+        this.misses = metricRegistry.counter("signing-certificate.cache.misses");
+        this.reloads = metricRegistry.counter("signing-certificate.cache.reloads");
+        this.refreshFailures = metricRegistry.counter("signing-certificate.cache.refresh-failures");
     }
 
     public X509Certificate getSigningCertificate(String certificateId)
             throws CertificateException, ObjectStoreException {
-        byte[] certificateBytes = getCertificateBytes(certificateId, SIGN_CERT_PATH);
-        return parseX509Certificate(certificateBytes);
+        return getCachedSigningCertificate(certificateId).certificate();
+    }
+
+    /**
+     * Gets the DER encoding of a document signing certificate, as embedded in the COSE x5chain
+     * header. The returned array is shared between callers and must not be modified.
+     *
+     * @param certificateId The certificate ID.
+     * @return The DER-encoded certificate.
+     * @throws CertificateException If the stored certificate cannot be parsed.
+     * @throws ObjectStoreException If the certificate cannot be fetched.
+     */
+    public byte[] getEncodedSigningCertificate(String certificateId)
+            throws CertificateException, ObjectStoreException {
+        return getCachedSigningCertificate(certificateId).encoded();
     }
 
     public String getRootCertificate(String certificateId) throws ObjectStoreException {
@@ -35,6 +102,100 @@ public class CertificateProvider {
         return new String(certificateBytes, StandardCharsets.UTF_8);
     }
 
+    /**
+     * Gets a root certificate unless its current version matches the given entity tag, so that a
+     * caller holding the certificate can check it for changes without downloading it again.
+     *
+     * @param certificateId The certificate ID.
+     * @param eTag The entity tag of the version already held, or null to always get the object.
+     * @return The PEM-encoded certificate and its entity tag, or empty if it has not changed.
+     * @throws ObjectStoreException If the certificate cannot be fetched.
+     */
+    public Optional<VersionedObject> getRootCertificateIfChanged(
+            String certificateId, String eTag) throws ObjectStoreException {
+        return objectStore.getObjectIfChanged(
+                bucketName, ROOT_CERT_PATH + certificateId + CERTIFICATE_FILE_NAME, eTag);
+    }
+
+    private CachedCertificate getCachedSigningCertificate(String certificateId)
+            throws CertificateException, ObjectStoreException {
+        CachedCertificate cached = signingCertificates.get(certificateId);
+        if (cached == null) {
+            misses.inc();
+            VersionedObject object =
+                    objectStore
+                            .getObjectIfChanged(
+                                    bucketName, getSigningObjectKey(certificateId), null)
+                            .orElseThrow(
+                                    () ->
+                                            new ObjectStoreException(
+                                                    "Signing certificate not returned", null));
+            cached = toCachedCertificate(object);
+            signingCertificates.put(certificateId, cached);
+            return cached;
+        }
+
+        hits.inc();
+        if (!clock.instant().isBefore(cached.checkedAt().plus(refreshInterval))) {
+            refreshInBackground(certificateId, cached);
+        }
+        return cached;
+    }
+
+    private void refreshInBackground(String certificateId, CachedCertificate cached) {
+        if (!refreshesInFlight.add(certificateId)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(
+                    () -> {
+                        try {
+                            CachedCertificate refreshed =
+                                    objectStore
+                                            .getObjectIfChanged(
+                                                    bucketName,
+                                                    getSigningObjectKey(certificateId),
+                                                    cached.eTag())
+                                            .map(this::toReloadedCertificate)
+                                            .orElseGet(() -> cached.withCheckedAt(clock.instant()));
+                            signingCertificates.put(certificateId, refreshed);
+                        } catch (Exception exception) {
+                            refreshFailures.inc();
+                            LOGGER.warn(
+                                    "Failed to refresh signing certificate {}, keeping the last"
+                                            + " good certificate",
+                                    certificateId,
+                                    exception);
+                            // Wait a full interval before trying again
+                            signingCertificates.put(
+                                    certificateId, cached.withCheckedAt(clock.instant()));
+                        } finally {
+                            refreshesInFlight.remove(certificateId);
+                        }
+                    });
+        } catch (RejectedExecutionException exception) {
+            // The executor is shutting down, so the next lookup tries the refresh again
+            refreshesInFlight.remove(certificateId);
+        }
+    }
+
+    private CachedCertificate toReloadedCertificate(VersionedObject object) {
+        try {
+            CachedCertificate reloaded = toCachedCertificate(object);
+            reloads.inc();
+            return reloaded;
+        } catch (CertificateException exception) {
+            throw new IllegalStateException("Failed to parse refreshed certificate", exception);
+        }
+    }
+
+    private CachedCertificate toCachedCertificate(VersionedObject object)
+            throws CertificateException {
+        X509Certificate certificate = parseX509Certificate(object.content());
+        return new CachedCertificate(
+                certificate, certificate.getEncoded(), object.eTag(), clock.instant());
+    }
+
     private byte[] getCertificateBytes(String certificateId, String path)
             throws ObjectStoreException {
         String objectKey = path + certificateId + CERTIFICATE_FILE_NAME;
@@ -42,6 +203,10 @@ public class CertificateProvider {
         return objectStore.getObject(bucketName, objectKey);
     }
 
+    private String getSigningObjectKey(String certificateId) {
+        return SIGN_CERT_PATH + certificateId + CERTIFICATE_FILE_NAME;
+    }
+
     private X509Certificate parseX509Certificate(byte[] certificateBytes)
             throws CertificateException {
         CertificateFactory cf = CertificateFactory.getInstance(CERTIFICATE_TYPE);
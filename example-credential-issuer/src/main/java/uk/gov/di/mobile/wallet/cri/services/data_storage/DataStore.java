@@ -9,9 +9,17 @@ public interface DataStore {
 
     void saveCredentialOffer(CachedCredentialOffer cachedCredentialOffer) throws DataStoreException;
 
-    CachedCredentialOffer getCredentialOffer(String credentialOfferId) throws DataStoreException;
-
-    void deleteCredentialOffer(String credentialOfferId) throws DataStoreException;
+    /**
+     * Deletes a credential offer and returns it, provided it exists and has not expired, so that
+     * it can only be redeemed once.
+     *
+     * @param credentialOfferId The credential offer ID
+     * @param redeemedAt The time of redemption, in epoch seconds
+     * @return The redeemed credential offer, or null if it was not found or has expired
+     * @throws DataStoreException If the credential offer could not be redeemed
+     */
+    CachedCredentialOffer redeemCredentialOffer(String credentialOfferId, long redeemedAt)
+            throws DataStoreException;
 
     void saveStoredCredential(StoredCredential storedCredential) throws DataStoreException;
 
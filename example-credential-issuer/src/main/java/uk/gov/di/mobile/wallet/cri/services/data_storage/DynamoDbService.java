@@ -3,21 +3,23 @@ package uk.gov.di.mobile.wallet.cri.services.data_storage;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
-import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import uk.gov.di.mobile.wallet.cri.credential.StoredCredential;
 import uk.gov.di.mobile.wallet.cri.credential_offer.CachedCredentialOffer;
-import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 
-import java.net.URI;
 import java.util.List;
 
 public class DynamoDbService implements DataStore {
+    private static final String UNEXPIRED_CREDENTIAL_OFFER_CONDITION =
+            "attribute_exists(credentialIdentifier) AND timeToLive >= :redeemedAt";
+
     private final DynamoDbTable<CachedCredentialOffer> cachedCredentialOfferTable;
     private final DynamoDbTable<StoredCredential> storedCredentialTable;
 
@@ -39,27 +41,6 @@ public class DynamoDbService implements DataStore {
         return client.table(tableName, TableSchema.fromBean(beanClass));
     }
 
-    public static DynamoDbEnhancedClient getClient(ConfigurationService configurationService) {
-        String environment = configurationService.getEnvironment();
-        DynamoDbClient client =
-                (environment.equals("local") || environment.equals("ci"))
-                        ? getLocalClient(configurationService)
-                        : DynamoDbClient.builder()
-                                .httpClient(UrlConnectionHttpClient.create())
-                                .region(Region.of(configurationService.getAwsRegion()))
-                                .build();
-
-        return DynamoDbEnhancedClient.builder().dynamoDbClient(client).build();
-    }
-
-    private static DynamoDbClient getLocalClient(ConfigurationService configurationService) {
-        return DynamoDbClient.builder()
-                .endpointOverride(URI.create(configurationService.getLocalAwsEndpoint()))
-                .httpClient(UrlConnectionHttpClient.create())
-                .region(Region.of(configurationService.getAwsRegion()))
-                .build();
-    }
-
     @Override
     public void saveCredentialOffer(CachedCredentialOffer cachedCredentialOffer)
             throws DataStoreException {
@@ -71,23 +52,27 @@ public class DynamoDbService implements DataStore {
     }
 
     @Override
-    public CachedCredentialOffer getCredentialOffer(String partitionValue)
+    public CachedCredentialOffer redeemCredentialOffer(String partitionValue, long redeemedAt)
             throws DataStoreException {
         try {
-            Key key = Key.builder().partitionValue(partitionValue).build();
-            return cachedCredentialOfferTable.getItem(key);
-        } catch (Exception exception) {
-            throw new DataStoreException("Error fetching credential offer", exception);
-        }
-    }
-
-    @Override
-    public void deleteCredentialOffer(String partitionValue) throws DataStoreException {
-        try {
-            Key key = Key.builder().partitionValue(partitionValue).build();
-            cachedCredentialOfferTable.deleteItem(key);
+            Expression condition =
+                    Expression.builder()
+                            .expression(UNEXPIRED_CREDENTIAL_OFFER_CONDITION)
+                            .putExpressionValue(
+                                    ":redeemedAt", AttributeValue.fromN(Long.toString(redeemedAt)))
+                            .build();
+            DeleteItemEnhancedRequest request =
+                    DeleteItemEnhancedRequest.builder()
+                            .key(Key.builder().partitionValue(partitionValue).build())
+                            .conditionExpression(condition)
+                            .build();
+            // The enhanced client deletes with ReturnValues=ALL_OLD, so the offer is read and
+            // deleted in a single conditional request
+            return cachedCredentialOfferTable.deleteItem(request);
+        } catch (ConditionalCheckFailedException exception) {
+            return null;
         } catch (Exception exception) {
-            throw new DataStoreException("Error deleting credential offer", exception);
+            throw new DataStoreException("Error redeeming credential offer", exception);
         }
     }
 
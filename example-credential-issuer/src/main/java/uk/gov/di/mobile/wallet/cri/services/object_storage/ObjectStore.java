@@ -1,6 +1,20 @@
 package uk.gov.di.mobile.wallet.cri.services.object_storage;
 
+import java.util.Optional;
+
 public interface ObjectStore {
 
     byte[] getObject(String bucketName, String key) throws ObjectStoreException;
+
+    /**
+     * Gets an object unless its current version matches the given entity tag.
+     *
+     * @param bucketName The bucket the object is stored in.
+     * @param key The object key.
+     * @param eTag The entity tag of the version already held, or null to always get the object.
+     * @return The object and its entity tag, or empty if the object has not changed.
+     * @throws ObjectStoreException If the object cannot be fetched.
+     */
+    Optional<VersionedObject> getObjectIfChanged(String bucketName, String key, String eTag)
+            throws ObjectStoreException;
 }
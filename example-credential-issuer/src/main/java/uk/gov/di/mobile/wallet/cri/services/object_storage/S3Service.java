@@ -1,46 +1,22 @@
 package uk.gov.di.mobile.wallet.cri.services.object_storage;
 
-import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.core.ResponseInputStream;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
-import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
-import java.net.URI;
+import java.util.Optional;
 
 public class S3Service implements ObjectStore {
+    private static final int NOT_MODIFIED = 304;
+
     private final S3Client s3Client;
 
     public S3Service(S3Client s3Client) {
         this.s3Client = s3Client;
     }
 
-    public static S3Client getClient(ConfigurationService configurationService) {
-        S3Client client;
-        String environment = configurationService.getEnvironment();
-        if (environment.equals("local") || environment.equals("ci")) {
-            client = getLocalClient(configurationService);
-        } else {
-            client =
-                    S3Client.builder()
-                            .region(Region.of(configurationService.getAwsRegion()))
-                            .credentialsProvider(DefaultCredentialsProvider.builder().build())
-                            .build();
-        }
-        return client;
-    }
-
-    private static S3Client getLocalClient(ConfigurationService configurationService) {
-        return S3Client.builder()
-                .endpointOverride(URI.create(configurationService.getLocalAwsEndpoint()))
-                .region(Region.of(configurationService.getAwsRegion()))
-                .credentialsProvider(DefaultCredentialsProvider.builder().build())
-                .forcePathStyle(true) // Required for running locally with local aws
-                .build();
-    }
-
     @Override
     public byte[] getObject(String bucketName, String key) throws ObjectStoreException {
         try {
@@ -52,4 +28,22 @@ public class S3Service implements ObjectStore {
             throw new ObjectStoreException("Error fetching object from S3", exception);
         }
     }
+
+    @Override
+    public Optional<VersionedObject> getObjectIfChanged(String bucketName, String key, String eTag)
+            throws ObjectStoreException {
+        GetObjectRequest request =
+                GetObjectRequest.builder().bucket(bucketName).key(key).ifNoneMatch(eTag).build();
+        try (ResponseInputStream<GetObjectResponse> response = s3Client.getObject(request)) {
+            return Optional.of(
+                    new VersionedObject(response.readAllBytes(), response.response().eTag()));
+        } catch (S3Exception exception) {
+            if (exception.statusCode() == NOT_MODIFIED) {
+                return Optional.empty();
+            }
+            throw new ObjectStoreException("Error fetching object from S3", exception);
+        } catch (Exception exception) {
+            throw new ObjectStoreException("Error fetching object from S3", exception);
+        }
+    }
 }
@@ -0,0 +1,9 @@
+package uk.gov.di.mobile.wallet.cri.services.object_storage;
+
+/**
+ * The content of a stored object together with the entity tag identifying its version.
+ *
+ * @param content The object content.
+ * @param eTag The entity tag of this version of the object.
+ */
+public record VersionedObject(byte[] content, String eTag) {}
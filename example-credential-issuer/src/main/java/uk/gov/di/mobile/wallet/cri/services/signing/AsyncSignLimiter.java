@@ -0,0 +1,169 @@
+package uk.gov.di.mobile.wallet.cri.services.signing;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the number of asynchronous sign calls in flight at once.
+ *
+ * <p>Calls beyond the in-flight limit wait in a queue and are started as earlier calls complete, so
+ * no thread is held while waiting. When the queue is full, further calls fail immediately with a
+ * {@link RejectedExecutionException}. Every call, including its time in the queue, must complete
+ * within the timeout or it fails with a {@link TimeoutException}; a call that times out while
+ * queued is never started.
+ *
+ * <p>The number of calls in flight and queued, the time spent queued, and the number of rejected
+ * and timed out calls are reported as metrics under the given name.
+ */
+public class AsyncSignLimiter {
+
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final long timeoutMillis;
+    private final Timer queueWait;
+    private final Counter rejected;
+    private final Counter timeouts;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<PendingCall<?>> pendingCalls = new ConcurrentLinkedQueue<>();
+
+    private static final class PendingCall<T> {
+        private final Supplier<CompletableFuture<T>> call;
+        private final CompletableFuture<T> result;
+        private final long queuedAt = System.nanoTime();
+
+        private PendingCall(Supplier<CompletableFuture<T>> call, CompletableFuture<T> result) {
+            this.call = call;
+            this.result = result;
+        }
+    }
+
+    /**
+     * @param maxInFlight The maximum number of calls in flight at once.
+     * @param maxQueued The maximum number of calls waiting to start.
+     * @param timeout The time allowed for a call to complete, including its time in the queue.
+     * @param metricRegistry Registry the limiter's metrics are reported to.
+     * @param name Prefix of the limiter's metric names.
+     */
+    public AsyncSignLimiter(
+            int maxInFlight,
+            int maxQueued,
+            Duration timeout,
+            MetricRegistry metricRegistry,
+            String name) {
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+        this.timeoutMillis = timeout.toMillis();
+        this.queueWait = metricRegistry.timer(name + ".queue-wait");
+        this.rejected = metricRegistry.counter(name + ".rejected");
+        this.timeouts = metricRegistry.counter(name + ".timeouts");
+        metricRegistry.register(name + ".in-flight", (Gauge<Integer>) inFlight::get);
+        metricRegistry.register(name + ".queued", (Gauge<Integer>) queued::get);
+    }
+
+    /**
+     * Starts the call once fewer than the maximum number of calls are in flight.
+     *
+     * @param call Starts the asynchronous call.
+     * @return A future completed with the call's result, or failed if the call fails, is rejected
+     *     or times out.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete(
+                        (ignored, exception) -> {
+                            if (exception instanceof TimeoutException) {
+                                timeouts.inc();
+                            }
+                        });
+
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            rejected.inc();
+            result.completeExceptionally(
+                    new RejectedExecutionException("Too many sign requests waiting to start"));
+            return result;
+        }
+        pendingCalls.add(new PendingCall<>(call, result));
+        startPendingCalls();
+        return result;
+    }
+
+    /**
+     * Starts queued calls while there is capacity. Runs whenever a call is queued or completes, so
+     * a call queued concurrently with another completing is never stranded.
+     */
+    private void startPendingCalls() {
+        while (!pendingCalls.isEmpty() && tryAcquire()) {
+            PendingCall<?> pendingCall = pendingCalls.poll();
+            if (pendingCall == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            start(pendingCall);
+        }
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private <T> void start(PendingCall<T> pendingCall) {
+        queueWait.update(System.nanoTime() - pendingCall.queuedAt, TimeUnit.NANOSECONDS);
+        if (pendingCall.result.isDone()) {
+            // Timed out while queued
+            release();
+            return;
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = pendingCall.call.get();
+        } catch (RuntimeException exception) {
+            future = CompletableFuture.failedFuture(exception);
+        }
+        future.whenComplete(
+                (value, exception) -> {
+                    if (exception != null) {
+                        pendingCall.result.completeExceptionally(unwrap(exception));
+                    } else {
+                        pendingCall.result.complete(value);
+                    }
+                    release();
+                });
+    }
+
+    private void release() {
+        inFlight.decrementAndGet();
+        startPendingCalls();
+    }
+
+    private static Throwable unwrap(Throwable exception) {
+        return exception instanceof CompletionException && exception.getCause() != null
+                ? exception.getCause()
+                : exception;
+    }
+}
@@ -0,0 +1,147 @@
+package uk.gov.di.mobile.wallet.cri.services.signing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * In-memory cache of signing key metadata, keyed by key alias.
+ *
+ * <p>Metadata is loaded on first use and served from memory until its TTL expires. Within the
+ * refresh-ahead window before expiry, a cache hit starts a background reload so that signing does
+ * not wait on it. Concurrent misses for the same alias share a single load. Entries can be
+ * invalidated when the key they point to is rotated out.
+ */
+public class KeyMetadataCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyMetadataCache.class);
+
+    private final Function<String, SigningKeyMetadata> loader;
+    private final Duration timeToLive;
+    private final Duration refreshAhead;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Entry>> inFlightLoads = new ConcurrentHashMap<>();
+
+    private record Entry(SigningKeyMetadata metadata, Instant loadedAt) {}
+
+    /**
+     * @param loader Function that loads the metadata for a key alias.
+     * @param timeToLive How long loaded metadata is served without being loaded again.
+     * @param refreshAhead How long before expiry a background reload is started.
+     * @param refreshExecutor Executor background reloads are run on.
+     * @param clock Clock used to measure the age of entries.
+     */
+    public KeyMetadataCache(
+            Function<String, SigningKeyMetadata> loader,
+            Duration timeToLive,
+            Duration refreshAhead,
+            Executor refreshExecutor,
+            Clock clock) {
+        this.loader = loader;
+        this.timeToLive = timeToLive;
+        this.refreshAhead = refreshAhead;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the metadata for a key alias, loading it if it is not cached or has expired.
+     *
+     * @param keyAlias The key alias.
+     * @return The key metadata.
+     */
+    public SigningKeyMetadata get(String keyAlias) {
+        Instant now = clock.instant();
+        Entry entry = entries.get(keyAlias);
+
+        if (entry != null && now.isBefore(expiryOf(entry))) {
+            if (!now.isBefore(expiryOf(entry).minus(refreshAhead))) {
+                load(keyAlias, refreshExecutor)
+                        .exceptionally(
+                                exception -> {
+                                    LOGGER.warn(
+                                            "Failed to refresh metadata for key with alias {}",
+                                            keyAlias,
+                                            exception);
+                                    return null;
+                                });
+            }
+            return entry.metadata();
+        }
+
+        try {
+            // Load on the calling thread, or wait for a load that is already in progress
+            return load(keyAlias, Runnable::run).join().metadata();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (exception.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Removes the cached metadata for a key alias, so the next lookup loads it again.
+     *
+     * @param keyAlias The key alias.
+     */
+    public void invalidate(String keyAlias) {
+        entries.remove(keyAlias);
+    }
+
+    /**
+     * Removes the cached metadata for every alias that currently points to the given key ID.
+     *
+     * @param keyId The KMS key ID.
+     */
+    public void invalidateKeyId(String keyId) {
+        entries.values().removeIf(entry -> entry.metadata().keyId().equals(keyId));
+    }
+
+    private CompletableFuture<Entry> load(String keyAlias, Executor executor) {
+        CompletableFuture<Entry> load = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlightLoads.putIfAbsent(keyAlias, load);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(
+                    () -> {
+                        try {
+                            Entry loaded = new Entry(loader.apply(keyAlias), clock.instant());
+                            entries.put(keyAlias, loaded);
+                            load.complete(loaded);
+                        } catch (Throwable throwable) {
+                            load.completeExceptionally(throwable);
+                        } finally {
+                            inFlightLoads.remove(keyAlias, load);
+                        }
+                    });
+        } catch (RejectedExecutionException exception) {
+            // The executor is shutting down, so the metadata is loaded by the next caller instead
+            inFlightLoads.remove(keyAlias, load);
+            load.completeExceptionally(exception);
+        }
+        return load;
+    }
+
+    private Instant expiryOf(Entry entry) {
+        return entry.loadedAt().plus(timeToLive);
+    }
+}
@@ -8,11 +8,27 @@ import software.amazon.awssdk.services.kms.model.SignRequest;
 import software.amazon.awssdk.services.kms.model.SignResponse;
 
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
 
 public interface KeyProvider {
 
     public SignResponse sign(SignRequest signRequest);
 
+    /**
+     * Signs without blocking the calling thread. Providers that can only sign synchronously sign on
+     * the calling thread and return a completed future.
+     *
+     * @param signRequest The sign request.
+     * @return A future completed with the sign response, or failed if signing fails.
+     */
+    public default CompletableFuture<SignResponse> signAsync(SignRequest signRequest) {
+        try {
+            return CompletableFuture.completedFuture(sign(signRequest));
+        } catch (RuntimeException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+    }
+
     public DescribeKeyResponse describeKey(DescribeKeyRequest describeKeyRequest);
 
     public boolean isKeyActive(String keyAlias);
@@ -20,4 +36,6 @@ public interface KeyProvider {
     public ECKey getPublicKey(String keyAlias) throws PEMException, NoSuchAlgorithmException;
 
     public String getKeyId(String keyAlias);
+
+    public SigningKeyMetadata getKeyMetadata(String keyAlias);
 }
@@ -7,22 +7,27 @@ import org.bouncycastle.openssl.PEMException;
 import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
-import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.kms.KmsAsyncClient;
 import software.amazon.awssdk.services.kms.KmsClient;
 import software.amazon.awssdk.services.kms.model.DescribeKeyRequest;
 import software.amazon.awssdk.services.kms.model.DescribeKeyResponse;
+import software.amazon.awssdk.services.kms.model.DisabledException;
 import software.amazon.awssdk.services.kms.model.GetPublicKeyRequest;
 import software.amazon.awssdk.services.kms.model.GetPublicKeyResponse;
+import software.amazon.awssdk.services.kms.model.KeyMetadata;
+import software.amazon.awssdk.services.kms.model.KmsInvalidStateException;
 import software.amazon.awssdk.services.kms.model.NotFoundException;
 import software.amazon.awssdk.services.kms.model.SignRequest;
 import software.amazon.awssdk.services.kms.model.SignResponse;
-import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 
-import java.net.URI;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.interfaces.ECPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import static com.nimbusds.jose.JWSAlgorithm.ES256;
 import static com.nimbusds.jose.jwk.Curve.P_256;
@@ -32,70 +37,126 @@ import static uk.gov.di.mobile.wallet.cri.util.HashUtil.sha256Hex;
 public class KmsService implements KeyProvider {
 
     private final KmsClient kmsClient;
+    private final KmsAsyncClient kmsAsyncClient;
+    private final AsyncSignLimiter asyncSignLimiter;
+    private final KeyMetadataCache keyMetadataCache;
     private static final Logger LOGGER = LoggerFactory.getLogger(KmsService.class);
 
-    public KmsService(KmsClient kmsClient) {
-        this.kmsClient = kmsClient;
+    public KmsService(
+            KmsClient kmsClient,
+            Duration keyMetadataCacheTtl,
+            Duration keyMetadataRefreshAhead,
+            Executor refreshExecutor) {
+        this(
+                kmsClient,
+                null,
+                null,
+                keyMetadataCacheTtl,
+                keyMetadataRefreshAhead,
+                refreshExecutor);
     }
 
-    public static KmsClient getClient(ConfigurationService configurationService) {
-        String environment = configurationService.getEnvironment();
-        return (environment.equals("local") || environment.equals("ci"))
-                ? getLocalClient(configurationService)
-                : KmsClient.builder()
-                        .credentialsProvider(DefaultCredentialsProvider.builder().build())
-                        .region(Region.of(configurationService.getAwsRegion()))
-                        .build();
+    /**
+     * Constructs a KmsService that signs asynchronously through the async client, with the number
+     * of sign calls in flight bounded by the limiter.
+     *
+     * @param kmsClient Client for blocking KMS calls.
+     * @param kmsAsyncClient Client for asynchronous sign calls, or null to sign asynchronously on
+     *     the calling thread.
+     * @param asyncSignLimiter Limiter for asynchronous sign calls.
+     * @param keyMetadataCacheTtl How long key metadata is cached for.
+     * @param keyMetadataRefreshAhead How long before expiry key metadata is refreshed.
+     * @param refreshExecutor Executor background key metadata refreshes are run on.
+     */
+    public KmsService(
+            KmsClient kmsClient,
+            KmsAsyncClient kmsAsyncClient,
+            AsyncSignLimiter asyncSignLimiter,
+            Duration keyMetadataCacheTtl,
+            Duration keyMetadataRefreshAhead,
+            Executor refreshExecutor) {
+        this.kmsClient = kmsClient;
+        this.kmsAsyncClient = kmsAsyncClient;
+        this.asyncSignLimiter = asyncSignLimiter;
+        this.keyMetadataCache =
+                new KeyMetadataCache(
+                        this::loadKeyMetadata,
+                        keyMetadataCacheTtl,
+                        keyMetadataRefreshAhead,
+                        refreshExecutor,
+                        Clock.systemUTC());
     }
 
-    private static KmsClient getLocalClient(ConfigurationService configurationService) {
-        return KmsClient.builder()
-                .endpointOverride(URI.create(configurationService.getKmsEndpoint()))
-                .credentialsProvider(DefaultCredentialsProvider.builder().build())
-                .region(Region.of(configurationService.getAwsRegion()))
-                .build();
+    public SignResponse sign(SignRequest signRequest) {
+        try {
+            return kmsClient.sign(signRequest);
+        } catch (DisabledException | NotFoundException | KmsInvalidStateException exception) {
+            // The key may have been rotated out, so resolve its alias again on the next request
+            keyMetadataCache.invalidateKeyId(signRequest.keyId());
+            throw exception;
+        }
     }
 
-    public SignResponse sign(SignRequest signRequest) {
-        return kmsClient.sign(signRequest);
+    @Override
+    public CompletableFuture<SignResponse> signAsync(SignRequest signRequest) {
+        if (kmsAsyncClient == null) {
+            return KeyProvider.super.signAsync(signRequest);
+        }
+        return asyncSignLimiter
+                .submit(() -> kmsAsyncClient.sign(signRequest))
+                .whenComplete(
+                        (ignored, exception) -> {
+                            Throwable cause =
+                                    exception instanceof CompletionException
+                                            ? exception.getCause()
+                                            : exception;
+                            if (cause instanceof DisabledException
+                                    || cause instanceof NotFoundException
+                                    || cause instanceof KmsInvalidStateException) {
+                                keyMetadataCache.invalidateKeyId(signRequest.keyId());
+                            }
+                        });
     }
 
     public DescribeKeyResponse describeKey(DescribeKeyRequest describeKeyRequest) {
         return kmsClient.describeKey(describeKeyRequest);
     }
 
+    public SigningKeyMetadata getKeyMetadata(String keyAlias) {
+        return keyMetadataCache.get(keyAlias);
+    }
+
     public String getKeyId(String keyAlias) {
-        DescribeKeyRequest describeKeyRequest =
-                DescribeKeyRequest.builder().keyId(keyAlias).build();
-        DescribeKeyResponse describeKeyResponse = describeKey(describeKeyRequest);
-        return describeKeyResponse.keyMetadata().keyId();
+        return getKeyMetadata(keyAlias).keyId();
     }
 
     public boolean isKeyActive(String keyAlias) {
-        DescribeKeyRequest describeKeyRequest =
-                DescribeKeyRequest.builder().keyId(keyAlias).build();
-        DescribeKeyResponse describeKeyResponse;
+        SigningKeyMetadata keyMetadata;
 
         try {
-            describeKeyResponse = describeKey(describeKeyRequest);
+            keyMetadata = getKeyMetadata(keyAlias);
         } catch (NotFoundException exception) {
             LOGGER.info("Key with alias {} was not found", keyAlias);
             return false;
         }
 
-        if (Boolean.FALSE.equals(describeKeyResponse.keyMetadata().enabled())) {
-            LOGGER.info("Key with alias {} is disabled", keyAlias);
-            return false;
-        }
-
-        if (describeKeyResponse.keyMetadata().deletionDate() != null) {
-            LOGGER.info("Key with alias {} is due for deletion", keyAlias);
+        if (!keyMetadata.active()) {
+            LOGGER.info("Key with alias {} is disabled or due for deletion", keyAlias);
             return false;
         }
 
         return true;
     }
 
+    private SigningKeyMetadata loadKeyMetadata(String keyAlias) {
+        DescribeKeyRequest describeKeyRequest =
+                DescribeKeyRequest.builder().keyId(keyAlias).build();
+        KeyMetadata keyMetadata = describeKey(describeKeyRequest).keyMetadata();
+        boolean active =
+                !Boolean.FALSE.equals(keyMetadata.enabled()) && keyMetadata.deletionDate() == null;
+        return SigningKeyMetadata.of(keyMetadata.keyId(), active);
+    }
+
     public ECKey getPublicKey(String keyAlias) throws PEMException, NoSuchAlgorithmException {
         GetPublicKeyResponse publicKeyResponse = getKmsPublicKey(keyAlias);
         return createJwk(publicKeyResponse);
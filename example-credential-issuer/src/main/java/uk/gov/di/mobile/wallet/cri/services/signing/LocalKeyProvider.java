@@ -0,0 +1,201 @@
+package uk.gov.di.mobile.wallet.cri.services.signing;
+
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.KeyUse;
+import org.bouncycastle.openssl.PEMKeyPair;
+import org.bouncycastle.openssl.PEMParser;
+import org.bouncycastle.openssl.jcajce.JcaPEMKeyConverter;
+import org.bouncycastle.openssl.jcajce.JcaPEMWriter;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.model.DescribeKeyRequest;
+import software.amazon.awssdk.services.kms.model.DescribeKeyResponse;
+import software.amazon.awssdk.services.kms.model.KeyMetadata;
+import software.amazon.awssdk.services.kms.model.KeySpec;
+import software.amazon.awssdk.services.kms.model.KeyState;
+import software.amazon.awssdk.services.kms.model.KeyUsageType;
+import software.amazon.awssdk.services.kms.model.MessageType;
+import software.amazon.awssdk.services.kms.model.SignRequest;
+import software.amazon.awssdk.services.kms.model.SignResponse;
+import software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.nimbusds.jose.JWSAlgorithm.ES256;
+import static com.nimbusds.jose.jwk.Curve.P_256;
+import static uk.gov.di.mobile.wallet.cri.util.ArnUtil.extractKeyId;
+import static uk.gov.di.mobile.wallet.cri.util.HashUtil.sha256Hex;
+
+/**
+ * Signs with EC P-256 keys held in process, for load testing and running without KMS. Must not be
+ * used in production.
+ *
+ * <p>Keys are referenced the same way as KMS keys: by key ARN, alias or key ID. An ARN resolves to
+ * the key ID it contains, and an alias resolves to a key ID derived from its name, so the same
+ * reference always resolves to the same key. A key is generated the first time it is used. When a
+ * key directory is given, each key is stored there as a PEM file named after its key ID and loaded
+ * from it on later runs; otherwise keys only live as long as the process.
+ *
+ * <p>Signatures are DER-encoded, as returned by KMS, and every key is reported as active.
+ */
+public class LocalKeyProvider implements KeyProvider {
+
+    private static final String ALIAS_PREFIX = "alias/";
+    private static final String ARN_PREFIX = "arn:";
+
+    private final Path keyDirectory;
+    private final Map<String, KeyPair> keyPairs = new ConcurrentHashMap<>();
+
+    /** Constructs a LocalKeyProvider whose keys are only held in memory. */
+    public LocalKeyProvider() {
+        this(null);
+    }
+
+    /**
+     * Constructs a LocalKeyProvider that stores its keys on disk.
+     *
+     * @param keyDirectory Directory keys are loaded from and stored in, or null to only hold keys
+     *     in memory.
+     */
+    public LocalKeyProvider(Path keyDirectory) {
+        this.keyDirectory = keyDirectory;
+    }
+
+    @Override
+    public SignResponse sign(SignRequest signRequest) {
+        if (signRequest.signingAlgorithm() != SigningAlgorithmSpec.ECDSA_SHA_256) {
+            throw new IllegalArgumentException(
+                    "Unsupported signing algorithm: " + signRequest.signingAlgorithmAsString());
+        }
+        String keyId = resolveKeyId(signRequest.keyId());
+        // A digest is signed as is, while a raw message is hashed first, as KMS does
+        String algorithm =
+                signRequest.messageType() == MessageType.DIGEST
+                        ? "NONEwithECDSA"
+                        : "SHA256withECDSA";
+        try {
+            Signature signature = Signature.getInstance(algorithm);
+            signature.initSign(getKeyPair(keyId).getPrivate());
+            signature.update(signRequest.message().asByteArray());
+            return SignResponse.builder()
+                    .keyId(keyId)
+                    .signingAlgorithm(SigningAlgorithmSpec.ECDSA_SHA_256)
+                    .signature(SdkBytes.fromByteArray(signature.sign()))
+                    .build();
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Failed to sign with local key " + keyId, exception);
+        }
+    }
+
+    @Override
+    public DescribeKeyResponse describeKey(DescribeKeyRequest describeKeyRequest) {
+        String keyId = resolveKeyId(describeKeyRequest.keyId());
+        getKeyPair(keyId);
+        return DescribeKeyResponse.builder()
+                .keyMetadata(
+                        KeyMetadata.builder()
+                                .keyId(keyId)
+                                .enabled(true)
+                                .keyState(KeyState.ENABLED)
+                                .keySpec(KeySpec.ECC_NIST_P256)
+                                .keyUsage(KeyUsageType.SIGN_VERIFY)
+                                .build())
+                .build();
+    }
+
+    @Override
+    public boolean isKeyActive(String keyAlias) {
+        getKeyPair(resolveKeyId(keyAlias));
+        return true;
+    }
+
+    @Override
+    public ECKey getPublicKey(String keyAlias) {
+        String keyId = resolveKeyId(keyAlias);
+        return new ECKey.Builder(P_256, (ECPublicKey) getKeyPair(keyId).getPublic())
+                .keyID(sha256Hex(keyId))
+                .algorithm(ES256)
+                .keyUse(KeyUse.SIGNATURE)
+                .build();
+    }
+
+    @Override
+    public String getKeyId(String keyAlias) {
+        return resolveKeyId(keyAlias);
+    }
+
+    @Override
+    public SigningKeyMetadata getKeyMetadata(String keyAlias) {
+        return SigningKeyMetadata.of(resolveKeyId(keyAlias), true);
+    }
+
+    private static String resolveKeyId(String keyReference) {
+        if (keyReference.startsWith(ARN_PREFIX)) {
+            return extractKeyId(keyReference);
+        }
+        if (keyReference.startsWith(ALIAS_PREFIX)) {
+            return UUID.nameUUIDFromBytes(keyReference.getBytes(StandardCharsets.UTF_8))
+                    .toString();
+        }
+        return keyReference;
+    }
+
+    private KeyPair getKeyPair(String keyId) {
+        return keyPairs.computeIfAbsent(keyId, this::loadOrGenerateKeyPair);
+    }
+
+    private KeyPair loadOrGenerateKeyPair(String keyId) {
+        if (keyDirectory == null) {
+            return generateKeyPair();
+        }
+        Path keyFile = keyDirectory.resolve(keyId + ".pem");
+        try {
+            if (Files.exists(keyFile)) {
+                return readKeyPair(keyFile);
+            }
+            KeyPair keyPair = generateKeyPair();
+            writeKeyPair(keyFile, keyPair);
+            return keyPair;
+        } catch (IOException exception) {
+            throw new IllegalStateException("Failed to load local key " + keyFile, exception);
+        }
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+            keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+            return keyPairGenerator.generateKeyPair();
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Failed to generate local key", exception);
+        }
+    }
+
+    private static KeyPair readKeyPair(Path keyFile) throws IOException {
+        try (Reader reader = Files.newBufferedReader(keyFile, StandardCharsets.UTF_8);
+                PEMParser parser = new PEMParser(reader)) {
+            return new JcaPEMKeyConverter().getKeyPair((PEMKeyPair) parser.readObject());
+        }
+    }
+
+    private static void writeKeyPair(Path keyFile, KeyPair keyPair) throws IOException {
+        Files.createDirectories(keyFile.getParent());
+        try (Writer writer = Files.newBufferedWriter(keyFile, StandardCharsets.UTF_8);
+                JcaPEMWriter pemWriter = new JcaPEMWriter(writer)) {
+            pemWriter.writeObject(keyPair);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package uk.gov.di.mobile.wallet.cri.services.signing;
+
+import com.nimbusds.jose.jwk.ECKey;
+import org.bouncycastle.openssl.PEMException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
+
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory cache of the public keys of the active signing keys, as published in the DID document
+ * and JWKS.
+ *
+ * <p>The keys are loaded from the {@link KeyProvider} on first use and served from memory until
+ * their TTL expires. Within the refresh-ahead window before expiry, a cache hit starts a background
+ * reload so that requests do not wait on KMS. Concurrent misses share a single load. When a reload
+ * fails, the last keys loaded continue to be served, unless it failed because no signing key is
+ * active any more. The same list is returned until the active keys change, so callers can reuse
+ * anything they derive from it.
+ */
+public class PublicKeyCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PublicKeyCache.class);
+
+    private final KeyProvider keyProvider;
+    private final ConfigurationService configurationService;
+    private final Duration timeToLive;
+    private final Duration refreshAhead;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlightLoad =
+            new AtomicReference<>();
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(List<ECKey> keys, Instant loadedAt) {}
+
+    /**
+     * Constructs a PublicKeyCache with the TTL and refresh-ahead window from configuration.
+     *
+     * @param keyProvider Provider the public keys are loaded from.
+     * @param configurationService Service providing the signing key aliases and cache settings.
+     * @param refreshExecutor Executor background reloads are run on.
+     */
+    public PublicKeyCache(
+            KeyProvider keyProvider,
+            ConfigurationService configurationService,
+            Executor refreshExecutor) {
+        this(
+                keyProvider,
+                configurationService,
+                Duration.ofSeconds(configurationService.getPublicKeyCacheTtlInSecs()),
+                Duration.ofSeconds(configurationService.getPublicKeyRefreshAheadInSecs()),
+                refreshExecutor,
+                Clock.systemUTC());
+    }
+
+    /**
+     * @param keyProvider Provider the public keys are loaded from.
+     * @param configurationService Service providing the signing key aliases.
+     * @param timeToLive How long loaded keys are served without being loaded again.
+     * @param refreshAhead How long before expiry a background reload is started.
+     * @param refreshExecutor Executor background reloads are run on.
+     * @param clock Clock used to measure the age of the keys.
+     */
+    public PublicKeyCache(
+            KeyProvider keyProvider,
+            ConfigurationService configurationService,
+            Duration timeToLive,
+            Duration refreshAhead,
+            Executor refreshExecutor,
+            Clock clock) {
+        this.keyProvider = keyProvider;
+        this.configurationService = configurationService;
+        this.timeToLive = timeToLive;
+        this.refreshAhead = refreshAhead;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the public key of every active signing key, loading them if they are not cached or have
+     * expired.
+     *
+     * @return The public keys, in the order of the signing key aliases.
+     * @throws PEMException If a public key cannot be parsed and no keys were loaded before.
+     * @throws NoSuchAlgorithmException If the required algorithm is not available and no keys were
+     *     loaded before.
+     * @throws KeyNotActiveException If none of the signing keys is in an active state.
+     */
+    public List<ECKey> getActiveKeys()
+            throws PEMException, NoSuchAlgorithmException, KeyNotActiveException {
+        Instant now = clock.instant();
+        Snapshot current = snapshot;
+
+        if (current != null && now.isBefore(expiryOf(current))) {
+            if (!now.isBefore(expiryOf(current).minus(refreshAhead))) {
+                startLoad(refreshExecutor)
+                        .exceptionally(
+                                exception -> {
+                                    LOGGER.warn("Failed to refresh public signing keys", exception);
+                                    return null;
+                                });
+            }
+            return current.keys();
+        }
+
+        try {
+            // Load on the calling thread, or wait for a load that is already in progress
+            return startLoad(Runnable::run).join().keys();
+        } catch (CompletionException exception) {
+            Throwable cause = exception.getCause();
+            if (current != null && !(cause instanceof KeyNotActiveException)) {
+                LOGGER.warn(
+                        "Failed to load public signing keys, serving keys loaded at {}",
+                        current.loadedAt(),
+                        cause);
+                return current.keys();
+            }
+            throw rethrow(cause, exception);
+        }
+    }
+
+    private CompletableFuture<Snapshot> startLoad(Executor executor) {
+        CompletableFuture<Snapshot> load = new CompletableFuture<>();
+        CompletableFuture<Snapshot> existing = inFlightLoad.compareAndExchange(null, load);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(
+                    () -> {
+                        try {
+                            Snapshot loaded = load();
+                            snapshot = loaded;
+                            load.complete(loaded);
+                        } catch (Throwable throwable) {
+                            load.completeExceptionally(throwable);
+                        } finally {
+                            inFlightLoad.set(null);
+                        }
+                    });
+        } catch (RejectedExecutionException exception) {
+            // The executor is shutting down, so the keys are loaded by the next caller instead
+            inFlightLoad.set(null);
+            load.completeExceptionally(exception);
+        }
+        return load;
+    }
+
+    private Snapshot load() throws PEMException, NoSuchAlgorithmException, KeyNotActiveException {
+        List<ECKey> keys = new ArrayList<>();
+        for (String keyAlias : configurationService.getSigningKeyAliases()) {
+            if (keyProvider.isKeyActive(keyAlias)) {
+                keys.add(keyProvider.getPublicKey(keyAlias));
+            }
+        }
+        if (keys.isEmpty()) {
+            throw new KeyNotActiveException("Public key is not active");
+        }
+
+        Snapshot previous = snapshot;
+        List<ECKey> activeKeys =
+                previous != null && previous.keys().equals(keys)
+                        ? previous.keys()
+                        : List.copyOf(keys);
+        return new Snapshot(activeKeys, clock.instant());
+    }
+
+    private Instant expiryOf(Snapshot snapshot) {
+        return snapshot.loadedAt().plus(timeToLive);
+    }
+
+    private static RuntimeException rethrow(Throwable cause, CompletionException exception)
+            throws PEMException, NoSuchAlgorithmException, KeyNotActiveException {
+        if (cause instanceof PEMException pemException) {
+            throw pemException;
+        }
+        if (cause instanceof NoSuchAlgorithmException noSuchAlgorithmException) {
+            throw noSuchAlgorithmException;
+        }
+        if (cause instanceof KeyNotActiveException keyNotActiveException) {
+            throw keyNotActiveException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return exception;
+    }
+}
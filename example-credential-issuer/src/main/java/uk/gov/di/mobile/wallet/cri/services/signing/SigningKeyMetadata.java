@@ -0,0 +1,35 @@
+package uk.gov.di.mobile.wallet.cri.services.signing;
+
+import static uk.gov.di.mobile.wallet.cri.util.HashUtil.sha256Hex;
+
+/**
+ * Metadata resolved for a signing key alias, together with the key identifiers derived from it.
+ *
+ * @param keyId The KMS key ID the alias currently points to.
+ * @param hashedKeyId The SHA-256 hex digest of the key ID, published as the JWK {@code kid}.
+ * @param active Whether the key is enabled and not pending deletion.
+ */
+public record SigningKeyMetadata(String keyId, String hashedKeyId, boolean active) {
+
+    /**
+     * Creates metadata for a key ID, deriving the hashed key ID from it.
+     *
+     * @param keyId The KMS key ID.
+     * @param active Whether the key is enabled and not pending deletion.
+     * @return The key metadata.
+     */
+    public static SigningKeyMetadata of(String keyId, boolean active) {
+        return new SigningKeyMetadata(keyId, sha256Hex(keyId), active);
+    }
+
+    /**
+     * Gets the did:web key ID that identifies this key in the DID document hosted at the given
+     * host.
+     *
+     * @param host The host the DID document is served from.
+     * @return The did:web key ID, e.g. {@code did:web:example.com#<hashedKeyId>}.
+     */
+    public String didWebKeyId(String host) {
+        return "did:web:" + host + "#" + hashedKeyId;
+    }
+}
@@ -0,0 +1,213 @@
+package uk.gov.di.mobile.wallet.cri.services.signing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Spreads signing across several keys, so that throughput is not capped by the request rate quota
+ * KMS applies to each key.
+ *
+ * <p>Each signing operation is given a key chosen either in turn or as the key with the fewest
+ * operations in flight. When KMS throttles an operation, it is retried with a key it has not yet
+ * tried, and the throttled key is passed over by later operations until its cooldown has elapsed.
+ * If every key is cooling down, the key whose cooldown ends soonest is used.
+ */
+public class SigningKeyPool {
+
+    /** How the key for each signing operation is chosen. */
+    public enum SelectionStrategy {
+        /** Each key is used in turn. */
+        ROUND_ROBIN,
+        /** The key with the fewest signing operations in flight is used. */
+        LEAST_LOADED
+    }
+
+    /**
+     * A signing operation performed with a key from the pool.
+     *
+     * @param <T> The result of the operation.
+     * @param <E> The exception thrown when the operation fails.
+     */
+    @FunctionalInterface
+    public interface KeyOperation<T, E extends Exception> {
+        T apply(String keyAlias) throws E;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SigningKeyPool.class);
+
+    private final List<String> keyAliases;
+    private final SelectionStrategy selectionStrategy;
+    private final long throttleCooldownMillis;
+    private final Clock clock;
+    private final AtomicInteger nextKey = new AtomicInteger();
+    private final AtomicIntegerArray inFlight;
+    private final AtomicLongArray throttledUntil;
+
+    /**
+     * Constructs a pool that uses each key in turn.
+     *
+     * @param keyAliases The aliases or ARNs of the keys in the pool.
+     */
+    public SigningKeyPool(List<String> keyAliases) {
+        this(keyAliases, SelectionStrategy.ROUND_ROBIN, Duration.ofSeconds(1), Clock.systemUTC());
+    }
+
+    /**
+     * @param keyAliases The aliases or ARNs of the keys in the pool.
+     * @param selectionStrategy How the key for each signing operation is chosen.
+     * @param throttleCooldown How long a throttled key is passed over for.
+     * @param clock Clock used to time key cooldowns.
+     * @throws IllegalArgumentException If no keys are given.
+     */
+    public SigningKeyPool(
+            List<String> keyAliases,
+            SelectionStrategy selectionStrategy,
+            Duration throttleCooldown,
+            Clock clock) {
+        if (keyAliases.isEmpty()) {
+            throw new IllegalArgumentException("Signing key pool must contain at least one key");
+        }
+        this.keyAliases = List.copyOf(keyAliases);
+        this.selectionStrategy = selectionStrategy;
+        this.throttleCooldownMillis = throttleCooldown.toMillis();
+        this.clock = clock;
+        this.inFlight = new AtomicIntegerArray(keyAliases.size());
+        this.throttledUntil = new AtomicLongArray(keyAliases.size());
+    }
+
+    /**
+     * Gets the aliases or ARNs of all keys in the pool.
+     *
+     * @return The keys in the pool, in configuration order.
+     */
+    public List<String> getKeyAliases() {
+        return keyAliases;
+    }
+
+    /**
+     * Performs a signing operation with a key from the pool, retrying with another key each time
+     * the operation is throttled.
+     *
+     * @param operation The signing operation, given the alias or ARN of the key to sign with.
+     * @return The result of the operation.
+     * @throws E If the operation fails, or is throttled with every key in the pool.
+     */
+    public <T, E extends Exception> T withKey(KeyOperation<T, E> operation) throws E {
+        boolean[] tried = new boolean[keyAliases.size()];
+        for (int attempt = 1; ; attempt++) {
+            int key = select(tried);
+            tried[key] = true;
+            inFlight.incrementAndGet(key);
+            try {
+                return operation.apply(keyAliases.get(key));
+            } catch (Exception exception) {
+                if (!isThrottled(exception)) {
+                    throw exception;
+                }
+                markThrottled(key);
+                if (attempt == keyAliases.size()) {
+                    throw exception;
+                }
+            } finally {
+                inFlight.decrementAndGet(key);
+            }
+        }
+    }
+
+    /**
+     * Performs an asynchronous signing operation with a key from the pool, retrying with another
+     * key each time the operation is throttled.
+     *
+     * @param operation Starts the signing operation, given the alias or ARN of the key to sign
+     *     with.
+     * @return A future completed with the result of the operation, or failed if the operation
+     *     fails or is throttled with every key in the pool.
+     */
+    public <T> CompletableFuture<T> withKeyAsync(
+            Function<String, CompletableFuture<T>> operation) {
+        return withKeyAsync(operation, new boolean[keyAliases.size()], 1);
+    }
+
+    private <T> CompletableFuture<T> withKeyAsync(
+            Function<String, CompletableFuture<T>> operation, boolean[] tried, int attempt) {
+        int key = select(tried);
+        tried[key] = true;
+        inFlight.incrementAndGet(key);
+
+        CompletableFuture<T> result;
+        try {
+            result = operation.apply(keyAliases.get(key));
+        } catch (RuntimeException exception) {
+            result = CompletableFuture.failedFuture(exception);
+        }
+        return result.whenComplete((ignored, exception) -> inFlight.decrementAndGet(key))
+                .exceptionallyCompose(
+                        exception -> {
+                            if (!isThrottled(exception)) {
+                                return CompletableFuture.failedFuture(exception);
+                            }
+                            markThrottled(key);
+                            if (attempt == keyAliases.size()) {
+                                return CompletableFuture.failedFuture(exception);
+                            }
+                            return withKeyAsync(operation, tried, attempt + 1);
+                        });
+    }
+
+    /**
+     * Chooses a key the operation has not yet tried, preferring keys that are not cooling down.
+     * Scanning starts from a different key each time, so ties are broken in turn.
+     */
+    private int select(boolean[] tried) {
+        int size = keyAliases.size();
+        int start = Math.floorMod(nextKey.getAndIncrement(), size);
+        long now = clock.millis();
+        int selected = -1;
+        int soonestAvailable = -1;
+        for (int offset = 0; offset < size; offset++) {
+            int key = (start + offset) % size;
+            if (tried[key]) {
+                continue;
+            }
+            if (throttledUntil.get(key) > now) {
+                if (soonestAvailable == -1
+                        || throttledUntil.get(key) < throttledUntil.get(soonestAvailable)) {
+                    soonestAvailable = key;
+                }
+                continue;
+            }
+            if (selectionStrategy == SelectionStrategy.ROUND_ROBIN) {
+                return key;
+            }
+            if (selected == -1 || inFlight.get(key) < inFlight.get(selected)) {
+                selected = key;
+            }
+        }
+        return selected != -1 ? selected : soonestAvailable;
+    }
+
+    private void markThrottled(int key) {
+        throttledUntil.set(key, clock.millis() + throttleCooldownMillis);
+        LOGGER.warn("Signing key {} was throttled", keyAliases.get(key));
+    }
+
+    private static boolean isThrottled(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AwsServiceException serviceException
+                    && serviceException.isThrottlingException()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -12,7 +12,7 @@ import uk.gov.di.mobile.wallet.cri.metadata.MetadataBuilder;
 import uk.gov.di.mobile.wallet.cri.notification.NotificationService;
 import uk.gov.di.mobile.wallet.cri.services.JwksService;
 import uk.gov.di.mobile.wallet.cri.services.data_storage.DynamoDbService;
-import uk.gov.di.mobile.wallet.cri.services.signing.KmsService;
+import uk.gov.di.mobile.wallet.cri.services.signing.KeyProvider;
 
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
@@ -23,7 +23,7 @@ class ServicesTest {
     @Test
     void Should_SetAllServicesCorrectly() {
         // Arrange: Create mocks for all dependencies
-        KmsService kmsService = mock(KmsService.class);
+        KeyProvider keyProvider = mock(KeyProvider.class);
         PreAuthorizedCodeBuilder preAuthorizedCodeBuilder = mock(PreAuthorizedCodeBuilder.class);
         CredentialOfferService credentialOfferService = mock(CredentialOfferService.class);
         DynamoDbService dynamoDbService = mock(DynamoDbService.class);
@@ -37,7 +37,7 @@ class ServicesTest {
         // Act: Build the Services object
         Services services =
                 new Services.Builder()
-                        .kmsService(kmsService)
+                        .keyProvider(keyProvider)
                         .preAuthorizedCodeBuilder(preAuthorizedCodeBuilder)
                         .credentialOfferService(credentialOfferService)
                         .dynamoDbService(dynamoDbService)
@@ -50,7 +50,7 @@ class ServicesTest {
                         .build();
 
         // Assert: Each getter returns the correct instance
-        assertSame(kmsService, services.getKmsService());
+        assertSame(keyProvider, services.getKeyProvider());
         assertSame(preAuthorizedCodeBuilder, services.getPreAuthorizedCodeBuilder());
         assertSame(credentialOfferService, services.getCredentialOfferService());
         assertSame(dynamoDbService, services.getDynamoDbService());
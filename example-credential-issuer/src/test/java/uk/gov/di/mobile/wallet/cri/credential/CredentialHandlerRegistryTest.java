@@ -20,10 +20,11 @@ import uk.gov.di.mobile.wallet.cri.credential.mdoc.simple_mdoc.SimpleMdocHandler
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(MockitoExtension.class)
-class CredentialHandlerFactoryTest {
+class CredentialHandlerRegistryTest {
 
     @Mock
     private CredentialBuilder<BasicCheckCredentialSubject> mockBasicDisclosureCredentialBuilder;
@@ -35,24 +36,37 @@ class CredentialHandlerFactoryTest {
     @Mock private MdocCredentialBuilder<DrivingLicenceDocument> mockMobileDrivingLicenceBuilder;
     @Mock private MdocCredentialBuilder<SimpleDocument> mockSimpleMdocBuilder;
 
-    private CredentialHandlerFactory factory;
+    private CredentialHandlerRegistry registry;
 
     @BeforeEach
     void setUp() {
-        factory =
-                new CredentialHandlerFactory(
-                        mockBasicDisclosureCredentialBuilder,
-                        mockSocialSecurityCredentialBuilder,
-                        mockDigitalVeteranCardBuilder,
-                        mockMobileDrivingLicenceBuilder,
-                        mockSimpleMdocBuilder);
+        registry =
+                new CredentialHandlerRegistry.Builder()
+                        .register(
+                                CredentialType.BASIC_DISCLOSURE_CREDENTIAL,
+                                new BasicCheckCredentialHandler(
+                                        mockBasicDisclosureCredentialBuilder))
+                        .register(
+                                CredentialType.SOCIAL_SECURITY_CREDENTIAL,
+                                new SocialSecurityCredentialHandler(
+                                        mockSocialSecurityCredentialBuilder))
+                        .register(
+                                CredentialType.DIGITAL_VETERAN_CARD,
+                                new DigitalVeteranCardHandler(mockDigitalVeteranCardBuilder))
+                        .register(
+                                CredentialType.MOBILE_DRIVING_LICENCE,
+                                new MobileDrivingLicenceHandler(mockMobileDrivingLicenceBuilder))
+                        .register(
+                                CredentialType.SIMPLE_MDOC,
+                                new SimpleMdocHandler(mockSimpleMdocBuilder))
+                        .build();
     }
 
     @Test
-    void Should_CreateBasicDisclosureCredentialHandler() {
+    void Should_ReturnBasicDisclosureCredentialHandler() {
         String vcType = "BasicDisclosureCredential";
 
-        CredentialHandler handler = factory.createHandler(vcType);
+        CredentialHandler handler = registry.getHandler(vcType);
 
         assertInstanceOf(
                 BasicCheckCredentialHandler.class,
@@ -61,10 +75,10 @@ class CredentialHandlerFactoryTest {
     }
 
     @Test
-    void Should_CreateSocialSecurityCredentialHandler() {
+    void Should_ReturnSocialSecurityCredentialHandler() {
         String vcType = "SocialSecurityCredential";
 
-        CredentialHandler handler = factory.createHandler(vcType);
+        CredentialHandler handler = registry.getHandler(vcType);
 
         assertInstanceOf(
                 SocialSecurityCredentialHandler.class,
@@ -73,10 +87,10 @@ class CredentialHandlerFactoryTest {
     }
 
     @Test
-    void Should_CreateDigitalVeteranCardHandler() {
+    void Should_ReturnDigitalVeteranCardHandler() {
         String vcType = "DigitalVeteranCard";
 
-        CredentialHandler handler = factory.createHandler(vcType);
+        CredentialHandler handler = registry.getHandler(vcType);
 
         assertInstanceOf(
                 DigitalVeteranCardHandler.class,
@@ -85,10 +99,10 @@ class CredentialHandlerFactoryTest {
     }
 
     @Test
-    void Should_CreateMobileDrivingLicenceHandler() {
+    void Should_ReturnMobileDrivingLicenceHandler() {
         String vcType = "org.iso.18013.5.1.mDL";
 
-        CredentialHandler handler = factory.createHandler(vcType);
+        CredentialHandler handler = registry.getHandler(vcType);
 
         assertInstanceOf(
                 MobileDrivingLicenceHandler.class,
@@ -97,10 +111,10 @@ class CredentialHandlerFactoryTest {
     }
 
     @Test
-    void Should_CreateSimpleMdocHandler() {
+    void Should_ReturnSimpleMdocHandler() {
         String vcType = "uk.gov.account.wallet-onboarding.example-credential-issuer.simplemdoc.1";
 
-        CredentialHandler handler = factory.createHandler(vcType);
+        CredentialHandler handler = registry.getHandler(vcType);
 
         assertInstanceOf(
                 SimpleMdocHandler.class,
@@ -108,6 +122,13 @@ class CredentialHandlerFactoryTest {
                 "Handler should be instance of SimpleMdocHandler");
     }
 
+    @Test
+    void Should_ReturnSameHandler_When_CalledRepeatedly() {
+        String vcType = "org.iso.18013.5.1.mDL";
+
+        assertSame(registry.getHandler(vcType), registry.getHandler(vcType));
+    }
+
     @Test
     void Should_ThrowIllegalArgumentException_When_CredentialTypeIsUnknown() {
         String vcType = "UnknownCredential";
@@ -115,8 +136,40 @@ class CredentialHandlerFactoryTest {
         IllegalArgumentException exception =
                 assertThrows(
                         IllegalArgumentException.class,
-                        () -> factory.createHandler(vcType),
+                        () -> registry.getHandler(vcType),
                         "Should throw IllegalArgumentException for unknown type");
         assertEquals("Unknown credential type: " + vcType, exception.getMessage());
     }
+
+    @Test
+    void Should_ThrowIllegalArgumentException_When_NoHandlerIsRegisteredForCredentialType() {
+        CredentialHandlerRegistry emptyRegistry = new CredentialHandlerRegistry.Builder().build();
+
+        IllegalArgumentException exception =
+                assertThrows(
+                        IllegalArgumentException.class,
+                        () -> emptyRegistry.getHandler("DigitalVeteranCard"));
+        assertEquals(
+                "No handler registered for credential type: DigitalVeteranCard",
+                exception.getMessage());
+    }
+
+    @Test
+    void Should_ThrowIllegalArgumentException_When_HandlerIsRegisteredTwice() {
+        CredentialHandlerRegistry.Builder builder =
+                new CredentialHandlerRegistry.Builder()
+                        .register(
+                                CredentialType.SIMPLE_MDOC,
+                                new SimpleMdocHandler(mockSimpleMdocBuilder));
+        SimpleMdocHandler duplicateHandler = new SimpleMdocHandler(mockSimpleMdocBuilder);
+
+        IllegalArgumentException exception =
+                assertThrows(
+                        IllegalArgumentException.class,
+                        () -> builder.register(CredentialType.SIMPLE_MDOC, duplicateHandler));
+        assertEquals(
+                "Handler already registered for credential type: "
+                        + "uk.gov.account.wallet-onboarding.example-credential-issuer.simplemdoc.1",
+                exception.getMessage());
+    }
 }
@@ -80,7 +80,7 @@ class CredentialResourceTest {
                         .header("Authorization", BEARER_ACCESS_TOKEN)
                         .post(Entity.entity(arg, MediaType.APPLICATION_JSON));
 
-        verify(MOCK_CREDENTIAL_SERVICE, times(0)).getCredential(any(), any());
+        verify(MOCK_CREDENTIAL_SERVICE, times(0)).getStreamingCredential(any(), any());
         assertThat(response.getStatus(), is(400));
         assertThat(response.getHeaderString("Cache-Control"), is("no-store"));
         assertThat(response.readEntity(String.class), is("{\"error\":\"invalid_proof\"}"));
@@ -98,7 +98,7 @@ class CredentialResourceTest {
                         .request()
                         .post(Entity.entity(requestBody, MediaType.APPLICATION_JSON));
 
-        verify(MOCK_CREDENTIAL_SERVICE, times(0)).getCredential(any(), any());
+        verify(MOCK_CREDENTIAL_SERVICE, times(0)).getStreamingCredential(any(), any());
         assertThat(response.getStatus(), is(401));
         assertThat(response.getHeaderString("WWW-Authenticate"), is("Bearer"));
     }
@@ -116,7 +116,7 @@ class CredentialResourceTest {
                         .header("Authorization", "NotBearer " + ACCESS_TOKEN)
                         .post(Entity.entity(requestBody, MediaType.APPLICATION_JSON));
 
-        verify(MOCK_CREDENTIAL_SERVICE, times(0)).getCredential(any(), any());
+        verify(MOCK_CREDENTIAL_SERVICE, times(0)).getStreamingCredential(any(), any());
         assertThat(response.getStatus(), is(401));
         assertThat(response.getHeaderString("Cache-Control"), is("no-store"));
         assertThat(
@@ -132,7 +132,7 @@ class CredentialResourceTest {
                     CredentialOfferException {
         doThrow(new CredentialOfferException("Some credential offer validation error"))
                 .when(MOCK_CREDENTIAL_SERVICE)
-                .getCredential(any(), any());
+                .getStreamingCredential(any(), any());
 
         final Response response =
                 resource.target("/credential")
@@ -140,7 +140,7 @@ class CredentialResourceTest {
                         .header("Authorization", BEARER_ACCESS_TOKEN)
                         .post(Entity.entity(requestBody, MediaType.APPLICATION_JSON));
 
-        verify(MOCK_CREDENTIAL_SERVICE, times(1)).getCredential(any(), any());
+        verify(MOCK_CREDENTIAL_SERVICE, times(1)).getStreamingCredential(any(), any());
         assertThat(response.getStatus(), is(401));
         assertThat(response.getHeaderString("Cache-Control"), is("no-store"));
         assertThat(
@@ -157,7 +157,7 @@ class CredentialResourceTest {
                     CredentialOfferException {
         doThrow(new AccessTokenValidationException("Some access token validation error"))
                 .when(MOCK_CREDENTIAL_SERVICE)
-                .getCredential(any(), any());
+                .getStreamingCredential(any(), any());
 
         final Response response =
                 resource.target("/credential")
@@ -165,7 +165,7 @@ class CredentialResourceTest {
                         .header("Authorization", BEARER_ACCESS_TOKEN)
                         .post(Entity.entity(requestBody, MediaType.APPLICATION_JSON));
 
-        verify(MOCK_CREDENTIAL_SERVICE, times(1)).getCredential(any(), any());
+        verify(MOCK_CREDENTIAL_SERVICE, times(1)).getStreamingCredential(any(), any());
         assertThat(response.getStatus(), is(401));
         assertThat(response.getHeaderString("Cache-Control"), is("no-store"));
         assertThat(
@@ -182,7 +182,7 @@ class CredentialResourceTest {
                     CredentialOfferException {
         doThrow(new ProofJwtValidationException("Some proof validation error"))
                 .when(MOCK_CREDENTIAL_SERVICE)
-                .getCredential(any(), any());
+                .getStreamingCredential(any(), any());
 
         final Response response =
                 resource.target("/credential")
@@ -190,7 +190,7 @@ class CredentialResourceTest {
                         .header("Authorization", BEARER_ACCESS_TOKEN)
                         .post(Entity.entity(requestBody, MediaType.APPLICATION_JSON));
 
-        verify(MOCK_CREDENTIAL_SERVICE, times(1)).getCredential(any(), any());
+        verify(MOCK_CREDENTIAL_SERVICE, times(1)).getStreamingCredential(any(), any());
         assertThat(response.getStatus(), is(400));
         assertThat(response.getHeaderString("Cache-Control"), is("no-store"));
         assertThat(response.readEntity(String.class), is("{\"error\":\"invalid_proof\"}"));
@@ -206,7 +206,7 @@ class CredentialResourceTest {
                     CredentialOfferException {
         doThrow(new NonceValidationException("Some nonce validation error"))
                 .when(MOCK_CREDENTIAL_SERVICE)
-                .getCredential(any(), any());
+                .getStreamingCredential(any(), any());
 
         final Response response =
                 resource.target("/credential")
@@ -214,7 +214,7 @@ class CredentialResourceTest {
                         .header("Authorization", BEARER_ACCESS_TOKEN)
                         .post(Entity.entity(requestBody, MediaType.APPLICATION_JSON));
 
-        verify(MOCK_CREDENTIAL_SERVICE, times(1)).getCredential(any(), any());
+        verify(MOCK_CREDENTIAL_SERVICE, times(1)).getStreamingCredential(any(), any());
         assertThat(response.getStatus(), is(400));
         assertThat(response.getHeaderString("Cache-Control"), is("no-store"));
         assertThat(response.readEntity(String.class), is("{\"error\":\"invalid_nonce\"}"));
@@ -230,7 +230,7 @@ class CredentialResourceTest {
                     CredentialOfferException {
         doThrow(new CredentialServiceException("Some other error", new Exception()))
                 .when(MOCK_CREDENTIAL_SERVICE)
-                .getCredential(any(), any());
+                .getStreamingCredential(any(), any());
 
         final Response response =
                 resource.target("/credential")
@@ -238,7 +238,7 @@ class CredentialResourceTest {
                         .header("Authorization", BEARER_ACCESS_TOKEN)
                         .post(Entity.entity(requestBody, MediaType.APPLICATION_JSON));
 
-        verify(MOCK_CREDENTIAL_SERVICE, times(1)).getCredential(any(), any());
+        verify(MOCK_CREDENTIAL_SERVICE, times(1)).getStreamingCredential(any(), any());
         assertThat(response.getStatus(), is(500));
         reset(MOCK_CREDENTIAL_SERVICE);
     }
@@ -248,13 +248,14 @@ class CredentialResourceTest {
             throws AccessTokenValidationException,
                     ProofJwtValidationException,
                     NonceValidationException,
-                    JsonProcessingException,
                     CredentialServiceException,
                     CredentialOfferException {
-        CredentialResponse mockCredentialResponse =
-                new CredentialResponse(EXPECTED_CREDENTIAL_JWT, EXPECTED_NOTIFICATION_ID);
-        when(MOCK_CREDENTIAL_SERVICE.getCredential(any(SignedJWT.class), any(SignedJWT.class)))
-                .thenReturn(mockCredentialResponse);
+        when(MOCK_CREDENTIAL_SERVICE.getStreamingCredential(
+                        any(SignedJWT.class), any(SignedJWT.class)))
+                .thenReturn(
+                        new StreamingCredentialResponse(
+                                StreamingCredential.of(EXPECTED_CREDENTIAL_JWT),
+                                EXPECTED_NOTIFICATION_ID));
 
         final Response response =
                 resource.target("/credential")
@@ -262,16 +263,16 @@ class CredentialResourceTest {
                         .header("Authorization", BEARER_ACCESS_TOKEN)
                         .post(Entity.entity(requestBody, MediaType.APPLICATION_JSON));
 
-        verify(MOCK_CREDENTIAL_SERVICE, times(1)).getCredential(any(), any());
+        verify(MOCK_CREDENTIAL_SERVICE, times(1)).getStreamingCredential(any(), any());
         assertThat(response.getStatus(), is(200));
         assertThat(response.getHeaderString("Cache-Control"), is("no-store"));
-        CredentialResponse credentialResponse = response.readEntity(CredentialResponse.class);
         assertThat(
-                OBJECT_MAPPER.writeValueAsString(credentialResponse),
-                is(OBJECT_MAPPER.writeValueAsString(mockCredentialResponse)));
-        assertThat(
-                credentialResponse.getCredentials().get(0).getCredentialObj(),
-                is(EXPECTED_CREDENTIAL_JWT));
-        assertThat(credentialResponse.getNotificationId(), is(EXPECTED_NOTIFICATION_ID));
+                response.readEntity(String.class),
+                is(
+                        "{\"credentials\":[{\"credential\":\""
+                                + EXPECTED_CREDENTIAL_JWT
+                                + "\"}],\"notification_id\":\""
+                                + EXPECTED_NOTIFICATION_ID
+                                + "\"}"));
     }
 }
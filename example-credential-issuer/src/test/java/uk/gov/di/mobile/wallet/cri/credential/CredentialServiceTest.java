@@ -1,14 +1,13 @@
 package uk.gov.di.mobile.wallet.cri.credential;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nimbusds.jwt.SignedJWT;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
-import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import testUtils.MockAccessTokenBuilder;
@@ -25,32 +24,48 @@ import uk.gov.di.mobile.wallet.cri.services.data_storage.DynamoDbService;
 import uk.gov.di.mobile.wallet.cri.services.object_storage.ObjectStoreException;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.security.cert.CertificateException;
 import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class CredentialServiceTest {
 
-    @Mock private CredentialHandlerFactory mockCredentialHandlerFactory;
+    @Mock private CredentialHandlerRegistry mockCredentialHandlerRegistry;
     @Mock private CredentialExpiryCalculator mockExpiryCalculator;
     @Mock private Logger mockLogger;
     @Mock private ECPublicKey mockEcPublicKey;
@@ -60,7 +75,7 @@ class CredentialServiceTest {
     @Mock private DocumentStoreClient mockDocumentStoreClient;
     @Mock private StatusListClient mockStatusListClient;
 
-    @Spy @InjectMocks private CredentialService credentialService;
+    private CredentialService credentialService;
 
     private CachedCredentialOffer mockCachedCredentialOffer;
     private SignedJWT mockProofJwt;
@@ -78,6 +93,8 @@ class CredentialServiceTest {
     public static final String NINO = "QQ123456C";
     public static final String DOCUMENT_NUMBER = "EDWAR583720SE5RO";
     private static final String NONCE = "134e0c41-a8b4-46d4-aec8-cd547e125589";
+    private static final String DID_KEY =
+            "did:key:MFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAEaUItVYrAvVK+1efrBvWDXtmapkl1PHqXUHytuK5/F7lfIXprXHD9zIdAinRrWSFeh28OJJzoSH1zqzOJ+ZhFOA==";
     private static final StatusListClient.StatusListInformation STATUS_LIST_INFORMATION =
             new StatusListClient.StatusListInformation(3, "https://example.com/status-list");
     private static final long EXPIRY_TIME = 1234567890L;
@@ -85,79 +102,102 @@ class CredentialServiceTest {
 
     @BeforeEach
     void setUp() throws AccessTokenValidationException, ProofJwtValidationException {
+        credentialService =
+                spy(
+                        new CredentialService(
+                                mockDynamoDbService,
+                                mockAccessTokenService,
+                                mockProofJwtService,
+                                mockDocumentStoreClient,
+                                mockCredentialHandlerRegistry,
+                                mockExpiryCalculator,
+                                mockStatusListClient));
         mockCachedCredentialOffer =
                 getMockCredentialOfferCacheItem(
                         WALLET_SUBJECT_ID, Instant.parse("2090-01-01T00:00:00Z"));
         mockProofJwt = new MockProofBuilder("ES256").build();
         mockProofJwtData = getMockProofJwtData(NONCE);
-        when(mockProofJwtService.verifyProofJwt(mockProofJwt)).thenReturn(mockProofJwtData);
+        when(mockProofJwtService.verifyProofJwtClaims(mockProofJwt))
+                .thenReturn(getMockProofJwtClaims(NONCE));
+        // Not reached by requests that fail the claim or nonce checks
+        lenient()
+                .when(mockProofJwtService.verifyProofJwtSignature(eq(mockProofJwt), any()))
+                .thenReturn(mockProofJwtData);
         mockAccessToken = new MockAccessTokenBuilder("ES256").build();
-        when(mockAccessTokenService.verifyAccessToken(mockAccessToken))
+        when(mockAccessTokenService.verifyAccessTokenClaims(mockAccessToken))
                 .thenReturn(getMockAccessTokenData());
     }
 
     @Test
-    void Should_ThrowNonceValidationException_When_NonceValuesDontMatch()
-            throws ProofJwtValidationException {
-        mockProofJwtData = getMockProofJwtData("not_the_same_nonce");
-        when(mockProofJwtService.verifyProofJwt(mockProofJwt)).thenReturn(mockProofJwtData);
+    void Should_ThrowNonceValidationException_When_NonceValuesDontMatch() throws Exception {
+        when(mockProofJwtService.verifyProofJwtClaims(mockProofJwt))
+                .thenReturn(getMockProofJwtClaims("not_the_same_nonce"));
 
         NonceValidationException exception =
                 assertThrows(
                         NonceValidationException.class,
-                        () -> credentialService.getCredential(mockAccessToken, mockProofJwt));
+                        () ->
+                                credentialService.getStreamingCredential(
+                                        mockAccessToken, mockProofJwt));
         assertEquals(
                 "Access token c_nonce claim does not match Proof JWT nonce claim",
                 exception.getMessage());
+        verify(mockAccessTokenService, never()).verifyAccessTokenSignature(any(), any());
+        verify(mockProofJwtService, never()).verifyProofJwtSignature(any(), any());
+        verify(mockDynamoDbService, never()).redeemCredentialOffer(any(), anyLong());
+    }
+
+    @Test
+    void Should_NotVerifySignatures_When_ProofJwtClaimsAreInvalid() throws Exception {
+        when(mockProofJwtService.verifyProofJwtClaims(mockProofJwt))
+                .thenThrow(new ProofJwtValidationException("Invalid proof"));
+
+        ProofJwtValidationException exception =
+                assertThrows(
+                        ProofJwtValidationException.class,
+                        () ->
+                                credentialService.getStreamingCredential(
+                                        mockAccessToken, mockProofJwt));
+        assertEquals("Invalid proof", exception.getMessage());
+        verify(mockAccessTokenService, never()).verifyAccessTokenSignature(any(), any());
+        verify(mockProofJwtService, never()).verifyProofJwtSignature(any(), any());
     }
 
     @Test
     void Should_ThrowCredentialServiceException_When_DataStoreExceptionIsThrown()
             throws DataStoreException {
-        when(mockDynamoDbService.getCredentialOffer(CREDENTIAL_IDENTIFIER))
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
                 .thenThrow(new DataStoreException("Some database error"));
 
         CredentialServiceException exception =
                 assertThrows(
                         CredentialServiceException.class,
-                        () -> credentialService.getCredential(mockAccessToken, mockProofJwt));
+                        () ->
+                                credentialService.getStreamingCredential(
+                                        mockAccessToken, mockProofJwt));
         assertEquals("Failed to issue credential due to an internal error", exception.getMessage());
         assertEquals(DataStoreException.class, exception.getCause().getClass());
         assertEquals("Some database error", exception.getCause().getMessage());
     }
 
     @Test
-    void Should_ThrowCredentialOfferValidationException_When_CredentialOfferNotFound()
+    void Should_ThrowCredentialOfferValidationException_When_CredentialOfferCannotBeRedeemed()
             throws DataStoreException {
         doReturn(mockLogger).when(credentialService).getLogger();
-        when(mockDynamoDbService.getCredentialOffer(CREDENTIAL_IDENTIFIER)).thenReturn(null);
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
+                .thenReturn(null);
 
         CredentialOfferException exception =
                 assertThrows(
                         CredentialOfferException.class,
-                        () -> credentialService.getCredential(mockAccessToken, mockProofJwt));
+                        () ->
+                                credentialService.getStreamingCredential(
+                                        mockAccessToken, mockProofJwt));
         assertEquals("Credential offer validation failed", exception.getMessage());
         verify(mockLogger)
-                .error("Credential offer {} was not found", "efb52887-48d6-43b7-b14c-da7896fbf54d");
-    }
-
-    @Test
-    void Should_ThrowCredentialOfferException_When_CredentialOfferIsExpired()
-            throws DataStoreException {
-        doReturn(mockLogger).when(credentialService).getLogger();
-        mockCachedCredentialOffer =
-                getMockCredentialOfferCacheItem(
-                        WALLET_SUBJECT_ID, Instant.parse("2020-01-01T00:00:00Z"));
-        when(mockDynamoDbService.getCredentialOffer(CREDENTIAL_IDENTIFIER))
-                .thenReturn(mockCachedCredentialOffer);
-
-        CredentialOfferException exception =
-                assertThrows(
-                        CredentialOfferException.class,
-                        () -> credentialService.getCredential(mockAccessToken, mockProofJwt));
-        assertEquals("Credential offer validation failed", exception.getMessage());
-        verify(mockLogger)
-                .error("Credential offer {} is expired", "efb52887-48d6-43b7-b14c-da7896fbf54d");
+                .error(
+                        "Credential offer {} was not found or has expired",
+                        "efb52887-48d6-43b7-b14c-da7896fbf54d");
     }
 
     @Test
@@ -166,43 +206,65 @@ class CredentialServiceTest {
         mockCachedCredentialOffer =
                 getMockCredentialOfferCacheItem(
                         "not_the_same_wallet_subject_id", Instant.parse("2090-01-01T00:00:00Z"));
-        when(mockDynamoDbService.getCredentialOffer(CREDENTIAL_IDENTIFIER))
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
                 .thenReturn(mockCachedCredentialOffer);
 
         AccessTokenValidationException exception =
                 assertThrows(
                         AccessTokenValidationException.class,
-                        () -> credentialService.getCredential(mockAccessToken, mockProofJwt));
+                        () ->
+                                credentialService.getStreamingCredential(
+                                        mockAccessToken, mockProofJwt));
         assertThat(
                 exception.getMessage(),
                 containsString("Access token sub claim does not match cached walletSubjectId"));
+        verify(mockDynamoDbService).saveCredentialOffer(mockCachedCredentialOffer);
     }
 
     @Test
-    void Should_DeleteCredentialOffer() throws Exception {
+    void Should_RestoreCredentialOffer_When_DocumentCannotBeFetched()
+            throws DataStoreException, DocumentStoreException {
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
+                .thenReturn(mockCachedCredentialOffer);
+        when(mockDocumentStoreClient.getDocument(ITEM_ID))
+                .thenThrow(new DocumentStoreException("Some document store error"));
+
+        CredentialServiceException exception =
+                assertThrows(
+                        CredentialServiceException.class,
+                        () ->
+                                credentialService.getStreamingCredential(
+                                        mockAccessToken, mockProofJwt));
+        assertEquals(DocumentStoreException.class, exception.getCause().getClass());
+        verify(mockDynamoDbService).saveCredentialOffer(mockCachedCredentialOffer);
+        verify(mockDynamoDbService, never()).saveStoredCredential(any());
+    }
+
+    @Test
+    void Should_RedeemCredentialOffer() throws Exception {
         DocumentStoreRecord mockDocument = getMockSocialSecurityDocument();
-        when(mockDynamoDbService.getCredentialOffer(CREDENTIAL_IDENTIFIER))
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
                 .thenReturn(mockCachedCredentialOffer);
         when(mockDocumentStoreClient.getDocument(ITEM_ID)).thenReturn(mockDocument);
-        CredentialHandler mockHandler = mock(CredentialHandler.class);
-        when(mockCredentialHandlerFactory.createHandler(SOCIAL_SECURITY_VC_TYPE))
+        CredentialHandler mockHandler = mock(CredentialHandler.class, CALLS_REAL_METHODS);
+        when(mockCredentialHandlerRegistry.getHandler(SOCIAL_SECURITY_VC_TYPE))
                 .thenReturn(mockHandler);
         when(mockHandler.buildCredential(mockDocument, mockProofJwtData, Optional.empty()))
                 .thenReturn(CREDENTIAL);
 
-        credentialService.getCredential(mockAccessToken, mockProofJwt);
+        credentialService.getStreamingCredential(mockAccessToken, mockProofJwt);
 
-        verify(mockDynamoDbService).deleteCredentialOffer(CREDENTIAL_IDENTIFIER);
+        verify(mockDynamoDbService).redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong());
     }
 
     @Test
     void Should_CallExpiryCalculator_To_CalculateCredentialExpiry() throws Exception {
         DocumentStoreRecord mockDocument = getMockSocialSecurityDocument();
-        when(mockDynamoDbService.getCredentialOffer(CREDENTIAL_IDENTIFIER))
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
                 .thenReturn(mockCachedCredentialOffer);
         when(mockDocumentStoreClient.getDocument(ITEM_ID)).thenReturn(mockDocument);
-        CredentialHandler mockHandler = mock(CredentialHandler.class);
-        when(mockCredentialHandlerFactory.createHandler(SOCIAL_SECURITY_VC_TYPE))
+        CredentialHandler mockHandler = mock(CredentialHandler.class, CALLS_REAL_METHODS);
+        when(mockCredentialHandlerRegistry.getHandler(SOCIAL_SECURITY_VC_TYPE))
                 .thenReturn(mockHandler);
         when(mockHandler.buildCredential(mockDocument, mockProofJwtData, Optional.empty()))
                 .thenReturn(CREDENTIAL);
@@ -210,7 +272,7 @@ class CredentialServiceTest {
         try (MockedStatic<UUID> mockedUUID = mockStatic(UUID.class)) {
             mockedUUID.when(UUID::randomUUID).thenReturn(NOTIFICATION_ID);
 
-            credentialService.getCredential(mockAccessToken, mockProofJwt);
+            credentialService.getStreamingCredential(mockAccessToken, mockProofJwt);
 
             verify(mockExpiryCalculator).calculateExpiry(mockDocument);
         }
@@ -219,17 +281,17 @@ class CredentialServiceTest {
     @Test
     void Should_NotCallStatusListClient_When_IssuingJWTCredentials() throws Exception {
         DocumentStoreRecord mockDocument = getMockSocialSecurityDocument();
-        when(mockDynamoDbService.getCredentialOffer(CREDENTIAL_IDENTIFIER))
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
                 .thenReturn(mockCachedCredentialOffer);
         when(mockDocumentStoreClient.getDocument(ITEM_ID)).thenReturn(mockDocument);
-        CredentialHandler mockHandler = mock(CredentialHandler.class);
-        when(mockCredentialHandlerFactory.createHandler(SOCIAL_SECURITY_VC_TYPE))
+        CredentialHandler mockHandler = mock(CredentialHandler.class, CALLS_REAL_METHODS);
+        when(mockCredentialHandlerRegistry.getHandler(SOCIAL_SECURITY_VC_TYPE))
                 .thenReturn(mockHandler);
         when(mockHandler.buildCredential(mockDocument, mockProofJwtData, Optional.empty()))
                 .thenReturn(CREDENTIAL);
         when(mockExpiryCalculator.calculateExpiry(mockDocument)).thenReturn(EXPIRY_TIME);
 
-        credentialService.getCredential(mockAccessToken, mockProofJwt);
+        credentialService.getStreamingCredential(mockAccessToken, mockProofJwt);
 
         verify(mockStatusListClient, never()).getIndex(anyLong());
     }
@@ -237,18 +299,18 @@ class CredentialServiceTest {
     @Test
     void Should_CallStatusListClient_When_IssuingMDLCredentials() throws Exception {
         DocumentStoreRecord mockDocument = getMockMobileDrivingLicenceDocument();
-        when(mockDynamoDbService.getCredentialOffer(CREDENTIAL_IDENTIFIER))
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
                 .thenReturn(mockCachedCredentialOffer);
         when(mockDocumentStoreClient.getDocument(ITEM_ID)).thenReturn(mockDocument);
         when(mockStatusListClient.getIndex(EXPIRY_TIME)).thenReturn(STATUS_LIST_INFORMATION);
-        CredentialHandler mockHandler = mock(CredentialHandler.class);
-        when(mockCredentialHandlerFactory.createHandler(MDL_VC_TYPE)).thenReturn(mockHandler);
+        CredentialHandler mockHandler = mock(CredentialHandler.class, CALLS_REAL_METHODS);
+        when(mockCredentialHandlerRegistry.getHandler(MDL_VC_TYPE)).thenReturn(mockHandler);
         when(mockHandler.buildCredential(
                         mockDocument, mockProofJwtData, Optional.of(STATUS_LIST_INFORMATION)))
                 .thenReturn(CREDENTIAL);
         when(mockExpiryCalculator.calculateExpiry(mockDocument)).thenReturn(EXPIRY_TIME);
 
-        credentialService.getCredential(mockAccessToken, mockProofJwt);
+        credentialService.getStreamingCredential(mockAccessToken, mockProofJwt);
 
         verify(mockStatusListClient).getIndex(EXPIRY_TIME);
     }
@@ -260,12 +322,12 @@ class CredentialServiceTest {
                     DocumentStoreException,
                     ObjectStoreException,
                     CertificateException {
-        when(mockDynamoDbService.getCredentialOffer(CREDENTIAL_IDENTIFIER))
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
                 .thenReturn(mockCachedCredentialOffer);
         DocumentStoreRecord mockDocument = getMockSocialSecurityDocument();
         when(mockDocumentStoreClient.getDocument(ITEM_ID)).thenReturn(mockDocument);
-        CredentialHandler mockHandler = mock(CredentialHandler.class);
-        when(mockCredentialHandlerFactory.createHandler(SOCIAL_SECURITY_VC_TYPE))
+        CredentialHandler mockHandler = mock(CredentialHandler.class, CALLS_REAL_METHODS);
+        when(mockCredentialHandlerRegistry.getHandler(SOCIAL_SECURITY_VC_TYPE))
                 .thenReturn(mockHandler);
         when(mockHandler.buildCredential(mockDocument, mockProofJwtData, Optional.empty()))
                 .thenThrow(new SigningException("Some signing error", new RuntimeException()));
@@ -273,7 +335,9 @@ class CredentialServiceTest {
         CredentialServiceException exception =
                 assertThrows(
                         CredentialServiceException.class,
-                        () -> credentialService.getCredential(mockAccessToken, mockProofJwt));
+                        () ->
+                                credentialService.getStreamingCredential(
+                                        mockAccessToken, mockProofJwt));
         assertEquals("Failed to issue credential due to an internal error", exception.getMessage());
         assertEquals(SigningException.class, exception.getCause().getClass());
         assertEquals("Some signing error", exception.getCause().getMessage());
@@ -283,7 +347,7 @@ class CredentialServiceTest {
     void Should_ThrowCredentialServiceException_When_StatusListExceptionIsThrown()
             throws DataStoreException, DocumentStoreException, StatusListClientException {
         DocumentStoreRecord mockDocument = getMockMobileDrivingLicenceDocument();
-        when(mockDynamoDbService.getCredentialOffer(CREDENTIAL_IDENTIFIER))
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
                 .thenReturn(mockCachedCredentialOffer);
         when(mockDocumentStoreClient.getDocument(ITEM_ID)).thenReturn(mockDocument);
         when(mockExpiryCalculator.calculateExpiry(mockDocument)).thenReturn(EXPIRY_TIME);
@@ -293,7 +357,9 @@ class CredentialServiceTest {
         CredentialServiceException exception =
                 assertThrows(
                         CredentialServiceException.class,
-                        () -> credentialService.getCredential(mockAccessToken, mockProofJwt));
+                        () ->
+                                credentialService.getStreamingCredential(
+                                        mockAccessToken, mockProofJwt));
         assertEquals("Failed to issue credential due to an internal error", exception.getMessage());
         assertEquals(StatusListClientException.class, exception.getCause().getClass());
         assertEquals("Some status list error", exception.getCause().getMessage());
@@ -308,11 +374,11 @@ class CredentialServiceTest {
                     ObjectStoreException,
                     CertificateException {
         DocumentStoreRecord mockDocument = getMockMobileDrivingLicenceDocument();
-        when(mockDynamoDbService.getCredentialOffer(CREDENTIAL_IDENTIFIER))
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
                 .thenReturn(mockCachedCredentialOffer);
         when(mockDocumentStoreClient.getDocument(ITEM_ID)).thenReturn(mockDocument);
-        CredentialHandler mockHandler = mock(CredentialHandler.class);
-        when(mockCredentialHandlerFactory.createHandler(MDL_VC_TYPE)).thenReturn(mockHandler);
+        CredentialHandler mockHandler = mock(CredentialHandler.class, CALLS_REAL_METHODS);
+        when(mockCredentialHandlerRegistry.getHandler(MDL_VC_TYPE)).thenReturn(mockHandler);
         when(mockExpiryCalculator.calculateExpiry(mockDocument)).thenReturn(EXPIRY_TIME);
         when(mockStatusListClient.getIndex(EXPIRY_TIME)).thenReturn(STATUS_LIST_INFORMATION);
         when(mockHandler.buildCredential(
@@ -322,7 +388,9 @@ class CredentialServiceTest {
         CredentialServiceException exception =
                 assertThrows(
                         CredentialServiceException.class,
-                        () -> credentialService.getCredential(mockAccessToken, mockProofJwt));
+                        () ->
+                                credentialService.getStreamingCredential(
+                                        mockAccessToken, mockProofJwt));
         assertEquals("Failed to issue credential due to an internal error", exception.getMessage());
         assertEquals(MdocException.class, exception.getCause().getClass());
         assertEquals("Some mDL error", exception.getCause().getMessage());
@@ -331,11 +399,11 @@ class CredentialServiceTest {
     @Test
     void Should_ReturnCredentialResponse_When_IssuingSocialSecurityCredential() throws Exception {
         DocumentStoreRecord mockDocument = getMockSocialSecurityDocument();
-        when(mockDynamoDbService.getCredentialOffer(CREDENTIAL_IDENTIFIER))
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
                 .thenReturn(mockCachedCredentialOffer);
         when(mockDocumentStoreClient.getDocument(ITEM_ID)).thenReturn(mockDocument);
-        CredentialHandler mockHandler = mock(CredentialHandler.class);
-        when(mockCredentialHandlerFactory.createHandler(SOCIAL_SECURITY_VC_TYPE))
+        CredentialHandler mockHandler = mock(CredentialHandler.class, CALLS_REAL_METHODS);
+        when(mockCredentialHandlerRegistry.getHandler(SOCIAL_SECURITY_VC_TYPE))
                 .thenReturn(mockHandler);
         when(mockExpiryCalculator.calculateExpiry(mockDocument)).thenReturn(EXPIRY_TIME);
         when(mockHandler.buildCredential(mockDocument, mockProofJwtData, Optional.empty()))
@@ -343,10 +411,10 @@ class CredentialServiceTest {
         try (MockedStatic<UUID> mockedUUID = mockStatic(UUID.class)) {
             mockedUUID.when(UUID::randomUUID).thenReturn(NOTIFICATION_ID);
 
-            CredentialResponse result =
-                    credentialService.getCredential(mockAccessToken, mockProofJwt);
+            StreamingCredentialResponse result =
+                    credentialService.getStreamingCredential(mockAccessToken, mockProofJwt);
 
-            assertEquals(CREDENTIAL, result.getCredentials().get(0).getCredentialObj());
+            assertEquals(CREDENTIAL, readCredential(result));
             assertEquals(NOTIFICATION_ID.toString(), result.getNotificationId());
             verify(mockHandler).buildCredential(mockDocument, mockProofJwtData, Optional.empty());
             ArgumentCaptor<StoredCredential> storedCredentialCaptor =
@@ -370,12 +438,12 @@ class CredentialServiceTest {
     void Should_ReturnCredentialResponse_When_IssuingMobileDrivingLicence() throws Exception {
         DocumentStoreRecord mockMobileDrivingLicenceDocument =
                 getMockMobileDrivingLicenceDocument();
-        when(mockDynamoDbService.getCredentialOffer(CREDENTIAL_IDENTIFIER))
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
                 .thenReturn(mockCachedCredentialOffer);
         when(mockDocumentStoreClient.getDocument(ITEM_ID))
                 .thenReturn(mockMobileDrivingLicenceDocument);
-        CredentialHandler mockHandler = mock(CredentialHandler.class);
-        when(mockCredentialHandlerFactory.createHandler(MDL_VC_TYPE)).thenReturn(mockHandler);
+        CredentialHandler mockHandler = mock(CredentialHandler.class, CALLS_REAL_METHODS);
+        when(mockCredentialHandlerRegistry.getHandler(MDL_VC_TYPE)).thenReturn(mockHandler);
         when(mockExpiryCalculator.calculateExpiry(mockMobileDrivingLicenceDocument))
                 .thenReturn(EXPIRY_TIME);
         when(mockStatusListClient.getIndex(EXPIRY_TIME)).thenReturn(STATUS_LIST_INFORMATION);
@@ -387,10 +455,10 @@ class CredentialServiceTest {
         try (MockedStatic<UUID> mockedUUID = mockStatic(UUID.class)) {
             mockedUUID.when(UUID::randomUUID).thenReturn(NOTIFICATION_ID);
 
-            CredentialResponse result =
-                    credentialService.getCredential(mockAccessToken, mockProofJwt);
+            StreamingCredentialResponse result =
+                    credentialService.getStreamingCredential(mockAccessToken, mockProofJwt);
 
-            assertEquals(CREDENTIAL, result.getCredentials().get(0).getCredentialObj());
+            assertEquals(CREDENTIAL, readCredential(result));
             assertEquals(NOTIFICATION_ID.toString(), result.getNotificationId());
             verify(mockStatusListClient).getIndex(EXPIRY_TIME);
             verify(mockHandler)
@@ -412,15 +480,77 @@ class CredentialServiceTest {
         }
     }
 
+    @Test
+    void Should_ReturnStreamingCredentialResponse_When_IssuingMobileDrivingLicence()
+            throws Exception {
+        DocumentStoreRecord mockMobileDrivingLicenceDocument =
+                getMockMobileDrivingLicenceDocument();
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
+                .thenReturn(mockCachedCredentialOffer);
+        when(mockDocumentStoreClient.getDocument(ITEM_ID))
+                .thenReturn(mockMobileDrivingLicenceDocument);
+        CredentialHandler mockHandler = mock(CredentialHandler.class, CALLS_REAL_METHODS);
+        when(mockCredentialHandlerRegistry.getHandler(MDL_VC_TYPE)).thenReturn(mockHandler);
+        when(mockExpiryCalculator.calculateExpiry(mockMobileDrivingLicenceDocument))
+                .thenReturn(EXPIRY_TIME);
+        when(mockStatusListClient.getIndex(EXPIRY_TIME)).thenReturn(STATUS_LIST_INFORMATION);
+        StreamingCredential credential =
+                outputStream -> outputStream.write(CREDENTIAL.getBytes(StandardCharsets.UTF_8));
+        doReturn(CompletableFuture.completedFuture(credential))
+                .when(mockHandler)
+                .buildStreamingCredentialAsync(
+                        mockMobileDrivingLicenceDocument,
+                        mockProofJwtData,
+                        Optional.of(STATUS_LIST_INFORMATION));
+        try (MockedStatic<UUID> mockedUUID = mockStatic(UUID.class)) {
+            mockedUUID.when(UUID::randomUUID).thenReturn(NOTIFICATION_ID);
+
+            StreamingCredentialResponse result =
+                    credentialService.getStreamingCredential(mockAccessToken, mockProofJwt);
+
+            assertEquals(NOTIFICATION_ID.toString(), result.getNotificationId());
+            verify(mockDynamoDbService).saveStoredCredential(any());
+            verify(mockHandler, never()).buildCredentialAsync(any(), any(), any());
+            assertEquals(CREDENTIAL, readCredential(result));
+        }
+    }
+
+    @Test
+    void Should_NotStoreCredential_When_StreamingCredentialFailsToEncode() throws Exception {
+        DocumentStoreRecord mockDocument = getMockMobileDrivingLicenceDocument();
+        when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
+                .thenReturn(mockCachedCredentialOffer);
+        when(mockDocumentStoreClient.getDocument(ITEM_ID)).thenReturn(mockDocument);
+        CredentialHandler mockHandler = mock(CredentialHandler.class, CALLS_REAL_METHODS);
+        when(mockCredentialHandlerRegistry.getHandler(MDL_VC_TYPE)).thenReturn(mockHandler);
+        when(mockExpiryCalculator.calculateExpiry(mockDocument)).thenReturn(EXPIRY_TIME);
+        when(mockStatusListClient.getIndex(EXPIRY_TIME)).thenReturn(STATUS_LIST_INFORMATION);
+        MdocException encodingFailure =
+                new MdocException("Failed to CBOR encode data", new RuntimeException());
+        doReturn(CompletableFuture.failedFuture(encodingFailure))
+                .when(mockHandler)
+                .buildStreamingCredentialAsync(
+                        mockDocument, mockProofJwtData, Optional.of(STATUS_LIST_INFORMATION));
+
+        CredentialServiceException exception =
+                assertThrows(
+                        CredentialServiceException.class,
+                        () ->
+                                credentialService.getStreamingCredential(
+                                        mockAccessToken, mockProofJwt));
+        assertEquals(encodingFailure, exception.getCause());
+        verify(mockDynamoDbService, never()).saveStoredCredential(any());
+    }
+
     @Test
     void Should_ReturnCredentialResponse_When_RefreshingCredential() throws Exception {
-        when(mockAccessTokenService.verifyAccessToken(mockAccessToken))
+        when(mockAccessTokenService.verifyAccessTokenClaims(mockAccessToken))
                 .thenReturn(
                         new AccessTokenService.AccessTokenData(
                                 WALLET_SUBJECT_ID, NONCE, null, SOCIAL_SECURITY_VC_TYPE));
 
-        CredentialHandler mockHandler = mock(CredentialHandler.class);
-        when(mockCredentialHandlerFactory.createHandler(SOCIAL_SECURITY_VC_TYPE))
+        CredentialHandler mockHandler = mock(CredentialHandler.class, CALLS_REAL_METHODS);
+        when(mockCredentialHandlerRegistry.getHandler(SOCIAL_SECURITY_VC_TYPE))
                 .thenReturn(mockHandler);
         when(mockHandler.buildCredential(any(), eq(mockProofJwtData), eq(Optional.empty())))
                 .thenReturn(CREDENTIAL);
@@ -428,14 +558,14 @@ class CredentialServiceTest {
         try (MockedStatic<UUID> mockedUUID = mockStatic(UUID.class)) {
             mockedUUID.when(UUID::randomUUID).thenReturn(NOTIFICATION_ID);
 
-            CredentialResponse result =
-                    credentialService.getCredential(mockAccessToken, mockProofJwt);
+            StreamingCredentialResponse result =
+                    credentialService.getStreamingCredential(mockAccessToken, mockProofJwt);
 
-            assertEquals(CREDENTIAL, result.getCredentials().get(0).getCredentialObj());
+            assertEquals(CREDENTIAL, readCredential(result));
             assertEquals(NOTIFICATION_ID.toString(), result.getNotificationId());
         }
 
-        verify(mockDynamoDbService, never()).getCredentialOffer(any());
+        verify(mockDynamoDbService, never()).redeemCredentialOffer(any(), anyLong());
         verify(mockDocumentStoreClient, never()).getDocument(any());
         verify(mockDynamoDbService).saveStoredCredential(any());
     }
@@ -443,7 +573,7 @@ class CredentialServiceTest {
     @Test
     void Should_ThrowCredentialServiceException_When_RefreshCredentialFileNotFound()
             throws Exception {
-        when(mockAccessTokenService.verifyAccessToken(mockAccessToken))
+        when(mockAccessTokenService.verifyAccessTokenClaims(mockAccessToken))
                 .thenReturn(
                         new AccessTokenService.AccessTokenData(
                                 WALLET_SUBJECT_ID, NONCE, null, "NonExistentCredential"));
@@ -451,10 +581,177 @@ class CredentialServiceTest {
         CredentialServiceException exception =
                 assertThrows(
                         CredentialServiceException.class,
-                        () -> credentialService.getCredential(mockAccessToken, mockProofJwt));
+                        () ->
+                                credentialService.getStreamingCredential(
+                                        mockAccessToken, mockProofJwt));
         assertEquals("Failed to issue credential due to an internal error", exception.getMessage());
     }
 
+    @Test
+    void Should_VerifyAccessTokenAndProofSignaturesConcurrently_When_UsingIssuanceThreadPool()
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CredentialService concurrentCredentialService =
+                    getConcurrentCredentialService(executor, Duration.ofSeconds(5));
+            CountDownLatch bothVerificationsStarted = new CountDownLatch(2);
+            doAnswer(
+                            invocation -> {
+                                awaitLatch(bothVerificationsStarted);
+                                return null;
+                            })
+                    .when(mockAccessTokenService)
+                    .verifyAccessTokenSignature(eq(mockAccessToken), any());
+            when(mockProofJwtService.verifyProofJwtSignature(eq(mockProofJwt), any()))
+                    .thenAnswer(
+                            invocation -> {
+                                awaitLatch(bothVerificationsStarted);
+                                return mockProofJwtData;
+                            });
+            DocumentStoreRecord mockDocument = getMockSocialSecurityDocument();
+            when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
+                    .thenReturn(mockCachedCredentialOffer);
+            when(mockDocumentStoreClient.getDocument(ITEM_ID)).thenReturn(mockDocument);
+            CredentialHandler mockHandler = mock(CredentialHandler.class, CALLS_REAL_METHODS);
+            when(mockCredentialHandlerRegistry.getHandler(SOCIAL_SECURITY_VC_TYPE))
+                    .thenReturn(mockHandler);
+            when(mockHandler.buildCredential(mockDocument, mockProofJwtData, Optional.empty()))
+                    .thenReturn(CREDENTIAL);
+
+            StreamingCredentialResponse result =
+                    concurrentCredentialService.getStreamingCredential(
+                            mockAccessToken, mockProofJwt);
+
+            assertEquals(CREDENTIAL, readCredential(result));
+            verify(mockDynamoDbService).redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong());
+            verify(mockDynamoDbService).saveStoredCredential(any());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void Should_ReportAccessTokenFailureFirst_When_AccessTokenAndProofSignaturesAreBothInvalid()
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CredentialService concurrentCredentialService =
+                    getConcurrentCredentialService(executor, Duration.ofSeconds(5));
+            doAnswer(
+                            invocation -> {
+                                Thread.sleep(100);
+                                throw new AccessTokenValidationException("Invalid access token");
+                            })
+                    .when(mockAccessTokenService)
+                    .verifyAccessTokenSignature(eq(mockAccessToken), any());
+            when(mockProofJwtService.verifyProofJwtSignature(eq(mockProofJwt), any()))
+                    .thenThrow(new ProofJwtValidationException("Invalid proof"));
+
+            AccessTokenValidationException exception =
+                    assertThrows(
+                            AccessTokenValidationException.class,
+                            () ->
+                                    concurrentCredentialService.getStreamingCredential(
+                                            mockAccessToken, mockProofJwt));
+            assertEquals("Invalid access token", exception.getMessage());
+            verify(mockDynamoDbService, never()).redeemCredentialOffer(any(), anyLong());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void Should_ThrowCredentialServiceException_When_IssuanceDeadlineIsExceeded()
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CredentialService concurrentCredentialService =
+                    getConcurrentCredentialService(executor, Duration.ofMillis(50));
+            doAnswer(
+                            invocation -> {
+                                Thread.sleep(5000);
+                                return null;
+                            })
+                    .when(mockAccessTokenService)
+                    .verifyAccessTokenSignature(eq(mockAccessToken), any());
+
+            CredentialServiceException exception =
+                    assertThrows(
+                            CredentialServiceException.class,
+                            () ->
+                                    concurrentCredentialService.getStreamingCredential(
+                                            mockAccessToken, mockProofJwt));
+            assertThat(exception.getMessage(), containsString("did not complete within"));
+            assertEquals(TimeoutException.class, exception.getCause().getClass());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void Should_RestoreCredentialOffer_When_DeadlineIsExceededWhileDocumentIsFetched()
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CredentialService concurrentCredentialService =
+                    getConcurrentCredentialService(executor, Duration.ofMillis(50));
+            CountDownLatch requestAbandoned = new CountDownLatch(1);
+            DocumentStoreRecord mockDocument = getMockSocialSecurityDocument();
+            when(mockDynamoDbService.redeemCredentialOffer(eq(CREDENTIAL_IDENTIFIER), anyLong()))
+                    .thenReturn(mockCachedCredentialOffer);
+            when(mockDocumentStoreClient.getDocument(ITEM_ID))
+                    .thenAnswer(
+                            invocation -> {
+                                assertTrue(requestAbandoned.await(5, TimeUnit.SECONDS));
+                                return mockDocument;
+                            });
+
+            assertThrows(
+                    CredentialServiceException.class,
+                    () ->
+                            concurrentCredentialService.getStreamingCredential(
+                                    mockAccessToken, mockProofJwt));
+            verify(mockDynamoDbService, never()).saveCredentialOffer(any());
+            requestAbandoned.countDown();
+
+            verify(mockDynamoDbService, timeout(5000))
+                    .saveCredentialOffer(mockCachedCredentialOffer);
+            verify(mockDynamoDbService, never()).saveStoredCredential(any());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CredentialService getConcurrentCredentialService(
+            ExecutorService executor, Duration deadline) {
+        return new CredentialService(
+                mockDynamoDbService,
+                mockAccessTokenService,
+                mockProofJwtService,
+                mockDocumentStoreClient,
+                mockCredentialHandlerRegistry,
+                mockExpiryCalculator,
+                mockStatusListClient,
+                executor,
+                deadline);
+    }
+
+    private static String readCredential(StreamingCredentialResponse response) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.write(outputStream);
+        return new ObjectMapper()
+                .readTree(outputStream.toByteArray())
+                .at("/credentials/0/credential")
+                .textValue();
+    }
+
+    private static void awaitLatch(CountDownLatch latch) throws InterruptedException {
+        latch.countDown();
+        if (!latch.await(2, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Verification steps did not run concurrently");
+        }
+    }
+
     private CachedCredentialOffer getMockCredentialOfferCacheItem(
             String walletSubjectId, Instant expiry) {
         return new CachedCredentialOffer(
@@ -470,10 +767,11 @@ class CredentialServiceTest {
     }
 
     private ProofJwtService.ProofJwtData getMockProofJwtData(String nonce) {
-        return new ProofJwtService.ProofJwtData(
-                "did:key:MFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAEaUItVYrAvVK+1efrBvWDXtmapkl1PHqXUHytuK5/F7lfIXprXHD9zIdAinRrWSFeh28OJJzoSH1zqzOJ+ZhFOA==",
-                nonce,
-                mockEcPublicKey);
+        return new ProofJwtService.ProofJwtData(DID_KEY, nonce, mockEcPublicKey);
+    }
+
+    private ProofJwtService.ProofJwtClaims getMockProofJwtClaims(String nonce) {
+        return new ProofJwtService.ProofJwtClaims(DID_KEY, nonce);
     }
 
     public static DocumentStoreRecord getMockSocialSecurityDocument() {
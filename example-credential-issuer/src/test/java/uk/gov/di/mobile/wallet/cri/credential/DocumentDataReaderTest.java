@@ -0,0 +1,74 @@
+package uk.gov.di.mobile.wallet.cri.credential;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import org.junit.jupiter.api.Test;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.simple_mdoc.SimpleDocument;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DocumentDataReaderTest {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final DocumentDataReader<SimpleDocument> reader =
+            DocumentDataReader.forType(SimpleDocument.class);
+
+    @Test
+    void Should_ReadTypedDocument_When_DataIsValid() throws IOException {
+        SimpleDocument document = read(getDocumentData("2", "base64EncodedPortraitString"));
+
+        assertEquals("Doe", document.getFamilyName());
+        assertEquals(LocalDate.of(1985, Month.MAY, 24), document.getBirthDate());
+        assertEquals(2, document.getNumberOfFishingRods());
+    }
+
+    @Test
+    void Should_DecodePortrait_When_Base64IsUnpadded() throws IOException {
+        byte[] portrait = {1, 2, 3, 4};
+        String unpaddedPortrait = Base64.getEncoder().withoutPadding().encodeToString(portrait);
+
+        SimpleDocument document = read(getDocumentData("2", unpaddedPortrait));
+
+        assertArrayEquals(portrait, document.getPortrait());
+    }
+
+    @Test
+    void Should_ThrowInvalidFormatException_When_DataDoesNotMatchDocumentType() {
+        String data = getDocumentData("\"two\"", "base64EncodedPortraitString");
+
+        assertThrows(InvalidFormatException.class, () -> read(data));
+    }
+
+    private SimpleDocument read(String data) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(data)) {
+            return reader.read(parser);
+        }
+    }
+
+    private static String getDocumentData(String numberOfFishingRods, String portrait) {
+        return """
+                {
+                    "family_name": "Doe",
+                    "given_name": "John",
+                    "portrait": "%s",
+                    "birth_date": "24-05-1985",
+                    "issue_date": "10-01-2020",
+                    "expiry_date": "09-01-2030",
+                    "issuing_country": "GB",
+                    "document_number": "AB123456",
+                    "type_of_fish": "Salmon",
+                    "number_of_fishing_rods": %s
+                }
+                """
+                .formatted(portrait, numberOfFishingRods);
+    }
+}
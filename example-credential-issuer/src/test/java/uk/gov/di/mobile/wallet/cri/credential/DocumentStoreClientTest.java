@@ -1,5 +1,6 @@
 package uk.gov.di.mobile.wallet.cri.credential;
 
+import jakarta.ws.rs.ProcessingException;
 import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.Invocation;
 import jakarta.ws.rs.client.WebTarget;
@@ -83,4 +84,22 @@ class DocumentStoreClientTest {
 
         assertThrows(DocumentStoreException.class, () -> documentStoreClient.getDocument(ITEM_ID));
     }
+
+    @Test
+    void Should_ThrowDocumentStoreException_When_DocumentCannotBeRead() {
+        when(mockConfigurationService.getCredentialStoreUrl()).thenReturn(documentBuilderUrl);
+        when(mockConfigurationService.getDocumentEndpoint()).thenReturn(DOCUMENT_PATH);
+        when(mockHttpClient.target(any(URI.class))).thenReturn(mockWebTarget);
+        when(mockWebTarget.request(MediaType.APPLICATION_JSON)).thenReturn(mockInvocationBuilder);
+        when(mockInvocationBuilder.get()).thenReturn(mockResponse);
+        when(mockResponse.getStatus()).thenReturn(200);
+        when(mockResponse.readEntity(DocumentStoreRecord.class))
+                .thenThrow(new ProcessingException("portrait is required"));
+
+        DocumentStoreException exception =
+                assertThrows(
+                        DocumentStoreException.class,
+                        () -> documentStoreClient.getDocument(ITEM_ID));
+        assertEquals("Failed to read document: " + ITEM_ID, exception.getMessage());
+    }
 }
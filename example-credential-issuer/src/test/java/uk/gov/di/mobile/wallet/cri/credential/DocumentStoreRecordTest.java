@@ -1,18 +1,42 @@
 package uk.gov.di.mobile.wallet.cri.credential;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.mobile_driving_licence.DrivingLicenceDocument;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.simple_mdoc.SimpleDocument;
 
+import java.util.Base64;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class DocumentStoreRecordTest {
 
+    private static final byte[] PORTRAIT = {1, 2, 3, 4};
+    private static final String SIMPLE_DOCUMENT_DATA =
+            """
+            {
+                "family_name": "Doe",
+                "given_name": "John",
+                "portrait": "%s",
+                "birth_date": "24-05-1985",
+                "issue_date": "10-01-2020",
+                "expiry_date": "09-01-2030",
+                "issuing_country": "GB",
+                "document_number": "AB123456",
+                "type_of_fish": "Salmon",
+                "number_of_fishing_rods": 2
+            }
+            """
+                    .formatted(Base64.getEncoder().encodeToString(PORTRAIT));
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
@@ -33,7 +57,7 @@ class DocumentStoreRecordTest {
 
         assertEquals("123", documentStoreRecord.getItemId());
         assertEquals("456", documentStoreRecord.getDocumentId());
-        assertEquals("value", documentStoreRecord.getData().get("key"));
+        assertEquals(Map.of("key", "value"), documentStoreRecord.getDocument());
         assertEquals("ExampleCredentialType", documentStoreRecord.getVcType());
         assertEquals(60, documentStoreRecord.getCredentialTtlSeconds());
     }
@@ -77,6 +101,80 @@ class DocumentStoreRecordTest {
         assertEquals(Optional.empty(), documentStoreRecord.getExpectedUpdateSeconds());
     }
 
+    @Test
+    void Should_ReadTypedDocument_When_CredentialTypeIsKnown() throws Exception {
+        String json =
+                """
+                {
+                    "itemId": "123",
+                    "documentId": "456",
+                    "vcType": "uk.gov.account.wallet-onboarding.example-credential-issuer.simplemdoc.1",
+                    "data": %s,
+                    "credentialTtlSeconds": 60
+                }
+                """
+                        .formatted(SIMPLE_DOCUMENT_DATA);
+
+        DocumentStoreRecord documentStoreRecord =
+                objectMapper.readValue(json, DocumentStoreRecord.class);
+
+        SimpleDocument document = documentStoreRecord.getDocument(SimpleDocument.class);
+        assertEquals("Doe", document.getFamilyName());
+        assertArrayEquals(PORTRAIT, document.getPortrait());
+    }
+
+    @Test
+    void Should_ReadTypedDocument_When_DataPrecedesCredentialType() throws Exception {
+        String json =
+                """
+                {
+                    "itemId": "123",
+                    "documentId": "456",
+                    "data": %s,
+                    "vcType": "uk.gov.account.wallet-onboarding.example-credential-issuer.simplemdoc.1",
+                    "credentialTtlSeconds": 60
+                }
+                """
+                        .formatted(SIMPLE_DOCUMENT_DATA);
+
+        DocumentStoreRecord documentStoreRecord =
+                objectMapper.readValue(json, DocumentStoreRecord.class);
+
+        SimpleDocument document = documentStoreRecord.getDocument(SimpleDocument.class);
+        assertEquals("Doe", document.getFamilyName());
+        assertArrayEquals(PORTRAIT, document.getPortrait());
+    }
+
+    @Test
+    void Should_ThrowException_When_DataDoesNotMatchDocumentType() {
+        String json =
+                """
+                {
+                    "itemId": "123",
+                    "documentId": "456",
+                    "vcType": "uk.gov.account.wallet-onboarding.example-credential-issuer.simplemdoc.1",
+                    "data": {"family_name": "Doe"},
+                    "credentialTtlSeconds": 60
+                }
+                """;
+
+        assertThrows(
+                JsonMappingException.class,
+                () -> objectMapper.readValue(json, DocumentStoreRecord.class));
+    }
+
+    @Test
+    void Should_ThrowIllegalArgumentException_When_DocumentIsNotOfRequestedType() {
+        DocumentStoreRecord documentStoreRecord =
+                new DocumentStoreRecord("123", "456", Map.of(), "ExampleCredentialType", 60, null);
+
+        IllegalArgumentException exception =
+                assertThrows(
+                        IllegalArgumentException.class,
+                        () -> documentStoreRecord.getDocument(DrivingLicenceDocument.class));
+        assertEquals("Document 456 is not a DrivingLicenceDocument", exception.getMessage());
+    }
+
     @ParameterizedTest
     @ValueSource(
             strings = {
@@ -0,0 +1,76 @@
+package uk.gov.di.mobile.wallet.cri.credential;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.mobile_driving_licence.DrivingLicenceDocument;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.simple_mdoc.SimpleDocument;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RefreshCredentialTemplatesTest {
+
+    private static RefreshCredentialTemplates templates;
+
+    @BeforeAll
+    static void setUp() {
+        templates = RefreshCredentialTemplates.load();
+    }
+
+    @ParameterizedTest
+    @EnumSource(CredentialType.class)
+    void Should_ReturnTypedDocument_When_TemplateExists(CredentialType credentialType) {
+        DocumentStoreRecord document = templates.getDocument(credentialType.getType());
+
+        assertEquals(credentialType.getType(), document.getVcType());
+        assertInstanceOf(credentialType.getDocumentType(), document.getDocument());
+    }
+
+    @Test
+    void Should_ReturnSameDocument_When_TemplateHasNoDocumentNumberPlaceholder() {
+        String vcType = CredentialType.SOCIAL_SECURITY_CREDENTIAL.getType();
+
+        assertSame(templates.getDocument(vcType), templates.getDocument(vcType));
+    }
+
+    @Test
+    void Should_ReturnUniqueDocumentNumber_When_DrivingLicenceIsRefreshed() {
+        String vcType = CredentialType.MOBILE_DRIVING_LICENCE.getType();
+
+        DrivingLicenceDocument first =
+                templates.getDocument(vcType).getDocument(DrivingLicenceDocument.class);
+        DrivingLicenceDocument second =
+                templates.getDocument(vcType).getDocument(DrivingLicenceDocument.class);
+
+        assertTrue(first.getDocumentNumber().startsWith("RFH"));
+        assertNotEquals(first.getDocumentNumber(), second.getDocumentNumber());
+        assertEquals(first.getFamilyName(), second.getFamilyName());
+        assertSame(first.getPortrait(), second.getPortrait());
+    }
+
+    @Test
+    void Should_ReturnUniqueDocumentNumber_When_SimpleDocumentIsRefreshed() {
+        String vcType = CredentialType.SIMPLE_MDOC.getType();
+
+        SimpleDocument first = templates.getDocument(vcType).getDocument(SimpleDocument.class);
+        SimpleDocument second = templates.getDocument(vcType).getDocument(SimpleDocument.class);
+
+        assertTrue(first.getDocumentNumber().startsWith("RFH"));
+        assertNotEquals(first.getDocumentNumber(), second.getDocumentNumber());
+    }
+
+    @Test
+    void Should_ThrowIllegalArgumentException_When_CredentialConfigurationIsUnknown() {
+        IllegalArgumentException exception =
+                assertThrows(
+                        IllegalArgumentException.class,
+                        () -> templates.getDocument("NonExistentCredential"));
+        assertEquals("Unknown credential type: NonExistentCredential", exception.getMessage());
+    }
+}
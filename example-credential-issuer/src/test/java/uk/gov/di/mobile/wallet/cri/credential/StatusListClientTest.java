@@ -16,6 +16,7 @@ import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
 import java.net.URI;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -108,6 +109,75 @@ class StatusListClientTest {
         }
     }
 
+    @Nested
+    class ReserveIndicesTests {
+
+        private static final int COUNT = 2;
+
+        @Test
+        void shouldReturnReservedIndicesOnSuccess() throws Exception {
+            when(tokenBuilder.buildIssueBatchToken(CREDENTIAL_EXPIRY, COUNT))
+                    .thenReturn(MOCK_TOKEN);
+            when(configurationService.getStatusListUrl()).thenReturn(BASE_URL);
+            String expectedUrl = BASE_URL + "/issue/batch";
+            when(httpClient.target(expectedUrl)).thenReturn(webTarget);
+            when(webTarget.request(MediaType.APPLICATION_JSON)).thenReturn(requestBuilder);
+            when(requestBuilder.post(Entity.entity(MOCK_TOKEN, "application/jwt")))
+                    .thenReturn(response);
+            when(response.getStatus()).thenReturn(Response.Status.OK.getStatusCode());
+            List<StatusListClient.StatusListInformation> expectedIndices =
+                    List.of(
+                            new StatusListClient.StatusListInformation(INDEX, STATUS_LIST_URI),
+                            new StatusListClient.StatusListInformation(INDEX + 1, STATUS_LIST_URI));
+            when(response.readEntity(StatusListClient.IndexReservations.class))
+                    .thenReturn(new StatusListClient.IndexReservations(expectedIndices));
+
+            List<StatusListClient.StatusListInformation> result =
+                    statusListClient.reserveIndices(CREDENTIAL_EXPIRY, COUNT);
+
+            assertEquals(expectedIndices, result);
+            verify(tokenBuilder).buildIssueBatchToken(CREDENTIAL_EXPIRY, COUNT);
+            verify(httpClient).target(expectedUrl);
+            verify(requestBuilder).post(Entity.entity(MOCK_TOKEN, "application/jwt"));
+        }
+
+        @Test
+        void shouldThrowExceptionOnNon200Response() throws Exception {
+            when(tokenBuilder.buildIssueBatchToken(CREDENTIAL_EXPIRY, COUNT))
+                    .thenReturn(MOCK_TOKEN);
+            when(configurationService.getStatusListUrl()).thenReturn(BASE_URL);
+            when(httpClient.target(anyString())).thenReturn(webTarget);
+            when(webTarget.request(MediaType.APPLICATION_JSON)).thenReturn(requestBuilder);
+            when(requestBuilder.post(any())).thenReturn(response);
+            when(response.getStatus()).thenReturn(500);
+
+            StatusListClientException exception =
+                    assertThrows(
+                            StatusListClientException.class,
+                            () -> statusListClient.reserveIndices(CREDENTIAL_EXPIRY, COUNT));
+            assertEquals(
+                    "Request to reserve credential indices failed with status code 500",
+                    exception.getMessage());
+        }
+
+        @Test
+        void shouldThrowStatusListClientExceptionOnSigningException() throws Exception {
+            SigningException signingException =
+                    new SigningException("Signing error", new RuntimeException());
+            when(tokenBuilder.buildIssueBatchToken(CREDENTIAL_EXPIRY, COUNT))
+                    .thenThrow(signingException);
+
+            StatusListClientException exception =
+                    assertThrows(
+                            StatusListClientException.class,
+                            () -> statusListClient.reserveIndices(CREDENTIAL_EXPIRY, COUNT));
+
+            assertEquals("Failed to reserve credential indices", exception.getMessage());
+            assertEquals(SigningException.class, exception.getCause().getClass());
+            verifyNoInteractions(httpClient);
+        }
+    }
+
     @Nested
     class RevokeCredentialTests {
 
@@ -0,0 +1,158 @@
+package uk.gov.di.mobile.wallet.cri.credential;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatusListIndexPoolTest {
+
+    private static final Clock CLOCK =
+            Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final Duration BUCKET_WINDOW = Duration.ofHours(1);
+    private static final long CREDENTIAL_EXPIRY = 1767225601L;
+    private static final long BUCKET_END = 1767229200L;
+    private static final String STATUS_LIST_URI = "https://status-list.test.com/t/12345";
+    private static final StatusListClient.StatusListInformation DIRECT_INDEX =
+            new StatusListClient.StatusListInformation(0, STATUS_LIST_URI);
+    private static final List<StatusListClient.StatusListInformation> RESERVED_INDICES =
+            List.of(
+                    new StatusListClient.StatusListInformation(1, STATUS_LIST_URI),
+                    new StatusListClient.StatusListInformation(2, STATUS_LIST_URI),
+                    new StatusListClient.StatusListInformation(3, STATUS_LIST_URI));
+
+    @Mock private StatusListClient statusListClient;
+    private MetricRegistry metricRegistry;
+    private StatusListIndexPool statusListIndexPool;
+
+    @BeforeEach
+    void setUp() {
+        metricRegistry = new MetricRegistry();
+        statusListIndexPool =
+                new StatusListIndexPool(
+                        statusListClient,
+                        BUCKET_WINDOW,
+                        1,
+                        3,
+                        Runnable::run,
+                        CLOCK,
+                        metricRegistry);
+    }
+
+    @Test
+    void Should_RequestIndexDirectlyAndRefill_When_BucketIsEmpty() throws Exception {
+        when(statusListClient.reserveIndices(BUCKET_END, 3)).thenReturn(RESERVED_INDICES);
+        when(statusListClient.getIndex(CREDENTIAL_EXPIRY)).thenReturn(DIRECT_INDEX);
+
+        assertEquals(DIRECT_INDEX, statusListIndexPool.getIndex(CREDENTIAL_EXPIRY));
+
+        verify(statusListClient).reserveIndices(BUCKET_END, 3);
+        assertEquals(1, metricRegistry.counter("status-list.index-pool.misses").getCount());
+    }
+
+    @Test
+    void Should_ReturnReservedIndex_When_BucketHasBeenRefilled() throws Exception {
+        when(statusListClient.reserveIndices(BUCKET_END, 3)).thenReturn(RESERVED_INDICES);
+        when(statusListClient.getIndex(CREDENTIAL_EXPIRY)).thenReturn(DIRECT_INDEX);
+        statusListIndexPool.getIndex(CREDENTIAL_EXPIRY);
+
+        assertEquals(RESERVED_INDICES.get(0), statusListIndexPool.getIndex(CREDENTIAL_EXPIRY));
+        assertEquals(RESERVED_INDICES.get(1), statusListIndexPool.getIndex(CREDENTIAL_EXPIRY + 1));
+
+        verify(statusListClient).getIndex(CREDENTIAL_EXPIRY);
+        assertEquals(2, metricRegistry.counter("status-list.index-pool.hits").getCount());
+    }
+
+    @Test
+    void Should_UseSeparateBuckets_When_ExpiriesFallInDifferentWindows() throws Exception {
+        long nextBucketEnd = BUCKET_END + BUCKET_WINDOW.toSeconds();
+        when(statusListClient.reserveIndices(anyLong(), anyInt())).thenReturn(RESERVED_INDICES);
+        when(statusListClient.getIndex(anyLong())).thenReturn(DIRECT_INDEX);
+
+        statusListIndexPool.getIndex(BUCKET_END);
+        statusListIndexPool.getIndex(BUCKET_END + 1);
+
+        verify(statusListClient).reserveIndices(BUCKET_END, 3);
+        verify(statusListClient).reserveIndices(nextBucketEnd, 3);
+    }
+
+    @Test
+    void Should_RequestIndexDirectly_When_RefillFails() throws Exception {
+        when(statusListClient.reserveIndices(BUCKET_END, 3))
+                .thenThrow(new StatusListClientException("Status list unavailable"));
+        when(statusListClient.getIndex(CREDENTIAL_EXPIRY)).thenReturn(DIRECT_INDEX);
+
+        assertEquals(DIRECT_INDEX, statusListIndexPool.getIndex(CREDENTIAL_EXPIRY));
+        assertEquals(DIRECT_INDEX, statusListIndexPool.getIndex(CREDENTIAL_EXPIRY));
+
+        assertEquals(
+                2, metricRegistry.counter("status-list.index-pool.refill-failures").getCount());
+    }
+
+    @Test
+    void Should_DiscardReservationsAndRequestIndicesDirectly_When_Stopped() throws Exception {
+        when(statusListClient.reserveIndices(BUCKET_END, 3)).thenReturn(RESERVED_INDICES);
+        when(statusListClient.getIndex(CREDENTIAL_EXPIRY)).thenReturn(DIRECT_INDEX);
+        statusListIndexPool.getIndex(CREDENTIAL_EXPIRY);
+
+        statusListIndexPool.stop();
+
+        assertEquals(DIRECT_INDEX, statusListIndexPool.getIndex(CREDENTIAL_EXPIRY));
+        verify(statusListClient, times(2)).getIndex(CREDENTIAL_EXPIRY);
+        verify(statusListClient).reserveIndices(anyLong(), anyInt());
+        assertEquals(3, metricRegistry.counter("status-list.index-pool.discarded").getCount());
+    }
+
+    @Test
+    void Should_NotRefill_When_RefillExecutorRejectsTask() throws Exception {
+        statusListIndexPool =
+                new StatusListIndexPool(
+                        statusListClient,
+                        BUCKET_WINDOW,
+                        1,
+                        3,
+                        task -> {
+                            throw new RejectedExecutionException();
+                        },
+                        CLOCK,
+                        metricRegistry);
+        when(statusListClient.getIndex(CREDENTIAL_EXPIRY)).thenReturn(DIRECT_INDEX);
+
+        assertEquals(DIRECT_INDEX, statusListIndexPool.getIndex(CREDENTIAL_EXPIRY));
+        verify(statusListClient, never()).reserveIndices(anyLong(), anyInt());
+    }
+
+    @Test
+    void Should_ThrowIllegalArgumentException_When_LowWaterMarkIsNotBelowHighWaterMark() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        new StatusListIndexPool(
+                                statusListClient,
+                                BUCKET_WINDOW,
+                                3,
+                                3,
+                                Runnable::run,
+                                CLOCK,
+                                metricRegistry));
+    }
+}
@@ -18,11 +18,14 @@ import software.amazon.awssdk.services.kms.model.SignResponse;
 import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 import uk.gov.di.mobile.wallet.cri.services.signing.KeyProvider;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyMetadata;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyPool;
 
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -59,11 +62,16 @@ class StatusListRequestTokenBuilderTest {
 
     @BeforeEach
     void setUp() throws JOSEException {
-        builder = new StatusListRequestTokenBuilder(configurationService, keyProvider, FIXED_CLOCK);
+        builder =
+                new StatusListRequestTokenBuilder(
+                        configurationService,
+                        keyProvider,
+                        new SigningKeyPool(List.of(KEY_ALIAS)),
+                        FIXED_CLOCK);
 
-        when(configurationService.getSigningKeyAlias()).thenReturn(KEY_ALIAS);
         when(configurationService.getStatusListClientId()).thenReturn(CLIENT_ID);
-        when(keyProvider.getKeyId(KEY_ALIAS)).thenReturn(KEY_ID);
+        when(keyProvider.getKeyMetadata(KEY_ALIAS))
+                .thenReturn(SigningKeyMetadata.of(KEY_ID, true));
         byte[] signatureToDER = ECDSA.transcodeSignatureToDER(TEST_SIGNATURE.decode());
         when(keyProvider.sign(any()))
                 .thenReturn(
@@ -119,12 +127,39 @@ class StatusListRequestTokenBuilderTest {
         @Test
         void shouldPropagateExceptionThrownWhenGettingKeyId() {
             Mockito.reset(keyProvider);
-            when(keyProvider.getKeyId(KEY_ALIAS)).thenThrow(new RuntimeException("Key not found"));
+            when(keyProvider.getKeyMetadata(KEY_ALIAS))
+                    .thenThrow(new RuntimeException("Key not found"));
 
             assertThrows(RuntimeException.class, () -> builder.buildIssueToken(CREDENTIAL_EXPIRY));
         }
     }
 
+    @Nested
+    class BuildIssueBatchTokenTests {
+
+        @Test
+        void shouldBuildValidIssueBatchToken() throws Exception {
+            String result = builder.buildIssueBatchToken(CREDENTIAL_EXPIRY, 100);
+
+            SignedJWT parsedToken = SignedJWT.parse(result);
+
+            JWSHeader header = parsedToken.getHeader();
+            assertEquals(KEY_ID_HASH, header.getKeyID());
+            assertEquals("ES256", header.getAlgorithm().toString());
+
+            Set<String> expectedClaims = Set.of("iss", "iat", "statusExpiry", "count", "jti");
+            JWTClaimsSet claimSet = parsedToken.getJWTClaimsSet();
+            assertEquals(expectedClaims, claimSet.getClaims().keySet());
+            assertEquals(CLIENT_ID, claimSet.getIssuer());
+            assertEquals(Date.from(FIXED_INSTANT), claimSet.getIssueTime());
+            assertDoesNotThrow(() -> UUID.fromString(claimSet.getJWTID()));
+            assertEquals(CREDENTIAL_EXPIRY, claimSet.getLongClaim("statusExpiry"));
+            assertEquals(100, claimSet.getIntegerClaim("count"));
+
+            assertEquals(TEST_SIGNATURE, parsedToken.getSignature());
+        }
+    }
+
     @Nested
     class BuildRevokeTokenTests {
 
@@ -173,7 +208,8 @@ class StatusListRequestTokenBuilderTest {
         @Test
         void shouldPropagateExceptionThrownWhenGettingKeyId() {
             Mockito.reset(keyProvider);
-            when(keyProvider.getKeyId(KEY_ALIAS)).thenThrow(new RuntimeException("Key not found"));
+            when(keyProvider.getKeyMetadata(KEY_ALIAS))
+                    .thenThrow(new RuntimeException("Key not found"));
 
             assertThrows(
                     RuntimeException.class,
@@ -25,6 +25,8 @@ import uk.gov.di.mobile.wallet.cri.credential.jwt.social_security_credential.Soc
 import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 import uk.gov.di.mobile.wallet.cri.services.signing.KmsService;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyMetadata;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyPool;
 
 import java.net.URI;
 import java.text.ParseException;
@@ -36,6 +38,8 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -76,16 +80,20 @@ class CredentialBuilderTest {
 
     @BeforeEach
     void setUp() throws JsonProcessingException {
+        SigningKeyPool signingKeyPool = new SigningKeyPool(List.of("mock-signing-key-alias"));
         Clock nowClock = Clock.fixed(fixedInstant, ZoneId.systemDefault());
         credentialBuilderSocialSecurity =
-                new CredentialBuilder<>(configurationService, kmsService, nowClock);
+                new CredentialBuilder<>(
+                        configurationService, kmsService, signingKeyPool, nowClock);
         credentialBuilderBasicCheck =
-                new CredentialBuilder<>(configurationService, kmsService, nowClock);
+                new CredentialBuilder<>(
+                        configurationService, kmsService, signingKeyPool, nowClock);
         credentialBuilderVeteranCard =
-                new CredentialBuilder<>(configurationService, kmsService, nowClock);
-        when(configurationService.getSigningKeyAlias()).thenReturn("mock-signing-key-alias");
+                new CredentialBuilder<>(
+                        configurationService, kmsService, signingKeyPool, nowClock);
         when(configurationService.getSelfUrl()).thenReturn(URI.create(EXAMPLE_CREDENTIAL_ISSUER));
-        when(kmsService.getKeyId(any(String.class))).thenReturn(KMS_KEY_ID);
+        when(kmsService.getKeyMetadata(any(String.class)))
+                .thenReturn(SigningKeyMetadata.of(KMS_KEY_ID, true));
         socialSecurityCredentialSubject =
                 objectMapper.readValue(
                         "{\"id\":\"did:key:MFkwEwYHKoZIzj0CAQYIKoZIzj0DAQcDQgAEaUItVYrAvVK+1efrBvWDXtmapkl1PHqXUHytuK5/F7lfIXprXHD9zIdAinRrWSFeh28OJJzoSH1zqzOJ+ZhFOA==\",\"name\":[{\"nameParts\":[{\"type\":\"Title\",\"value\":\"Miss\"},{\"type\":\"GivenName\",\"value\":\"Sarah\"},{\"type\":\"GivenName\",\"value\":\"Elizabeth\"},{\"type\":\"FamilyName\",\"value\":\"Edwards\"},{\"type\":\"FamilyName\",\"value\":\"Green\"}]}],\"socialSecurityRecord\":[{\"personalNumber\":\"QQ123456C\"}]}",
@@ -139,6 +147,47 @@ class CredentialBuilderTest {
         assertThat(exception.getMessage(), containsString("Error signing token"));
     }
 
+    @Test
+    void Should_Return_Credential_When_Signing_Asynchronously() throws Exception {
+        SignResponse mockSignResponse = getMockKmsSignResponse();
+        when(kmsService.signAsync(any(SignRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(mockSignResponse));
+
+        SignedJWT credential =
+                SignedJWT.parse(
+                        credentialBuilderSocialSecurity
+                                .buildCredentialAsync(
+                                        socialSecurityCredentialSubject,
+                                        CredentialType.SOCIAL_SECURITY_CREDENTIAL,
+                                        2592000,
+                                        Optional.empty())
+                                .get());
+
+        assertThat(credential.getHeader().getKeyID(), equalTo(DID_KEY_ID));
+        assertThat(credential.getJWTClaimsSet().getSubject(), equalTo(DID_KEY));
+        assertThat(credential.getState(), equalTo(JWSObject.State.SIGNED));
+        verify(kmsService, never()).sign(any(SignRequest.class));
+    }
+
+    @Test
+    void Should_Fail_With_SigningException_When_Async_Signing_Fails() {
+        when(kmsService.signAsync(any(SignRequest.class)))
+                .thenReturn(
+                        CompletableFuture.failedFuture(
+                                DisabledException.builder().message("Key is disabled").build()));
+
+        CompletableFuture<String> credential =
+                credentialBuilderSocialSecurity.buildCredentialAsync(
+                        socialSecurityCredentialSubject,
+                        CredentialType.SOCIAL_SECURITY_CREDENTIAL,
+                        1,
+                        Optional.empty());
+
+        ExecutionException exception = assertThrows(ExecutionException.class, credential::get);
+        assertThat(exception.getCause(), instanceOf(SigningException.class));
+        assertThat(exception.getCause().getMessage(), containsString("Error signing token"));
+    }
+
     @Test
     void Should_Return_Social_Security_Credential()
             throws SigningException, JOSEException, ParseException {
@@ -1,6 +1,5 @@
 package uk.gov.di.mobile.wallet.cri.credential.jwt.basic_check_credential;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -14,15 +13,12 @@ import uk.gov.di.mobile.wallet.cri.credential.jwt.CredentialSubjectMapper;
 import uk.gov.di.mobile.wallet.cri.credential.proof.ProofJwtService;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -47,8 +43,7 @@ class BasicCheckCredentialHandlerTest {
 
     @Test
     void Should_ReturnBasicCheckCredential() throws SigningException {
-        Map<String, Object> documentData = new HashMap<>();
-        when(mockDocument.getData()).thenReturn(documentData);
+        when(mockDocument.getDocument(BasicCheckDocument.class)).thenReturn(mockBasicCheckDocument);
         when(mockProofData.didKey()).thenReturn(DID_KEY);
         when(mockDocument.getCredentialTtlSeconds()).thenReturn(TTL_SECONDS);
         when(mockCredentialBuilder.buildCredential(
@@ -57,10 +52,6 @@ class BasicCheckCredentialHandlerTest {
                         eq(TTL_SECONDS)))
                 .thenReturn(EXPECTED_CREDENTIAL);
         BasicCheckCredentialHandler spyHandler = spy(handler);
-        ObjectMapper mockMapper = mock(ObjectMapper.class);
-        when(mockMapper.convertValue((documentData), BasicCheckDocument.class))
-                .thenReturn(mockBasicCheckDocument);
-        setMapperField(spyHandler, mockMapper);
         try (MockedStatic<CredentialSubjectMapper> mockedMapper =
                 mockStatic(CredentialSubjectMapper.class)) {
             mockedMapper
@@ -84,8 +75,7 @@ class BasicCheckCredentialHandlerTest {
     @Test
     void Should_PropagateException_When_CredentialBuilderThrowsSigningException()
             throws SigningException {
-        Map<String, Object> documentData = new HashMap<>();
-        when(mockDocument.getData()).thenReturn(documentData);
+        when(mockDocument.getDocument(BasicCheckDocument.class)).thenReturn(mockBasicCheckDocument);
         when(mockProofData.didKey()).thenReturn(DID_KEY);
         when(mockDocument.getCredentialTtlSeconds()).thenReturn(TTL_SECONDS);
         SigningException signingException =
@@ -96,10 +86,6 @@ class BasicCheckCredentialHandlerTest {
                         eq(TTL_SECONDS)))
                 .thenThrow(signingException);
         BasicCheckCredentialHandler spyHandler = spy(handler);
-        ObjectMapper mockMapper = mock(ObjectMapper.class);
-        when(mockMapper.convertValue(documentData, BasicCheckDocument.class))
-                .thenReturn(mockBasicCheckDocument);
-        setMapperField(spyHandler, mockMapper);
         try (MockedStatic<CredentialSubjectMapper> mockedMapper =
                 mockStatic(CredentialSubjectMapper.class)) {
             mockedMapper
@@ -118,14 +104,4 @@ class BasicCheckCredentialHandlerTest {
             assertEquals("Some signing error", thrown.getMessage());
         }
     }
-
-    private void setMapperField(BasicCheckCredentialHandler handler, ObjectMapper mapper) {
-        try {
-            var mapperField = BasicCheckCredentialHandler.class.getDeclaredField("mapper");
-            mapperField.setAccessible(true);
-            mapperField.set(handler, mapper);
-        } catch (Exception exception) {
-            throw new RuntimeException("Failed to inject mocked ObjectMapper", exception);
-        }
-    }
 }
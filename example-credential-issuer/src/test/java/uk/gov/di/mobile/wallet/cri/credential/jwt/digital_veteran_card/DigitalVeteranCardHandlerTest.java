@@ -1,6 +1,5 @@
 package uk.gov.di.mobile.wallet.cri.credential.jwt.digital_veteran_card;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -14,15 +13,12 @@ import uk.gov.di.mobile.wallet.cri.credential.jwt.CredentialSubjectMapper;
 import uk.gov.di.mobile.wallet.cri.credential.proof.ProofJwtService;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -47,8 +43,8 @@ class DigitalVeteranCardHandlerTest {
 
     @Test
     void Should_ReturnDigitalVeteranCard() throws SigningException {
-        Map<String, Object> documentData = new HashMap<>();
-        when(mockDocument.getData()).thenReturn(documentData);
+        when(mockDocument.getDocument(VeteranCardDocument.class))
+                .thenReturn(mockVeteranCardDocument);
         when(mockProofData.didKey()).thenReturn(DID_KEY);
         when(mockDocument.getCredentialTtlSeconds()).thenReturn(TTL_SECONDS);
         when(mockDocument.getExpectedUpdateSeconds()).thenReturn(Optional.empty());
@@ -59,10 +55,6 @@ class DigitalVeteranCardHandlerTest {
                         eq(Optional.empty())))
                 .thenReturn(EXPECTED_CREDENTIAL);
         DigitalVeteranCardHandler spyHandler = spy(handler);
-        ObjectMapper mockMapper = mock(ObjectMapper.class);
-        when(mockMapper.convertValue(documentData, VeteranCardDocument.class))
-                .thenReturn(mockVeteranCardDocument);
-        setMapperField(spyHandler, mockMapper);
         try (MockedStatic<CredentialSubjectMapper> mockedMapper =
                 mockStatic(CredentialSubjectMapper.class)) {
             mockedMapper
@@ -89,8 +81,8 @@ class DigitalVeteranCardHandlerTest {
     @Test
     void Should_PropagateException_When_CredentialBuilderThrowsSigningException()
             throws SigningException {
-        Map<String, Object> documentData = new HashMap<>();
-        when(mockDocument.getData()).thenReturn(documentData);
+        when(mockDocument.getDocument(VeteranCardDocument.class))
+                .thenReturn(mockVeteranCardDocument);
         when(mockProofData.didKey()).thenReturn(DID_KEY);
         when(mockDocument.getCredentialTtlSeconds()).thenReturn(TTL_SECONDS);
         when(mockDocument.getExpectedUpdateSeconds()).thenReturn(Optional.empty());
@@ -103,10 +95,6 @@ class DigitalVeteranCardHandlerTest {
                         eq(Optional.empty())))
                 .thenThrow(signingException);
         DigitalVeteranCardHandler spyHandler = spy(handler);
-        ObjectMapper mockMapper = mock(ObjectMapper.class);
-        when(mockMapper.convertValue(documentData, VeteranCardDocument.class))
-                .thenReturn(mockVeteranCardDocument);
-        setMapperField(spyHandler, mockMapper);
         try (MockedStatic<CredentialSubjectMapper> mockedMapper =
                 mockStatic(CredentialSubjectMapper.class)) {
             mockedMapper
@@ -125,14 +113,4 @@ class DigitalVeteranCardHandlerTest {
             assertEquals("Some signing error", thrown.getMessage());
         }
     }
-
-    private void setMapperField(DigitalVeteranCardHandler handler, ObjectMapper mapper) {
-        try {
-            var mapperField = DigitalVeteranCardHandler.class.getDeclaredField("mapper");
-            mapperField.setAccessible(true);
-            mapperField.set(handler, mapper);
-        } catch (Exception exception) {
-            throw new RuntimeException("Failed to inject mocked ObjectMapper", exception);
-        }
-    }
 }
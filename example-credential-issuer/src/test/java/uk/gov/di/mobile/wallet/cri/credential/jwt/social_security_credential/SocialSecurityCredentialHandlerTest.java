@@ -1,6 +1,5 @@
 package uk.gov.di.mobile.wallet.cri.credential.jwt.social_security_credential;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -14,15 +13,12 @@ import uk.gov.di.mobile.wallet.cri.credential.jwt.CredentialSubjectMapper;
 import uk.gov.di.mobile.wallet.cri.credential.proof.ProofJwtService;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -47,8 +43,8 @@ class SocialSecurityCredentialHandlerTest {
 
     @Test
     void Should_ReturnSocialSecurityCredential() throws SigningException {
-        Map<String, Object> documentData = new HashMap<>();
-        when(mockDocument.getData()).thenReturn(documentData);
+        when(mockDocument.getDocument(SocialSecurityDocument.class))
+                .thenReturn(mockSocialSecurityDocument);
         when(mockProofData.didKey()).thenReturn(DID_KEY);
         when(mockDocument.getCredentialTtlSeconds()).thenReturn(TTL_SECONDS);
         when(mockCredentialBuilder.buildCredential(
@@ -57,10 +53,6 @@ class SocialSecurityCredentialHandlerTest {
                         eq(TTL_SECONDS)))
                 .thenReturn(EXPECTED_CREDENTIAL);
         SocialSecurityCredentialHandler spyHandler = spy(handler);
-        ObjectMapper mockMapper = mock(ObjectMapper.class);
-        when(mockMapper.convertValue(documentData, SocialSecurityDocument.class))
-                .thenReturn(mockSocialSecurityDocument);
-        setMapperField(spyHandler, mockMapper);
         try (MockedStatic<CredentialSubjectMapper> mockedMapper =
                 mockStatic(CredentialSubjectMapper.class)) {
             mockedMapper
@@ -84,8 +76,8 @@ class SocialSecurityCredentialHandlerTest {
     @Test
     void Should_PropagateException_When_CredentialBuilderThrowsSigningException()
             throws SigningException {
-        Map<String, Object> documentData = new HashMap<>();
-        when(mockDocument.getData()).thenReturn(documentData);
+        when(mockDocument.getDocument(SocialSecurityDocument.class))
+                .thenReturn(mockSocialSecurityDocument);
         when(mockProofData.didKey()).thenReturn(DID_KEY);
         when(mockDocument.getCredentialTtlSeconds()).thenReturn(TTL_SECONDS);
         SigningException signingException =
@@ -96,10 +88,6 @@ class SocialSecurityCredentialHandlerTest {
                         eq(TTL_SECONDS)))
                 .thenThrow(signingException);
         SocialSecurityCredentialHandler spyHandler = spy(handler);
-        ObjectMapper mockMapper = mock(ObjectMapper.class);
-        when(mockMapper.convertValue(documentData, SocialSecurityDocument.class))
-                .thenReturn(mockSocialSecurityDocument);
-        setMapperField(spyHandler, mockMapper);
         try (MockedStatic<CredentialSubjectMapper> mockedMapper =
                 mockStatic(CredentialSubjectMapper.class)) {
             mockedMapper
@@ -118,14 +106,4 @@ class SocialSecurityCredentialHandlerTest {
             assertEquals("Some signing error", thrown.getMessage());
         }
     }
-
-    private void setMapperField(SocialSecurityCredentialHandler handler, ObjectMapper mapper) {
-        try {
-            var mapperField = SocialSecurityCredentialHandler.class.getDeclaredField("mapper");
-            mapperField.setAccessible(true);
-            mapperField.set(handler, mapper);
-        } catch (Exception exception) {
-            throw new RuntimeException("Failed to inject mocked ObjectMapper", exception);
-        }
-    }
 }
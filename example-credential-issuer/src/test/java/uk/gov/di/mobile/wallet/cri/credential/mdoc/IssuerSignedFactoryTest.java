@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 import uk.gov.di.mobile.wallet.cri.credential.CredentialType;
 import uk.gov.di.mobile.wallet.cri.credential.StatusListClient;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor.CBOREncoder;
@@ -15,7 +16,6 @@ import uk.gov.di.mobile.wallet.cri.services.object_storage.ObjectStoreException;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
 import java.security.cert.CertificateException;
-import java.security.cert.X509Certificate;
 import java.security.interfaces.ECPublicKey;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -26,6 +26,8 @@ import java.util.Optional;
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -39,7 +41,6 @@ class IssuerSignedFactoryTest {
     @Mock private CertificateProvider mockCertificateProvider;
     @Mock private Namespaces mockNamespaces;
     @Mock private MobileSecurityObject mockMobileSecurityObject;
-    @Mock private X509Certificate mockCertificate;
     @Mock private COSESign1 mockCoseSign1;
     @Mock private ECPublicKey mockEcPublicKey;
     @Mock private IssuerSignedItem mockIssuerSignedItem1;
@@ -47,6 +48,10 @@ class IssuerSignedFactoryTest {
 
     private IssuerSignedFactory issuerSignedFactory;
 
+    private static final byte[] ENCODED_CERTIFICATE = "certificate-der".getBytes();
+    private static final EncodedNamespaces EMPTY_ENCODED_NAMESPACES =
+            new EncodedNamespaces(Map.of());
+
     private static final String KMS_KEY_ARN =
             "arn:aws:kms:eu-west-2:111122223333:key/1234abcd-12ab-34cd-56ef-1234567890ab";
     private static final String CERTIFICATE_ID = "1234abcd-12ab-34cd-56ef-1234567890ab";
@@ -64,8 +69,7 @@ class IssuerSignedFactoryTest {
                         mockMobileSecurityObjectFactory,
                         mockCborEncoder,
                         mockCoseSigner,
-                        mockCertificateProvider,
-                        KMS_KEY_ARN);
+                        mockCertificateProvider);
     }
 
     @Test
@@ -80,8 +84,25 @@ class IssuerSignedFactoryTest {
         namespacesMap.put("namespace2", List.of(mockIssuerSignedItem1));
 
         when(mockNamespaces.namespaces()).thenReturn(namespacesMap);
+        byte[] encodedItem1 = "encoded-item-1".getBytes();
+        byte[] encodedItem2 = "encoded-item-2".getBytes();
+        when(mockIssuerSignedItem1.digestId()).thenReturn(1);
+        when(mockIssuerSignedItem2.digestId()).thenReturn(2);
+        when(mockCborEncoder.encodeIssuerSignedItem(mockIssuerSignedItem1))
+                .thenReturn(encodedItem1);
+        when(mockCborEncoder.encodeIssuerSignedItem(mockIssuerSignedItem2))
+                .thenReturn(encodedItem2);
+        EncodedNamespaces encodedNamespaces =
+                new EncodedNamespaces(
+                        Map.of(
+                                "namespace1",
+                                List.of(
+                                        new EncodedIssuerSignedItem(1, encodedItem1),
+                                        new EncodedIssuerSignedItem(2, encodedItem2)),
+                                "namespace2",
+                                List.of(new EncodedIssuerSignedItem(1, encodedItem1))));
         when(mockMobileSecurityObjectFactory.build(
-                        mockNamespaces,
+                        encodedNamespaces,
                         mockEcPublicKey,
                         STATUS_LIST_INFORMATION,
                         CREDENTIAL_TTL_SECONDS,
@@ -89,9 +110,9 @@ class IssuerSignedFactoryTest {
                         DOC_TYPE))
                 .thenReturn(mockMobileSecurityObject);
         when(mockCborEncoder.encode(mockMobileSecurityObject)).thenReturn(msoBytes);
-        when(mockCertificateProvider.getSigningCertificate(CERTIFICATE_ID))
-                .thenReturn(mockCertificate);
-        when(mockCoseSigner.sign(msoBytes, mockCertificate)).thenReturn(mockCoseSign1);
+        when(mockCertificateProvider.getEncodedSigningCertificate(CERTIFICATE_ID))
+                .thenReturn(ENCODED_CERTIFICATE);
+        when(mockCoseSigner.sign(eq(msoBytes), any())).thenAnswer(signWithKey(KMS_KEY_ARN));
 
         // Act
         IssuerSigned result =
@@ -105,17 +126,19 @@ class IssuerSignedFactoryTest {
 
         // Assert
         assertNotNull(result);
+        assertEquals(encodedNamespaces.namespaces(), result.nameSpaces());
+        assertEquals(mockCoseSign1, result.issuerAuth());
         verify(mockMobileSecurityObjectFactory)
                 .build(
-                        mockNamespaces,
+                        encodedNamespaces,
                         mockEcPublicKey,
                         STATUS_LIST_INFORMATION,
                         CREDENTIAL_TTL_SECONDS,
                         NO_EXPECTED_UPDATE,
                         DOC_TYPE);
         verify(mockCborEncoder).encode(mockMobileSecurityObject);
-        verify(mockCertificateProvider).getSigningCertificate(CERTIFICATE_ID);
-        verify(mockCoseSigner).sign(msoBytes, mockCertificate);
+        verify(mockCertificateProvider).getEncodedSigningCertificate(CERTIFICATE_ID);
+        verify(mockCoseSigner).sign(eq(msoBytes), any());
     }
 
     @Test
@@ -123,7 +146,7 @@ class IssuerSignedFactoryTest {
         // Arrange
         MdocException expectedException = new MdocException("MSO creation failed", new Exception());
         when(mockMobileSecurityObjectFactory.build(
-                        mockNamespaces,
+                        EMPTY_ENCODED_NAMESPACES,
                         mockEcPublicKey,
                         STATUS_LIST_INFORMATION,
                         CREDENTIAL_TTL_SECONDS,
@@ -147,7 +170,7 @@ class IssuerSignedFactoryTest {
 
         verify(mockMobileSecurityObjectFactory)
                 .build(
-                        mockNamespaces,
+                        EMPTY_ENCODED_NAMESPACES,
                         mockEcPublicKey,
                         STATUS_LIST_INFORMATION,
                         CREDENTIAL_TTL_SECONDS,
@@ -162,7 +185,7 @@ class IssuerSignedFactoryTest {
         MdocException expectedException =
                 new MdocException("CBOR encoding failed", new Exception());
         when(mockMobileSecurityObjectFactory.build(
-                        mockNamespaces,
+                        EMPTY_ENCODED_NAMESPACES,
                         mockEcPublicKey,
                         STATUS_LIST_INFORMATION,
                         CREDENTIAL_TTL_SECONDS,
@@ -187,7 +210,7 @@ class IssuerSignedFactoryTest {
 
         verify(mockMobileSecurityObjectFactory)
                 .build(
-                        mockNamespaces,
+                        EMPTY_ENCODED_NAMESPACES,
                         mockEcPublicKey,
                         STATUS_LIST_INFORMATION,
                         CREDENTIAL_TTL_SECONDS,
@@ -205,7 +228,7 @@ class IssuerSignedFactoryTest {
         CertificateException expectedException = new CertificateException("Certificate error");
 
         when(mockMobileSecurityObjectFactory.build(
-                        mockNamespaces,
+                        EMPTY_ENCODED_NAMESPACES,
                         mockEcPublicKey,
                         STATUS_LIST_INFORMATION,
                         CREDENTIAL_TTL_SECONDS,
@@ -213,7 +236,8 @@ class IssuerSignedFactoryTest {
                         DOC_TYPE))
                 .thenReturn(mockMobileSecurityObject);
         when(mockCborEncoder.encode(mockMobileSecurityObject)).thenReturn(msoBytes);
-        when(mockCertificateProvider.getSigningCertificate(CERTIFICATE_ID))
+        when(mockCoseSigner.sign(eq(msoBytes), any())).thenAnswer(signWithKey(KMS_KEY_ARN));
+        when(mockCertificateProvider.getEncodedSigningCertificate(CERTIFICATE_ID))
                 .thenThrow(expectedException);
 
         // Act & Assert
@@ -230,8 +254,7 @@ class IssuerSignedFactoryTest {
                                         DOC_TYPE));
         assertEquals("Certificate error", exception.getMessage());
 
-        verify(mockCertificateProvider).getSigningCertificate(CERTIFICATE_ID);
-        verifyNoInteractions(mockCoseSigner);
+        verify(mockCertificateProvider).getEncodedSigningCertificate(CERTIFICATE_ID);
     }
 
     @Test
@@ -243,7 +266,7 @@ class IssuerSignedFactoryTest {
                 new SigningException("Signing failed", new Exception());
 
         when(mockMobileSecurityObjectFactory.build(
-                        mockNamespaces,
+                        EMPTY_ENCODED_NAMESPACES,
                         mockEcPublicKey,
                         STATUS_LIST_INFORMATION,
                         CREDENTIAL_TTL_SECONDS,
@@ -251,9 +274,7 @@ class IssuerSignedFactoryTest {
                         DOC_TYPE))
                 .thenReturn(mockMobileSecurityObject);
         when(mockCborEncoder.encode(mockMobileSecurityObject)).thenReturn(msoBytes);
-        when(mockCertificateProvider.getSigningCertificate(CERTIFICATE_ID))
-                .thenReturn(mockCertificate);
-        when(mockCoseSigner.sign(msoBytes, mockCertificate)).thenThrow(expectedException);
+        when(mockCoseSigner.sign(eq(msoBytes), any())).thenThrow(expectedException);
 
         // Act & Assert
         SigningException exception =
@@ -269,6 +290,16 @@ class IssuerSignedFactoryTest {
                                         DOC_TYPE));
         assertEquals("Signing failed", exception.getMessage());
 
-        verify(mockCoseSigner).sign(msoBytes, mockCertificate);
+        verify(mockCoseSigner).sign(eq(msoBytes), any());
+        verifyNoInteractions(mockCertificateProvider);
+    }
+
+    /** Answers a COSESigner call as if the payload had been signed with the given key. */
+    private Answer<COSESign1> signWithKey(String keyArn) {
+        return invocation -> {
+            COSESigner.CertificateSource certificateSource = invocation.getArgument(1);
+            certificateSource.getEncodedCertificate(keyArn);
+            return mockCoseSign1;
+        };
     }
 }
@@ -26,7 +26,8 @@ class IssuerSignedItemFactoryTest {
         String value = "value";
         when(mockDigestIDGenerator.next()).thenReturn(12345);
 
-        IssuerSignedItem issuerSignedItem = issuerSignedItemFactory.build(identifier, value);
+        IssuerSignedItem issuerSignedItem =
+                issuerSignedItemFactory.build(identifier, value, mockDigestIDGenerator);
 
         assertEquals(
                 identifier,
@@ -43,7 +44,8 @@ class IssuerSignedItemFactoryTest {
         int expectedDigestID = 54321;
         when(mockDigestIDGenerator.next()).thenReturn(expectedDigestID);
 
-        IssuerSignedItem issuerSignedItem = issuerSignedItemFactory.build("identifier", "value");
+        IssuerSignedItem issuerSignedItem =
+                issuerSignedItemFactory.build("identifier", "value", mockDigestIDGenerator);
 
         assertEquals(
                 expectedDigestID,
@@ -54,8 +56,10 @@ class IssuerSignedItemFactoryTest {
 
     @Test
     void Should_CreateItemWithRandomBytes() {
-        IssuerSignedItem issuerSignedItem1 = issuerSignedItemFactory.build("identifier1", "value1");
-        IssuerSignedItem issuerSignedItem2 = issuerSignedItemFactory.build("identifier2", "value2");
+        IssuerSignedItem issuerSignedItem1 =
+                issuerSignedItemFactory.build("identifier1", "value1", mockDigestIDGenerator);
+        IssuerSignedItem issuerSignedItem2 =
+                issuerSignedItemFactory.build("identifier2", "value2", mockDigestIDGenerator);
 
         assertNotNull(issuerSignedItem1.random(), "Random bytes should not be null");
         assertNotNull(issuerSignedItem2.random(), "Random bytes should not be null");
@@ -77,9 +81,12 @@ class IssuerSignedItemFactoryTest {
     void Should_BuildMultipleItemsWithConsecutiveDigestIDs() {
         when(mockDigestIDGenerator.next()).thenReturn(100).thenReturn(101).thenReturn(102);
 
-        IssuerSignedItem issuerSignedItem1 = issuerSignedItemFactory.build("identifier1", "value1");
-        IssuerSignedItem issuerSignedItem2 = issuerSignedItemFactory.build("identifier2", "value2");
-        IssuerSignedItem issuerSignedItem3 = issuerSignedItemFactory.build("identifier3", "value3");
+        IssuerSignedItem issuerSignedItem1 =
+                issuerSignedItemFactory.build("identifier1", "value1", mockDigestIDGenerator);
+        IssuerSignedItem issuerSignedItem2 =
+                issuerSignedItemFactory.build("identifier2", "value2", mockDigestIDGenerator);
+        IssuerSignedItem issuerSignedItem3 =
+                issuerSignedItemFactory.build("identifier3", "value3", mockDigestIDGenerator);
 
         assertEquals(100, issuerSignedItem1.digestId(), "First item should have digestID 100");
         assertEquals(101, issuerSignedItem2.digestId(), "Second item should have digestID 101");
@@ -94,10 +101,14 @@ class IssuerSignedItemFactoryTest {
         Boolean booleanValue = true;
 
         IssuerSignedItem stringItem =
-                issuerSignedItemFactory.build("stringIdentifier", stringValue);
-        IssuerSignedItem intItem = issuerSignedItemFactory.build("integerIdentifier", integerValue);
+                issuerSignedItemFactory.build(
+                        "stringIdentifier", stringValue, mockDigestIDGenerator);
+        IssuerSignedItem intItem =
+                issuerSignedItemFactory.build(
+                        "integerIdentifier", integerValue, mockDigestIDGenerator);
         IssuerSignedItem boolItem =
-                issuerSignedItemFactory.build("booleanIdentifier", booleanValue);
+                issuerSignedItemFactory.build(
+                        "booleanIdentifier", booleanValue, mockDigestIDGenerator);
 
         assertEquals(stringValue, stringItem.elementValue(), "String value should be preserved");
         assertEquals(integerValue, intItem.elementValue(), "Integer value should be preserved");
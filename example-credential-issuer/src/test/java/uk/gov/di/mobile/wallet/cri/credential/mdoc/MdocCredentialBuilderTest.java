@@ -7,18 +7,24 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.di.mobile.wallet.cri.credential.CredentialType;
 import uk.gov.di.mobile.wallet.cri.credential.StatusListClient;
+import uk.gov.di.mobile.wallet.cri.credential.StreamingCredential;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor.CBOREncoder;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.mobile_driving_licence.DrivingLicenceDocument;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.security.interfaces.ECPublicKey;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -93,6 +99,70 @@ class MdocCredentialBuilderTest {
         verify(cborEncoder).encode(issuerSigned);
     }
 
+    @Test
+    void Should_StreamBase64UrlEncodedIssuerSigned_WithoutClosingTheResponse() throws Exception {
+        byte[] mockCborData =
+                new byte[] {0x00, 0x01, 0x02, 0x03, 0x04, 0x05, 0x06, 0x07, 0x08, 0x09};
+        when(namespacesFactory.build(mockDrivingLicenceDocument)).thenReturn(namespaces);
+        when(issuerSignedFactory.buildAsync(
+                        namespaces,
+                        mockEcPublicKey,
+                        STATUS_LIST_INFORMATION,
+                        CREDENTIAL_TTL_SECONDS,
+                        NO_EXPECTED_UPDATE,
+                        DOC_TYPE))
+                .thenReturn(CompletableFuture.completedFuture(issuerSigned));
+        when(cborEncoder.encode(issuerSigned)).thenReturn(mockCborData);
+        ByteArrayOutputStream response = spy(new ByteArrayOutputStream());
+
+        StreamingCredential credential =
+                mdocCredentialBuilder
+                        .buildStreamingCredentialAsync(
+                                mockDrivingLicenceDocument,
+                                mockEcPublicKey,
+                                STATUS_LIST_INFORMATION,
+                                CREDENTIAL_TTL_SECONDS,
+                                NO_EXPECTED_UPDATE)
+                        .get();
+        // Encoding happens while the credential is built, before it is written
+        verify(cborEncoder).encode(issuerSigned);
+        credential.writeTo(response);
+
+        assertEquals("AAECAwQFBgcICQ", response.toString(StandardCharsets.UTF_8));
+        verify(response, never()).close();
+    }
+
+    @Test
+    void Should_FailStreamingCredential_When_EncodingIssuerSignedFails() {
+        MdocException expectedException =
+                new MdocException("Failed to CBOR encode data", new RuntimeException());
+        when(namespacesFactory.build(mockDrivingLicenceDocument)).thenReturn(namespaces);
+        when(issuerSignedFactory.buildAsync(
+                        namespaces,
+                        mockEcPublicKey,
+                        STATUS_LIST_INFORMATION,
+                        CREDENTIAL_TTL_SECONDS,
+                        NO_EXPECTED_UPDATE,
+                        DOC_TYPE))
+                .thenReturn(CompletableFuture.completedFuture(issuerSigned));
+        when(cborEncoder.encode(issuerSigned)).thenThrow(expectedException);
+
+        ExecutionException exception =
+                assertThrows(
+                        ExecutionException.class,
+                        () ->
+                                mdocCredentialBuilder
+                                        .buildStreamingCredentialAsync(
+                                                mockDrivingLicenceDocument,
+                                                mockEcPublicKey,
+                                                STATUS_LIST_INFORMATION,
+                                                CREDENTIAL_TTL_SECONDS,
+                                                NO_EXPECTED_UPDATE)
+                                        .get());
+
+        assertEquals(expectedException, exception.getCause());
+    }
+
     @Test
     void Should_PropagateMDLException_When_NamespacesFactoryThrows() throws Exception {
         MdocException expectedException =
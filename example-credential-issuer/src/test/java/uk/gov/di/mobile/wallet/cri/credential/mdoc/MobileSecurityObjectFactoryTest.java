@@ -52,7 +52,7 @@ class MobileSecurityObjectFactoryTest {
 
     @Test
     void Should_ConstructMobileSecurityObject_With_ExpectedFields() throws MdocException {
-        Namespaces namespaces = getTestNamespaces();
+        EncodedNamespaces namespaces = getTestNamespaces();
         ValueDigests valueDigests = getTestValueDigests();
         when(valueDigestsFactory.createFromNamespaces(namespaces)).thenReturn(valueDigests);
         when(valueDigestsFactory.getDigestAlgorithm()).thenReturn(DIGEST_ALGORITHM);
@@ -90,7 +90,7 @@ class MobileSecurityObjectFactoryTest {
 
     @Test
     void Should_CallValueDigestsFactory_With_Namespaces() throws MdocException {
-        Namespaces namespaces = getTestNamespaces();
+        EncodedNamespaces namespaces = getTestNamespaces();
         when(valueDigestsFactory.createFromNamespaces(namespaces))
                 .thenReturn(getTestValueDigests());
         when(validityInfoFactory.build(anyLong(), any())).thenReturn(getTestValidityInfo());
@@ -110,7 +110,7 @@ class MobileSecurityObjectFactoryTest {
     @Test
     void Should_UseProvidedCredentialTtl_When_BuildingValidityInfo() throws MdocException {
         long ttl = 5000L;
-        Namespaces namespaces = getTestNamespaces();
+        EncodedNamespaces namespaces = getTestNamespaces();
         when(valueDigestsFactory.createFromNamespaces(namespaces))
                 .thenReturn(getTestValueDigests());
         when(validityInfoFactory.build(ttl, Optional.empty())).thenReturn(getTestValidityInfo());
@@ -124,7 +124,7 @@ class MobileSecurityObjectFactoryTest {
 
     @Test
     void Should_ConvertPublicKey_Via_CoseKeyFactory() throws MdocException {
-        Namespaces namespaces = getTestNamespaces();
+        EncodedNamespaces namespaces = getTestNamespaces();
         when(valueDigestsFactory.createFromNamespaces(namespaces))
                 .thenReturn(getTestValueDigests());
         when(validityInfoFactory.build(anyLong(), any())).thenReturn(getTestValidityInfo());
@@ -141,13 +141,13 @@ class MobileSecurityObjectFactoryTest {
         verify(coseKeyFactory).fromECPublicKey(publicKey);
     }
 
-    private Namespaces getTestNamespaces() {
-        Map<String, List<IssuerSignedItem>> map = new HashMap<>();
+    private EncodedNamespaces getTestNamespaces() {
+        Map<String, List<EncodedIssuerSignedItem>> map = new HashMap<>();
         for (String name : NAMESPACE_NAMES) {
-            IssuerSignedItem item = new IssuerSignedItem(5, new byte[] {1, 2, 3}, "ID", "Test");
+            EncodedIssuerSignedItem item = new EncodedIssuerSignedItem(5, new byte[] {1, 2, 3});
             map.put(name, List.of(item));
         }
-        return new Namespaces(map);
+        return new EncodedNamespaces(map);
     }
 
     private ValueDigests getTestValueDigests() {
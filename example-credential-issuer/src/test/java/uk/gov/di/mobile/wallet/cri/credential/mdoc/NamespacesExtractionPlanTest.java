@@ -0,0 +1,57 @@
+package uk.gov.di.mobile.wallet.cri.credential.mdoc;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.constants.NamespaceTypes;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.mobile_driving_licence.DrivingLicenceDocument;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NamespacesExtractionPlanTest {
+
+    @Test
+    void Should_ReturnSamePlan_When_RequestedAgainForSameClass() {
+        NamespacesExtractionPlan plan =
+                NamespacesExtractionPlan.forClass(DrivingLicenceDocument.class);
+
+        assertSame(plan, NamespacesExtractionPlan.forClass(DrivingLicenceDocument.class));
+    }
+
+    @Test
+    void Should_OrderNamespacesAndElements_ByDeclaration() {
+        NamespacesExtractionPlan plan =
+                NamespacesExtractionPlan.forClass(DrivingLicenceDocument.class);
+
+        List<String> namespaceNames =
+                plan.namespaces().stream()
+                        .map(NamespacesExtractionPlan.NamespacePlan::namespace)
+                        .toList();
+        assertEquals(List.of(NamespaceTypes.ISO, NamespaceTypes.GB), namespaceNames);
+        List<String> gbElements =
+                plan.namespaces().get(1).elements().stream()
+                        .map(NamespacesExtractionPlan.ElementPlan::elementIdentifier)
+                        .toList();
+        assertEquals(
+                List.of("title", "welsh_licence", "provisional_driving_privileges"), gbElements);
+    }
+
+    @Test
+    void Should_MarkOnlyOptionalFieldsForUnwrapping() {
+        NamespacesExtractionPlan plan =
+                NamespacesExtractionPlan.forClass(DrivingLicenceDocument.class);
+
+        for (NamespacesExtractionPlan.NamespacePlan namespacePlan : plan.namespaces()) {
+            for (NamespacesExtractionPlan.ElementPlan element : namespacePlan.elements()) {
+                if (element.elementIdentifier().equals("provisional_driving_privileges")) {
+                    assertTrue(element.optional());
+                } else {
+                    assertFalse(element.optional());
+                }
+            }
+        }
+    }
+}
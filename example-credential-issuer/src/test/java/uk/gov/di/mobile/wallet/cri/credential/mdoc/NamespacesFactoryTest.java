@@ -11,10 +11,19 @@ import uk.gov.di.mobile.wallet.cri.credential.mdoc.mobile_driving_licence.Drivin
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.mobile_driving_licence.DrivingPrivilege;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -47,7 +56,9 @@ class NamespacesFactoryTest {
     void Should_BuildISOAndUKNamespaces() {
         DrivingLicenceDocument drivingLicenceDocument = createTestDrivingLicenceDocument();
         IssuerSignedItem issuerSignedItem = mock(IssuerSignedItem.class);
-        when(mockIssuerSignedItemFactory.build(anyString(), any())).thenReturn(issuerSignedItem);
+        when(mockIssuerSignedItemFactory.build(
+                        anyString(), any(), any(DigestIDGenerator.class)))
+                .thenReturn(issuerSignedItem);
 
         Namespaces result = namespacesFactory.build(drivingLicenceDocument);
 
@@ -71,7 +82,9 @@ class NamespacesFactoryTest {
     void Should_BuildIssuerSignedItemsForEachFieldInDrivingLicence_ISONamespace()
             throws MdocException {
         IssuerSignedItem issuerSignedItem = mock(IssuerSignedItem.class);
-        when(mockIssuerSignedItemFactory.build(anyString(), any())).thenReturn(issuerSignedItem);
+        when(mockIssuerSignedItemFactory.build(
+                        anyString(), any(), any(DigestIDGenerator.class)))
+                .thenReturn(issuerSignedItem);
         DrivingLicenceDocument drivingLicenceDocument = createTestDrivingLicenceDocument();
 
         Namespaces result = namespacesFactory.build(drivingLicenceDocument);
@@ -81,25 +94,60 @@ class NamespacesFactoryTest {
                 18,
                 isoNamespace.size(),
                 "Should create one IssuerSignedItem per ISO namespace attribute");
-        verify(mockIssuerSignedItemFactory).build("family_name", "Doe");
-        verify(mockIssuerSignedItemFactory).build("given_name", "John");
-        verify(mockIssuerSignedItemFactory)
-                .build("portrait", Base64.getDecoder().decode("base64EncodedPortraitString"));
-        verify(mockIssuerSignedItemFactory).build("birth_date", LocalDate.parse("1985-05-24"));
-        verify(mockIssuerSignedItemFactory).build("birth_place", "London");
-        verify(mockIssuerSignedItemFactory).build("issue_date", LocalDate.parse("2020-01-10"));
-        verify(mockIssuerSignedItemFactory).build("expiry_date", LocalDate.parse("2025-01-09"));
-        verify(mockIssuerSignedItemFactory).build("issuing_authority", "DVLA");
-        verify(mockIssuerSignedItemFactory).build("issuing_country", "GB");
-        verify(mockIssuerSignedItemFactory).build("document_number", "HALL9655293DH5RO");
-        verify(mockIssuerSignedItemFactory).build("resident_address", "123 Main St, Apt 4B");
-        verify(mockIssuerSignedItemFactory).build("resident_postal_code", "SW1A 2AA");
-        verify(mockIssuerSignedItemFactory).build("resident_city", "London");
-        verify(mockIssuerSignedItemFactory).build("driving_privileges", DRIVING_PRIVILEGES);
-        verify(mockIssuerSignedItemFactory).build("un_distinguishing_sign", "UK");
-        verify(mockIssuerSignedItemFactory).build("age_over_18", true);
-        verify(mockIssuerSignedItemFactory).build("age_over_21", true);
-        verify(mockIssuerSignedItemFactory).build("age_over_25", true);
+        verify(mockIssuerSignedItemFactory)
+                .build(eq("family_name"), eq("Doe"), any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(eq("given_name"), eq("John"), any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(
+                        eq("portrait"),
+                        eq(Base64.getDecoder().decode("base64EncodedPortraitString")),
+                        any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(
+                        eq("birth_date"),
+                        eq(LocalDate.parse("1985-05-24")),
+                        any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(eq("birth_place"), eq("London"), any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(
+                        eq("issue_date"),
+                        eq(LocalDate.parse("2020-01-10")),
+                        any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(
+                        eq("expiry_date"),
+                        eq(LocalDate.parse("2025-01-09")),
+                        any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(eq("issuing_authority"), eq("DVLA"), any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(eq("issuing_country"), eq("GB"), any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(eq("document_number"), eq("HALL9655293DH5RO"), any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(
+                        eq("resident_address"),
+                        eq("123 Main St, Apt 4B"),
+                        any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(eq("resident_postal_code"), eq("SW1A 2AA"), any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(eq("resident_city"), eq("London"), any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(
+                        eq("driving_privileges"),
+                        eq(DRIVING_PRIVILEGES),
+                        any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(eq("un_distinguishing_sign"), eq("UK"), any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(eq("age_over_18"), eq(true), any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(eq("age_over_21"), eq(true), any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(eq("age_over_25"), eq(true), any(DigestIDGenerator.class));
     }
 
     /**
@@ -110,7 +158,9 @@ class NamespacesFactoryTest {
     void Should_BuildIssuerSignedItemsForEachFieldInDrivingLicence_GBNamespace()
             throws MdocException {
         IssuerSignedItem issuerSignedItem = mock(IssuerSignedItem.class);
-        when(mockIssuerSignedItemFactory.build(anyString(), any())).thenReturn(issuerSignedItem);
+        when(mockIssuerSignedItemFactory.build(
+                        anyString(), any(), any(DigestIDGenerator.class)))
+                .thenReturn(issuerSignedItem);
         DrivingLicenceDocument drivingLicenceDocument =
                 createTestDrivingLicenceDocument(DRIVING_PRIVILEGES);
 
@@ -121,10 +171,15 @@ class NamespacesFactoryTest {
                 3,
                 gbNamespace.size(),
                 "Should create one IssuerSignedItem per UK namespace attribute");
-        verify(mockIssuerSignedItemFactory).build("title", "Miss");
-        verify(mockIssuerSignedItemFactory).build("welsh_licence", false);
         verify(mockIssuerSignedItemFactory)
-                .build("provisional_driving_privileges", DRIVING_PRIVILEGES);
+                .build(eq("title"), eq("Miss"), any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(eq("welsh_licence"), eq(false), any(DigestIDGenerator.class));
+        verify(mockIssuerSignedItemFactory)
+                .build(
+                        eq("provisional_driving_privileges"),
+                        eq(DRIVING_PRIVILEGES),
+                        any(DigestIDGenerator.class));
     }
 
     /**
@@ -136,7 +191,9 @@ class NamespacesFactoryTest {
             throws MdocException {
         DrivingLicenceDocument drivingLicenceDocument = createTestDrivingLicenceDocument(null);
         IssuerSignedItem issuerSignedItem = mock(IssuerSignedItem.class);
-        when(mockIssuerSignedItemFactory.build(anyString(), any())).thenReturn(issuerSignedItem);
+        when(mockIssuerSignedItemFactory.build(
+                        anyString(), any(), any(DigestIDGenerator.class)))
+                .thenReturn(issuerSignedItem);
 
         Namespaces result = namespacesFactory.build(drivingLicenceDocument);
 
@@ -147,7 +204,70 @@ class NamespacesFactoryTest {
                 "Should not create an IssuerSignedItem for provisional driving privileges when null");
 
         verify(mockIssuerSignedItemFactory, never())
-                .build(eq("provisional_driving_privileges"), any());
+                .build(
+                        eq("provisional_driving_privileges"),
+                        any(),
+                        any(DigestIDGenerator.class));
+    }
+
+    /**
+     * Test that digest IDs stay unique and evenly spaced within each credential when many
+     * credentials are built concurrently by one shared factory.
+     */
+    @Test
+    void Should_AllocateDigestIDsPerCredential_When_BuiltConcurrently() throws Exception {
+        NamespacesFactory<DrivingLicenceDocument> sharedFactory =
+                new NamespacesFactory<>(new IssuerSignedItemFactory());
+        DrivingLicenceDocument drivingLicenceDocument = createTestDrivingLicenceDocument();
+        int threads = 16;
+        int credentialsPerThread = 200;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                Callable<Boolean> task =
+                        () -> {
+                            assertTrue(start.await(5, TimeUnit.SECONDS));
+                            for (int i = 0; i < credentialsPerThread; i++) {
+                                Namespaces namespaces = sharedFactory.build(drivingLicenceDocument);
+                                if (!hasEvenlySpacedUniqueDigestIDs(namespaces)) {
+                                    return false;
+                                }
+                            }
+                            return true;
+                        };
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean hasEvenlySpacedUniqueDigestIDs(Namespaces namespaces) {
+        Set<Integer> digestIDs = new HashSet<>();
+        for (List<IssuerSignedItem> items : namespaces.namespaces().values()) {
+            for (IssuerSignedItem item : items) {
+                digestIDs.add(item.digestId());
+            }
+        }
+        if (digestIDs.size() != 21) {
+            return false;
+        }
+        List<Integer> sorted = new ArrayList<>(digestIDs);
+        Collections.sort(sorted);
+        int increment = sorted.get(1) - sorted.get(0);
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i) - sorted.get(i - 1) != increment) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -2,15 +2,32 @@ package uk.gov.di.mobile.wallet.cri.credential.mdoc;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor.CBOREncoder;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor.EmbeddedCBORHeader;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor.JacksonCBOREncoderProvider;
 
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -19,14 +36,12 @@ class ValueDigestsFactoryTest {
 
     @Mock private MessageDigest mockMessageDigest;
 
-    @Mock private CBOREncoder cborEncoder;
-
     /** Verifies that the digest algorithm is returned as expected. */
     @Test
     void Should_ReturnDigestAlgorithm() {
         when(mockMessageDigest.getAlgorithm()).thenReturn("SHA-256-TEST");
 
-        String algorithm = mockMessageDigest.getAlgorithm();
+        String algorithm = new ValueDigestsFactory(() -> mockMessageDigest).getDigestAlgorithm();
 
         assertEquals("SHA-256-TEST", algorithm);
     }
@@ -34,116 +49,167 @@ class ValueDigestsFactoryTest {
     /** Verifies correct digest generation for a single namespace with a single item. */
     @Test
     void Should_AddSingleNameSpaceWithSingleDigest() {
-        IssuerSignedItem issuerSignedItem =
-                new IssuerSignedItem(1, new byte[] {1, 2, 3}, "elementIdentifier", "elementValue");
-        byte[] expectedCbor = "testCbor1".getBytes();
-        when(cborEncoder.encode(issuerSignedItem)).thenReturn(expectedCbor);
+        byte[] encodedItem = "testCbor1".getBytes();
         byte[] expectedDigest = "testDigest1".getBytes();
-        when(mockMessageDigest.digest(expectedCbor)).thenReturn(expectedDigest);
-        Namespaces namespaces = new Namespaces(Map.of("namespace", List.of(issuerSignedItem)));
+        when(mockMessageDigest.digest(encodedItem)).thenReturn(expectedDigest);
+        EncodedNamespaces namespaces =
+                new EncodedNamespaces(
+                        Map.of("namespace", List.of(new EncodedIssuerSignedItem(1, encodedItem))));
+
         ValueDigests result =
-                new ValueDigestsFactory(cborEncoder, mockMessageDigest)
-                        .createFromNamespaces(namespaces);
+                new ValueDigestsFactory(() -> mockMessageDigest).createFromNamespaces(namespaces);
 
         Map<String, Map<Integer, byte[]>> expectedDigests =
                 Map.of("namespace", Map.of(1, expectedDigest));
         assertEquals(expectedDigests, result.valueDigests());
-        verify(cborEncoder).encode(issuerSignedItem);
-        verify(mockMessageDigest).digest(expectedCbor);
+        InOrder inOrder = inOrder(mockMessageDigest);
+        inOrder.verify(mockMessageDigest).update(new byte[] {(byte) 0xd8, 0x18, 0x49});
+        inOrder.verify(mockMessageDigest).digest(encodedItem);
     }
 
     /** Verifies correct digest generation for multiple nameSpaces, each with a single item. */
     @Test
     void Should_AddMultipleNameSpacesWithSingleDigest() {
-        IssuerSignedItem issuerSignedItem1 =
-                new IssuerSignedItem(
-                        1, new byte[] {1, 2, 3}, "elementIdentifier1", "elementValue1");
-        byte[] expectedCbor1 = "testCbor1".getBytes();
-        when(cborEncoder.encode(issuerSignedItem1)).thenReturn(expectedCbor1);
-        IssuerSignedItem issuerSignedItem2 =
-                new IssuerSignedItem(
-                        2, new byte[] {1, 2, 3, 4}, "elementIdentifier2", "elementValue2");
-        byte[] expectedCbor2 = "testCbor2".getBytes();
-        when(cborEncoder.encode(issuerSignedItem2)).thenReturn(expectedCbor2);
+        byte[] encodedItem1 = "testCbor1".getBytes();
+        byte[] encodedItem2 = "testCbor2".getBytes();
         byte[] expectedDigest1 = "testDigest1".getBytes();
-        when(mockMessageDigest.digest(expectedCbor1)).thenReturn(expectedDigest1);
+        when(mockMessageDigest.digest(encodedItem1)).thenReturn(expectedDigest1);
         byte[] expectedDigest2 = "testDigest2".getBytes();
-        when(mockMessageDigest.digest(expectedCbor2)).thenReturn(expectedDigest2);
+        when(mockMessageDigest.digest(encodedItem2)).thenReturn(expectedDigest2);
 
-        Namespaces namespaces =
-                new Namespaces(
+        EncodedNamespaces namespaces =
+                new EncodedNamespaces(
                         Map.of(
                                 "namespace1",
-                                List.of(issuerSignedItem1),
+                                List.of(new EncodedIssuerSignedItem(1, encodedItem1)),
                                 "namespace2",
-                                List.of(issuerSignedItem2)));
+                                List.of(new EncodedIssuerSignedItem(2, encodedItem2))));
         ValueDigests result =
-                new ValueDigestsFactory(cborEncoder, mockMessageDigest)
-                        .createFromNamespaces(namespaces);
+                new ValueDigestsFactory(() -> mockMessageDigest).createFromNamespaces(namespaces);
 
         Map<String, Map<Integer, byte[]>> expectedDigests =
                 Map.of(
-                        "namespace1", Map.of(issuerSignedItem1.digestId(), expectedDigest1),
-                        "namespace2", Map.of(issuerSignedItem2.digestId(), expectedDigest2));
+                        "namespace1", Map.of(1, expectedDigest1),
+                        "namespace2", Map.of(2, expectedDigest2));
         assertEquals(expectedDigests, result.valueDigests());
-        verify(cborEncoder).encode(issuerSignedItem1);
-        verify(cborEncoder).encode(issuerSignedItem2);
-        verify(mockMessageDigest).digest(expectedCbor1);
-        verify(mockMessageDigest).digest(expectedCbor2);
+        verify(mockMessageDigest).digest(encodedItem1);
+        verify(mockMessageDigest).digest(encodedItem2);
     }
 
     /** Verifies correct digest generation for multiple nameSpaces with multiple items. */
     @Test
     void Should_AddMultipleNameSpacesWithMultipleDigests() {
-        IssuerSignedItem issuerSignedItem1 =
-                new IssuerSignedItem(
-                        1, new byte[] {1, 2, 3}, "elementIdentifier1", "elementValue1");
-        byte[] expectedCbor1 = "testCbor1".getBytes();
-        when(cborEncoder.encode(issuerSignedItem1)).thenReturn(expectedCbor1);
-        IssuerSignedItem issuerSignedItem2 =
-                new IssuerSignedItem(
-                        2, new byte[] {1, 2, 3, 4}, "elementIdentifier2", "elementValue2");
-        byte[] expectedCbor2 = "testCbor2".getBytes();
-        when(cborEncoder.encode(issuerSignedItem2)).thenReturn(expectedCbor2);
-        IssuerSignedItem issuerSignedItem3 =
-                new IssuerSignedItem(
-                        3, new byte[] {1, 2, 3, 4, 5}, "elementIdentifier3", "elementValue3");
-        byte[] expectedCbor3 = "testCbor3".getBytes();
-        when(cborEncoder.encode(issuerSignedItem3)).thenReturn(expectedCbor3);
+        byte[] encodedItem1 = "testCbor1".getBytes();
+        byte[] encodedItem2 = "testCbor2".getBytes();
+        byte[] encodedItem3 = "testCbor3".getBytes();
         byte[] expectedDigest1 = "testDigest1".getBytes();
-        when(mockMessageDigest.digest(expectedCbor1)).thenReturn(expectedDigest1);
+        when(mockMessageDigest.digest(encodedItem1)).thenReturn(expectedDigest1);
         byte[] expectedDigest2 = "testDigest2".getBytes();
-        when(mockMessageDigest.digest(expectedCbor2)).thenReturn(expectedDigest2);
+        when(mockMessageDigest.digest(encodedItem2)).thenReturn(expectedDigest2);
         byte[] expectedDigest3 = "testDigest3".getBytes();
-        when(mockMessageDigest.digest(expectedCbor3)).thenReturn(expectedDigest3);
+        when(mockMessageDigest.digest(encodedItem3)).thenReturn(expectedDigest3);
 
-        Namespaces namespaces =
-                new Namespaces(
+        EncodedNamespaces namespaces =
+                new EncodedNamespaces(
                         Map.of(
                                 "namespace1",
-                                List.of(issuerSignedItem1),
+                                List.of(new EncodedIssuerSignedItem(1, encodedItem1)),
                                 "namespace2",
-                                List.of(issuerSignedItem2, issuerSignedItem3)));
+                                List.of(
+                                        new EncodedIssuerSignedItem(2, encodedItem2),
+                                        new EncodedIssuerSignedItem(3, encodedItem3))));
         ValueDigests result =
-                new ValueDigestsFactory(cborEncoder, mockMessageDigest)
-                        .createFromNamespaces(namespaces);
+                new ValueDigestsFactory(() -> mockMessageDigest).createFromNamespaces(namespaces);
 
         Map<String, Map<Integer, byte[]>> expectedDigests =
                 Map.of(
                         "namespace1",
-                        Map.of(issuerSignedItem1.digestId(), expectedDigest1),
+                        Map.of(1, expectedDigest1),
                         "namespace2",
-                        Map.of(
-                                issuerSignedItem2.digestId(),
-                                expectedDigest2,
-                                issuerSignedItem3.digestId(),
-                                expectedDigest3));
+                        Map.of(2, expectedDigest2, 3, expectedDigest3));
         assertEquals(expectedDigests, result.valueDigests());
-        verify(cborEncoder).encode(issuerSignedItem1);
-        verify(cborEncoder).encode(issuerSignedItem2);
-        verify(cborEncoder).encode(issuerSignedItem3);
-        verify(mockMessageDigest).digest(expectedCbor1);
-        verify(mockMessageDigest).digest(expectedCbor2);
-        verify(mockMessageDigest).digest(expectedCbor3);
+        verify(mockMessageDigest).digest(encodedItem1);
+        verify(mockMessageDigest).digest(encodedItem2);
+        verify(mockMessageDigest).digest(encodedItem3);
+    }
+
+    /**
+     * Verifies that digesting the encoded item gives the same result as digesting the item
+     * serialized as embedded CBOR by the configured mapper.
+     */
+    @Test
+    void Should_MatchDigestOfEmbeddedCBORItem() throws Exception {
+        CBOREncoder cborEncoder =
+                new CBOREncoder(JacksonCBOREncoderProvider.configuredCBORMapper());
+        IssuerSignedItem issuerSignedItem =
+                new IssuerSignedItem(
+                        7, new byte[] {1, 2, 3}, "birth_date", LocalDate.parse("1990-01-01"));
+        byte[] encodedItem = cborEncoder.encodeIssuerSignedItem(issuerSignedItem);
+        EncodedNamespaces namespaces =
+                new EncodedNamespaces(
+                        Map.of("namespace", List.of(new EncodedIssuerSignedItem(7, encodedItem))));
+
+        ValueDigests result = new ValueDigestsFactory("SHA-256").createFromNamespaces(namespaces);
+
+        byte[] expectedDigest =
+                MessageDigest.getInstance("SHA-256").digest(cborEncoder.encode(issuerSignedItem));
+        assertArrayEquals(expectedDigest, result.valueDigests().get("namespace").get(7));
+    }
+
+    @Test
+    void Should_ThrowNoSuchAlgorithmException_When_AlgorithmIsUnknown() {
+        assertThrows(NoSuchAlgorithmException.class, () -> new ValueDigestsFactory("SHA-000"));
+    }
+
+    /**
+     * Verifies that digests stay correct when many threads share one factory, as they do when
+     * credentials are built concurrently.
+     */
+    @Test
+    void Should_CalculateCorrectDigests_When_UsedConcurrently() throws Exception {
+        ValueDigestsFactory factory = new ValueDigestsFactory("SHA-256");
+        int threads = 16;
+        int iterations = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                Callable<Boolean> task =
+                        () -> {
+                            assertTrue(start.await(5, TimeUnit.SECONDS));
+                            MessageDigest expected = MessageDigest.getInstance("SHA-256");
+                            for (int i = 0; i < iterations; i++) {
+                                byte[] encodedItem =
+                                        new byte[ThreadLocalRandom.current().nextInt(1, 300)];
+                                ThreadLocalRandom.current().nextBytes(encodedItem);
+                                ValueDigests result =
+                                        factory.createFromNamespaces(
+                                                singleItemNamespace(i, encodedItem));
+
+                                expected.update(EmbeddedCBORHeader.forLength(encodedItem.length));
+                                if (!MessageDigest.isEqual(
+                                        expected.digest(encodedItem),
+                                        result.valueDigests().get("namespace").get(i))) {
+                                    return false;
+                                }
+                            }
+                            return true;
+                        };
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static EncodedNamespaces singleItemNamespace(int digestId, byte[] encodedItem) {
+        return new EncodedNamespaces(
+                Map.of("namespace", List.of(new EncodedIssuerSignedItem(digestId, encodedItem))));
     }
 }
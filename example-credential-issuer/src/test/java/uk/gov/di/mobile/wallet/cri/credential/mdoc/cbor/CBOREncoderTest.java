@@ -3,30 +3,70 @@ package uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor;
 import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import uk.gov.di.mobile.wallet.cri.credential.mdoc.IssuerSigned;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.IssuerSignedItem;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.MdocException;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class CBOREncoderTest {
 
-    @Mock private CBORMapper mockMapper;
+    private final CBORMapper mapper = JacksonCBOREncoderProvider.configuredCBORMapper();
 
     @Test
     void Should_ReturnEncodedBytes() throws IOException, MdocException {
-        IssuerSigned valueToEncode = mock(IssuerSigned.class);
-        byte[] expectedEncodedBytes = {1, 2, 3, 4};
-        when(mockMapper.writeValueAsBytes(valueToEncode)).thenReturn(expectedEncodedBytes);
+        Map<String, Object> valueToEncode = Map.of("docType", "org.iso.18013.5.1.mDL");
 
-        byte[] actualEncodedBytes = new CBOREncoder(mockMapper).encode(valueToEncode);
+        byte[] actualEncodedBytes = new CBOREncoder(mapper).encode(valueToEncode);
 
-        assertArrayEquals(expectedEncodedBytes, actualEncodedBytes);
+        assertArrayEquals(mapper.writeValueAsBytes(valueToEncode), actualEncodedBytes);
+    }
+
+    @Test
+    void Should_ReturnEncodedBytes_When_ReusingBufferAfterLargeEncoding() throws IOException {
+        CBOREncoder cborEncoder = new CBOREncoder(mapper);
+        Map<String, Object> largeValue = Map.of("portrait", new byte[256 * 1024]);
+        Map<String, Object> smallValue = Map.of("given_name", "Sarah");
+
+        byte[] largeEncodedBytes = cborEncoder.encode(largeValue);
+        byte[] smallEncodedBytes = cborEncoder.encode(smallValue);
+
+        assertArrayEquals(mapper.writeValueAsBytes(largeValue), largeEncodedBytes);
+        assertArrayEquals(mapper.writeValueAsBytes(smallValue), smallEncodedBytes);
+    }
+
+    @Test
+    void Should_EncodeSigStructure_AsArrayOfContextProtectedHeaderExternalAadAndPayload()
+            throws IOException {
+        byte[] protectedHeader = {(byte) 0xa1, 0x01, 0x26};
+        byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+
+        byte[] sigStructure = new CBOREncoder(mapper).encodeSigStructure(protectedHeader, payload);
+
+        Object[] expected = {"Signature1", protectedHeader, new byte[0], payload};
+        assertArrayEquals(mapper.writeValueAsBytes(expected), sigStructure);
+    }
+
+    @Test
+    void Should_EncodeIssuerSignedItem_AsContentOfEmbeddedCBOR() throws IOException {
+        CBOREncoder cborEncoder =
+                new CBOREncoder(JacksonCBOREncoderProvider.configuredCBORMapper());
+        IssuerSignedItem issuerSignedItem =
+                new IssuerSignedItem(
+                        4, new byte[] {1, 2, 3}, "issue_date", LocalDate.parse("2025-01-01"));
+
+        byte[] encodedItem = cborEncoder.encodeIssuerSignedItem(issuerSignedItem);
+
+        ByteArrayOutputStream embedded = new ByteArrayOutputStream();
+        embedded.write(EmbeddedCBORHeader.forLength(encodedItem.length));
+        embedded.write(encodedItem);
+        assertArrayEquals(cborEncoder.encode(issuerSignedItem), embedded.toByteArray());
     }
 }
@@ -0,0 +1,31 @@
+package uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class EmbeddedCBORHeaderTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 23, 24, 255, 256, 65535, 65536})
+    void Should_MatchHeaderWrittenByCBORGenerator(int length) throws IOException {
+        byte[] content = new byte[length];
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (CBORGenerator generator = new CBORFactory().createGenerator(outputStream)) {
+            generator.writeTag(24);
+            generator.writeBinary(content);
+        }
+        byte[] written = outputStream.toByteArray();
+
+        byte[] header = EmbeddedCBORHeader.forLength(length);
+
+        assertArrayEquals(Arrays.copyOf(written, written.length - length), header);
+    }
+}
@@ -8,8 +8,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.EncodedIssuerSignedItem;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.IssuerSigned;
-import uk.gov.di.mobile.wallet.cri.credential.mdoc.IssuerSignedItem;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.cose.COSESign1;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.cose.COSEUnprotectedHeader;
 
@@ -32,7 +32,7 @@ class IssuerSignedCBORSerializerTest {
 
     @Test
     void Should_SerializeIssuerSigned_SingleNameSpaceWithMultipleItems() throws IOException {
-        Map<String, List<IssuerSignedItem>> namespaces = new LinkedHashMap<>();
+        Map<String, List<EncodedIssuerSignedItem>> namespaces = new LinkedHashMap<>();
         namespaces.put("namespace1", List.of(buildTestItem(1), buildTestItem(2)));
         COSESign1 issuerAuth = buildTestIssuerAuth();
         IssuerSigned valueToSerialize = new IssuerSigned(namespaces, issuerAuth);
@@ -45,8 +45,10 @@ class IssuerSignedCBORSerializerTest {
         inOrder.verify(cborGenerator).writeStartObject();
         inOrder.verify(cborGenerator).writeFieldName("namespace1");
         inOrder.verify(cborGenerator).writeStartArray();
-        inOrder.verify(cborGenerator).writeObject(namespaces.get("namespace1").get(0));
-        inOrder.verify(cborGenerator).writeObject(namespaces.get("namespace1").get(1));
+        inOrder.verify(cborGenerator).writeTag(24);
+        inOrder.verify(cborGenerator).writeBinary(namespaces.get("namespace1").get(0).encodedItem());
+        inOrder.verify(cborGenerator).writeTag(24);
+        inOrder.verify(cborGenerator).writeBinary(namespaces.get("namespace1").get(1).encodedItem());
         inOrder.verify(cborGenerator).writeEndArray();
         inOrder.verify(cborGenerator).writeEndObject();
         inOrder.verify(cborGenerator).writeFieldName("issuerAuth");
@@ -61,7 +63,7 @@ class IssuerSignedCBORSerializerTest {
 
     @Test
     void Should_SerializeIssuerSignedWithCBORGenerator_MultipleNameSpaces() throws IOException {
-        Map<String, List<IssuerSignedItem>> namespaces = new LinkedHashMap<>();
+        Map<String, List<EncodedIssuerSignedItem>> namespaces = new LinkedHashMap<>();
         namespaces.put("namespace1", List.of(buildTestItem(1)));
         namespaces.put("namespace2", List.of(buildTestItem(1)));
         COSESign1 issuerAuth = buildTestIssuerAuth();
@@ -75,11 +77,13 @@ class IssuerSignedCBORSerializerTest {
         inOrder.verify(cborGenerator).writeStartObject();
         inOrder.verify(cborGenerator).writeFieldName("namespace1");
         inOrder.verify(cborGenerator).writeStartArray();
-        inOrder.verify(cborGenerator).writeObject(namespaces.get("namespace1").get(0));
+        inOrder.verify(cborGenerator).writeTag(24);
+        inOrder.verify(cborGenerator).writeBinary(namespaces.get("namespace1").get(0).encodedItem());
         inOrder.verify(cborGenerator).writeEndArray();
         inOrder.verify(cborGenerator).writeFieldName("namespace2");
         inOrder.verify(cborGenerator).writeStartArray();
-        inOrder.verify(cborGenerator).writeObject(namespaces.get("namespace2").get(0));
+        inOrder.verify(cborGenerator).writeTag(24);
+        inOrder.verify(cborGenerator).writeBinary(namespaces.get("namespace2").get(0).encodedItem());
         inOrder.verify(cborGenerator).writeEndArray();
         inOrder.verify(cborGenerator).writeEndObject();
         inOrder.verify(cborGenerator).writeFieldName("issuerAuth");
@@ -106,8 +110,8 @@ class IssuerSignedCBORSerializerTest {
         assertEquals("Requires CBORGenerator", exception.getMessage());
     }
 
-    private IssuerSignedItem buildTestItem(int id) {
-        return new IssuerSignedItem(id, new byte[] {1, 2}, "elementId", "elementValue");
+    private EncodedIssuerSignedItem buildTestItem(int id) {
+        return new EncodedIssuerSignedItem(id, new byte[] {(byte) 0xa1, 1, (byte) id});
     }
 
     private COSESign1 buildTestIssuerAuth() {
@@ -12,9 +12,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.IssuerSignedItem;
 
 import java.io.IOException;
+import java.util.Arrays;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 
@@ -33,13 +36,20 @@ class IssuerSignedItemCBORSerializerTest {
                         new byte[] {0x01, 0x02, 0x03},
                         "test_element_identifier",
                         "Test Element Value");
+        byte[] expectedBytes =
+                new CBOREncoder(JacksonCBOREncoderProvider.configuredCBORMapper())
+                        .encodeIssuerSignedItem(valueToSerialize);
 
         serializer.serialize(valueToSerialize, cborGenerator, serializerProvider);
 
         InOrder inOrder = inOrder(cborGenerator);
         inOrder.verify(cborGenerator).writeTag(24);
         var bytesCaptor = ArgumentCaptor.forClass(byte[].class);
-        inOrder.verify(cborGenerator).writeBinary(bytesCaptor.capture());
+        var lengthCaptor = ArgumentCaptor.forClass(Integer.class);
+        inOrder.verify(cborGenerator)
+                .writeBinary(bytesCaptor.capture(), eq(0), lengthCaptor.capture());
+        assertArrayEquals(
+                expectedBytes, Arrays.copyOf(bytesCaptor.getValue(), lengthCaptor.getValue()));
     }
 
     @Test
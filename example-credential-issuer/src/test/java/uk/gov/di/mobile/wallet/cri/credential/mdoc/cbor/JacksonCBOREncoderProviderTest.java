@@ -1,20 +1,26 @@
 package uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
 import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.di.mobile.wallet.cri.credential.mdoc.EncodedIssuerSignedItem;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.IssuerSigned;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.IssuerSignedItem;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.cose.COSESign1;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.cose.COSEUnprotectedHeader;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -46,24 +52,92 @@ class JacksonCBOREncoderProviderTest {
         COSESign1 coseSign1 =
                 new COSESign1(
                         protectedHeaderBytes, unprotectedHeader, payloadBytes, signatureBytes);
-        Map<String, List<IssuerSignedItem>> nameSpaces =
+        Map<String, List<EncodedIssuerSignedItem>> nameSpaces =
                 Map.of(
                         "namespace",
-                        List.of(
-                                new IssuerSignedItem(
-                                        1,
-                                        new byte[] {1, 2, 3, 4},
-                                        "test_element_identifier",
-                                        "Test Element Value")));
+                        List.of(new EncodedIssuerSignedItem(1, new byte[] {(byte) 0xa0})));
         IssuerSigned valueToSerialize = new IssuerSigned(nameSpaces, coseSign1);
 
         assertDoesNotThrow(() -> mapper.writeValueAsBytes(valueToSerialize));
     }
 
+    @Test
+    void Should_SerializeIssuerSigned_ByteIdenticalToEmbeddingEachIssuerSignedItem()
+            throws IOException {
+        CBOREncoder cborEncoder = new CBOREncoder(mapper);
+        COSESign1 coseSign1 =
+                new COSESign1(
+                        new byte[] {1, 2, 3, 4},
+                        new COSEUnprotectedHeader(new byte[] {5, 6, 7, 8}),
+                        new byte[] {9, 10},
+                        new byte[] {11, 12});
+        Map<String, List<IssuerSignedItem>> items = new LinkedHashMap<>();
+        items.put(
+                "org.iso.18013.5.1",
+                List.of(
+                        new IssuerSignedItem(3, new byte[] {1, 2}, "family_name", "Doe"),
+                        new IssuerSignedItem(
+                                9,
+                                new byte[32],
+                                "birth_date",
+                                LocalDate.of(1990, Month.JANUARY, 1))));
+        items.put(
+                "org.iso.18013.5.1.GB",
+                List.of(new IssuerSignedItem(0, new byte[] {3}, "welsh_licence", false)));
+        Map<String, List<EncodedIssuerSignedItem>> encodedItems = new LinkedHashMap<>();
+        for (var entry : items.entrySet()) {
+            encodedItems.put(
+                    entry.getKey(),
+                    entry.getValue().stream()
+                            .map(
+                                    item ->
+                                            new EncodedIssuerSignedItem(
+                                                    item.digestId(),
+                                                    cborEncoder.encodeIssuerSignedItem(item)))
+                            .toList());
+        }
+
+        byte[] result = mapper.writeValueAsBytes(new IssuerSigned(encodedItems, coseSign1));
+
+        assertArrayEquals(encodeWithEmbeddedItems(items, coseSign1), result);
+    }
+
     @Test
     void Should_SetDefaultInclusion_ToNonAbsent() {
         var inclusion = mapper.getSerializationConfig().getDefaultPropertyInclusion();
 
         assertEquals(JsonInclude.Include.NON_ABSENT, inclusion.getValueInclusion());
     }
+
+    /**
+     * Encodes the IssuerSigned structure by serializing each {@link IssuerSignedItem} as embedded
+     * CBOR through the configured mapper, as before items were encoded ahead of time.
+     */
+    private static byte[] encodeWithEmbeddedItems(
+            Map<String, List<IssuerSignedItem>> items, COSESign1 issuerAuth) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (CBORGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeFieldName("nameSpaces");
+            generator.writeStartObject();
+            for (var entry : items.entrySet()) {
+                generator.writeFieldName(entry.getKey());
+                generator.writeStartArray();
+                for (IssuerSignedItem item : entry.getValue()) {
+                    generator.writeObject(item);
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+            generator.writeFieldName("issuerAuth");
+            generator.writeStartArray();
+            generator.writeBinary(issuerAuth.protectedHeader());
+            generator.writeObject(issuerAuth.unprotectedHeader());
+            generator.writeBinary(issuerAuth.payload());
+            generator.writeBinary(issuerAuth.signature());
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return outputStream.toByteArray();
+    }
 }
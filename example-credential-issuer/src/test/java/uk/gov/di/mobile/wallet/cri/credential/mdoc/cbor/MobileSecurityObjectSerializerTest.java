@@ -27,6 +27,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.when;
 
@@ -48,7 +50,10 @@ class MobileSecurityObjectSerializerTest {
         InOrder inOrder = inOrder(cborGenerator);
         inOrder.verify(cborGenerator).writeTag(24);
         var bytesCaptor = ArgumentCaptor.forClass(byte[].class);
-        inOrder.verify(cborGenerator).writeBinary(bytesCaptor.capture());
+        var lengthCaptor = ArgumentCaptor.forClass(Integer.class);
+        inOrder.verify(cborGenerator)
+                .writeBinary(bytesCaptor.capture(), eq(0), lengthCaptor.capture());
+        assertTrue(lengthCaptor.getValue() > 0);
     }
 
     private static @NotNull MobileSecurityObject getTestMobileSecurityObject() {
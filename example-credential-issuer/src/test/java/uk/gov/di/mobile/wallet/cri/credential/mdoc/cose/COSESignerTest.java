@@ -6,10 +6,11 @@ import org.bouncycastle.asn1.DERSequence;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.model.KmsException;
 import software.amazon.awssdk.services.kms.model.MessageType;
 import software.amazon.awssdk.services.kms.model.SignRequest;
 import software.amazon.awssdk.services.kms.model.SignResponse;
@@ -18,20 +19,28 @@ import uk.gov.di.mobile.wallet.cri.credential.mdoc.MdocException;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.cbor.CBOREncoder;
 import uk.gov.di.mobile.wallet.cri.services.signing.KeyProvider;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyPool;
 
 import java.math.BigInteger;
+import java.security.MessageDigest;
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.X509Certificate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.argThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -55,20 +64,22 @@ class COSESignerTest {
 
     @BeforeEach
     void setUp() {
-        coseSigner = new COSESigner(cborEncoder, keyProvider, TEST_KEY_ARN);
+        coseSigner =
+                new COSESigner(cborEncoder, keyProvider, new SigningKeyPool(List.of(TEST_KEY_ARN)));
     }
 
     @Test
     void Should_SuccessfullySignPayload() throws Exception {
         // Arrange: Setup mocks for successful signing
         when(certificate.getEncoded()).thenReturn(TEST_CERTIFICATE_ENCODED);
-        when(cborEncoder.encode(any()))
-                .thenReturn(TEST_PROTECTED_HEADER_ENCODED, TEST_SIG_STRUCTURE);
+        when(cborEncoder.encode(any())).thenReturn(TEST_PROTECTED_HEADER_ENCODED);
+        when(cborEncoder.encodeSigStructure(TEST_PROTECTED_HEADER_ENCODED, TEST_PAYLOAD))
+                .thenReturn(TEST_SIG_STRUCTURE);
         when(keyProvider.sign(any(SignRequest.class))).thenReturn(signResponse);
         when(signResponse.signature()).thenReturn(SdkBytes.fromByteArray(TEST_DER_SIGNATURE));
 
         // Act: Execute the sign method
-        COSESign1 result = coseSigner.sign(TEST_PAYLOAD, certificate);
+        COSESign1 result = coseSigner.sign(TEST_PAYLOAD, keyArn -> certificate.getEncoded());
 
         // Assert: Verify the result is not null
         assertNotNull(result.protectedHeader());
@@ -82,61 +93,47 @@ class COSESignerTest {
 
         // Assert: Verify all expected interactions occurred
         verify(certificate).getEncoded();
-        verify(cborEncoder, times(2))
-                .encode(any()); // Once for protected header, once for sig structure
+        verify(cborEncoder).encode(any());
+        verify(cborEncoder).encodeSigStructure(TEST_PROTECTED_HEADER_ENCODED, TEST_PAYLOAD);
         verify(keyProvider).sign(any(SignRequest.class));
     }
 
     @Test
-    void Should_CreateCorrectSigStructureFormat() throws Exception {
+    void Should_SignDigestOfSigStructure() throws Exception {
         // Arrange: Setup mocks for successful signing
         when(certificate.getEncoded()).thenReturn(TEST_CERTIFICATE_ENCODED);
-        when(cborEncoder.encode(any()))
-                .thenReturn(TEST_PROTECTED_HEADER_ENCODED, TEST_SIG_STRUCTURE);
+        when(cborEncoder.encode(any())).thenReturn(TEST_PROTECTED_HEADER_ENCODED);
+        when(cborEncoder.encodeSigStructure(TEST_PROTECTED_HEADER_ENCODED, TEST_PAYLOAD))
+                .thenReturn(TEST_SIG_STRUCTURE);
         when(keyProvider.sign(any(SignRequest.class))).thenReturn(signResponse);
         when(signResponse.signature()).thenReturn(SdkBytes.fromByteArray(TEST_DER_SIGNATURE));
+        byte[] expectedDigest = MessageDigest.getInstance("SHA-256").digest(TEST_SIG_STRUCTURE);
 
         // Act: Execute the sign method
-        coseSigner.sign(TEST_PAYLOAD, certificate);
-
-        // Capture all arguments passed to cborEncoder.encode() method
-        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
-        verify(cborEncoder, times(2)).encode(captor.capture());
-        List<Object> allValues = captor.getAllValues();
-        Object[] sigStructure = (Object[]) allValues.get(1);
+        coseSigner.sign(TEST_PAYLOAD, keyArn -> certificate.getEncoded());
 
-        // Assert: Verify Sig_structure format
-        assertEquals(4, sigStructure.length, "Sig_structure should have 4 elements");
-        assertEquals(
-                "Signature1",
-                sigStructure[0],
-                "First element should be 'Signature1' context string");
-        assertArrayEquals(
-                TEST_PROTECTED_HEADER_ENCODED,
-                (byte[]) sigStructure[1],
-                "Second element should be the protected header bytes");
-        assertTrue(
-                sigStructure[2] instanceof byte[],
-                "Third element should be a byte array (external_aad)");
-        assertEquals(
-                0, ((byte[]) sigStructure[2]).length, "Third element should be empty for mDoc");
-        assertArrayEquals(
-                TEST_PAYLOAD,
-                (byte[]) sigStructure[3],
-                "Fourth element should be the payload bytes");
+        // Assert: Verify the Sig_structure of the protected header and payload is what is signed
+        verify(keyProvider)
+                .sign(
+                        argThat(
+                                signRequest ->
+                                        Arrays.equals(
+                                                expectedDigest,
+                                                signRequest.message().asByteArray())));
     }
 
     @Test
     void Should_UseCorrectSigningParameters() throws Exception {
         // Arrange: Setup mocks for successful signing
         when(certificate.getEncoded()).thenReturn(TEST_CERTIFICATE_ENCODED);
-        when(cborEncoder.encode(any()))
-                .thenReturn(TEST_PROTECTED_HEADER_ENCODED, TEST_SIG_STRUCTURE);
+        when(cborEncoder.encode(any())).thenReturn(TEST_PROTECTED_HEADER_ENCODED);
+        when(cborEncoder.encodeSigStructure(TEST_PROTECTED_HEADER_ENCODED, TEST_PAYLOAD))
+                .thenReturn(TEST_SIG_STRUCTURE);
         when(keyProvider.sign(any(SignRequest.class))).thenReturn(signResponse);
         when(signResponse.signature()).thenReturn(SdkBytes.fromByteArray(TEST_DER_SIGNATURE));
 
         // Act: Execute the sign method
-        coseSigner.sign(TEST_PAYLOAD, certificate);
+        coseSigner.sign(TEST_PAYLOAD, keyArn -> certificate.getEncoded());
 
         // Assert: Verify that KMS signing uses correct parameters for ES256
         verify(keyProvider)
@@ -153,13 +150,14 @@ class COSESignerTest {
     void Should_ConvertDerSignatureToP1363Format() throws Exception {
         // Arrange: Setup mocks for successful signing
         when(certificate.getEncoded()).thenReturn(TEST_CERTIFICATE_ENCODED);
-        when(cborEncoder.encode(any()))
-                .thenReturn(TEST_PROTECTED_HEADER_ENCODED, TEST_SIG_STRUCTURE);
+        when(cborEncoder.encode(any())).thenReturn(TEST_PROTECTED_HEADER_ENCODED);
+        when(cborEncoder.encodeSigStructure(TEST_PROTECTED_HEADER_ENCODED, TEST_PAYLOAD))
+                .thenReturn(TEST_SIG_STRUCTURE);
         when(keyProvider.sign(any(SignRequest.class))).thenReturn(signResponse);
         when(signResponse.signature()).thenReturn(SdkBytes.fromByteArray(TEST_DER_SIGNATURE));
 
         // Act: Execute the sign method
-        COSESign1 result = coseSigner.sign(TEST_PAYLOAD, certificate);
+        COSESign1 result = coseSigner.sign(TEST_PAYLOAD, keyArn -> certificate.getEncoded());
 
         // Assert: Verify signature is converted to IEEE P-1363 format
         byte[] signature = result.signature();
@@ -175,22 +173,27 @@ class COSESignerTest {
 
     @Test
     void Should_ThrowCertificateEncodingException_When_CertificateEncodingFails() throws Exception {
-        // Arrange: Setup mock to throw exception when encoding certificate
+        // Arrange: Setup mocks for successful signing and failed certificate encoding
+        when(cborEncoder.encode(any())).thenReturn(TEST_PROTECTED_HEADER_ENCODED);
+        when(cborEncoder.encodeSigStructure(TEST_PROTECTED_HEADER_ENCODED, TEST_PAYLOAD))
+                .thenReturn(TEST_SIG_STRUCTURE);
+        when(keyProvider.sign(any(SignRequest.class))).thenReturn(signResponse);
+        when(signResponse.signature()).thenReturn(SdkBytes.fromByteArray(TEST_DER_SIGNATURE));
         when(certificate.getEncoded())
                 .thenThrow(new CertificateEncodingException("Certificate encoding failed"));
 
         // Act & Assert: Execute and verify exception is thrown
         assertThrows(
                 CertificateEncodingException.class,
-                () -> coseSigner.sign(TEST_PAYLOAD, certificate));
+                () -> coseSigner.sign(TEST_PAYLOAD, keyArn -> certificate.getEncoded()));
     }
 
     @Test
     void Should_ThrowSigningException_When_KeyProviderFails() throws Exception {
         // Arrange: Setup mocks up to the point where signing fails
-        when(certificate.getEncoded()).thenReturn(TEST_CERTIFICATE_ENCODED);
-        when(cborEncoder.encode(any()))
-                .thenReturn(TEST_PROTECTED_HEADER_ENCODED, TEST_SIG_STRUCTURE);
+        when(cborEncoder.encode(any())).thenReturn(TEST_PROTECTED_HEADER_ENCODED);
+        when(cborEncoder.encodeSigStructure(TEST_PROTECTED_HEADER_ENCODED, TEST_PAYLOAD))
+                .thenReturn(TEST_SIG_STRUCTURE);
         // Make the signing operation fail
         when(keyProvider.sign(any(SignRequest.class)))
                 .thenThrow(new RuntimeException("KMS signing failed"));
@@ -198,19 +201,94 @@ class COSESignerTest {
         // Act & Assert: Execute and verify custom SigningException is thrown
         SigningException exception =
                 assertThrows(
-                        SigningException.class, () -> coseSigner.sign(TEST_PAYLOAD, certificate));
+                        SigningException.class,
+                        () -> coseSigner.sign(TEST_PAYLOAD, keyArn -> certificate.getEncoded()));
         assertEquals("Error signing MSO: KMS signing failed", exception.getMessage());
     }
 
+    @Test
+    void Should_IncludeCertificateOfKeyThatSigned_When_FirstKeyIsThrottled() throws Exception {
+        String secondKeyArn = "second-key-arn";
+        coseSigner =
+                new COSESigner(
+                        cborEncoder,
+                        keyProvider,
+                        new SigningKeyPool(List.of(TEST_KEY_ARN, secondKeyArn)));
+        when(cborEncoder.encode(any())).thenReturn(TEST_PROTECTED_HEADER_ENCODED);
+        when(cborEncoder.encodeSigStructure(TEST_PROTECTED_HEADER_ENCODED, TEST_PAYLOAD))
+                .thenReturn(TEST_SIG_STRUCTURE);
+        doThrow(
+                        KmsException.builder()
+                                .statusCode(400)
+                                .awsErrorDetails(
+                                        AwsErrorDetails.builder()
+                                                .errorCode("ThrottlingException")
+                                                .build())
+                                .build())
+                .when(keyProvider)
+                .sign(argThat(signRequest -> TEST_KEY_ARN.equals(signRequest.keyId())));
+        doReturn(signResponse)
+                .when(keyProvider)
+                .sign(argThat(signRequest -> secondKeyArn.equals(signRequest.keyId())));
+        when(signResponse.signature()).thenReturn(SdkBytes.fromByteArray(TEST_DER_SIGNATURE));
+
+        COSESign1 result =
+                coseSigner.sign(
+                        TEST_PAYLOAD,
+                        keyArn ->
+                                secondKeyArn.equals(keyArn)
+                                        ? TEST_CERTIFICATE_ENCODED
+                                        : "other certificate".getBytes());
+
+        assertArrayEquals(TEST_CERTIFICATE_ENCODED, result.unprotectedHeader().x5chain());
+        verify(keyProvider, times(2)).sign(any(SignRequest.class));
+    }
+
+    @Test
+    void Should_SignPayloadAsynchronously() throws Exception {
+        when(cborEncoder.encode(any())).thenReturn(TEST_PROTECTED_HEADER_ENCODED);
+        when(cborEncoder.encodeSigStructure(TEST_PROTECTED_HEADER_ENCODED, TEST_PAYLOAD))
+                .thenReturn(TEST_SIG_STRUCTURE);
+        when(keyProvider.signAsync(any(SignRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(signResponse));
+        when(signResponse.signature()).thenReturn(SdkBytes.fromByteArray(TEST_DER_SIGNATURE));
+
+        COSESign1 result =
+                coseSigner.signAsync(TEST_PAYLOAD, keyArn -> TEST_CERTIFICATE_ENCODED).get();
+
+        assertArrayEquals(TEST_PROTECTED_HEADER_ENCODED, result.protectedHeader());
+        assertArrayEquals(TEST_PAYLOAD, result.payload());
+        assertEquals(64, result.signature().length);
+        verify(keyProvider, never()).sign(any(SignRequest.class));
+    }
+
+    @Test
+    void Should_FailWithSigningException_When_AsyncKeyProviderFails() {
+        when(cborEncoder.encode(any())).thenReturn(TEST_PROTECTED_HEADER_ENCODED);
+        when(cborEncoder.encodeSigStructure(TEST_PROTECTED_HEADER_ENCODED, TEST_PAYLOAD))
+                .thenReturn(TEST_SIG_STRUCTURE);
+        when(keyProvider.signAsync(any(SignRequest.class)))
+                .thenReturn(
+                        CompletableFuture.failedFuture(new RuntimeException("KMS signing failed")));
+
+        CompletableFuture<COSESign1> result =
+                coseSigner.signAsync(TEST_PAYLOAD, keyArn -> TEST_CERTIFICATE_ENCODED);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(SigningException.class, exception.getCause());
+        assertEquals("Error signing MSO: KMS signing failed", exception.getCause().getMessage());
+    }
+
     @Test
     void Should_ThrowMDLException_When_CborEncodingFails() throws Exception {
-        // Arrange: Setup certificate encoding to succeed but CBOR encoding to fail
-        when(certificate.getEncoded()).thenReturn(TEST_CERTIFICATE_ENCODED);
+        // Arrange: Setup CBOR encoding to fail
         when(cborEncoder.encode(any()))
                 .thenThrow(new MdocException("CBOR encoding failed", new Exception()));
 
         // Act & Assert: Execute and verify MDLException is thrown
-        assertThrows(RuntimeException.class, () -> coseSigner.sign(TEST_PAYLOAD, certificate));
+        assertThrows(
+                RuntimeException.class,
+                () -> coseSigner.sign(TEST_PAYLOAD, keyArn -> certificate.getEncoded()));
     }
 
     /** Creates a mock DER-encoded ECDSA signature for testing. */
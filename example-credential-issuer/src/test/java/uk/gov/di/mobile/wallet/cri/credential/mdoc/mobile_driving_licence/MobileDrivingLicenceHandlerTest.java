@@ -1,6 +1,5 @@
 package uk.gov.di.mobile.wallet.cri.credential.mdoc.mobile_driving_licence;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -8,6 +7,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.di.mobile.wallet.cri.credential.DocumentStoreRecord;
 import uk.gov.di.mobile.wallet.cri.credential.StatusListClient;
+import uk.gov.di.mobile.wallet.cri.credential.StreamingCredential;
 import uk.gov.di.mobile.wallet.cri.credential.mdoc.MdocCredentialBuilder;
 import uk.gov.di.mobile.wallet.cri.credential.proof.ProofJwtService;
 import uk.gov.di.mobile.wallet.cri.services.object_storage.ObjectStoreException;
@@ -15,16 +15,16 @@ import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
 import java.security.cert.CertificateException;
 import java.security.interfaces.ECPublicKey;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -49,8 +49,8 @@ class MobileDrivingLicenceHandlerTest {
     @Test
     void Should_ReturnMobileDrivingLicence()
             throws SigningException, ObjectStoreException, CertificateException {
-        Map<String, Object> documentData = new HashMap<>();
-        when(mockDocument.getData()).thenReturn(documentData);
+        when(mockDocument.getDocument(DrivingLicenceDocument.class))
+                .thenReturn(mockDrivingLicenceDocument);
         when(mockDocument.getCredentialTtlSeconds()).thenReturn(CREDENTIAL_TTL_SECONDS);
         when(mockDocument.getExpectedUpdateSeconds()).thenReturn(Optional.empty());
         when(mockProofData.publicKey()).thenReturn(ecPublicKey);
@@ -62,18 +62,13 @@ class MobileDrivingLicenceHandlerTest {
                         any()))
                 .thenReturn(EXPECTED_CREDENTIAL);
         MobileDrivingLicenceHandler spyHandler = spy(handler);
-        ObjectMapper mockMapper = mock(ObjectMapper.class);
-        when(mockMapper.convertValue(documentData, DrivingLicenceDocument.class))
-                .thenReturn(mockDrivingLicenceDocument);
-
-        setMapperField(spyHandler, mockMapper);
 
         String credential =
                 spyHandler.buildCredential(
                         mockDocument, mockProofData, Optional.of(STATUS_LIST_INFORMATION));
 
         assertEquals(EXPECTED_CREDENTIAL, credential);
-        verify(mockMapper).convertValue(documentData, DrivingLicenceDocument.class);
+        verify(mockDocument).getDocument(DrivingLicenceDocument.class);
         verify(mockMdocCredentialBuilder)
                 .buildCredential(
                         mockDrivingLicenceDocument,
@@ -83,16 +78,63 @@ class MobileDrivingLicenceHandlerTest {
                         Optional.empty());
     }
 
+    @Test
+    void Should_ReturnMobileDrivingLicence_When_BuildingAsynchronously() throws Exception {
+        when(mockDocument.getDocument(DrivingLicenceDocument.class))
+                .thenReturn(mockDrivingLicenceDocument);
+        when(mockDocument.getCredentialTtlSeconds()).thenReturn(CREDENTIAL_TTL_SECONDS);
+        when(mockDocument.getExpectedUpdateSeconds()).thenReturn(Optional.empty());
+        when(mockProofData.publicKey()).thenReturn(ecPublicKey);
+        when(mockMdocCredentialBuilder.buildCredentialAsync(
+                        mockDrivingLicenceDocument,
+                        ecPublicKey,
+                        STATUS_LIST_INFORMATION,
+                        CREDENTIAL_TTL_SECONDS,
+                        Optional.empty()))
+                .thenReturn(CompletableFuture.completedFuture(EXPECTED_CREDENTIAL));
+
+        String credential =
+                handler.buildCredentialAsync(
+                                mockDocument, mockProofData, Optional.of(STATUS_LIST_INFORMATION))
+                        .get();
+
+        assertEquals(EXPECTED_CREDENTIAL, credential);
+        verify(mockMdocCredentialBuilder, never())
+                .buildCredential(any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void Should_ReturnStreamingMobileDrivingLicence_When_BuildingForStreaming() throws Exception {
+        StreamingCredential expectedCredential = outputStream -> {};
+        when(mockDocument.getDocument(DrivingLicenceDocument.class))
+                .thenReturn(mockDrivingLicenceDocument);
+        when(mockDocument.getCredentialTtlSeconds()).thenReturn(CREDENTIAL_TTL_SECONDS);
+        when(mockDocument.getExpectedUpdateSeconds()).thenReturn(Optional.of(3600L));
+        when(mockProofData.publicKey()).thenReturn(ecPublicKey);
+        when(mockMdocCredentialBuilder.buildStreamingCredentialAsync(
+                        mockDrivingLicenceDocument,
+                        ecPublicKey,
+                        STATUS_LIST_INFORMATION,
+                        CREDENTIAL_TTL_SECONDS,
+                        Optional.of(3600L)))
+                .thenReturn(CompletableFuture.completedFuture(expectedCredential));
+
+        StreamingCredential credential =
+                handler.buildStreamingCredentialAsync(
+                                mockDocument, mockProofData, Optional.of(STATUS_LIST_INFORMATION))
+                        .get();
+
+        assertSame(expectedCredential, credential);
+        verify(mockMdocCredentialBuilder, never())
+                .buildCredentialAsync(any(), any(), any(), anyLong(), any());
+    }
+
     @Test
     void Should_ThrowNoSuchElementException_When_StatusListInformationIsEmpty() {
-        Map<String, Object> documentData = new HashMap<>();
-        when(mockDocument.getData()).thenReturn(documentData);
+        when(mockDocument.getDocument(DrivingLicenceDocument.class))
+                .thenReturn(mockDrivingLicenceDocument);
         when(mockProofData.publicKey()).thenReturn(ecPublicKey);
         MobileDrivingLicenceHandler spyHandler = spy(handler);
-        ObjectMapper mockMapper = mock(ObjectMapper.class);
-        when(mockMapper.convertValue(documentData, DrivingLicenceDocument.class))
-                .thenReturn(mockDrivingLicenceDocument);
-        setMapperField(spyHandler, mockMapper);
         Optional<StatusListClient.StatusListInformation> emptyStatusListInformation =
                 Optional.empty();
 
@@ -109,8 +151,8 @@ class MobileDrivingLicenceHandlerTest {
     @Test
     void Should_PropagateException_When_MdocCredentialBuilderThrowsSigningException()
             throws SigningException, ObjectStoreException, CertificateException {
-        Map<String, Object> documentData = new HashMap<>();
-        when(mockDocument.getData()).thenReturn(documentData);
+        when(mockDocument.getDocument(DrivingLicenceDocument.class))
+                .thenReturn(mockDrivingLicenceDocument);
         when(mockDocument.getCredentialTtlSeconds()).thenReturn(CREDENTIAL_TTL_SECONDS);
         when(mockDocument.getExpectedUpdateSeconds()).thenReturn(Optional.empty());
         when(mockProofData.publicKey()).thenReturn(ecPublicKey);
@@ -124,10 +166,6 @@ class MobileDrivingLicenceHandlerTest {
                         any()))
                 .thenThrow(signingException);
         MobileDrivingLicenceHandler spyHandler = spy(handler);
-        ObjectMapper mockMapper = mock(ObjectMapper.class);
-        when(mockMapper.convertValue(documentData, DrivingLicenceDocument.class))
-                .thenReturn(mockDrivingLicenceDocument);
-        setMapperField(spyHandler, mockMapper);
 
         SigningException thrown =
                 assertThrows(
@@ -139,14 +177,4 @@ class MobileDrivingLicenceHandlerTest {
                                         Optional.of(STATUS_LIST_INFORMATION)));
         assertEquals("Some signing error", thrown.getMessage());
     }
-
-    private void setMapperField(MobileDrivingLicenceHandler handler, ObjectMapper mapper) {
-        try {
-            var mapperField = MobileDrivingLicenceHandler.class.getDeclaredField("mapper");
-            mapperField.setAccessible(true);
-            mapperField.set(handler, mapper);
-        } catch (Exception exception) {
-            throw new RuntimeException("Failed to inject mocked ObjectMapper", exception);
-        }
-    }
 }
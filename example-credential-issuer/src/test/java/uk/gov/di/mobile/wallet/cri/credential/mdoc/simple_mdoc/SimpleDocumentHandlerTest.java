@@ -1,6 +1,5 @@
 package uk.gov.di.mobile.wallet.cri.credential.mdoc.simple_mdoc;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -15,8 +14,6 @@ import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
 
 import java.security.cert.CertificateException;
 import java.security.interfaces.ECPublicKey;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
@@ -24,7 +21,6 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -49,8 +45,7 @@ class SimpleDocumentHandlerTest {
     @Test
     void Should_ReturnSimpleDocument()
             throws SigningException, ObjectStoreException, CertificateException {
-        Map<String, Object> documentData = new HashMap<>();
-        when(mockDocument.getData()).thenReturn(documentData);
+        when(mockDocument.getDocument(SimpleDocument.class)).thenReturn(mockSimpleDocument);
         when(mockDocument.getCredentialTtlSeconds()).thenReturn(CREDENTIAL_TTL_SECONDS);
         when(mockProofData.publicKey()).thenReturn(ecPublicKey);
         when(mdocBuilder.buildCredential(
@@ -60,18 +55,13 @@ class SimpleDocumentHandlerTest {
                         anyLong()))
                 .thenReturn(EXPECTED_CREDENTIAL);
         SimpleMdocHandler spyHandler = spy(handler);
-        ObjectMapper mockMapper = mock(ObjectMapper.class);
-        when(mockMapper.convertValue(documentData, SimpleDocument.class))
-                .thenReturn(mockSimpleDocument);
-
-        setMapperField(spyHandler, mockMapper);
 
         String credential =
                 spyHandler.buildCredential(
                         mockDocument, mockProofData, Optional.of(STATUS_LIST_INFORMATION));
 
         assertEquals(EXPECTED_CREDENTIAL, credential);
-        verify(mockMapper).convertValue(documentData, SimpleDocument.class);
+        verify(mockDocument).getDocument(SimpleDocument.class);
         verify(mdocBuilder)
                 .buildCredential(
                         mockSimpleDocument,
@@ -82,14 +72,9 @@ class SimpleDocumentHandlerTest {
 
     @Test
     void Should_ThrowNoSuchElementException_When_StatusListInformationIsEmpty() {
-        Map<String, Object> documentData = new HashMap<>();
-        when(mockDocument.getData()).thenReturn(documentData);
+        when(mockDocument.getDocument(SimpleDocument.class)).thenReturn(mockSimpleDocument);
         when(mockProofData.publicKey()).thenReturn(ecPublicKey);
         SimpleMdocHandler spyHandler = spy(handler);
-        ObjectMapper mockMapper = mock(ObjectMapper.class);
-        when(mockMapper.convertValue(documentData, SimpleDocument.class))
-                .thenReturn(mockSimpleDocument);
-        setMapperField(spyHandler, mockMapper);
         Optional<StatusListClient.StatusListInformation> emptyStatusListInformation =
                 Optional.empty();
 
@@ -106,8 +91,7 @@ class SimpleDocumentHandlerTest {
     @Test
     void Should_PropagateException_When_MdocCredentialBuilderThrowsSigningException()
             throws SigningException, ObjectStoreException, CertificateException {
-        Map<String, Object> documentData = new HashMap<>();
-        when(mockDocument.getData()).thenReturn(documentData);
+        when(mockDocument.getDocument(SimpleDocument.class)).thenReturn(mockSimpleDocument);
         when(mockDocument.getCredentialTtlSeconds()).thenReturn(CREDENTIAL_TTL_SECONDS);
         when(mockProofData.publicKey()).thenReturn(ecPublicKey);
         SigningException signingException =
@@ -119,10 +103,6 @@ class SimpleDocumentHandlerTest {
                         anyLong()))
                 .thenThrow(signingException);
         SimpleMdocHandler spyHandler = spy(handler);
-        ObjectMapper mockMapper = mock(ObjectMapper.class);
-        when(mockMapper.convertValue(documentData, SimpleDocument.class))
-                .thenReturn(mockSimpleDocument);
-        setMapperField(spyHandler, mockMapper);
 
         SigningException thrown =
                 assertThrows(
@@ -134,14 +114,4 @@ class SimpleDocumentHandlerTest {
                                         Optional.of(STATUS_LIST_INFORMATION)));
         assertEquals("Some signing error", thrown.getMessage());
     }
-
-    private void setMapperField(SimpleMdocHandler handler, ObjectMapper mapper) {
-        try {
-            var mapperField = SimpleMdocHandler.class.getDeclaredField("mapper");
-            mapperField.setAccessible(true);
-            mapperField.set(handler, mapper);
-        } catch (Exception exception) {
-            throw new RuntimeException("Failed to inject mocked ObjectMapper", exception);
-        }
-    }
 }
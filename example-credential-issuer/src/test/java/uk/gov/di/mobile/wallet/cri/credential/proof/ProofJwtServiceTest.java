@@ -134,6 +134,18 @@ class ProofJwtServiceTest {
                 containsString("Error getting public key from did:key [did:key:notAValidDidKey]"));
     }
 
+    @Test
+    void Should_ReturnClaimsWithoutResolvingDidKey_When_OnlyClaimsAreVerified()
+            throws ProofJwtValidationException {
+        SignedJWT mockProof =
+                new MockProofBuilder("ES256").withKid("did:key:notAValidDidKey").build();
+
+        ProofJwtService.ProofJwtClaims response = proofJwtService.verifyProofJwtClaims(mockProof);
+
+        assertEquals("did:key:notAValidDidKey", response.didKey());
+        assertEquals("134e0c41-a8b4-46d4-aec8-cd547e125589", response.nonce());
+    }
+
     @Test
     void Should_ThrowProofJwtValidationException_When_TypeIsInvalid() {
         SignedJWT mockProof =
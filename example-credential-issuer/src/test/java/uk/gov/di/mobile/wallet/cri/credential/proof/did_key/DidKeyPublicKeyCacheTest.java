@@ -0,0 +1,103 @@
+package uk.gov.di.mobile.wallet.cri.credential.proof.did_key;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.security.interfaces.ECPublicKey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DidKeyPublicKeyCacheTest {
+
+    private static final String DID_KEY_1 = "did:key:zDnaeKey1";
+    private static final String DID_KEY_2 = "did:key:zDnaeKey2";
+    private static final String DID_KEY_3 = "did:key:zDnaeKey3";
+
+    @Mock private DidKeyResolver didKeyResolver;
+
+    private DidKeyPublicKeyCache didKeyPublicKeyCache;
+
+    @BeforeEach
+    void setup() {
+        didKeyPublicKeyCache = new DidKeyPublicKeyCache(didKeyResolver, 2);
+    }
+
+    @Test
+    void should_Resolve_DidKey_Once_When_Requested_Repeatedly() throws Exception {
+        ECPublicKey publicKey = stubResolution(DID_KEY_1);
+
+        assertSame(publicKey, didKeyPublicKeyCache.getPublicKey(DID_KEY_1));
+        assertSame(publicKey, didKeyPublicKeyCache.getPublicKey(DID_KEY_1));
+
+        verify(didKeyResolver, times(1)).decodeDidKey(DID_KEY_1);
+        verify(didKeyResolver, times(1)).generatePublicKeyFromBytes(any());
+    }
+
+    @Test
+    void should_Evict_Least_Recently_Used_DidKey_When_Full() throws Exception {
+        stubResolution(DID_KEY_1);
+        stubResolution(DID_KEY_2);
+        stubResolution(DID_KEY_3);
+
+        didKeyPublicKeyCache.getPublicKey(DID_KEY_1);
+        didKeyPublicKeyCache.getPublicKey(DID_KEY_2);
+        didKeyPublicKeyCache.getPublicKey(DID_KEY_1);
+        didKeyPublicKeyCache.getPublicKey(DID_KEY_3);
+        didKeyPublicKeyCache.getPublicKey(DID_KEY_1);
+        didKeyPublicKeyCache.getPublicKey(DID_KEY_2);
+
+        assertEquals(2, didKeyPublicKeyCache.size());
+        verify(didKeyResolver, times(1)).decodeDidKey(DID_KEY_1);
+        verify(didKeyResolver, times(2)).decodeDidKey(DID_KEY_2);
+        verify(didKeyResolver, times(1)).decodeDidKey(DID_KEY_3);
+    }
+
+    @Test
+    void should_Not_Cache_DidKey_When_Resolution_Fails() throws Exception {
+        when(didKeyResolver.decodeDidKey(DID_KEY_1))
+                .thenThrow(new InvalidDidKeyException("did:key multicodec value is not supported"));
+
+        assertThrows(
+                InvalidDidKeyException.class, () -> didKeyPublicKeyCache.getPublicKey(DID_KEY_1));
+        assertThrows(
+                InvalidDidKeyException.class, () -> didKeyPublicKeyCache.getPublicKey(DID_KEY_1));
+
+        assertEquals(0, didKeyPublicKeyCache.size());
+        verify(didKeyResolver, times(2)).decodeDidKey(DID_KEY_1);
+    }
+
+    @Test
+    void should_Resolve_Real_DidKey_To_Same_Key_As_Resolver() throws Exception {
+        String didKey = "did:key:zDnaewZMz7MN6xSaAFADkDZJzMLbGSV25uKHAeXaxnPCwZomX";
+        DidKeyResolver resolver = new DidKeyResolver();
+        DidKeyPublicKeyCache cache = new DidKeyPublicKeyCache(resolver, 2);
+
+        ECPublicKey expected =
+                resolver.generatePublicKeyFromBytes(
+                        resolver.decodeDidKey(didKey).rawPublicKeyBytes());
+
+        assertEquals(expected, cache.getPublicKey(didKey));
+    }
+
+    private ECPublicKey stubResolution(String didKey) throws Exception {
+        byte[] rawPublicKeyBytes = didKey.getBytes();
+        ECPublicKey publicKey = mock(ECPublicKey.class);
+        when(didKeyResolver.decodeDidKey(didKey))
+                .thenReturn(
+                        new DidKeyResolver.DecodedKeyData(
+                                Multicodec.P256_PUB, rawPublicKeyBytes, didKey));
+        when(didKeyResolver.generatePublicKeyFromBytes(rawPublicKeyBytes)).thenReturn(publicKey);
+        return publicKey;
+    }
+}
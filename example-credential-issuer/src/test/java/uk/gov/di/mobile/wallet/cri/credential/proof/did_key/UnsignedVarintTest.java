@@ -0,0 +1,55 @@
+package uk.gov.di.mobile.wallet.cri.credential.proof.did_key;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UnsignedVarintTest {
+
+    @Test
+    void should_Decode_P256_Multicodec_Header() throws InvalidDidKeyException {
+        UnsignedVarint.Decoded decoded =
+                UnsignedVarint.decode(new byte[] {(byte) 0x80, 0x24, 0x03, 0x01});
+
+        assertEquals(Multicodec.P256_PUB.value, decoded.value());
+        assertEquals(2, decoded.length());
+    }
+
+    @Test
+    void should_Decode_Single_Byte_Varint() throws InvalidDidKeyException {
+        UnsignedVarint.Decoded decoded = UnsignedVarint.decode(new byte[] {0x7F, 0x00});
+
+        assertEquals(0x7F, decoded.value());
+        assertEquals(1, decoded.length());
+    }
+
+    @Test
+    void should_ThrowException_When_Varint_Is_Truncated() {
+        InvalidDidKeyException thrown =
+                assertThrows(
+                        InvalidDidKeyException.class,
+                        () -> UnsignedVarint.decode(new byte[] {(byte) 0x80}));
+        assertEquals(
+                "did:key multicodec header is not a valid unsigned varint", thrown.getMessage());
+    }
+
+    @Test
+    void should_ThrowException_When_Varint_Is_Longer_Than_Nine_Bytes() {
+        byte[] bytes = new byte[10];
+        Arrays.fill(bytes, (byte) 0xFF);
+
+        assertThrows(InvalidDidKeyException.class, () -> UnsignedVarint.decode(bytes));
+    }
+
+    @Test
+    void should_ThrowException_When_Varint_Is_Not_Minimally_Encoded() {
+        InvalidDidKeyException thrown =
+                assertThrows(
+                        InvalidDidKeyException.class,
+                        () -> UnsignedVarint.decode(new byte[] {(byte) 0x81, 0x00}));
+        assertEquals("did:key multicodec header is not minimally encoded", thrown.getMessage());
+    }
+}
@@ -21,9 +21,12 @@ import software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec;
 import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 import uk.gov.di.mobile.wallet.cri.services.signing.KmsService;
 import uk.gov.di.mobile.wallet.cri.services.signing.SigningException;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyMetadata;
+import uk.gov.di.mobile.wallet.cri.services.signing.SigningKeyPool;
 
 import java.net.URI;
 import java.text.ParseException;
+import java.util.List;
 
 import static java.util.Collections.singletonList;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -49,10 +52,11 @@ class PreAuthorizedCodeBuilderTest {
 
     @BeforeEach
     void setUp() {
-        preAuthorizedCodeBuilder = new PreAuthorizedCodeBuilder(configurationService, kmsService);
+        preAuthorizedCodeBuilder =
+                new PreAuthorizedCodeBuilder(
+                        configurationService, kmsService, new SigningKeyPool(List.of(KEY_ALIAS)));
         when(configurationService.getSelfUrl()).thenReturn(URI.create(SELF_URL));
         when(configurationService.getOneLoginAuthServerUrl()).thenReturn(AUTH_URL);
-        when(configurationService.getSigningKeyAlias()).thenReturn(KEY_ALIAS);
         when(configurationService.getOIDCClientId()).thenReturn(AUTH_CLIENT_ID);
         when(configurationService.getPreAuthorizedCodeTtlInSecs()).thenReturn(300);
     }
@@ -63,7 +67,8 @@ class PreAuthorizedCodeBuilderTest {
     void test_It_Returns_SignedJwt() throws SigningException, ParseException, JOSEException {
         SignResponse signResponse = getMockedSignResponse();
         when(kmsService.sign(any(SignRequest.class))).thenReturn(signResponse);
-        when(kmsService.getKeyId(any(String.class))).thenReturn(KEY_ID);
+        when(kmsService.getKeyMetadata(any(String.class)))
+                .thenReturn(SigningKeyMetadata.of(KEY_ID, true));
 
         SignedJWT preAuthorizedCode =
                 preAuthorizedCodeBuilder.buildPreAuthorizedCode(
@@ -101,7 +106,8 @@ class PreAuthorizedCodeBuilderTest {
     @Test
     @DisplayName("Should throw a SigningException when KMS throws an exception")
     void test_It_Throws_SigningException() {
-        when(kmsService.getKeyId(any(String.class))).thenReturn(KEY_ID);
+        when(kmsService.getKeyMetadata(any(String.class)))
+                .thenReturn(SigningKeyMetadata.of(KEY_ID, true));
         when(kmsService.sign(any(SignRequest.class))).thenThrow(DisabledException.class);
 
         SigningException exception =
@@ -49,7 +49,7 @@ class DidDocumentResourceTest {
     private static final DidDocumentService didDocumentService = mock(DidDocumentService.class);
     private final ResourceExtension resource =
             ResourceExtension.builder()
-                    .addResource(new DidDocumentResource(didDocumentService))
+                    .addResource(new DidDocumentResource(didDocumentService, new ObjectMapper()))
                     .build();
 
     @BeforeEach
@@ -91,6 +91,28 @@ class DidDocumentResourceTest {
         assertThat(
                 response.readEntity(String.class),
                 is(new ObjectMapper().writeValueAsString(didDocument)));
+        assertThat(response.getHeaderString("Cache-Control"), is("no-cache"));
+        assertThat(response.getHeaderString("ETag") != null, is(true));
+    }
+
+    @Test
+    void should_Return_304_When_IfNoneMatchMatchesETag()
+            throws InvalidAlgorithmParameterException,
+                    NoSuchAlgorithmException,
+                    PEMException,
+                    KeyNotActiveException {
+        when(didDocumentService.generateDidDocument()).thenReturn(getMockDidDocument());
+        String entityTag =
+                resource.target("/.well-known/did.json").request().get().getHeaderString("ETag");
+
+        final Response response =
+                resource.target("/.well-known/did.json")
+                        .request()
+                        .header("If-None-Match", entityTag)
+                        .get();
+
+        assertThat(response.getStatus(), is(304));
+        assertThat(response.getHeaderString("ETag"), is(entityTag));
     }
 
     private DidDocument getMockDidDocument()
@@ -8,12 +8,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 import uk.gov.di.mobile.wallet.cri.services.signing.KeyNotActiveException;
 import uk.gov.di.mobile.wallet.cri.services.signing.KmsService;
+import uk.gov.di.mobile.wallet.cri.services.signing.PublicKeyCache;
 
 import java.net.URI;
 import java.security.InvalidAlgorithmParameterException;
@@ -27,14 +27,16 @@ import static com.nimbusds.jose.JWSAlgorithm.ES256;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith({MockitoExtension.class})
 class DidDocumentServiceTest {
 
-    @InjectMocks private DidDocumentService didDocumentService;
     @Mock private KmsService kmsService;
     @Mock private ConfigurationService configurationService;
     private static final String TEST_KEY_ID =
@@ -52,14 +54,15 @@ class DidDocumentServiceTest {
                     NoSuchAlgorithmException,
                     InvalidAlgorithmParameterException,
                     KeyNotActiveException {
-        when(configurationService.getSigningKeyAlias()).thenReturn("test-signing-key-alias");
+        when(configurationService.getSigningKeyAliases())
+                .thenReturn(List.of("test-signing-key-alias"));
         when(configurationService.getSelfUrl())
                 .thenReturn(URI.create("https://test-example-credential-issuer.gov.uk"));
         ECKey mockJwk = getMockJwk();
         when(kmsService.isKeyActive(any(String.class))).thenReturn(true);
         when(kmsService.getPublicKey(any(String.class))).thenReturn(mockJwk);
 
-        DidDocument didDocument = didDocumentService.generateDidDocument();
+        DidDocument didDocument = createDidDocumentService().generateDidDocument();
         assertEquals(TEST_CONTROLLER, didDocument.getId());
         assertEquals(TEST_CONTEXT, didDocument.getContext());
         assertEquals(1, didDocument.getVerificationMethod().size());
@@ -80,13 +83,40 @@ class DidDocumentServiceTest {
         assertEquals(mockJwk.getAlgorithm().toString(), jwk.getAlg());
     }
 
+    @Test
+    void shouldPublishEveryActiveSigningKey()
+            throws PEMException,
+                    NoSuchAlgorithmException,
+                    InvalidAlgorithmParameterException,
+                    KeyNotActiveException {
+        when(configurationService.getSigningKeyAliases())
+                .thenReturn(List.of("signing-key-1", "signing-key-2", "signing-key-3"));
+        when(configurationService.getSelfUrl())
+                .thenReturn(URI.create("https://test-example-credential-issuer.gov.uk"));
+        when(kmsService.isKeyActive("signing-key-1")).thenReturn(true);
+        when(kmsService.isKeyActive("signing-key-2")).thenReturn(false);
+        when(kmsService.isKeyActive("signing-key-3")).thenReturn(true);
+        when(kmsService.getPublicKey("signing-key-1")).thenReturn(getMockJwk("key-id-1"));
+        when(kmsService.getPublicKey("signing-key-3")).thenReturn(getMockJwk("key-id-3"));
+
+        DidDocument didDocument = createDidDocumentService().generateDidDocument();
+
+        assertEquals(
+                List.of(TEST_CONTROLLER + "#key-id-1", TEST_CONTROLLER + "#key-id-3"),
+                didDocument.getAssertionMethod());
+        List<Did> verificationMethod = didDocument.getVerificationMethod();
+        assertEquals(2, verificationMethod.size());
+        assertEquals("key-id-1", verificationMethod.get(0).getPublicKeyJwk().getKid());
+        assertEquals("key-id-3", verificationMethod.get(1).getPublicKeyJwk().getKid());
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"Key is Inactive", "Key is not Enabled", "Key is due for deletion"})
     @DisplayName("Should Throw Key Not Active Exception if")
     void should_ThrowKeyNotActiveException(String scenario) {
-        when(configurationService.getSigningKeyAlias()).thenReturn("test-signing-key-alias");
-        when(configurationService.getSelfUrl())
-                .thenReturn(URI.create("https://test-example-credential-issuer.gov.uk"));
+        when(configurationService.getSigningKeyAliases())
+                .thenReturn(List.of("test-signing-key-alias"));
+        DidDocumentService didDocumentService = createDidDocumentService();
 
         KeyNotActiveException exception =
                 assertThrows(
@@ -95,13 +125,46 @@ class DidDocumentServiceTest {
         assertThat(exception.getMessage(), containsString("Public key is not active"));
     }
 
+    @Test
+    void shouldReturnSameDidDocument_When_PublicKeysHaveNotChanged()
+            throws PEMException,
+                    NoSuchAlgorithmException,
+                    InvalidAlgorithmParameterException,
+                    KeyNotActiveException {
+        when(configurationService.getPublicKeyCacheTtlInSecs()).thenReturn(300);
+        when(configurationService.getSigningKeyAliases())
+                .thenReturn(List.of("test-signing-key-alias"));
+        when(configurationService.getSelfUrl())
+                .thenReturn(URI.create("https://test-example-credential-issuer.gov.uk"));
+        when(kmsService.isKeyActive(any(String.class))).thenReturn(true);
+        when(kmsService.getPublicKey(any(String.class))).thenReturn(getMockJwk());
+        DidDocumentService didDocumentService = createDidDocumentService();
+
+        DidDocument first = didDocumentService.generateDidDocument();
+        DidDocument second = didDocumentService.generateDidDocument();
+
+        assertSame(first, second);
+        verify(kmsService, times(1)).getPublicKey("test-signing-key-alias");
+    }
+
+    private DidDocumentService createDidDocumentService() {
+        return new DidDocumentService(
+                configurationService,
+                new PublicKeyCache(kmsService, configurationService, Runnable::run));
+    }
+
     private ECKey getMockJwk() throws InvalidAlgorithmParameterException, NoSuchAlgorithmException {
+        return getMockJwk(TEST_KEY_ID);
+    }
+
+    private ECKey getMockJwk(String keyId)
+            throws InvalidAlgorithmParameterException, NoSuchAlgorithmException {
         KeyPairGenerator gen = KeyPairGenerator.getInstance(TEST_PUBLIC_KEY_TYPE);
         gen.initialize(Curve.P_256.toECParameterSpec());
         KeyPair keyPair = gen.generateKeyPair();
 
         return new ECKey.Builder(Curve.P_256, (ECPublicKey) keyPair.getPublic())
-                .keyID(TEST_KEY_ID)
+                .keyID(keyId)
                 .algorithm(ES256)
                 .build();
     }
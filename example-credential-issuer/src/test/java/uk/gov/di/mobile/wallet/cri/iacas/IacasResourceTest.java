@@ -1,15 +1,21 @@
 package uk.gov.di.mobile.wallet.cri.iacas;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
 import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.mock;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -18,27 +24,72 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class IacasResourceTest {
 
+    private static final Iacas IACAS =
+            new Iacas(
+                    List.of(
+                            new Iaca(
+                                    "1234abcd-12ab-34cd-56ef-1234567890ab",
+                                    true,
+                                    "-----BEGIN CERTIFICATE-----",
+                                    new CertificateData(
+                                            "2028-06-22T10:24:25.000Z",
+                                            "2025-09-02T10:24:25.000Z",
+                                            "GB",
+                                            "mDL Example IACA Root"),
+                                    "3907132c3fccd8335625580cf3dce8a3498e578a2f06cd8ed33e05d570e402bf",
+                                    new PublicKeyJwk("EC", "P-256", "x", "y", "ES256"))));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @Mock private IacasService iacasService;
 
-    @InjectMocks private IacasResource iacasResource;
+    private IacasResource iacasResource;
+
+    @BeforeEach
+    void setUp() {
+        iacasResource = new IacasResource(iacasService, objectMapper);
+    }
 
     @Test
     void Should_Return200() throws Exception {
-        Iacas mockIacas = mock(Iacas.class);
-        when(iacasService.getIacas()).thenReturn(mockIacas);
+        when(iacasService.getIacas()).thenReturn(IACAS);
 
-        Response response = iacasResource.getIacas();
+        Response response = iacasResource.getIacas(null);
 
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
-        assertEquals(mockIacas, response.getEntity());
+        assertArrayEquals(objectMapper.writeValueAsBytes(IACAS), (byte[]) response.getEntity());
+        assertEquals("no-cache", response.getHeaderString("Cache-Control"));
+        assertNotNull(response.getHeaderString("ETag"));
         verify(iacasService, times(1)).getIacas();
     }
 
+    @Test
+    void Should_Return304_When_IfNoneMatchMatchesETag() throws Exception {
+        when(iacasService.getIacas()).thenReturn(IACAS);
+        String entityTag = iacasResource.getIacas(null).getHeaderString("ETag");
+
+        Response response = iacasResource.getIacas(entityTag);
+
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+        assertNull(response.getEntity());
+        assertEquals(entityTag, response.getHeaderString("ETag"));
+    }
+
+    @Test
+    void Should_SerializeIacasOnce_When_IacasHaveNotChanged() throws Exception {
+        when(iacasService.getIacas()).thenReturn(IACAS);
+
+        Object first = iacasResource.getIacas(null).getEntity();
+        Object second = iacasResource.getIacas(null).getEntity();
+
+        assertSame(first, second);
+    }
+
     @Test
     void Should_Return500_When_IacasServiceThrowsAnError() throws Exception {
         when(iacasService.getIacas()).thenThrow(new RuntimeException("Some server exception"));
 
-        Response response = iacasResource.getIacas();
+        Response response = iacasResource.getIacas(null);
 
         assertEquals(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(), response.getStatus());
         verify(iacasService, times(1)).getIacas();
@@ -3,19 +3,34 @@ package uk.gov.di.mobile.wallet.cri.iacas;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import uk.gov.di.mobile.wallet.cri.services.certificate.CertificateProvider;
+import uk.gov.di.mobile.wallet.cri.services.object_storage.ObjectStoreException;
+import uk.gov.di.mobile.wallet.cri.services.object_storage.VersionedObject;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class IacasServiceTest {
 
     private CertificateProvider certificateProvider;
+    private Clock clock;
     private IacasService iacasService;
 
     private static final String TEST_CERTIFICATE_PEM =
@@ -37,16 +52,25 @@ class IacasServiceTest {
             "arn:aws:acm-pca:region:account:certificate-authority/1234abcd-12ab-34cd-56ef-1234567890ab";
     private static final String TEST_CERTIFICATE_AUTHORITY_ID =
             "1234abcd-12ab-34cd-56ef-1234567890ab";
+    private static final String TEST_RETIRING_CERTIFICATE_AUTHORITY_ARN =
+            "arn:aws:acm-pca:region:account:certificate-authority/5678abcd-12ab-34cd-56ef-1234567890ab";
+    private static final String TEST_RETIRING_CERTIFICATE_AUTHORITY_ID =
+            "5678abcd-12ab-34cd-56ef-1234567890ab";
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(5);
+    private static final String ETAG = "\"etag-1\"";
 
     @BeforeEach
     void setUp() {
         certificateProvider = mock(CertificateProvider.class);
-        iacasService = new IacasService(certificateProvider, TEST_CERTIFICATE_AUTHORITY_ARN);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        iacasService = createIacasService(List.of());
     }
 
     @Test
     void Should_PropagatesException_When_ObjectStoreThrowsException() throws Exception {
-        when(certificateProvider.getRootCertificate(TEST_CERTIFICATE_AUTHORITY_ID))
+        when(certificateProvider.getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, null))
                 .thenThrow(new RuntimeException("Failed to get certificate"));
 
         Exception exception = assertThrows(RuntimeException.class, () -> iacasService.getIacas());
@@ -56,8 +80,8 @@ class IacasServiceTest {
 
     @Test
     void Should_ReturnIacasWithExpectedValues() throws Exception {
-        when(certificateProvider.getRootCertificate(TEST_CERTIFICATE_AUTHORITY_ID))
-                .thenReturn(TEST_CERTIFICATE_PEM);
+        when(certificateProvider.getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, null))
+                .thenReturn(certificate(ETAG));
 
         Iacas result = iacasService.getIacas();
 
@@ -86,4 +110,144 @@ class IacasServiceTest {
                 iaca.publicKeyJwk(),
                 "publicKeyJwk should be of type PublicKeyJwk");
     }
+
+    @Test
+    void Should_ReturnCachedIacas_When_RefreshIntervalHasNotPassed() throws Exception {
+        when(certificateProvider.getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, null))
+                .thenReturn(certificate(ETAG));
+
+        Iacas first = iacasService.getIacas();
+        Iacas second = iacasService.getIacas();
+
+        assertSame(first, second);
+        verify(certificateProvider, times(1))
+                .getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, null);
+    }
+
+    @Test
+    void Should_KeepIacas_When_CertificateHasNotChanged() throws Exception {
+        when(certificateProvider.getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, null))
+                .thenReturn(certificate(ETAG));
+        when(certificateProvider.getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, ETAG))
+                .thenReturn(Optional.empty());
+        Iacas first = iacasService.getIacas();
+
+        when(clock.instant()).thenReturn(NOW.plus(REFRESH_INTERVAL));
+
+        assertSame(first, iacasService.getIacas());
+        assertSame(first, iacasService.getIacas());
+        verify(certificateProvider, times(1))
+                .getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, ETAG);
+    }
+
+    @Test
+    void Should_RebuildIacasInBackground_When_CertificateHasChanged() throws Exception {
+        when(certificateProvider.getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, null))
+                .thenReturn(certificate(ETAG));
+        when(certificateProvider.getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, ETAG))
+                .thenReturn(certificate("\"etag-2\""));
+        Iacas first = iacasService.getIacas();
+
+        when(clock.instant()).thenReturn(NOW.plus(REFRESH_INTERVAL));
+
+        // The cached IACAs are returned while the refresh runs
+        assertSame(first, iacasService.getIacas());
+        Iacas refreshed = iacasService.getIacas();
+        assertNotSame(first, refreshed);
+        assertEquals(first, refreshed);
+    }
+
+    @Test
+    void Should_KeepLastGoodIacas_When_RefreshFails() throws Exception {
+        when(certificateProvider.getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, null))
+                .thenReturn(certificate(ETAG));
+        when(certificateProvider.getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, ETAG))
+                .thenThrow(new ObjectStoreException("Failed to get certificate", null));
+        Iacas first = iacasService.getIacas();
+
+        when(clock.instant()).thenReturn(NOW.plus(REFRESH_INTERVAL));
+
+        assertSame(first, iacasService.getIacas());
+        assertSame(first, iacasService.getIacas());
+        // A failed refresh is not retried until another interval has passed
+        verify(certificateProvider, times(1))
+                .getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, ETAG);
+    }
+
+    @Test
+    void Should_RetryRefresh_When_PreviousRefreshWasRejectedByExecutor() throws Exception {
+        AtomicBoolean rejectNext = new AtomicBoolean(true);
+        iacasService =
+                new IacasService(
+                        certificateProvider,
+                        TEST_CERTIFICATE_AUTHORITY_ARN,
+                        List.of(),
+                        REFRESH_INTERVAL,
+                        task -> {
+                            if (rejectNext.getAndSet(false)) {
+                                throw new RejectedExecutionException("Executor is shutting down");
+                            }
+                            task.run();
+                        },
+                        clock);
+        when(certificateProvider.getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, null))
+                .thenReturn(certificate(ETAG));
+        when(certificateProvider.getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, ETAG))
+                .thenReturn(Optional.empty());
+        iacasService.getIacas();
+
+        when(clock.instant()).thenReturn(NOW.plus(REFRESH_INTERVAL));
+        iacasService.getIacas();
+        iacasService.getIacas();
+
+        verify(certificateProvider, times(1))
+                .getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, ETAG);
+    }
+
+    @Test
+    void Should_ReturnActiveAndRetiringIacas_When_CertificateAuthorityIsRetiring()
+            throws Exception {
+        iacasService = createIacasService(List.of(TEST_RETIRING_CERTIFICATE_AUTHORITY_ARN));
+        when(certificateProvider.getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, null))
+                .thenReturn(certificate(ETAG));
+        when(certificateProvider.getRootCertificateIfChanged(
+                        TEST_RETIRING_CERTIFICATE_AUTHORITY_ID, null))
+                .thenReturn(certificate(ETAG));
+
+        List<Iaca> iacaList = iacasService.getIacas().data();
+
+        assertEquals(2, iacaList.size());
+        assertEquals(TEST_CERTIFICATE_AUTHORITY_ID, iacaList.get(0).id());
+        assertTrue(iacaList.get(0).active());
+        assertEquals(TEST_RETIRING_CERTIFICATE_AUTHORITY_ID, iacaList.get(1).id());
+        assertFalse(iacaList.get(1).active());
+    }
+
+    @Test
+    void Should_ThrowObjectStoreException_When_RootCertificateIsNotReturned() throws Exception {
+        when(certificateProvider.getRootCertificateIfChanged(TEST_CERTIFICATE_AUTHORITY_ID, null))
+                .thenReturn(Optional.empty());
+
+        ObjectStoreException exception =
+                assertThrows(ObjectStoreException.class, () -> iacasService.getIacas());
+
+        assertEquals(
+                "Root certificate not returned: " + TEST_CERTIFICATE_AUTHORITY_ID,
+                exception.getMessage());
+    }
+
+    private IacasService createIacasService(List<String> retiringCertificateAuthorityArns) {
+        return new IacasService(
+                certificateProvider,
+                TEST_CERTIFICATE_AUTHORITY_ARN,
+                retiringCertificateAuthorityArns,
+                REFRESH_INTERVAL,
+                Runnable::run,
+                clock);
+    }
+
+    private static Optional<VersionedObject> certificate(String eTag) {
+        return Optional.of(
+                new VersionedObject(TEST_CERTIFICATE_PEM.getBytes(StandardCharsets.UTF_8), eTag));
+    }
 }
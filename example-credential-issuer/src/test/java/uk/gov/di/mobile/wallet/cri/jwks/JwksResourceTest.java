@@ -67,5 +67,27 @@ class JwksResourceTest {
         verify(jwksService, times(1)).generateJwks();
         assertThat(response.getStatus(), is(200));
         assertThat(response.readEntity(String.class), is(expectedJWKSet.toString()));
+        assertThat(response.getHeaderString("Cache-Control"), is("no-cache"));
+        assertThat(response.getHeaderString("ETag") != null, is(true));
+    }
+
+    @Test
+    void should_Return_304_When_IfNoneMatchMatchesETag()
+            throws ParseException, KeyNotActiveException, PEMException, NoSuchAlgorithmException {
+        JWK publicKey =
+                JWK.parse(
+                        "{\"kty\":\"EC\",\"crv\":\"P-256\",\"kid\":\"d7cb2ed24d8f70433e293ebc270bf1de77fcfab02a7f631da396b70e9b3aa8d7\",\"x\":\"sSdmBkED2EfjTdX-K2_cT6CfBwXQFt-DJ6v8-6tr_n8\",\"y\":\"WTXmQdqLwrmHN5tiFsTFUtNAvDYhhTQB4zyfteCrWIE\",\"alg\":\"ES256\",\"use\":\"sig\"}");
+        when(jwksService.generateJwks()).thenReturn(new JWKSet(List.of(publicKey)));
+        String entityTag =
+                resource.target("/.well-known/jwks.json").request().get().getHeaderString("ETag");
+
+        final Response response =
+                resource.target("/.well-known/jwks.json")
+                        .request()
+                        .header("If-None-Match", entityTag)
+                        .get();
+
+        assertThat(response.getStatus(), is(304));
+        assertThat(response.getHeaderString("ETag"), is(entityTag));
     }
 }
@@ -5,10 +5,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import uk.gov.di.mobile.wallet.cri.responses.ResponseUtil;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class LogoResourceTest {
@@ -22,21 +26,21 @@ class LogoResourceTest {
 
     @Test
     void Should_ReturnOkResponse() {
-        Response response = logoResource.getLogo();
+        Response response = logoResource.getLogo(null);
 
         assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
     }
 
     @Test
     void Should_ReturnCorrectContentType() {
-        Response response = logoResource.getLogo();
+        Response response = logoResource.getLogo(null);
 
         assertEquals("image/png", response.getMediaType().toString());
     }
 
     @Test
     void Should_ReturnValidPngData() {
-        Response response = logoResource.getLogo();
+        Response response = logoResource.getLogo(null);
 
         byte[] logoBytes = (byte[]) response.getEntity();
 
@@ -52,11 +56,46 @@ class LogoResourceTest {
         assertEquals((byte) 0x0A, logoBytes[7]);
     }
 
+    @Test
+    void Should_ReturnETagAndImmutableCacheControl() {
+        Response response = logoResource.getLogo(null);
+
+        assertNotNull(response.getHeaderString("ETag"));
+        assertEquals("public, max-age=86400, immutable", response.getHeaderString("Cache-Control"));
+    }
+
+    @Test
+    void Should_Return304_When_IfNoneMatchMatchesETag() {
+        String entityTag = logoResource.getLogo(null).getHeaderString("ETag");
+
+        Response response = logoResource.getLogo(entityTag);
+
+        assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+        assertNull(response.getEntity());
+        assertEquals(entityTag, response.getHeaderString("ETag"));
+    }
+
+    @Test
+    void Should_ReadLogoOnce_When_ServedRepeatedly() {
+        AtomicInteger reads = new AtomicInteger();
+        LogoResource resource =
+                new LogoResource(
+                        () -> {
+                            reads.incrementAndGet();
+                            return new ByteArrayInputStream(new byte[] {1, 2, 3});
+                        });
+
+        resource.getLogo(null);
+        resource.getLogo(null);
+
+        assertEquals(1, reads.get());
+    }
+
     @Test
     void Should_Return404_When_LogoNotFound() {
         LogoResource resource = new LogoResource(() -> null);
 
-        Response response = resource.getLogo();
+        Response response = resource.getLogo(null);
 
         assertEquals(Response.Status.NOT_FOUND.getStatusCode(), response.getStatus());
         assertEquals(ResponseUtil.NO_STORE, response.getHeaderString("Cache-Control"));
@@ -74,7 +113,7 @@ class LogoResourceTest {
                                     }
                                 });
 
-        Response response = resource.getLogo();
+        Response response = resource.getLogo(null);
 
         assertEquals(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(), response.getStatus());
         assertEquals(ResponseUtil.NO_STORE, response.getHeaderString("Cache-Control"));
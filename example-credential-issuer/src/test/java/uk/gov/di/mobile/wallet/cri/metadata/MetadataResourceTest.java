@@ -1,12 +1,12 @@
 package uk.gov.di.mobile.wallet.cri.metadata;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.ws.rs.core.Response;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
@@ -14,11 +14,17 @@ import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 import java.io.IOException;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Answers.RETURNS_SELF;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,52 +34,95 @@ class MetadataResourceTest {
     private static final String SELF_URL = "https://credential-issuer.test.gov.uk";
     private static final String AUTH_SERVER_URL = "https://authorization-server.test.gov.uk";
     private static final String CREDENTIAL_STORE_URL = "https://credential-store.test.gov.uk";
+    private static final Metadata METADATA =
+            new Metadata(
+                    SELF_URL,
+                    List.of(AUTH_SERVER_URL),
+                    SELF_URL + "/credential",
+                    SELF_URL + "/notification",
+                    SELF_URL + "/iacas",
+                    Map.of(),
+                    List.of());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Mock private ConfigurationService configurationService;
 
     @Mock(answer = RETURNS_SELF)
     private MetadataBuilder metadataBuilder;
 
-    @Mock private Metadata metadata;
-
-    @InjectMocks private MetadataResource metadataResource;
-
     @Test
-    void Should_Return200AndMetadata() {
-        when(configurationService.getOneLoginAuthServerUrl()).thenReturn(AUTH_SERVER_URL);
-        when(configurationService.getSelfUrl()).thenReturn(URI.create(SELF_URL));
-        when(configurationService.getEnvironment()).thenReturn("test");
-        when(configurationService.getCredentialStoreUrl())
-                .thenReturn(URI.create(CREDENTIAL_STORE_URL));
-        when(metadataBuilder.build()).thenReturn(metadata);
+    void Should_Return200AndMetadata() throws IOException {
+        stubConfiguration("test", SELF_URL);
+        when(metadataBuilder.build()).thenReturn(METADATA);
+        when(configurationService.getMetadataCacheMaxAgeInSecs()).thenReturn(300);
 
-        final Response response = metadataResource.getMetadata();
+        final Response response = createMetadataResource().getMetadata(null);
 
         assertEquals(200, response.getStatus());
         assertEquals(
                 "application/json;charset=UTF-8",
                 response.getMediaType().toString(),
                 "Content-Type should be JSON with UTF-8 charset");
-        assertEquals(
-                null,
-                response.getHeaderString("Cache-Control"),
-                "Cache-Control header should not be set");
-        assertInstanceOf(
-                Metadata.class,
-                response.getEntity(),
-                "Response entity should be a Metadata object");
+        assertEquals("public, max-age=300", response.getHeaderString("Cache-Control"));
+        assertNotNull(response.getHeaderString("ETag"), "ETag header should be set");
+        assertArrayEquals(
+                objectMapper.writeValueAsBytes(METADATA),
+                (byte[]) response.getEntity(),
+                "Response entity should be the serialized metadata");
+    }
+
+    @Test
+    void Should_Return304_When_IfNoneMatchMatchesETag() {
+        stubConfiguration("test", SELF_URL);
+        when(metadataBuilder.build()).thenReturn(METADATA);
+        when(configurationService.getMetadataCacheMaxAgeInSecs()).thenReturn(300);
+        MetadataResource metadataResource = createMetadataResource();
+        String entityTag = metadataResource.getMetadata(null).getHeaderString("ETag");
+
+        final Response response = metadataResource.getMetadata(entityTag);
+
+        assertEquals(304, response.getStatus());
+        assertNull(response.getEntity());
+        assertEquals(entityTag, response.getHeaderString("ETag"));
+        assertEquals("public, max-age=300", response.getHeaderString("Cache-Control"));
+    }
+
+    @Test
+    void Should_Return200_When_IfNoneMatchDoesNotMatchETag() {
+        stubConfiguration("test", SELF_URL);
+        when(metadataBuilder.build()).thenReturn(METADATA);
+        when(configurationService.getMetadataCacheMaxAgeInSecs()).thenReturn(300);
+
+        final Response response = createMetadataResource().getMetadata("\"outdated\"");
+
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void Should_BuildMetadataOnce_When_ServedRepeatedly() throws IOException {
+        stubConfiguration("test", SELF_URL);
+        when(metadataBuilder.build()).thenReturn(METADATA);
+        when(configurationService.getMetadataCacheMaxAgeInSecs()).thenReturn(300);
+        MetadataResource metadataResource = createMetadataResource();
+
+        Object firstEntity = metadataResource.getMetadata(null).getEntity();
+        Object secondEntity = metadataResource.getMetadata(null).getEntity();
+
+        assertSame(firstEntity, secondEntity);
+        verify(metadataBuilder)
+                .setCredentialConfigurationsSupported(
+                        "credential_configurations_supported.json", CREDENTIAL_STORE_URL);
+        verify(metadataBuilder, times(1)).build();
     }
 
     @Test
     void Should_CallAllBuilderMethods() throws IOException {
-        when(configurationService.getOneLoginAuthServerUrl()).thenReturn(AUTH_SERVER_URL);
-        when(configurationService.getSelfUrl()).thenReturn(URI.create(SELF_URL));
-        when(configurationService.getEnvironment()).thenReturn("test");
-        when(configurationService.getCredentialStoreUrl())
-                .thenReturn(URI.create(CREDENTIAL_STORE_URL));
-        when(metadataBuilder.build()).thenReturn(metadata);
+        stubConfiguration("test", SELF_URL);
+        when(metadataBuilder.build()).thenReturn(METADATA);
+        when(configurationService.getMetadataCacheMaxAgeInSecs()).thenReturn(300);
 
-        metadataResource.getMetadata();
+        createMetadataResource();
 
         verify(metadataBuilder).setCredentialIssuer(SELF_URL);
         verify(metadataBuilder).setCredentialEndpoint(SELF_URL + "/credential");
@@ -88,56 +137,44 @@ class MetadataResourceTest {
     }
 
     @Test
-    void Should_Return500_When_ConfigurationServiceThrowsRuntimeException() {
+    void Should_ThrowException_When_ConfigurationServiceThrowsRuntimeException() {
         when(configurationService.getSelfUrl())
                 .thenThrow(new RuntimeException("Configuration error"));
 
-        final Response response = metadataResource.getMetadata();
-
-        assertEquals(500, response.getStatus());
+        assertThrows(RuntimeException.class, this::createMetadataResource);
     }
 
     @Test
-    void Should_Return500_When_MetadataBuilderThrowsIllegalArgumentException() {
-        when(configurationService.getOneLoginAuthServerUrl()).thenReturn(AUTH_SERVER_URL);
-        when(configurationService.getSelfUrl()).thenReturn(URI.create(SELF_URL));
-        when(configurationService.getEnvironment()).thenReturn("test");
-        when(configurationService.getCredentialStoreUrl())
-                .thenReturn(URI.create(CREDENTIAL_STORE_URL));
+    void Should_ThrowException_When_MetadataBuilderThrowsIllegalArgumentException() {
+        stubConfiguration("test", SELF_URL);
         when(metadataBuilder.build())
                 .thenThrow(new IllegalArgumentException("Invalid configuration"));
 
-        final Response response = metadataResource.getMetadata();
-
-        assertEquals(500, response.getStatus());
+        assertThrows(IllegalArgumentException.class, this::createMetadataResource);
     }
 
     @Test
-    void Should_Return500_When_MetadataBuilderThrowsRuntimeException() {
-        when(configurationService.getOneLoginAuthServerUrl()).thenReturn(AUTH_SERVER_URL);
-        when(configurationService.getSelfUrl()).thenReturn(URI.create(SELF_URL));
-        when(configurationService.getEnvironment()).thenReturn("test");
-        when(configurationService.getCredentialStoreUrl())
-                .thenReturn(URI.create(CREDENTIAL_STORE_URL));
-        when(metadataBuilder.build()).thenThrow(new RuntimeException("Unexpected error"));
-
-        final Response response = metadataResource.getMetadata();
-
-        assertEquals(500, response.getStatus());
+    void Should_ThrowIllegalStateException_When_CredentialConfigurationsCannotBeRead()
+            throws IOException {
+        stubConfiguration("test", SELF_URL);
+        when(metadataBuilder.setCredentialConfigurationsSupported(
+                        "credential_configurations_supported.json", CREDENTIAL_STORE_URL))
+                .thenThrow(new IOException("Read error"));
+
+        IllegalStateException exception =
+                assertThrows(IllegalStateException.class, this::createMetadataResource);
+        assertEquals("Failed to build the credential issuer metadata", exception.getMessage());
     }
 
     @ParameterizedTest
     @MethodSource("iacasEndpointScenarios")
     void Should_UseCorrectIacasEndpoint(
             String environment, String selfUrl, String expectedIacasEndpoint, String testName) {
-        when(configurationService.getOneLoginAuthServerUrl()).thenReturn(AUTH_SERVER_URL);
-        when(configurationService.getCredentialStoreUrl())
-                .thenReturn(URI.create(CREDENTIAL_STORE_URL));
-        when(metadataBuilder.build()).thenReturn(metadata);
-        when(configurationService.getEnvironment()).thenReturn(environment);
-        when(configurationService.getSelfUrl()).thenReturn(URI.create(selfUrl));
+        stubConfiguration(environment, selfUrl);
+        when(metadataBuilder.build()).thenReturn(METADATA);
+        when(configurationService.getMetadataCacheMaxAgeInSecs()).thenReturn(300);
 
-        final Response response = metadataResource.getMetadata();
+        final Response response = createMetadataResource().getMetadata(null);
 
         assertEquals(200, response.getStatus());
         verify(metadataBuilder).setIacasEndpoint(expectedIacasEndpoint);
@@ -164,4 +201,16 @@ class MetadataResourceTest {
                         "Should_UseSelfUrl_When_NonStagingEnvironment" // test name
                         ));
     }
+
+    private void stubConfiguration(String environment, String selfUrl) {
+        when(configurationService.getOneLoginAuthServerUrl()).thenReturn(AUTH_SERVER_URL);
+        when(configurationService.getSelfUrl()).thenReturn(URI.create(selfUrl));
+        when(configurationService.getEnvironment()).thenReturn(environment);
+        when(configurationService.getCredentialStoreUrl())
+                .thenReturn(URI.create(CREDENTIAL_STORE_URL));
+    }
+
+    private MetadataResource createMetadataResource() {
+        return new MetadataResource(configurationService, metadataBuilder, objectMapper);
+    }
 }
@@ -28,8 +28,11 @@ import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static testUtils.EcKeyHelper.getEcKey;
 
@@ -70,7 +73,29 @@ class NotificationServiceTest {
         AccessTokenService.AccessTokenData mockAccessTokenData =
                 new AccessTokenService.AccessTokenData(
                         WALLET_SUBJECT_ID, NONCE, CREDENTIAL_IDENTIFIER, "org.iso.18013.5.1.mDL");
-        when(mockAccessTokenService.verifyAccessToken(any())).thenReturn(mockAccessTokenData);
+        when(mockAccessTokenService.verifyAccessTokenClaims(any())).thenReturn(mockAccessTokenData);
+    }
+
+    @Test
+    void Should_ThrowAccessTokenValidationException_When_CredentialIdentifierIsMissing()
+            throws AccessTokenValidationException {
+        when(mockAccessTokenService.verifyAccessTokenClaims(any()))
+                .thenReturn(
+                        new AccessTokenService.AccessTokenData(
+                                WALLET_SUBJECT_ID, NONCE, null, "org.iso.18013.5.1.mDL"));
+        NotificationRequestBody requestBody =
+                new NotificationRequestBody(
+                        NOTIFICATION_ID, EventType.credential_accepted, "Credential stored");
+
+        AccessTokenValidationException exception =
+                assertThrows(
+                        AccessTokenValidationException.class,
+                        () -> notificationService.processNotification(accessToken, requestBody));
+        assertThat(
+                exception.getMessage(),
+                containsString("Access token 'credential_identifiers' claim is missing"));
+        verify(mockAccessTokenService, never()).verifyAccessTokenSignature(any(), any());
+        verifyNoInteractions(mockDynamoDbService);
     }
 
     @Test
@@ -151,7 +176,8 @@ class NotificationServiceTest {
                         "6A6BB0DC-C6CB-4FD1-8C03-08423E38802A",
                         EventType.credential_accepted,
                         "Credential stored");
-        verify(mockAccessTokenService, times(1)).verifyAccessToken(accessToken);
+        verify(mockAccessTokenService, times(1)).verifyAccessTokenClaims(accessToken);
+        verify(mockAccessTokenService, times(1)).verifyAccessTokenSignature(eq(accessToken), any());
         verify(mockDynamoDbService, times(1)).getStoredCredential(CREDENTIAL_IDENTIFIER);
     }
 
@@ -180,7 +206,8 @@ class NotificationServiceTest {
                         "77368ca6-877b-4208-a397-99f1df890400",
                         eventType,
                         eventDescription);
-        verify(mockAccessTokenService, times(1)).verifyAccessToken(accessToken);
+        verify(mockAccessTokenService, times(1)).verifyAccessTokenClaims(accessToken);
+        verify(mockAccessTokenService, times(1)).verifyAccessTokenSignature(eq(accessToken), any());
         verify(mockDynamoDbService, times(1)).getStoredCredential(CREDENTIAL_IDENTIFIER);
     }
 
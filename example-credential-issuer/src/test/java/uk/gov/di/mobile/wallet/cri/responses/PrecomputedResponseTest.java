@@ -0,0 +1,77 @@
+package uk.gov.di.mobile.wallet.cri.responses;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrecomputedResponseTest {
+
+    private static final byte[] BODY = "{\"key\":\"value\"}".getBytes(StandardCharsets.UTF_8);
+    private static final String CACHE_CONTROL = "public, max-age=60";
+
+    private final PrecomputedResponse precomputedResponse =
+            new PrecomputedResponse(BODY, MediaType.APPLICATION_JSON_TYPE, CACHE_CONTROL);
+
+    @Test
+    void Should_Return200WithBodyAndHeaders_When_IfNoneMatchIsNull() {
+        Response response = precomputedResponse.respond(null);
+
+        assertEquals(200, response.getStatus());
+        assertSame(BODY, response.getEntity());
+        assertEquals(MediaType.APPLICATION_JSON_TYPE, response.getMediaType());
+        assertEquals(precomputedResponse.getEntityTag(), response.getHeaderString("ETag"));
+        assertEquals(CACHE_CONTROL, response.getHeaderString("Cache-Control"));
+    }
+
+    @Test
+    void Should_Return200_When_IfNoneMatchDoesNotMatch() {
+        Response response = precomputedResponse.respond("\"outdated\", W/\"older\"");
+
+        assertEquals(200, response.getStatus());
+        assertSame(BODY, response.getEntity());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"%s", "W/%s", "\"outdated\", %s", "*"})
+    void Should_Return304WithoutBody_When_IfNoneMatchMatches(String ifNoneMatch) {
+        String entityTag = precomputedResponse.getEntityTag();
+
+        Response response = precomputedResponse.respond(ifNoneMatch.formatted(entityTag));
+
+        assertEquals(304, response.getStatus());
+        assertNull(response.getEntity());
+        assertEquals(entityTag, response.getHeaderString("ETag"));
+        assertEquals(CACHE_CONTROL, response.getHeaderString("Cache-Control"));
+    }
+
+    @Test
+    void Should_ReturnQuotedEntityTagDerivedFromBody() {
+        String entityTag = precomputedResponse.getEntityTag();
+        PrecomputedResponse sameBody =
+                new PrecomputedResponse(BODY.clone(), MediaType.APPLICATION_JSON_TYPE, "no-cache");
+        PrecomputedResponse otherBody =
+                new PrecomputedResponse(
+                        "{}".getBytes(StandardCharsets.UTF_8),
+                        MediaType.APPLICATION_JSON_TYPE,
+                        CACHE_CONTROL);
+
+        assertTrue(entityTag.startsWith("\"") && entityTag.endsWith("\""));
+        assertEquals(entityTag, sameBody.getEntityTag());
+        assertNotEquals(entityTag, otherBody.getEntityTag());
+    }
+
+    @Test
+    void Should_BuildPublicMaxAgeCacheControl() {
+        assertEquals("public, max-age=300", PrecomputedResponse.publicMaxAge(300));
+    }
+}
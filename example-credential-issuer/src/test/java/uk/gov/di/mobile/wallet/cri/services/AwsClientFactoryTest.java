@@ -0,0 +1,161 @@
+package uk.gov.di.mobile.wallet.cri.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.kms.KmsAsyncClient;
+import software.amazon.awssdk.services.kms.KmsClient;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AwsClientFactoryTest {
+
+    private static final String REGION = "eu-west-2";
+    private static final String LOCAL_AWS_ENDPOINT = "http://localhost:4566";
+    private static final String KMS_ENDPOINT = "http://localhost:4559";
+
+    @Mock private ConfigurationService configurationService;
+    private AwsClientFactory awsClientFactory;
+
+    @BeforeEach
+    void setUp() {
+        when(configurationService.getAwsHttpMaxConnections()).thenReturn(50);
+        when(configurationService.getAwsHttpConnectionTimeoutInMillis()).thenReturn(2000);
+        when(configurationService.getAwsHttpConnectionAcquisitionTimeoutInMillis())
+                .thenReturn(1000);
+        when(configurationService.getAwsHttpSocketTimeoutInMillis()).thenReturn(5000);
+        when(configurationService.getAwsHttpConnectionMaxIdleInSecs()).thenReturn(60);
+        when(configurationService.getAwsHttpConnectionTtlInSecs()).thenReturn(300);
+        when(configurationService.isAwsHttpTcpKeepAliveEnabled()).thenReturn(true);
+        when(configurationService.getAwsRegion()).thenReturn(REGION);
+        awsClientFactory = new AwsClientFactory(configurationService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        awsClientFactory.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"local", "ci"})
+    void Should_CreateDynamoDbClientWithLocalEndpoint_When_RunningLocally(String environment) {
+        when(configurationService.getEnvironment()).thenReturn(environment);
+        when(configurationService.getDynamoDbApiCallAttemptTimeoutInMillis()).thenReturn(1000);
+        when(configurationService.getLocalAwsEndpoint()).thenReturn(LOCAL_AWS_ENDPOINT);
+
+        DynamoDbEnhancedClient client = awsClientFactory.createDynamoDbClient();
+
+        assertNotNull(client);
+        verify(configurationService).getLocalAwsEndpoint();
+    }
+
+    @Test
+    void Should_CreateDynamoDbClientWithoutEndpointOverride_When_RunningInAws() {
+        when(configurationService.getEnvironment()).thenReturn("dev");
+        when(configurationService.getDynamoDbApiCallAttemptTimeoutInMillis()).thenReturn(1000);
+
+        DynamoDbEnhancedClient client = awsClientFactory.createDynamoDbClient();
+
+        assertNotNull(client);
+        verify(configurationService, never()).getLocalAwsEndpoint();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"local", "ci"})
+    void Should_CreateKmsClientWithKmsEndpoint_When_RunningLocally(String environment) {
+        when(configurationService.getEnvironment()).thenReturn(environment);
+        when(configurationService.getKmsApiCallAttemptTimeoutInMillis()).thenReturn(2000);
+        when(configurationService.getKmsEndpoint()).thenReturn(KMS_ENDPOINT);
+
+        try (KmsClient client = awsClientFactory.createKmsClient()) {
+            assertEquals(Region.of(REGION), client.serviceClientConfiguration().region());
+            assertEquals(
+                    Optional.of(URI.create(KMS_ENDPOINT)),
+                    client.serviceClientConfiguration().endpointOverride());
+            assertEquals(
+                    Optional.of(Duration.ofMillis(2000)),
+                    client.serviceClientConfiguration()
+                            .overrideConfiguration()
+                            .apiCallAttemptTimeout());
+        }
+    }
+
+    @Test
+    void Should_CreateKmsClientWithoutEndpointOverride_When_RunningInAws() {
+        when(configurationService.getEnvironment()).thenReturn("dev");
+        when(configurationService.getKmsApiCallAttemptTimeoutInMillis()).thenReturn(2000);
+
+        try (KmsClient client = awsClientFactory.createKmsClient()) {
+            assertEquals(Region.of(REGION), client.serviceClientConfiguration().region());
+            assertEquals(Optional.empty(), client.serviceClientConfiguration().endpointOverride());
+        }
+        verify(configurationService, never()).getKmsEndpoint();
+    }
+
+    @Test
+    void Should_CreateKmsAsyncClientWithKmsEndpoint_When_RunningLocally() {
+        when(configurationService.getEnvironment()).thenReturn("local");
+        when(configurationService.getKmsApiCallAttemptTimeoutInMillis()).thenReturn(2000);
+        when(configurationService.getKmsEndpoint()).thenReturn(KMS_ENDPOINT);
+
+        try (KmsAsyncClient client = awsClientFactory.createKmsAsyncClient()) {
+            assertEquals(Region.of(REGION), client.serviceClientConfiguration().region());
+            assertEquals(
+                    Optional.of(URI.create(KMS_ENDPOINT)),
+                    client.serviceClientConfiguration().endpointOverride());
+            assertEquals(
+                    Optional.of(Duration.ofMillis(2000)),
+                    client.serviceClientConfiguration()
+                            .overrideConfiguration()
+                            .apiCallAttemptTimeout());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"local", "ci"})
+    void Should_CreateS3ClientWithLocalEndpoint_When_RunningLocally(String environment) {
+        when(configurationService.getEnvironment()).thenReturn(environment);
+        when(configurationService.getS3ApiCallAttemptTimeoutInMillis()).thenReturn(3000);
+        when(configurationService.getLocalAwsEndpoint()).thenReturn(LOCAL_AWS_ENDPOINT);
+
+        try (S3Client client = awsClientFactory.createS3Client()) {
+            assertEquals(Region.of(REGION), client.serviceClientConfiguration().region());
+            assertEquals(
+                    Optional.of(URI.create(LOCAL_AWS_ENDPOINT)),
+                    client.serviceClientConfiguration().endpointOverride());
+            assertEquals(
+                    Optional.of(Duration.ofMillis(3000)),
+                    client.serviceClientConfiguration()
+                            .overrideConfiguration()
+                            .apiCallAttemptTimeout());
+        }
+    }
+
+    @Test
+    void Should_CreateS3ClientWithoutEndpointOverride_When_RunningInAws() {
+        when(configurationService.getEnvironment()).thenReturn("dev");
+        when(configurationService.getS3ApiCallAttemptTimeoutInMillis()).thenReturn(3000);
+
+        try (S3Client client = awsClientFactory.createS3Client()) {
+            assertEquals(Region.of(REGION), client.serviceClientConfiguration().region());
+        }
+        verify(configurationService, never()).getLocalAwsEndpoint();
+    }
+}
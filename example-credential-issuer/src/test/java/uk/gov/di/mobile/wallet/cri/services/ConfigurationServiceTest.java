@@ -11,10 +11,13 @@ import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith({SystemStubsExtension.class})
 class ConfigurationServiceTest {
@@ -147,6 +150,19 @@ class ConfigurationServiceTest {
                 configurationService.getCertificateAuthorityArn());
     }
 
+    @Test
+    void Should_ReturnNoRetiringCertificateAuthorityArns_When_EnvVarNotSet() {
+        assertEquals(List.of(), configurationService.getRetiringCertificateAuthorityArns());
+    }
+
+    @Test
+    void Should_ReturnRetiringCertificateAuthorityArnsEnvVarValue() {
+        environmentVariables.set("RETIRING_CERTIFICATE_AUTHORITY_ARNS", "arn:ca-1, ,arn:ca-2");
+        assertEquals(
+                List.of("arn:ca-1", "arn:ca-2"),
+                configurationService.getRetiringCertificateAuthorityArns());
+    }
+
     @Test
     void Should_ReturnCertificateBucketNameDefaultValue_When_EnvVarNotSet() {
         assertEquals("certificates", configurationService.getCertificatesBucketName());
@@ -288,4 +304,341 @@ class ConfigurationServiceTest {
         environmentVariables.set("ENVIRONMENT", "build");
         assertEquals(false, configurationService.isSigV4Enabled());
     }
+
+    @Test
+    void Should_ReturnConcurrentIssuanceDisabled_When_EnvVarNotSet() {
+        assertEquals(false, configurationService.isConcurrentIssuanceEnabled());
+    }
+
+    @Test
+    void Should_ReturnConcurrentIssuanceEnvVarValue() {
+        environmentVariables.set("CONCURRENT_ISSUANCE_ENABLED", "true");
+        assertEquals(true, configurationService.isConcurrentIssuanceEnabled());
+    }
+
+    @Test
+    void Should_ReturnIssuanceThreadPoolSizeDefaultValue_When_EnvVarNotSet() {
+        assertEquals(32, configurationService.getIssuanceThreadPoolSize());
+    }
+
+    @Test
+    void Should_ReturnIssuanceDeadlineEnvVarValue() {
+        environmentVariables.set("ISSUANCE_DEADLINE_MILLIS", "2500");
+        assertEquals(2500L, configurationService.getIssuanceDeadlineInMillis());
+    }
+
+    @Test
+    void Should_ReturnJwksCacheTtlDefaultValue_When_EnvVarNotSet() {
+        assertEquals(300, configurationService.getJwksCacheTtlInSecs());
+    }
+
+    @Test
+    void Should_ReturnJwksRefreshAheadEnvVarValue() {
+        environmentVariables.set("JWKS_REFRESH_AHEAD_SECONDS", "10");
+        assertEquals(10, configurationService.getJwksRefreshAheadInSecs());
+    }
+
+    @Test
+    void Should_ReturnJwksStaleIfErrorDefaultValue_When_EnvVarNotSet() {
+        assertEquals(3600, configurationService.getJwksStaleIfErrorInSecs());
+    }
+
+    @Test
+    void Should_ReturnJwksUnknownKeyIdTtlEnvVarValue() {
+        environmentVariables.set("JWKS_UNKNOWN_KID_TTL_SECONDS", "5");
+        assertEquals(5, configurationService.getJwksUnknownKeyIdTtlInSecs());
+    }
+
+    @Test
+    void Should_ReturnJwksMissRefreshMinIntervalDefaultValue_When_EnvVarNotSet() {
+        assertEquals(30, configurationService.getJwksMissRefreshMinIntervalInSecs());
+    }
+
+    @Test
+    void Should_ReturnKeyMetadataCacheTtlDefaultValue_When_EnvVarNotSet() {
+        assertEquals(300, configurationService.getKeyMetadataCacheTtlInSecs());
+    }
+
+    @Test
+    void Should_ReturnKeyMetadataRefreshAheadEnvVarValue() {
+        environmentVariables.set("KEY_METADATA_REFRESH_AHEAD_SECONDS", "15");
+        assertEquals(15, configurationService.getKeyMetadataRefreshAheadInSecs());
+    }
+
+    @Test
+    void Should_ReturnPublicKeyCacheTtlDefaultValue_When_EnvVarNotSet() {
+        assertEquals(300, configurationService.getPublicKeyCacheTtlInSecs());
+    }
+
+    @Test
+    void Should_ReturnPublicKeyRefreshAheadEnvVarValue() {
+        environmentVariables.set("PUBLIC_KEY_REFRESH_AHEAD_SECONDS", "20");
+        assertEquals(20, configurationService.getPublicKeyRefreshAheadInSecs());
+    }
+
+    @Test
+    void Should_ReturnCertificateRefreshIntervalDefaultValue_When_EnvVarNotSet() {
+        assertEquals(300, configurationService.getCertificateRefreshIntervalInSecs());
+    }
+
+    @Test
+    void Should_ReturnFixedPointAccessTokenVerificationDisabled_When_EnvVarNotSet() {
+        assertFalse(configurationService.isFixedPointAccessTokenVerificationEnabled());
+    }
+
+    @Test
+    void Should_ReturnFixedPointAccessTokenVerificationEnabled_When_EngineIsFixedPoint() {
+        environmentVariables.set("ACCESS_TOKEN_VERIFICATION_ENGINE", "fixed-point");
+        assertTrue(configurationService.isFixedPointAccessTokenVerificationEnabled());
+    }
+
+    @Test
+    void Should_ThrowException_When_AccessTokenVerificationEngineIsInvalid() {
+        environmentVariables.set("ACCESS_TOKEN_VERIFICATION_ENGINE", "native");
+        assertThrows(
+                IllegalArgumentException.class,
+                configurationService::isFixedPointAccessTokenVerificationEnabled);
+    }
+
+    @Test
+    void Should_ReturnVerifiedAccessTokenCacheMaximumSizeDefaultValue_When_EnvVarNotSet() {
+        assertEquals(10000, configurationService.getVerifiedAccessTokenCacheMaximumSize());
+    }
+
+    @Test
+    void Should_ReturnVerifiedAccessTokenCacheMaximumTtlEnvVarValue() {
+        environmentVariables.set("VERIFIED_ACCESS_TOKEN_CACHE_MAX_TTL_SECONDS", "60");
+        assertEquals(60, configurationService.getVerifiedAccessTokenCacheMaximumTtlInSecs());
+    }
+
+    @Test
+    void Should_ReturnDidKeyCacheMaximumSizeDefaultValue_When_EnvVarNotSet() {
+        assertEquals(10000, configurationService.getDidKeyCacheMaximumSize());
+    }
+
+    @Test
+    void Should_ReturnDidKeyCacheMaximumSizeEnvVarValue() {
+        environmentVariables.set("DID_KEY_CACHE_MAXIMUM_SIZE", "500");
+        assertEquals(500, configurationService.getDidKeyCacheMaximumSize());
+    }
+
+    @Test
+    void Should_ReturnMetadataCacheMaxAgeDefaultValue_When_EnvVarNotSet() {
+        assertEquals(300, configurationService.getMetadataCacheMaxAgeInSecs());
+    }
+
+    @Test
+    void Should_ReturnMetadataCacheMaxAgeEnvVarValue() {
+        environmentVariables.set("METADATA_CACHE_MAX_AGE_SECONDS", "3600");
+        assertEquals(3600, configurationService.getMetadataCacheMaxAgeInSecs());
+    }
+
+    @Test
+    void Should_ReturnStatusListIndexPoolDisabled_When_EnvVarNotSet() {
+        assertFalse(configurationService.isStatusListIndexPoolEnabled());
+    }
+
+    @Test
+    void Should_ReturnStatusListIndexPoolEnabledEnvVarValue() {
+        environmentVariables.set("STATUS_LIST_INDEX_POOL_ENABLED", "true");
+        assertTrue(configurationService.isStatusListIndexPoolEnabled());
+    }
+
+    @Test
+    void Should_ReturnStatusListIndexPoolDefaultValues_When_EnvVarsNotSet() {
+        assertEquals(3600, configurationService.getStatusListIndexPoolBucketInSecs());
+        assertEquals(20, configurationService.getStatusListIndexPoolLowWaterMark());
+        assertEquals(100, configurationService.getStatusListIndexPoolHighWaterMark());
+    }
+
+    @Test
+    void Should_ReturnStatusListIndexPoolEnvVarValues() {
+        environmentVariables.set("STATUS_LIST_INDEX_POOL_BUCKET_SECONDS", "600");
+        environmentVariables.set("STATUS_LIST_INDEX_POOL_LOW_WATER_MARK", "5");
+        environmentVariables.set("STATUS_LIST_INDEX_POOL_HIGH_WATER_MARK", "50");
+        assertEquals(600, configurationService.getStatusListIndexPoolBucketInSecs());
+        assertEquals(5, configurationService.getStatusListIndexPoolLowWaterMark());
+        assertEquals(50, configurationService.getStatusListIndexPoolHighWaterMark());
+    }
+
+    @Test
+    void Should_ReturnAwsHttpClientDefaultValues_When_EnvVarsNotSet() {
+        assertEquals(50, configurationService.getAwsHttpMaxConnections());
+        assertEquals(2000, configurationService.getAwsHttpConnectionTimeoutInMillis());
+        assertEquals(1000, configurationService.getAwsHttpConnectionAcquisitionTimeoutInMillis());
+        assertEquals(5000, configurationService.getAwsHttpSocketTimeoutInMillis());
+        assertEquals(60, configurationService.getAwsHttpConnectionMaxIdleInSecs());
+        assertEquals(300, configurationService.getAwsHttpConnectionTtlInSecs());
+        assertTrue(configurationService.isAwsHttpTcpKeepAliveEnabled());
+    }
+
+    @Test
+    void Should_ReturnAwsHttpClientEnvVarValues() {
+        environmentVariables.set("AWS_HTTP_MAX_CONNECTIONS", "200");
+        environmentVariables.set("AWS_HTTP_CONNECTION_TTL_SECONDS", "120");
+        environmentVariables.set("AWS_HTTP_TCP_KEEP_ALIVE", "false");
+        assertEquals(200, configurationService.getAwsHttpMaxConnections());
+        assertEquals(120, configurationService.getAwsHttpConnectionTtlInSecs());
+        assertFalse(configurationService.isAwsHttpTcpKeepAliveEnabled());
+    }
+
+    @Test
+    void Should_ReturnApiCallAttemptTimeoutDefaultValues_When_EnvVarsNotSet() {
+        assertEquals(1000, configurationService.getDynamoDbApiCallAttemptTimeoutInMillis());
+        assertEquals(2000, configurationService.getKmsApiCallAttemptTimeoutInMillis());
+        assertEquals(3000, configurationService.getS3ApiCallAttemptTimeoutInMillis());
+    }
+
+    @Test
+    void Should_ReturnDynamoDbApiCallAttemptTimeoutEnvVarValue() {
+        environmentVariables.set("DYNAMODB_API_CALL_ATTEMPT_TIMEOUT_MILLIS", "500");
+        assertEquals(500, configurationService.getDynamoDbApiCallAttemptTimeoutInMillis());
+    }
+
+    @Test
+    void Should_ReturnAsyncSigningDefaultValues_When_EnvVarsNotSet() {
+        assertFalse(configurationService.isAsyncSigningEnabled());
+        assertEquals(64, configurationService.getAsyncSigningMaxInFlight());
+        assertEquals(512, configurationService.getAsyncSigningMaxQueued());
+        assertEquals(5000, configurationService.getAsyncSigningTimeoutInMillis());
+    }
+
+    @Test
+    void Should_ReturnAsyncSigningEnvVarValues() {
+        environmentVariables.set("ASYNC_SIGNING_ENABLED", "true");
+        environmentVariables.set("ASYNC_SIGNING_MAX_IN_FLIGHT", "16");
+        environmentVariables.set("ASYNC_SIGNING_MAX_QUEUED", "128");
+        environmentVariables.set("ASYNC_SIGNING_TIMEOUT_MILLIS", "2000");
+        assertTrue(configurationService.isAsyncSigningEnabled());
+        assertEquals(16, configurationService.getAsyncSigningMaxInFlight());
+        assertEquals(128, configurationService.getAsyncSigningMaxQueued());
+        assertEquals(2000, configurationService.getAsyncSigningTimeoutInMillis());
+    }
+
+    @Test
+    void Should_ReturnSigningKeyPoolDefaultValues_When_EnvVarsNotSet() {
+        assertEquals(
+                List.of("alias/localSigningKeyAlias"), configurationService.getSigningKeyAliases());
+        assertEquals(
+                List.of(
+                        "arn:aws:kms:eu-west-2:000000000000:key/1291b7bc-3d2c-47f0-a52a-cb6cb0fba6b4"),
+                configurationService.getDocumentSigningKeyArns());
+        assertFalse(configurationService.isLeastLoadedSigningKeySelectionEnabled());
+        assertEquals(1000, configurationService.getSigningKeyThrottleCooldownInMillis());
+    }
+
+    @Test
+    void Should_ReturnSingleSigningKeyAlias_When_OnlySigningKeyAliasIsSet() {
+        environmentVariables.set("SIGNING_KEY_ALIAS", "alias/testSigningKeyAlias-1");
+        assertEquals(
+                List.of("alias/testSigningKeyAlias-1"),
+                configurationService.getSigningKeyAliases());
+    }
+
+    @Test
+    void Should_ReturnSigningKeyPoolEnvVarValues() {
+        environmentVariables.set("SIGNING_KEY_ALIASES", "alias/key-1, alias/key-2,,alias/key-3");
+        environmentVariables.set("DOCUMENT_SIGNING_KEY_ARNS", "arn:key-1,arn:key-2");
+        environmentVariables.set("SIGNING_KEY_SELECTION_STRATEGY", "least-loaded");
+        environmentVariables.set("SIGNING_KEY_THROTTLE_COOLDOWN_MILLIS", "250");
+        assertEquals(
+                List.of("alias/key-1", "alias/key-2", "alias/key-3"),
+                configurationService.getSigningKeyAliases());
+        assertEquals(
+                List.of("arn:key-1", "arn:key-2"),
+                configurationService.getDocumentSigningKeyArns());
+        assertTrue(configurationService.isLeastLoadedSigningKeySelectionEnabled());
+        assertEquals(250, configurationService.getSigningKeyThrottleCooldownInMillis());
+    }
+
+    @Test
+    void Should_ThrowException_When_SigningKeyAliasesHasNoEntries() {
+        environmentVariables.set("SIGNING_KEY_ALIASES", " , ");
+        assertThrows(IllegalArgumentException.class, configurationService::getSigningKeyAliases);
+    }
+
+    @Test
+    void Should_ThrowException_When_SigningKeySelectionStrategyIsInvalid() {
+        environmentVariables.set("SIGNING_KEY_SELECTION_STRATEGY", "random");
+        assertThrows(
+                IllegalArgumentException.class,
+                configurationService::isLeastLoadedSigningKeySelectionEnabled);
+    }
+
+    @Test
+    void Should_ReturnLocalSigningKeyProviderDisabled_When_EnvVarNotSet() {
+        assertFalse(configurationService.isLocalSigningKeyProviderEnabled());
+        assertEquals("", configurationService.getLocalSigningKeyDirectory());
+    }
+
+    @Test
+    void Should_ReturnLocalSigningKeyProviderEnvVarValues() {
+        environmentVariables.set("SIGNING_KEY_PROVIDER", "local");
+        environmentVariables.set("LOCAL_SIGNING_KEY_DIRECTORY", "/tmp/keys");
+        assertTrue(configurationService.isLocalSigningKeyProviderEnabled());
+        assertEquals("/tmp/keys", configurationService.getLocalSigningKeyDirectory());
+    }
+
+    @Test
+    void Should_ThrowException_When_SigningKeyProviderIsInvalid() {
+        environmentVariables.set("SIGNING_KEY_PROVIDER", "hsm");
+
+        IllegalArgumentException exception =
+                assertThrows(
+                        IllegalArgumentException.class,
+                        () -> configurationService.isLocalSigningKeyProviderEnabled());
+        assertEquals("Invalid value for SIGNING_KEY_PROVIDER: hsm", exception.getMessage());
+    }
+
+    @Test
+    void Should_ThrowException_When_LocalSigningKeyProviderIsEnabledInStaging() {
+        environmentVariables.set("SIGNING_KEY_PROVIDER", "local");
+        environmentVariables.set("ENVIRONMENT", "staging");
+
+        IllegalArgumentException exception =
+                assertThrows(
+                        IllegalArgumentException.class,
+                        () -> configurationService.isLocalSigningKeyProviderEnabled());
+        assertEquals(
+                "Invalid value for SIGNING_KEY_PROVIDER: local (not allowed in staging)",
+                exception.getMessage());
+    }
+
+    @Test
+    void Should_ThrowException_When_LocalSigningKeyProviderIsEnabledInUnknownEnvironment() {
+        environmentVariables.set("SIGNING_KEY_PROVIDER", "local");
+        environmentVariables.set("ENVIRONMENT", "prod");
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> configurationService.isLocalSigningKeyProviderEnabled());
+    }
+
+    @Test
+    void Should_ReturnLocalSigningKeyProviderEnabled_When_EnvironmentIsDev() {
+        environmentVariables.set("SIGNING_KEY_PROVIDER", "local");
+        environmentVariables.set("ENVIRONMENT", "dev");
+
+        assertTrue(configurationService.isLocalSigningKeyProviderEnabled());
+    }
+
+    @Test
+    void Should_ThrowException_When_IntegerValueIsInvalid() {
+        environmentVariables.set("ISSUANCE_THREAD_POOL_SIZE", "many");
+
+        IllegalArgumentException exception =
+                assertThrows(
+                        IllegalArgumentException.class,
+                        () -> configurationService.getIssuanceThreadPoolSize());
+        assertEquals("Invalid value for ISSUANCE_THREAD_POOL_SIZE: many", exception.getMessage());
+    }
+
+    @Test
+    void Should_ThrowException_When_IntegerValueIsNotPositive() {
+        environmentVariables.set("ISSUANCE_DEADLINE_MILLIS", "0");
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> configurationService.getIssuanceDeadlineInMillis());
+    }
 }
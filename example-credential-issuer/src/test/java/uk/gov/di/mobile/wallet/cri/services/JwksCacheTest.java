@@ -0,0 +1,235 @@
+package uk.gov.di.mobile.wallet.cri.services;
+
+import com.codahale.metrics.MetricRegistry;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwksCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final String KEY_ID = "test-key-id";
+
+    @Mock private JWKSource<SecurityContext> jwkSource;
+    @Mock private Clock clock;
+    private MetricRegistry metricRegistry;
+    private JwksCache jwksCache;
+    private ECKey key;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        key = new ECKeyGenerator(Curve.P_256).keyID(KEY_ID).generate().toPublicJWK();
+        metricRegistry = new MetricRegistry();
+        when(clock.instant()).thenReturn(NOW);
+        jwksCache =
+                new JwksCache(
+                        jwkSource,
+                        TTL,
+                        Duration.ofSeconds(30),
+                        Duration.ofHours(1),
+                        Duration.ofMinutes(1),
+                        Duration.ofSeconds(30),
+                        Runnable::run,
+                        clock,
+                        metricRegistry);
+    }
+
+    @Test
+    void Should_FetchKeySetOnce_When_KeyIsRequestedWithinTtl() throws KeySourceException {
+        when(jwkSource.get(any(JWKSelector.class), isNull())).thenReturn(List.of(key));
+
+        JWK first = jwksCache.getKey(KEY_ID);
+        JWK second = jwksCache.getKey(KEY_ID);
+
+        assertSame(key, first);
+        assertSame(key, second);
+        verify(jwkSource, times(1)).get(any(JWKSelector.class), isNull());
+        assertEquals(1, metricRegistry.counter("jwks.cache.hits").getCount());
+        assertEquals(1, metricRegistry.counter("jwks.cache.misses").getCount());
+    }
+
+    @Test
+    void Should_RefreshKeySet_When_RequestedWithinRefreshAheadWindow() throws KeySourceException {
+        when(jwkSource.get(any(JWKSelector.class), isNull())).thenReturn(List.of(key));
+        jwksCache.getKey(KEY_ID);
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL).minusSeconds(10));
+        JWK result = jwksCache.getKey(KEY_ID);
+
+        assertSame(key, result);
+        verify(jwkSource, times(2)).get(any(JWKSelector.class), isNull());
+        assertEquals(1, metricRegistry.counter("jwks.cache.hits").getCount());
+    }
+
+    @Test
+    void Should_FetchKeySetOnCallingThread_When_BackgroundRefreshIsRejected() throws Exception {
+        JwksCache rejectingCache =
+                new JwksCache(
+                        jwkSource,
+                        TTL,
+                        Duration.ofSeconds(30),
+                        Duration.ofHours(1),
+                        Duration.ofMinutes(1),
+                        Duration.ofSeconds(30),
+                        task -> {
+                            throw new RejectedExecutionException("Executor is shutting down");
+                        },
+                        clock,
+                        metricRegistry);
+        when(jwkSource.get(any(JWKSelector.class), isNull())).thenReturn(List.of(key));
+        rejectingCache.getKey(KEY_ID);
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL).minusSeconds(10));
+        assertSame(key, rejectingCache.getKey(KEY_ID));
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL).plusSeconds(1));
+        JWK result =
+                assertTimeoutPreemptively(
+                        Duration.ofSeconds(5), () -> rejectingCache.getKey(KEY_ID));
+
+        assertSame(key, result);
+        verify(jwkSource, times(2)).get(any(JWKSelector.class), isNull());
+    }
+
+    @Test
+    void Should_NotFetchKeySetAgain_When_UnknownKeyIdIsRequestedTwice()
+            throws KeySourceException {
+        when(jwkSource.get(any(JWKSelector.class), isNull())).thenReturn(List.of(key));
+
+        assertThrows(KeySourceException.class, () -> jwksCache.getKey("unknown-key-id"));
+        KeySourceException exception =
+                assertThrows(KeySourceException.class, () -> jwksCache.getKey("unknown-key-id"));
+
+        assertEquals("No key found with key ID: unknown-key-id", exception.getMessage());
+        verify(jwkSource, times(1)).get(any(JWKSelector.class), isNull());
+        assertEquals(1, metricRegistry.counter("jwks.cache.unknown-kid-hits").getCount());
+    }
+
+    @Test
+    void Should_FetchKeySetAtMostOncePerInterval_When_ManyUnknownKeyIdsAreRequested()
+            throws KeySourceException {
+        when(jwkSource.get(any(JWKSelector.class), isNull())).thenReturn(List.of(key));
+        jwksCache.getKey(KEY_ID);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(1));
+        for (int i = 0; i < 50; i++) {
+            String keyId = "unknown-key-id-" + i;
+            assertThrows(KeySourceException.class, () -> jwksCache.getKey(keyId));
+        }
+        verify(jwkSource, times(2)).get(any(JWKSelector.class), isNull());
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(40));
+        for (int i = 50; i < 100; i++) {
+            String keyId = "unknown-key-id-" + i;
+            assertThrows(KeySourceException.class, () -> jwksCache.getKey(keyId));
+        }
+        verify(jwkSource, times(3)).get(any(JWKSelector.class), isNull());
+        assertEquals(98, metricRegistry.counter("jwks.cache.rate-limited-misses").getCount());
+    }
+
+    @Test
+    void Should_FetchKeySetAgain_When_UnknownKeyIdTtlHasPassed() throws KeySourceException {
+        when(jwkSource.get(any(JWKSelector.class), isNull()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(key));
+        assertThrows(KeySourceException.class, () -> jwksCache.getKey(KEY_ID));
+
+        when(clock.instant()).thenReturn(NOW.plus(Duration.ofMinutes(2)));
+        JWK result = jwksCache.getKey(KEY_ID);
+
+        assertSame(key, result);
+        verify(jwkSource, times(2)).get(any(JWKSelector.class), isNull());
+    }
+
+    @Test
+    void Should_ServeStaleKeySet_When_RefreshFailsWithinStaleIfErrorWindow()
+            throws KeySourceException {
+        when(jwkSource.get(any(JWKSelector.class), isNull()))
+                .thenReturn(List.of(key))
+                .thenThrow(new KeySourceException("Connection refused"));
+        jwksCache.getKey(KEY_ID);
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL).plusSeconds(60));
+        JWK result = jwksCache.getKey(KEY_ID);
+
+        assertSame(key, result);
+        assertEquals(1, metricRegistry.counter("jwks.cache.refresh-failures").getCount());
+    }
+
+    @Test
+    void Should_ThrowKeySourceException_When_RefreshFailsAfterStaleIfErrorWindow()
+            throws KeySourceException {
+        when(jwkSource.get(any(JWKSelector.class), isNull()))
+                .thenReturn(List.of(key))
+                .thenThrow(new KeySourceException("Connection refused"));
+        jwksCache.getKey(KEY_ID);
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL).plus(Duration.ofHours(2)));
+        KeySourceException exception =
+                assertThrows(KeySourceException.class, () -> jwksCache.getKey(KEY_ID));
+
+        assertEquals("Connection refused", exception.getMessage());
+    }
+
+    @Test
+    void Should_ShareSingleFetch_When_KeyIsMissedConcurrently() throws Exception {
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+        when(jwkSource.get(any(JWKSelector.class), isNull()))
+                .thenAnswer(
+                        invocation -> {
+                            fetchStarted.countDown();
+                            assertTrue(releaseFetch.await(5, TimeUnit.SECONDS));
+                            return List.of(key);
+                        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<JWK> first = executor.submit(() -> jwksCache.getKey(KEY_ID));
+            assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+            Future<JWK> second = executor.submit(() -> jwksCache.getKey(KEY_ID));
+            // Give the second caller time to join the in-flight fetch
+            Thread.sleep(100);
+            releaseFetch.countDown();
+
+            assertSame(key, first.get(5, TimeUnit.SECONDS));
+            assertSame(key, second.get(5, TimeUnit.SECONDS));
+            verify(jwkSource, times(1)).get(any(JWKSelector.class), isNull());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.di.mobile.wallet.cri.services;
 
+import com.codahale.metrics.MetricRegistry;
 import com.nimbusds.jose.KeySourceException;
 import com.nimbusds.jose.jwk.Curve;
 import com.nimbusds.jose.jwk.ECKey;
@@ -15,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.di.mobile.wallet.cri.services.signing.KeyNotActiveException;
 import uk.gov.di.mobile.wallet.cri.services.signing.KeyProvider;
+import uk.gov.di.mobile.wallet.cri.services.signing.PublicKeyCache;
 
 import java.security.InvalidAlgorithmParameterException;
 import java.security.KeyPair;
@@ -30,9 +32,12 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,7 +53,7 @@ class JwksServiceTest {
 
     @Test
     void should_ReturnMatchingJwk_WhenKeyIdExists() throws KeySourceException, ParseException {
-        jwksService = new JwksService(configurationService, kmsService, jwkSource);
+        jwksService = createJwksService(jwkSource);
         JWK publicKey =
                 JWK.parse(
                         "{\"kty\":\"EC\",\"crv\":\"P-256\",\"kid\":\"d7cb2ed24d8f70433e293ebc270bf1de77fcfab02a7f631da396b70e9b3aa8d7\",\"x\":\"sSdmBkED2EfjTdX-K2_cT6CfBwXQFt-DJ6v8-6tr_n8\",\"y\":\"WTXmQdqLwrmHN5tiFsTFUtNAvDYhhTQB4zyfteCrWIE\",\"alg\":\"ES256\"}");
@@ -62,7 +67,7 @@ class JwksServiceTest {
 
     @Test
     void should_ThrowKeySourceException_When_KeyIdNotFound() throws KeySourceException {
-        jwksService = new JwksService(configurationService, kmsService, jwkSource);
+        jwksService = createJwksService(jwkSource);
         final List<JWK> jwkList = Collections.emptyList();
         when(jwkSource.get(any(JWKSelector.class), isNull())).thenReturn(jwkList);
 
@@ -78,7 +83,7 @@ class JwksServiceTest {
 
     @Test
     void should_ConstructWithoutThrowing() {
-        jwksService = new JwksService(configurationService, kmsService);
+        jwksService = createJwksService();
 
         assertThat(jwksService, instanceOf(JwksService.class));
     }
@@ -87,7 +92,7 @@ class JwksServiceTest {
     void should_ThrowKeySourceException_When_JwksUrlIsMalformed() {
         when(configurationService.getOneLoginAuthServerUrl()).thenReturn("not a valid url");
         when(configurationService.getJwksEndpoint()).thenReturn("/.well-known/jwks.json");
-        jwksService = new JwksService(configurationService, kmsService);
+        jwksService = createJwksService();
 
         KeySourceException exception =
                 assertThrows(
@@ -102,7 +107,7 @@ class JwksServiceTest {
         when(configurationService.getOneLoginAuthServerUrl())
                 .thenReturn("https://oidc.example.com");
         when(configurationService.getJwksEndpoint()).thenReturn("/.well-known/jwks.json");
-        jwksService = new JwksService(configurationService, kmsService);
+        jwksService = createJwksService();
 
         // Source is built successfully; exception comes from the subsequent network call
         KeySourceException exception =
@@ -119,24 +124,95 @@ class JwksServiceTest {
                     NoSuchAlgorithmException,
                     PEMException,
                     KeyNotActiveException {
-        when(configurationService.getSigningKeyAlias()).thenReturn("test-signing-key");
+        when(configurationService.getSigningKeyAliases()).thenReturn(List.of("test-signing-key"));
         ECKey mockJwk = getMockJwk();
         when(kmsService.isKeyActive(any(String.class))).thenReturn(true);
         when(kmsService.getPublicKey(any(String.class))).thenReturn(mockJwk);
 
-        JWKSet result = new JwksService(configurationService, kmsService).generateJwks();
+        JWKSet result = createJwksService().generateJwks();
         JWK key = result.getKeyByKeyId(TEST_KEY_ID);
         assertEquals(mockJwk.toString(), key.toJSONString());
     }
 
+    @Test
+    void should_ReturnEveryActivePublicKeyAsJwks_WhenSigningKeyPoolHasSeveralKeys()
+            throws InvalidAlgorithmParameterException,
+                    NoSuchAlgorithmException,
+                    PEMException,
+                    KeyNotActiveException {
+        when(configurationService.getSigningKeyAliases())
+                .thenReturn(List.of("signing-key-1", "signing-key-2", "signing-key-3"));
+        ECKey firstJwk = getMockJwk("key-id-1");
+        ECKey thirdJwk = getMockJwk("key-id-3");
+        when(kmsService.isKeyActive("signing-key-1")).thenReturn(true);
+        when(kmsService.isKeyActive("signing-key-2")).thenReturn(false);
+        when(kmsService.isKeyActive("signing-key-3")).thenReturn(true);
+        when(kmsService.getPublicKey("signing-key-1")).thenReturn(firstJwk);
+        when(kmsService.getPublicKey("signing-key-3")).thenReturn(thirdJwk);
+
+        JWKSet result = createJwksService().generateJwks();
+
+        assertEquals(List.of(firstJwk, thirdJwk), result.getKeys());
+    }
+
+    @Test
+    void should_ThrowKeyNotActiveException_WhenNoSigningKeyIsActive() {
+        when(configurationService.getSigningKeyAliases())
+                .thenReturn(List.of("signing-key-1", "signing-key-2"));
+
+        JwksService jwksService = createJwksService();
+
+        assertThrows(KeyNotActiveException.class, jwksService::generateJwks);
+    }
+
+    @Test
+    void should_ReturnSameJwks_WhenPublicKeysHaveNotChanged()
+            throws InvalidAlgorithmParameterException,
+                    NoSuchAlgorithmException,
+                    PEMException,
+                    KeyNotActiveException {
+        when(configurationService.getPublicKeyCacheTtlInSecs()).thenReturn(300);
+        when(configurationService.getSigningKeyAliases()).thenReturn(List.of("test-signing-key"));
+        when(kmsService.isKeyActive("test-signing-key")).thenReturn(true);
+        when(kmsService.getPublicKey("test-signing-key")).thenReturn(getMockJwk());
+        JwksService jwksService = createJwksService();
+
+        JWKSet first = jwksService.generateJwks();
+        JWKSet second = jwksService.generateJwks();
+
+        assertSame(first, second);
+        verify(kmsService, times(1)).getPublicKey("test-signing-key");
+    }
+
     private ECKey getMockJwk() throws InvalidAlgorithmParameterException, NoSuchAlgorithmException {
+        return getMockJwk(TEST_KEY_ID);
+    }
+
+    private ECKey getMockJwk(String keyId)
+            throws InvalidAlgorithmParameterException, NoSuchAlgorithmException {
         KeyPairGenerator gen = KeyPairGenerator.getInstance(TEST_PUBLIC_KEY_TYPE);
         gen.initialize(Curve.P_256.toECParameterSpec());
         KeyPair keyPair = gen.generateKeyPair();
 
         return new ECKey.Builder(Curve.P_256, (ECPublicKey) keyPair.getPublic())
-                .keyID(TEST_KEY_ID)
+                .keyID(keyId)
                 .algorithm(ES256)
                 .build();
     }
+
+    private JwksService createJwksService() {
+        return new JwksService(
+                configurationService,
+                new PublicKeyCache(kmsService, configurationService, Runnable::run),
+                Runnable::run,
+                new MetricRegistry());
+    }
+
+    private JwksService createJwksService(JWKSource<SecurityContext> jwkSource) {
+        return new JwksService(
+                configurationService,
+                new PublicKeyCache(kmsService, configurationService, Runnable::run),
+                Runnable::run,
+                jwkSource);
+    }
 }
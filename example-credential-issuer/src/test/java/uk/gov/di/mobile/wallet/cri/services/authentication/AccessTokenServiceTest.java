@@ -2,7 +2,9 @@ package uk.gov.di.mobile.wallet.cri.services.authentication;
 
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.jwk.Curve;
 import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,11 +27,14 @@ import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static testUtils.EcKeyHelper.getEcKey;
 
@@ -249,6 +254,7 @@ class AccessTokenServiceTest {
                         AccessTokenValidationException.class,
                         () -> accessTokenService.verifyAccessToken(mockAccessToken));
         assertEquals("JWT aud claim value rejected", exception.getMessage());
+        verifyNoInteractions(jwksService);
     }
 
     @Test
@@ -375,6 +381,101 @@ class AccessTokenServiceTest {
         verify(mockLogger, never()).warn(any());
     }
 
+    @Test
+    void Should_ReturnTokenDataWithoutVerifyingSignature_When_OnlyClaimsAreVerified()
+            throws JOSEException, AccessTokenValidationException {
+        when(configurationService.getSelfUrl()).thenReturn(URI.create("https://issuer-url.gov.uk"));
+        when(configurationService.getOneLoginAuthServerUrl()).thenReturn("https://auth-url.gov.uk");
+        SignedJWT mockAccessToken = spy(new MockAccessTokenBuilder("ES256").build());
+        mockAccessToken.sign(ecSigner);
+
+        AccessTokenService.AccessTokenData response =
+                accessTokenService.verifyAccessTokenClaims(mockAccessToken);
+
+        assertEquals("134e0c41-a8b4-46d4-aec8-cd547e125589", response.nonce());
+        verify(mockAccessToken, never()).verify(any());
+        verifyNoInteractions(jwksService);
+    }
+
+    @Test
+    void Should_ReturnCachedTokenData_When_TokenHasAlreadyBeenVerified()
+            throws JOSEException, ParseException, AccessTokenValidationException {
+        when(configurationService.getSelfUrl()).thenReturn(URI.create("https://issuer-url.gov.uk"));
+        when(configurationService.getOneLoginAuthServerUrl()).thenReturn("https://auth-url.gov.uk");
+        when(configurationService.getEnvironment()).thenReturn("test");
+        JWK publicKey = getEcKey().toPublicJWK();
+        when(jwksService.retrieveJwkFromURLWithKeyId(any(String.class))).thenReturn(publicKey);
+        SignedJWT mockAccessToken = new MockAccessTokenBuilder("ES256").build();
+        mockAccessToken.sign(ecSigner);
+
+        AccessTokenService.AccessTokenData first =
+                accessTokenService.verifyAccessToken(mockAccessToken);
+        AccessTokenService.AccessTokenData second =
+                accessTokenService.verifyAccessToken(SignedJWT.parse(mockAccessToken.serialize()));
+
+        assertSame(first, second);
+        verify(configurationService, times(1)).getSelfUrl();
+        verify(jwksService, times(1)).retrieveJwkFromURLWithKeyId(any(String.class));
+    }
+
+    @Test
+    void Should_NotCacheToken_When_SignatureVerificationFails()
+            throws JOSEException, ParseException, AccessTokenValidationException {
+        when(configurationService.getSelfUrl()).thenReturn(URI.create("https://issuer-url.gov.uk"));
+        when(configurationService.getOneLoginAuthServerUrl()).thenReturn("https://auth-url.gov.uk");
+        when(configurationService.getEnvironment()).thenReturn("test");
+        JWK publicKey = getEcKey().toPublicJWK();
+        when(jwksService.retrieveJwkFromURLWithKeyId(any(String.class))).thenReturn(publicKey);
+        SignedJWT mockAccessToken = new MockAccessTokenBuilder("ES256").build();
+        mockAccessToken.sign(new ECDSASigner(new ECKeyGenerator(Curve.P_256).generate()));
+
+        assertThrows(
+                AccessTokenValidationException.class,
+                () -> accessTokenService.verifyAccessToken(mockAccessToken));
+        assertThrows(
+                AccessTokenValidationException.class,
+                () -> accessTokenService.verifyAccessToken(mockAccessToken));
+
+        verify(jwksService, times(2)).retrieveJwkFromURLWithKeyId(any(String.class));
+    }
+
+    @Test
+    void Should_BuildVerifierOnce_When_TokensAreSignedWithSameKey()
+            throws JOSEException, ParseException, AccessTokenValidationException {
+        when(configurationService.getSelfUrl()).thenReturn(URI.create("https://issuer-url.gov.uk"));
+        when(configurationService.getOneLoginAuthServerUrl()).thenReturn("https://auth-url.gov.uk");
+        when(configurationService.getEnvironment()).thenReturn("test");
+        JWK publicKey = getEcKey().toPublicJWK();
+        when(jwksService.retrieveJwkFromURLWithKeyId(any(String.class))).thenReturn(publicKey);
+        SignedJWT firstAccessToken = new MockAccessTokenBuilder("ES256").build();
+        firstAccessToken.sign(ecSigner);
+        SignedJWT secondAccessToken = new MockAccessTokenBuilder("ES256").build();
+        secondAccessToken.sign(ecSigner);
+
+        accessTokenService.verifyAccessToken(firstAccessToken);
+        accessTokenService.verifyAccessToken(secondAccessToken);
+
+        verify(configurationService, times(1)).isFixedPointAccessTokenVerificationEnabled();
+    }
+
+    @Test
+    void Should_ReturnTokenData_When_FixedPointVerificationIsEnabled()
+            throws JOSEException, ParseException, AccessTokenValidationException {
+        when(configurationService.getSelfUrl()).thenReturn(URI.create("https://issuer-url.gov.uk"));
+        when(configurationService.getOneLoginAuthServerUrl()).thenReturn("https://auth-url.gov.uk");
+        when(configurationService.getEnvironment()).thenReturn("test");
+        when(configurationService.isFixedPointAccessTokenVerificationEnabled()).thenReturn(true);
+        JWK publicKey = getEcKey().toPublicJWK();
+        when(jwksService.retrieveJwkFromURLWithKeyId(any(String.class))).thenReturn(publicKey);
+        SignedJWT mockAccessToken = new MockAccessTokenBuilder("ES256").build();
+        mockAccessToken.sign(ecSigner);
+
+        AccessTokenService.AccessTokenData response =
+                accessTokenService.verifyAccessToken(mockAccessToken);
+
+        assertEquals("134e0c41-a8b4-46d4-aec8-cd547e125589", response.nonce());
+    }
+
     @ParameterizedTest
     @ValueSource(strings = {"local", "dev", "build", "integration"})
     void Should_SkipSignatureVerification_When_EnvironmentSkipsVerification(String environment)
@@ -0,0 +1,58 @@
+package uk.gov.di.mobile.wallet.cri.services.authentication;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccessTokenVerifierCacheTest {
+
+    private static final String KEY_ID = "cb5a1a8b-809a-4f32-944d-caae1a57ed91";
+
+    @Mock private AccessTokenVerifierCache.VerifierFactory verifierFactory;
+
+    @Test
+    void Should_BuildVerifierOnce_When_SameKeyIsUsedRepeatedly() throws Exception {
+        JWSVerifier verifier = mock(JWSVerifier.class);
+        when(verifierFactory.create(any())).thenReturn(verifier);
+        AccessTokenVerifierCache cache = new AccessTokenVerifierCache(verifierFactory);
+        JWK jwk = generateKey();
+
+        assertSame(verifier, cache.getVerifier(KEY_ID, jwk));
+        assertSame(verifier, cache.getVerifier(KEY_ID, JWK.parse(jwk.toJSONString())));
+
+        verify(verifierFactory, times(1)).create(any());
+    }
+
+    @Test
+    void Should_BuildNewVerifier_When_KeyPublishedUnderKeyIdChanges() throws Exception {
+        when(verifierFactory.create(any()))
+                .thenReturn(mock(JWSVerifier.class), mock(JWSVerifier.class));
+        AccessTokenVerifierCache cache = new AccessTokenVerifierCache(verifierFactory);
+
+        JWSVerifier first = cache.getVerifier(KEY_ID, generateKey());
+        JWSVerifier second = cache.getVerifier(KEY_ID, generateKey());
+
+        assertNotSame(first, second);
+        verify(verifierFactory, times(2)).create(any());
+    }
+
+    private static ECKey generateKey() throws JOSEException {
+        return new ECKeyGenerator(Curve.P_256).keyID(KEY_ID).generate().toPublicJWK();
+    }
+}
@@ -0,0 +1,81 @@
+package uk.gov.di.mobile.wallet.cri.services.authentication;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.util.Base64URL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static testUtils.EcKeyHelper.getEcKey;
+
+class FixedPointES256VerifierTest {
+
+    private static final JWSHeader HEADER = new JWSHeader(JWSAlgorithm.ES256);
+    private static final byte[] SIGNING_INPUT =
+            "eyJhbGciOiJFUzI1NiJ9.eyJzdWIiOiJ0ZXN0In0".getBytes(StandardCharsets.US_ASCII);
+
+    private ECKey signingKey;
+    private FixedPointES256Verifier verifier;
+
+    @BeforeEach
+    void setUp() throws ParseException, JOSEException {
+        signingKey = getEcKey();
+        verifier = new FixedPointES256Verifier(signingKey.toPublicJWK());
+    }
+
+    @Test
+    void Should_ReturnTrue_When_SignatureIsValid() throws JOSEException {
+        Base64URL signature = new ECDSASigner(signingKey).sign(HEADER, SIGNING_INPUT);
+
+        assertTrue(verifier.verify(HEADER, SIGNING_INPUT, signature));
+    }
+
+    @Test
+    void Should_ReturnFalse_When_SigningInputHasBeenModified() throws JOSEException {
+        Base64URL signature = new ECDSASigner(signingKey).sign(HEADER, SIGNING_INPUT);
+        byte[] modifiedInput = SIGNING_INPUT.clone();
+        modifiedInput[modifiedInput.length - 1] ^= 1;
+
+        assertFalse(verifier.verify(HEADER, modifiedInput, signature));
+    }
+
+    @Test
+    void Should_ReturnFalse_When_SignedWithAnotherKey() throws JOSEException {
+        ECKey otherKey = new ECKeyGenerator(Curve.P_256).generate();
+        Base64URL signature = new ECDSASigner(otherKey).sign(HEADER, SIGNING_INPUT);
+
+        assertFalse(verifier.verify(HEADER, SIGNING_INPUT, signature));
+    }
+
+    @Test
+    void Should_ReturnFalse_When_SignatureHasWrongLength() throws JOSEException {
+        Base64URL signature = Base64URL.encode(new byte[63]);
+
+        assertFalse(verifier.verify(HEADER, SIGNING_INPUT, signature));
+    }
+
+    @Test
+    void Should_ReturnFalse_When_SignatureValuesAreZero() throws JOSEException {
+        Base64URL signature = Base64URL.encode(new byte[64]);
+
+        assertFalse(verifier.verify(HEADER, SIGNING_INPUT, signature));
+    }
+
+    @Test
+    void Should_ThrowJOSEException_When_KeyIsNotOnP256() throws JOSEException {
+        ECKey p384Key = new ECKeyGenerator(Curve.P_384).generate().toPublicJWK();
+
+        assertThrows(JOSEException.class, () -> new FixedPointES256Verifier(p384Key));
+    }
+}
@@ -0,0 +1,151 @@
+package uk.gov.di.mobile.wallet.cri.services.authentication;
+
+import com.codahale.metrics.MetricRegistry;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import testUtils.MockAccessTokenBuilder;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static testUtils.EcKeyHelper.getEcKey;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedAccessTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration MAXIMUM_TTL = Duration.ofMinutes(5);
+    private static final AccessTokenService.AccessTokenData ACCESS_TOKEN_DATA =
+            new AccessTokenService.AccessTokenData(
+                    "urn:fdc:wallet.account.gov.uk:2024:DtPT8x-dp_73tnlY3KNTiCitziN9GEherD16bqxNt9i",
+                    "134e0c41-a8b4-46d4-aec8-cd547e125589",
+                    "efb52887-48d6-43b7-b14c-da7896fbf54d",
+                    "org.iso.18013.5.1.mDL");
+
+    @Mock private Clock clock;
+    private MetricRegistry metricRegistry;
+    private VerifiedAccessTokenCache cache;
+    private SignedJWT accessToken;
+
+    @BeforeEach
+    void setUp() throws ParseException, JOSEException {
+        metricRegistry = new MetricRegistry();
+        cache = new VerifiedAccessTokenCache(2, MAXIMUM_TTL, clock, metricRegistry);
+        accessToken = signedAccessToken();
+    }
+
+    @Test
+    void Should_ReturnNull_When_TokenHasNotBeenCached() {
+        when(clock.instant()).thenReturn(NOW);
+
+        assertNull(cache.get(accessToken));
+        assertEquals(1, metricRegistry.counter("access-token.cache.misses").getCount());
+    }
+
+    @Test
+    void Should_ReturnCachedData_When_SameTokenIsPresentedAgain()
+            throws ParseException, JOSEException {
+        when(clock.instant()).thenReturn(NOW);
+        cache.put(accessToken, ACCESS_TOKEN_DATA, Date.from(NOW.plus(Duration.ofMinutes(1))));
+
+        assertNull(cache.get(signedAccessToken()));
+        assertSame(ACCESS_TOKEN_DATA, cache.get(SignedJWT.parse(accessToken.serialize())));
+        assertEquals(1, metricRegistry.counter("access-token.cache.hits").getCount());
+        assertEquals(1, metricRegistry.counter("access-token.cache.misses").getCount());
+        assertEquals(
+                0.5, metricRegistry.getGauges().get("access-token.cache.hit-ratio").getValue());
+    }
+
+    @Test
+    void Should_NotReturnCachedData_When_SignatureHasBeenChanged() throws ParseException {
+        when(clock.instant()).thenReturn(NOW);
+        cache.put(accessToken, ACCESS_TOKEN_DATA, Date.from(NOW.plus(Duration.ofMinutes(1))));
+        byte[] signature = accessToken.getSignature().decode();
+        signature[0] ^= 1;
+        SignedJWT tamperedAccessToken =
+                new SignedJWT(
+                        accessToken.getHeader().toBase64URL(),
+                        accessToken.getPayload().toBase64URL(),
+                        Base64URL.encode(signature));
+
+        assertNull(cache.get(tamperedAccessToken));
+        assertFalse(cache.contains(tamperedAccessToken));
+    }
+
+    @Test
+    void Should_ExpireToken_When_ExpirationTimeIsReached() {
+        Instant expirationTime = NOW.plus(Duration.ofMinutes(1));
+        when(clock.instant()).thenReturn(NOW, expirationTime.minusMillis(1), expirationTime);
+        cache.put(accessToken, ACCESS_TOKEN_DATA, Date.from(expirationTime));
+
+        assertTrue(cache.contains(accessToken));
+        assertFalse(cache.contains(accessToken));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void Should_ExpireToken_When_MaximumTtlIsReachedBeforeExpirationTime() {
+        when(clock.instant()).thenReturn(NOW, NOW.plus(MAXIMUM_TTL));
+        cache.put(accessToken, ACCESS_TOKEN_DATA, Date.from(NOW.plus(Duration.ofHours(1))));
+
+        assertNull(cache.get(accessToken));
+    }
+
+    @Test
+    void Should_NotCacheToken_When_TokenHasAlreadyExpired() {
+        when(clock.instant()).thenReturn(NOW);
+
+        cache.put(accessToken, ACCESS_TOKEN_DATA, Date.from(NOW.minusSeconds(1)));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void Should_NotReturnCachedData_When_TokenIsUnsigned() {
+        SignedJWT unsignedAccessToken = new MockAccessTokenBuilder("ES256").build();
+
+        assertNull(cache.get(unsignedAccessToken));
+        assertFalse(cache.contains(unsignedAccessToken));
+    }
+
+    @Test
+    void Should_EvictLeastRecentlyUsedToken_When_CacheIsFull()
+            throws ParseException, JOSEException {
+        when(clock.instant()).thenReturn(NOW);
+        Date expirationTime = Date.from(NOW.plus(Duration.ofMinutes(1)));
+        SignedJWT secondAccessToken = signedAccessToken();
+        SignedJWT thirdAccessToken = signedAccessToken();
+        cache.put(accessToken, ACCESS_TOKEN_DATA, expirationTime);
+        cache.put(secondAccessToken, ACCESS_TOKEN_DATA, expirationTime);
+
+        cache.get(accessToken);
+        cache.put(thirdAccessToken, ACCESS_TOKEN_DATA, expirationTime);
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.contains(accessToken));
+        assertFalse(cache.contains(secondAccessToken));
+        assertTrue(cache.contains(thirdAccessToken));
+    }
+
+    private static SignedJWT signedAccessToken() throws ParseException, JOSEException {
+        SignedJWT signedJwt = new MockAccessTokenBuilder("ES256").build();
+        signedJwt.sign(new ECDSASigner(getEcKey()));
+        return signedJwt;
+    }
+}
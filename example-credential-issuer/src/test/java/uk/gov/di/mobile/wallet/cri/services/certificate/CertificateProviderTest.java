@@ -1,24 +1,37 @@
 package uk.gov.di.mobile.wallet.cri.services.certificate;
 
+import com.codahale.metrics.MetricRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import uk.gov.di.mobile.wallet.cri.services.object_storage.ObjectStore;
 import uk.gov.di.mobile.wallet.cri.services.object_storage.ObjectStoreException;
+import uk.gov.di.mobile.wallet.cri.services.object_storage.VersionedObject;
 
 import java.nio.charset.StandardCharsets;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
-
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class CertificateProviderTest {
 
     private ObjectStore objectStore;
+    private Clock clock;
     private CertificateProvider certificateProvider;
 
     private static final String BUCKET_NAME = "test-bucket";
@@ -48,11 +61,23 @@ class CertificateProviderTest {
           """;
     private static final byte[] CERTIFICATE_BYTES =
             CERTIFICATE_PEM.getBytes(StandardCharsets.UTF_8);
+    private static final String ETAG = "\"etag-1\"";
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(5);
 
     @BeforeEach
     void setUp() {
         objectStore = mock(ObjectStore.class);
-        certificateProvider = new CertificateProvider(objectStore, BUCKET_NAME);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        certificateProvider =
+                new CertificateProvider(
+                        objectStore,
+                        BUCKET_NAME,
+                        REFRESH_INTERVAL,
+                        Runnable::run,
+                        clock,
+                        new MetricRegistry());
     }
 
     @Test
@@ -65,9 +90,22 @@ class CertificateProviderTest {
         verify(objectStore).getObject(BUCKET_NAME, ROOT_OBJECT_KEY);
     }
 
+    @Test
+    void Should_ReturnRootCertificate_When_ItHasChanged() throws Exception {
+        VersionedObject object = new VersionedObject(CERTIFICATE_BYTES, ETAG);
+        when(objectStore.getObjectIfChanged(BUCKET_NAME, ROOT_OBJECT_KEY, "\"etag-0\""))
+                .thenReturn(Optional.of(object));
+
+        Optional<VersionedObject> result =
+                certificateProvider.getRootCertificateIfChanged(CERTIFICATE_ID, "\"etag-0\"");
+
+        assertEquals(Optional.of(object), result);
+    }
+
     @Test
     void Should_ReturnX509Certificate() throws Exception {
-        when(objectStore.getObject(BUCKET_NAME, SIGN_OBJECT_KEY)).thenReturn(CERTIFICATE_BYTES);
+        when(objectStore.getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, null))
+                .thenReturn(Optional.of(new VersionedObject(CERTIFICATE_BYTES, ETAG)));
 
         X509Certificate result = certificateProvider.getSigningCertificate(CERTIFICATE_ID);
 
@@ -77,7 +115,7 @@ class CertificateProviderTest {
 
     @Test
     void Should_PropagateExceptionThrownByObjectStore() throws Exception {
-        when(objectStore.getObject(BUCKET_NAME, SIGN_OBJECT_KEY))
+        when(objectStore.getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, null))
                 .thenThrow(new ObjectStoreException("Not found", new RuntimeException()));
 
         assertThrows(
@@ -87,11 +125,116 @@ class CertificateProviderTest {
 
     @Test
     void Should_ThrowsCertificateException_When_CertificateIsInvalid() throws Exception {
-        when(objectStore.getObject(BUCKET_NAME, SIGN_OBJECT_KEY))
-                .thenReturn("not a cert".getBytes(StandardCharsets.UTF_8));
+        when(objectStore.getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, null))
+                .thenReturn(
+                        Optional.of(
+                                new VersionedObject(
+                                        "not a cert".getBytes(StandardCharsets.UTF_8), ETAG)));
 
         assertThrows(
                 CertificateException.class,
                 () -> certificateProvider.getSigningCertificate(CERTIFICATE_ID));
     }
+
+    @Test
+    void Should_ReturnCachedCertificate_When_RequestedWithinRefreshInterval() throws Exception {
+        when(objectStore.getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, null))
+                .thenReturn(Optional.of(new VersionedObject(CERTIFICATE_BYTES, ETAG)));
+
+        X509Certificate first = certificateProvider.getSigningCertificate(CERTIFICATE_ID);
+        X509Certificate second = certificateProvider.getSigningCertificate(CERTIFICATE_ID);
+
+        assertSame(first, second);
+        verify(objectStore, times(1)).getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, null);
+    }
+
+    @Test
+    void Should_ReturnDerEncodingOfCachedCertificate() throws Exception {
+        when(objectStore.getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, null))
+                .thenReturn(Optional.of(new VersionedObject(CERTIFICATE_BYTES, ETAG)));
+
+        byte[] encoded = certificateProvider.getEncodedSigningCertificate(CERTIFICATE_ID);
+
+        assertArrayEquals(
+                certificateProvider.getSigningCertificate(CERTIFICATE_ID).getEncoded(), encoded);
+    }
+
+    @Test
+    void Should_KeepCachedCertificate_When_RefreshReportsNotModified() throws Exception {
+        when(objectStore.getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, null))
+                .thenReturn(Optional.of(new VersionedObject(CERTIFICATE_BYTES, ETAG)));
+        when(objectStore.getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, ETAG))
+                .thenReturn(Optional.empty());
+        X509Certificate cached = certificateProvider.getSigningCertificate(CERTIFICATE_ID);
+
+        when(clock.instant()).thenReturn(NOW.plus(REFRESH_INTERVAL));
+        certificateProvider.getSigningCertificate(CERTIFICATE_ID);
+        X509Certificate result = certificateProvider.getSigningCertificate(CERTIFICATE_ID);
+
+        assertSame(cached, result);
+        verify(objectStore, times(1)).getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, ETAG);
+    }
+
+    @Test
+    void Should_ReplaceCachedCertificate_When_RefreshReturnsNewVersion() throws Exception {
+        when(objectStore.getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, null))
+                .thenReturn(Optional.of(new VersionedObject(CERTIFICATE_BYTES, ETAG)));
+        when(objectStore.getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, ETAG))
+                .thenReturn(Optional.of(new VersionedObject(CERTIFICATE_BYTES, "\"etag-2\"")));
+        X509Certificate cached = certificateProvider.getSigningCertificate(CERTIFICATE_ID);
+
+        when(clock.instant()).thenReturn(NOW.plus(REFRESH_INTERVAL));
+        // The cached certificate is returned while the refresh runs
+        assertSame(cached, certificateProvider.getSigningCertificate(CERTIFICATE_ID));
+        X509Certificate result = certificateProvider.getSigningCertificate(CERTIFICATE_ID);
+
+        assertNotSame(cached, result);
+        assertEquals(cached, result);
+    }
+
+    @Test
+    void Should_KeepLastGoodCertificate_When_RefreshFails() throws Exception {
+        when(objectStore.getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, null))
+                .thenReturn(Optional.of(new VersionedObject(CERTIFICATE_BYTES, ETAG)));
+        when(objectStore.getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, ETAG))
+                .thenThrow(new ObjectStoreException("S3 unavailable", new RuntimeException()));
+        X509Certificate cached = certificateProvider.getSigningCertificate(CERTIFICATE_ID);
+
+        when(clock.instant()).thenReturn(NOW.plus(REFRESH_INTERVAL));
+        certificateProvider.getSigningCertificate(CERTIFICATE_ID);
+        X509Certificate result = certificateProvider.getSigningCertificate(CERTIFICATE_ID);
+
+        assertSame(cached, result);
+        // The failed refresh is not retried until another interval has passed
+        verify(objectStore, times(1)).getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, ETAG);
+    }
+
+    @Test
+    void Should_RetryRefresh_When_PreviousRefreshWasRejectedByExecutor() throws Exception {
+        AtomicBoolean rejectNext = new AtomicBoolean(true);
+        certificateProvider =
+                new CertificateProvider(
+                        objectStore,
+                        BUCKET_NAME,
+                        REFRESH_INTERVAL,
+                        task -> {
+                            if (rejectNext.getAndSet(false)) {
+                                throw new RejectedExecutionException("Executor is shutting down");
+                            }
+                            task.run();
+                        },
+                        clock,
+                        new MetricRegistry());
+        when(objectStore.getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, null))
+                .thenReturn(Optional.of(new VersionedObject(CERTIFICATE_BYTES, ETAG)));
+        when(objectStore.getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, ETAG))
+                .thenReturn(Optional.empty());
+        certificateProvider.getSigningCertificate(CERTIFICATE_ID);
+
+        when(clock.instant()).thenReturn(NOW.plus(REFRESH_INTERVAL));
+        certificateProvider.getSigningCertificate(CERTIFICATE_ID);
+        certificateProvider.getSigningCertificate(CERTIFICATE_ID);
+
+        verify(objectStore, times(1)).getObjectIfChanged(BUCKET_NAME, SIGN_OBJECT_KEY, ETAG);
+    }
 }
@@ -3,6 +3,7 @@ package uk.gov.di.mobile.wallet.cri.services.data_storage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -11,13 +12,15 @@ import software.amazon.awssdk.enhanced.dynamodb.DynamoDbIndex;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.Page;
 import software.amazon.awssdk.enhanced.dynamodb.model.PageIterable;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import uk.gov.di.mobile.wallet.cri.credential.StatusListClient;
 import uk.gov.di.mobile.wallet.cri.credential.StoredCredential;
 import uk.gov.di.mobile.wallet.cri.credential_offer.CachedCredentialOffer;
-import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -27,14 +30,12 @@ import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -115,39 +116,46 @@ class DynamoDbServiceTest {
     }
 
     @Test
-    void Should_ReturnCachedCredentialOffer() throws DataStoreException {
-        when(mockCredentialOfferTable.getItem(any(Key.class))).thenReturn(cachedCredentialOffer);
+    void Should_DeleteAndReturnCredentialOffer_When_RedeemingUnexpiredCredentialOffer()
+            throws DataStoreException {
+        when(mockCredentialOfferTable.deleteItem(any(DeleteItemEnhancedRequest.class)))
+                .thenReturn(cachedCredentialOffer);
 
-        CachedCredentialOffer response = dynamoDbService.getCredentialOffer(PARTITION_KEY);
+        CachedCredentialOffer response =
+                dynamoDbService.redeemCredentialOffer(PARTITION_KEY, TIME_TO_LIVE);
 
         assertEquals(cachedCredentialOffer, response);
-        verify(mockCredentialOfferTable).getItem(any(Key.class));
+        ArgumentCaptor<DeleteItemEnhancedRequest> requestCaptor =
+                ArgumentCaptor.forClass(DeleteItemEnhancedRequest.class);
+        verify(mockCredentialOfferTable).deleteItem(requestCaptor.capture());
+        DeleteItemEnhancedRequest request = requestCaptor.getValue();
+        assertEquals(PARTITION_KEY, request.key().partitionKeyValue().s());
+        assertEquals(
+                "attribute_exists(credentialIdentifier) AND timeToLive >= :redeemedAt",
+                request.conditionExpression().expression());
+        assertEquals(
+                AttributeValue.fromN(TIME_TO_LIVE.toString()),
+                request.conditionExpression().expressionValues().get(":redeemedAt"));
     }
 
     @Test
-    void Should_ThrowDataStoreException_On_ErrorGettingCredentialOffer() {
-        doThrow(new UnsupportedOperationException())
-                .when(mockCredentialOfferTable)
-                .getItem(any(Key.class));
+    void Should_ReturnNull_When_CredentialOfferIsMissingOrExpired() throws DataStoreException {
+        when(mockCredentialOfferTable.deleteItem(any(DeleteItemEnhancedRequest.class)))
+                .thenThrow(ConditionalCheckFailedException.builder().build());
 
-        DataStoreException exception =
-                assertThrows(
-                        DataStoreException.class,
-                        () -> dynamoDbService.getCredentialOffer(PARTITION_KEY));
-        assertEquals("Error fetching credential offer", exception.getMessage());
+        assertNull(dynamoDbService.redeemCredentialOffer(PARTITION_KEY, TIME_TO_LIVE));
     }
 
     @Test
-    void Should_ThrowDataStoreException_On_ErrorDeletingCredentialOffer() {
-        doThrow(new UnsupportedOperationException())
-                .when(mockCredentialOfferTable)
-                .deleteItem(any(Key.class));
+    void Should_ThrowDataStoreException_On_ErrorRedeemingCredentialOffer() {
+        when(mockCredentialOfferTable.deleteItem(any(DeleteItemEnhancedRequest.class)))
+                .thenThrow(new UnsupportedOperationException());
 
         DataStoreException exception =
                 assertThrows(
                         DataStoreException.class,
-                        () -> dynamoDbService.deleteCredentialOffer(PARTITION_KEY));
-        assertEquals("Error deleting credential offer", exception.getMessage());
+                        () -> dynamoDbService.redeemCredentialOffer(PARTITION_KEY, TIME_TO_LIVE));
+        assertEquals("Error redeeming credential offer", exception.getMessage());
     }
 
     @Test
@@ -256,48 +264,4 @@ class DynamoDbServiceTest {
         assertEquals("Error fetching credentials by documentId", exception.getMessage());
         assertEquals("Some DynamoDB error", exception.getCause().getMessage());
     }
-
-    @Test
-    void Should_GetClientForLocalEnvironment() {
-        ConfigurationService config = mock(ConfigurationService.class);
-        when(config.getEnvironment()).thenReturn("local");
-        when(config.getLocalAwsEndpoint()).thenReturn("http://localhost:4566");
-        when(config.getAwsRegion()).thenReturn("eu-west-2");
-
-        DynamoDbEnhancedClient client = DynamoDbService.getClient(config);
-
-        assertNotNull(client);
-        verify(config, times(1)).getEnvironment();
-        verify(config, times(1)).getLocalAwsEndpoint();
-        verify(config, times(1)).getAwsRegion();
-    }
-
-    @Test
-    void Should_GetClientForCiEnvironment() {
-        ConfigurationService config = mock(ConfigurationService.class);
-        when(config.getEnvironment()).thenReturn("ci");
-        when(config.getLocalAwsEndpoint()).thenReturn("http://localhost:4566");
-        when(config.getAwsRegion()).thenReturn("eu-west-2");
-
-        DynamoDbEnhancedClient client = DynamoDbService.getClient(config);
-
-        assertNotNull(client);
-        verify(config, times(1)).getEnvironment();
-        verify(config, times(1)).getLocalAwsEndpoint();
-        verify(config, times(1)).getAwsRegion();
-    }
-
-    @Test
-    void Should_GetClientForNonLocalEnvironment() {
-        ConfigurationService config = mock(ConfigurationService.class);
-        when(config.getEnvironment()).thenReturn("dev");
-        when(config.getAwsRegion()).thenReturn("eu-west-2");
-
-        DynamoDbEnhancedClient client = DynamoDbService.getClient(config);
-
-        assertNotNull(client);
-        verify(config, times(1)).getEnvironment();
-        verify(config, never()).getLocalAwsEndpoint();
-        verify(config, times(1)).getAwsRegion();
-    }
 }
@@ -4,25 +4,21 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import software.amazon.awssdk.core.ResponseInputStream;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
-import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
 import java.io.ByteArrayInputStream;
-import java.net.URI;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,59 +33,6 @@ class S3ServiceTest {
         s3Service = new S3Service(mockS3Client);
     }
 
-    @Test
-    void Should_GetClientForLocalEnvironment() {
-        ConfigurationService config = mock(ConfigurationService.class);
-        when(config.getEnvironment()).thenReturn("local");
-        when(config.getLocalAwsEndpoint()).thenReturn("http://localhost:4566");
-        when(config.getAwsRegion()).thenReturn("eu-west-2");
-
-        S3Client client = S3Service.getClient(config);
-
-        assertNotNull(client);
-        verify(config, times(1)).getEnvironment();
-        verify(config, times(1)).getLocalAwsEndpoint();
-        verify(config, times(1)).getAwsRegion();
-        assertEquals(Region.of("eu-west-2"), client.serviceClientConfiguration().region());
-        assertEquals(
-                URI.create("http://localhost:4566"),
-                client.serviceClientConfiguration().endpointOverride().get());
-    }
-
-    @Test
-    void Should_GetClientForCiEnvironment() {
-        ConfigurationService config = mock(ConfigurationService.class);
-        when(config.getEnvironment()).thenReturn("ci");
-        when(config.getLocalAwsEndpoint()).thenReturn("http://localhost:4566");
-        when(config.getAwsRegion()).thenReturn("eu-west-2");
-
-        S3Client client = S3Service.getClient(config);
-
-        assertNotNull(client);
-        verify(config, times(1)).getEnvironment();
-        verify(config, times(1)).getLocalAwsEndpoint();
-        verify(config, times(1)).getAwsRegion();
-        assertEquals(Region.of("eu-west-2"), client.serviceClientConfiguration().region());
-        assertEquals(
-                URI.create("http://localhost:4566"),
-                client.serviceClientConfiguration().endpointOverride().get());
-    }
-
-    @Test
-    void Should_GetClientForNonLocalEnvironment() {
-        ConfigurationService config = mock(ConfigurationService.class);
-        when(config.getEnvironment()).thenReturn("dev");
-        when(config.getAwsRegion()).thenReturn("eu-west-2");
-
-        S3Client client = S3Service.getClient(config);
-
-        assertNotNull(client);
-        verify(config, times(1)).getEnvironment();
-        verify(config, never()).getLocalAwsEndpoint();
-        verify(config, times(1)).getAwsRegion();
-        assertEquals(Region.of("eu-west-2"), client.serviceClientConfiguration().region());
-    }
-
     @Test
     void Should_PropagateExceptionThrownByS3Client() {
         when(mockS3Client.getObject(any(GetObjectRequest.class)))
@@ -120,4 +63,45 @@ class S3ServiceTest {
         assertEquals("bucket", captor.getValue().bucket());
         assertEquals("key", captor.getValue().key());
     }
+
+    @Test
+    void Should_GetObjectWithETag_When_ObjectHasChanged() throws Exception {
+        byte[] expectedContent = {1, 2, 3};
+        ResponseInputStream<GetObjectResponse> mockResponse =
+                new ResponseInputStream<>(
+                        GetObjectResponse.builder().eTag("\"etag-2\"").build(),
+                        new ByteArrayInputStream(expectedContent));
+        when(mockS3Client.getObject(any(GetObjectRequest.class))).thenReturn(mockResponse);
+
+        Optional<VersionedObject> result =
+                s3Service.getObjectIfChanged("bucket", "key", "\"etag-1\"");
+
+        assertTrue(result.isPresent());
+        assertArrayEquals(expectedContent, result.get().content());
+        assertEquals("\"etag-2\"", result.get().eTag());
+        ArgumentCaptor<GetObjectRequest> captor = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(mockS3Client).getObject(captor.capture());
+        assertEquals("\"etag-1\"", captor.getValue().ifNoneMatch());
+    }
+
+    @Test
+    void Should_ReturnEmpty_When_ObjectHasNotChanged() throws Exception {
+        when(mockS3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(S3Exception.builder().statusCode(304).build());
+
+        Optional<VersionedObject> result =
+                s3Service.getObjectIfChanged("bucket", "key", "\"etag-1\"");
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void Should_ThrowObjectStoreException_When_ConditionalGetFails() {
+        when(mockS3Client.getObject(any(GetObjectRequest.class)))
+                .thenThrow(S3Exception.builder().statusCode(403).build());
+
+        assertThrows(
+                ObjectStoreException.class,
+                () -> s3Service.getObjectIfChanged("bucket", "key", null));
+    }
 }
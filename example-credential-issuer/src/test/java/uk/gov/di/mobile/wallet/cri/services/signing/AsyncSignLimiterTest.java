@@ -0,0 +1,138 @@
+package uk.gov.di.mobile.wallet.cri.services.signing;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncSignLimiterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private MetricRegistry metricRegistry;
+    private AsyncSignLimiter asyncSignLimiter;
+
+    @BeforeEach
+    void setUp() {
+        metricRegistry = new MetricRegistry();
+        asyncSignLimiter = new AsyncSignLimiter(1, 1, TIMEOUT, metricRegistry, "kms.sign");
+    }
+
+    @Test
+    void Should_CompleteWithCallResult_When_BelowInFlightLimit() throws Exception {
+        CompletableFuture<String> result =
+                asyncSignLimiter.submit(() -> CompletableFuture.completedFuture("signature"));
+
+        assertEquals("signature", result.get());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void Should_QueueCallUntilInFlightCallCompletes_When_AtInFlightLimit() throws Exception {
+        CompletableFuture<String> firstCall = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+        asyncSignLimiter.submit(() -> firstCall);
+
+        CompletableFuture<String> second =
+                asyncSignLimiter.submit(
+                        () -> {
+                            started.incrementAndGet();
+                            return CompletableFuture.completedFuture("second");
+                        });
+
+        assertEquals(0, started.get());
+        assertEquals(1, inFlight());
+        assertEquals(1, queued());
+
+        firstCall.complete("first");
+
+        assertEquals("second", second.get());
+        assertEquals(1, started.get());
+        assertEquals(0, inFlight());
+        assertEquals(0, queued());
+        assertEquals(2, metricRegistry.timer("kms.sign.queue-wait").getCount());
+    }
+
+    @Test
+    void Should_RejectCall_When_QueueIsFull() {
+        asyncSignLimiter.submit(CompletableFuture::new);
+        asyncSignLimiter.submit(CompletableFuture::new);
+
+        CompletableFuture<Object> rejected = asyncSignLimiter.submit(CompletableFuture::new);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+        assertEquals(1, metricRegistry.counter("kms.sign.rejected").getCount());
+    }
+
+    @Test
+    void Should_FailWithCallException_When_CallFails() {
+        IllegalStateException failure = new IllegalStateException("KMS unavailable");
+
+        CompletableFuture<Object> result =
+                asyncSignLimiter.submit(() -> CompletableFuture.failedFuture(failure));
+
+        ExecutionException exception = assertThrows(ExecutionException.class, result::get);
+        assertSame(failure, exception.getCause());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void Should_ReleaseCapacity_When_CallThrowsBeforeStarting() throws Exception {
+        CompletableFuture<Object> failed =
+                asyncSignLimiter.submit(
+                        () -> {
+                            throw new IllegalStateException("Client closed");
+                        });
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(
+                "signature",
+                asyncSignLimiter
+                        .submit(() -> CompletableFuture.completedFuture("signature"))
+                        .get());
+    }
+
+    @Test
+    void Should_TimeOutAndNeverStartQueuedCall_When_TimeoutElapsesWhileQueued() throws Exception {
+        metricRegistry = new MetricRegistry();
+        asyncSignLimiter =
+                new AsyncSignLimiter(1, 1, Duration.ofMillis(50), metricRegistry, "kms.sign");
+        CompletableFuture<String> firstCall = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+        asyncSignLimiter.submit(() -> firstCall);
+        CompletableFuture<String> second =
+                asyncSignLimiter.submit(
+                        () -> {
+                            started.incrementAndGet();
+                            return CompletableFuture.completedFuture("second");
+                        });
+
+        ExecutionException exception = assertThrows(ExecutionException.class, second::get);
+        firstCall.complete("first");
+
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertEquals(0, started.get());
+        assertEquals(0, inFlight());
+    }
+
+    private int inFlight() {
+        return (Integer) metricRegistry.getGauges().get("kms.sign.in-flight").getValue();
+    }
+
+    private int queued() {
+        return (Integer) metricRegistry.getGauges().get("kms.sign.queued").getValue();
+    }
+}
@@ -0,0 +1,151 @@
+package uk.gov.di.mobile.wallet.cri.services.signing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KeyMetadataCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final String KEY_ALIAS = "alias/test-signing-key";
+
+    @Mock private Clock clock;
+    private AtomicInteger loads;
+    private KeyMetadataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        loads = new AtomicInteger();
+        when(clock.instant()).thenReturn(NOW);
+        cache = createCache(alias -> SigningKeyMetadata.of("key-" + loads.incrementAndGet(), true));
+    }
+
+    @Test
+    void Should_LoadOnce_When_RequestedWithinTtl() {
+        assertEquals("key-1", cache.get(KEY_ALIAS).keyId());
+        assertEquals("key-1", cache.get(KEY_ALIAS).keyId());
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void Should_ReloadInBackground_When_RequestedWithinRefreshAheadWindow() {
+        cache.get(KEY_ALIAS);
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL).minusSeconds(30));
+        // The cached value is returned while the refresh runs
+        assertEquals("key-1", cache.get(KEY_ALIAS).keyId());
+        assertEquals("key-2", cache.get(KEY_ALIAS).keyId());
+    }
+
+    @Test
+    void Should_LoadOnCallingThread_When_BackgroundReloadIsRejected() {
+        cache =
+                new KeyMetadataCache(
+                        alias -> SigningKeyMetadata.of("key-" + loads.incrementAndGet(), true),
+                        TTL,
+                        Duration.ofMinutes(1),
+                        task -> {
+                            throw new RejectedExecutionException("Executor is shutting down");
+                        },
+                        clock);
+        cache.get(KEY_ALIAS);
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL).minusSeconds(30));
+        assertEquals("key-1", cache.get(KEY_ALIAS).keyId());
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL));
+        SigningKeyMetadata metadata =
+                assertTimeoutPreemptively(Duration.ofSeconds(5), () -> cache.get(KEY_ALIAS));
+        assertEquals("key-2", metadata.keyId());
+    }
+
+    @Test
+    void Should_Reload_When_TtlHasPassed() {
+        cache.get(KEY_ALIAS);
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL));
+
+        assertEquals("key-2", cache.get(KEY_ALIAS).keyId());
+    }
+
+    @Test
+    void Should_Reload_When_KeyIdIsInvalidated() {
+        cache.get(KEY_ALIAS);
+
+        cache.invalidateKeyId("key-1");
+
+        assertEquals("key-2", cache.get(KEY_ALIAS).keyId());
+    }
+
+    @Test
+    void Should_PropagateLoaderException_When_LoadFails() {
+        cache =
+                createCache(
+                        alias -> {
+                            throw new IllegalStateException("KMS unavailable");
+                        });
+
+        IllegalStateException exception =
+                assertThrows(IllegalStateException.class, () -> cache.get(KEY_ALIAS));
+        assertEquals("KMS unavailable", exception.getMessage());
+    }
+
+    @Test
+    void Should_ShareSingleLoad_When_MissedConcurrently() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        cache =
+                createCache(
+                        alias -> {
+                            loadStarted.countDown();
+                            try {
+                                assertTrue(releaseLoad.await(5, TimeUnit.SECONDS));
+                            } catch (InterruptedException exception) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return SigningKeyMetadata.of("key-" + loads.incrementAndGet(), true);
+                        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<SigningKeyMetadata> first = executor.submit(() -> cache.get(KEY_ALIAS));
+            assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+            Future<SigningKeyMetadata> second = executor.submit(() -> cache.get(KEY_ALIAS));
+            // Give the second caller time to join the in-flight load
+            Thread.sleep(100);
+            releaseLoad.countDown();
+
+            assertEquals("key-1", first.get(5, TimeUnit.SECONDS).keyId());
+            assertEquals("key-1", second.get(5, TimeUnit.SECONDS).keyId());
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private KeyMetadataCache createCache(Function<String, SigningKeyMetadata> loader) {
+        return new KeyMetadataCache(loader, TTL, Duration.ofMinutes(1), Runnable::run, clock);
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.di.mobile.wallet.cri.services.signing;
 
+import com.codahale.metrics.MetricRegistry;
 import com.nimbusds.jose.jwk.Curve;
 import com.nimbusds.jose.jwk.ECKey;
 import com.nimbusds.jose.jwk.KeyType;
@@ -9,18 +10,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.KmsAsyncClient;
 import software.amazon.awssdk.services.kms.KmsClient;
 import software.amazon.awssdk.services.kms.model.*;
-import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
 
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -30,6 +37,8 @@ import static org.mockito.Mockito.when;
 class KmsServiceTest {
 
     @Mock private KmsService kmsService;
+    @Mock private KmsClient kmsClient;
+    @Mock private KmsAsyncClient kmsAsyncClient;
     private static final String TEST_KEY_ID = "1234abcd-12ab-34cd-56ef-1234567890ab";
     private static final String HASHED_TEST_KEY_ID =
             "0ee49f6f7aa27ef1924a735ed9542a85d8be3fb916632adbae584a1c24de91f2";
@@ -38,57 +47,116 @@ class KmsServiceTest {
     private static final String TEST_KEY_ALIAS = "test-signing-key";
 
     @Test
-    void Should_GetClientForLocalEnvironment() {
-        ConfigurationService config = mock(ConfigurationService.class);
-        when(config.getEnvironment()).thenReturn("local");
-        when(config.getKmsEndpoint()).thenReturn("http://localhost:4559");
-        when(config.getAwsRegion()).thenReturn("eu-west-2");
-
-        KmsClient client = KmsService.getClient(config);
-
-        assertNotNull(client);
-        verify(config, times(1)).getEnvironment();
-        verify(config, times(1)).getKmsEndpoint();
-        verify(config, times(1)).getAwsRegion();
+    void should_Return_KeyId() {
+        when(kmsClient.describeKey(any(DescribeKeyRequest.class)))
+                .thenReturn(getMockDescribeKeyResponse(TEST_KEY_ID, true, null));
+
+        String keyId = createKmsService().getKeyId(TEST_KEY_ALIAS);
+        assertEquals("1234abcd-12ab-34cd-56ef-1234567890ab", keyId);
     }
 
     @Test
-    void Should_GetClientForCiEnvironment() {
-        ConfigurationService config = mock(ConfigurationService.class);
-        when(config.getEnvironment()).thenReturn("ci");
-        when(config.getKmsEndpoint()).thenReturn("http://localhost:4559");
-        when(config.getAwsRegion()).thenReturn("eu-west-2");
-
-        KmsClient client = KmsService.getClient(config);
-
-        assertNotNull(client);
-        verify(config, times(1)).getEnvironment();
-        verify(config, times(1)).getKmsEndpoint();
-        verify(config, times(1)).getAwsRegion();
+    void should_Return_KeyMetadata_With_Derived_KeyIds() {
+        when(kmsClient.describeKey(any(DescribeKeyRequest.class)))
+                .thenReturn(getMockDescribeKeyResponse(TEST_KEY_ID, true, null));
+
+        SigningKeyMetadata keyMetadata = createKmsService().getKeyMetadata(TEST_KEY_ALIAS);
+
+        assertEquals(TEST_KEY_ID, keyMetadata.keyId());
+        assertEquals(HASHED_TEST_KEY_ID, keyMetadata.hashedKeyId());
+        assertEquals(
+                "did:web:example.com#" + HASHED_TEST_KEY_ID,
+                keyMetadata.didWebKeyId("example.com"));
     }
 
     @Test
-    void Should_GetClientForNonLocalEnvironment() {
-        ConfigurationService config = mock(ConfigurationService.class);
-        when(config.getEnvironment()).thenReturn("dev");
-        when(config.getAwsRegion()).thenReturn("eu-west-2");
+    void should_Describe_Key_Once_When_KeyId_Is_Requested_Repeatedly() {
+        when(kmsClient.describeKey(any(DescribeKeyRequest.class)))
+                .thenReturn(getMockDescribeKeyResponse(TEST_KEY_ID, true, null));
+        KmsService service = createKmsService();
 
-        KmsClient client = KmsService.getClient(config);
+        service.getKeyId(TEST_KEY_ALIAS);
+        service.getKeyId(TEST_KEY_ALIAS);
+        service.isKeyActive(TEST_KEY_ALIAS);
 
-        assertNotNull(client);
-        verify(config, times(1)).getEnvironment();
-        verify(config, never()).getKmsEndpoint();
-        verify(config, times(1)).getAwsRegion();
+        verify(kmsClient, times(1)).describeKey(any(DescribeKeyRequest.class));
     }
 
     @Test
-    void should_Return_KeyId() {
-        when(kmsService.describeKey(any(DescribeKeyRequest.class)))
+    void should_Describe_Key_Again_When_Signing_Fails_Because_Key_Is_Disabled() {
+        when(kmsClient.describeKey(any(DescribeKeyRequest.class)))
                 .thenReturn(getMockDescribeKeyResponse(TEST_KEY_ID, true, null));
-        when(kmsService.getKeyId(TEST_KEY_ALIAS)).thenCallRealMethod();
+        when(kmsClient.sign(any(SignRequest.class)))
+                .thenThrow(DisabledException.builder().message("Key is disabled").build());
+        KmsService service = createKmsService();
+        service.getKeyId(TEST_KEY_ALIAS);
 
-        String keyId = kmsService.getKeyId(TEST_KEY_ALIAS);
-        assertEquals("1234abcd-12ab-34cd-56ef-1234567890ab", keyId);
+        SignRequest signRequest = SignRequest.builder().keyId(TEST_KEY_ID).build();
+        assertThrows(DisabledException.class, () -> service.sign(signRequest));
+        service.getKeyId(TEST_KEY_ALIAS);
+
+        verify(kmsClient, times(2)).describeKey(any(DescribeKeyRequest.class));
+    }
+
+    @Test
+    void should_Sign_Through_Async_Client_When_Async_Client_Is_Given() throws Exception {
+        SignResponse signResponse = SignResponse.builder().keyId(TEST_KEY_ID).build();
+        when(kmsAsyncClient.sign(any(SignRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(signResponse));
+        KmsService service = createAsyncKmsService();
+
+        SignRequest signRequest = SignRequest.builder().keyId(TEST_KEY_ID).build();
+
+        assertSame(signResponse, service.signAsync(signRequest).get());
+        verify(kmsClient, never()).sign(any(SignRequest.class));
+    }
+
+    @Test
+    void should_Sign_On_Calling_Thread_When_No_Async_Client_Is_Given() throws Exception {
+        SignResponse signResponse = SignResponse.builder().keyId(TEST_KEY_ID).build();
+        when(kmsClient.sign(any(SignRequest.class))).thenReturn(signResponse);
+
+        SignRequest signRequest = SignRequest.builder().keyId(TEST_KEY_ID).build();
+        CompletableFuture<SignResponse> result = createKmsService().signAsync(signRequest);
+
+        assertTrue(result.isDone());
+        assertSame(signResponse, result.get());
+    }
+
+    @Test
+    void should_Describe_Key_Again_When_Async_Signing_Fails_Because_Key_Is_Disabled() {
+        when(kmsClient.describeKey(any(DescribeKeyRequest.class)))
+                .thenReturn(getMockDescribeKeyResponse(TEST_KEY_ID, true, null));
+        when(kmsAsyncClient.sign(any(SignRequest.class)))
+                .thenReturn(
+                        CompletableFuture.failedFuture(
+                                DisabledException.builder().message("Key is disabled").build()));
+        KmsService service = createAsyncKmsService();
+        service.getKeyId(TEST_KEY_ALIAS);
+
+        SignRequest signRequest = SignRequest.builder().keyId(TEST_KEY_ID).build();
+        ExecutionException exception =
+                assertThrows(ExecutionException.class, () -> service.signAsync(signRequest).get());
+        service.getKeyId(TEST_KEY_ALIAS);
+
+        assertInstanceOf(DisabledException.class, exception.getCause());
+        verify(kmsClient, times(2)).describeKey(any(DescribeKeyRequest.class));
+    }
+
+    @Test
+    void should_Return_False_When_Key_Is_Due_For_Deletion() {
+        when(kmsClient.describeKey(any(DescribeKeyRequest.class)))
+                .thenReturn(getMockDescribeKeyResponse(TEST_KEY_ID, true, Instant.now()));
+
+        assertFalse(createKmsService().isKeyActive(TEST_KEY_ALIAS));
+    }
+
+    @Test
+    void should_Return_False_When_Key_Is_Not_Found() {
+        when(kmsClient.describeKey(any(DescribeKeyRequest.class)))
+                .thenThrow(NotFoundException.builder().message("Not found").build());
+
+        assertFalse(createKmsService().isKeyActive(TEST_KEY_ALIAS));
     }
 
     @Test
@@ -108,6 +176,23 @@ class KmsServiceTest {
         assertEquals("ZS4QGXEhtywj9ivxlgx1dIJkFS7l2TInfT9r3Onmpvo", publicKey.getX().toString());
     }
 
+    private KmsService createKmsService() {
+        return new KmsService(
+                kmsClient, Duration.ofMinutes(5), Duration.ofMinutes(1), Runnable::run);
+    }
+
+    private KmsService createAsyncKmsService() {
+        AsyncSignLimiter asyncSignLimiter =
+                new AsyncSignLimiter(1, 1, Duration.ofSeconds(5), new MetricRegistry(), "kms.sign");
+        return new KmsService(
+                kmsClient,
+                kmsAsyncClient,
+                asyncSignLimiter,
+                Duration.ofMinutes(5),
+                Duration.ofMinutes(1),
+                Runnable::run);
+    }
+
     public static DescribeKeyResponse getMockDescribeKeyResponse(
             String keyId, boolean enabled, Instant deletionDate) {
         return DescribeKeyResponse.builder()
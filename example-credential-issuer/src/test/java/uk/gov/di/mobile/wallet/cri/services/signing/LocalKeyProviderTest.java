@@ -0,0 +1,139 @@
+package uk.gov.di.mobile.wallet.cri.services.signing;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.ECKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.kms.model.DescribeKeyRequest;
+import software.amazon.awssdk.services.kms.model.KeyMetadata;
+import software.amazon.awssdk.services.kms.model.MessageType;
+import software.amazon.awssdk.services.kms.model.SignRequest;
+import software.amazon.awssdk.services.kms.model.SignResponse;
+import software.amazon.awssdk.services.kms.model.SigningAlgorithmSpec;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Signature;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.di.mobile.wallet.cri.util.HashUtil.sha256;
+import static uk.gov.di.mobile.wallet.cri.util.HashUtil.sha256Hex;
+
+class LocalKeyProviderTest {
+
+    private static final String KEY_ALIAS = "alias/localSigningKeyAlias";
+    private static final String KEY_ID = "1291b7bc-3d2c-47f0-a52a-cb6cb0fba6b4";
+    private static final String KEY_ARN = "arn:aws:kms:eu-west-2:000000000000:key/" + KEY_ID;
+    private static final byte[] MESSAGE = "header.payload".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void Should_SignDigestVerifiableWithPublicKey() throws Exception {
+        LocalKeyProvider keyProvider = new LocalKeyProvider();
+
+        SignResponse response = keyProvider.sign(signRequest(KEY_ALIAS, MessageType.DIGEST));
+
+        assertTrue(verify(keyProvider.getPublicKey(KEY_ALIAS), response));
+    }
+
+    @Test
+    void Should_SignRawMessageVerifiableWithPublicKey() throws Exception {
+        LocalKeyProvider keyProvider = new LocalKeyProvider();
+
+        SignResponse response = keyProvider.sign(signRequest(KEY_ALIAS, MessageType.RAW));
+
+        assertTrue(verify(keyProvider.getPublicKey(KEY_ALIAS), response));
+    }
+
+    @Test
+    void Should_ResolveArnToKeyIdItContains() throws Exception {
+        LocalKeyProvider keyProvider = new LocalKeyProvider();
+
+        SignResponse response = keyProvider.sign(signRequest(KEY_ARN, MessageType.DIGEST));
+
+        assertEquals(KEY_ID, response.keyId());
+        assertEquals(KEY_ID, keyProvider.getKeyId(KEY_ARN));
+        assertTrue(verify(keyProvider.getPublicKey(KEY_ID), response));
+    }
+
+    @Test
+    void Should_ResolveAliasToStableKeyId() {
+        String keyId = new LocalKeyProvider().getKeyId(KEY_ALIAS);
+
+        assertEquals(keyId, new LocalKeyProvider().getKeyId(KEY_ALIAS));
+        assertNotEquals(keyId, new LocalKeyProvider().getKeyId("alias/otherSigningKeyAlias"));
+    }
+
+    @Test
+    void Should_ReturnKeyMetadataAndJwkMatchingKms() {
+        LocalKeyProvider keyProvider = new LocalKeyProvider();
+        String keyId = keyProvider.getKeyId(KEY_ALIAS);
+
+        SigningKeyMetadata keyMetadata = keyProvider.getKeyMetadata(KEY_ALIAS);
+        ECKey publicKey = keyProvider.getPublicKey(KEY_ALIAS);
+
+        assertEquals(keyId, keyMetadata.keyId());
+        assertEquals(sha256Hex(keyId), keyMetadata.hashedKeyId());
+        assertEquals(sha256Hex(keyId), publicKey.getKeyID());
+        assertEquals(JWSAlgorithm.ES256, publicKey.getAlgorithm());
+        assertTrue(keyProvider.isKeyActive(KEY_ALIAS));
+    }
+
+    @Test
+    void Should_DescribeKeyAsEnabled() {
+        KeyMetadata keyMetadata =
+                new LocalKeyProvider()
+                        .describeKey(DescribeKeyRequest.builder().keyId(KEY_ARN).build())
+                        .keyMetadata();
+
+        assertEquals(KEY_ID, keyMetadata.keyId());
+        assertTrue(keyMetadata.enabled());
+    }
+
+    @Test
+    void Should_ReloadStoredKey_When_KeyDirectoryIsGiven(@TempDir Path keyDirectory)
+            throws Exception {
+        ECKey publicKey = new LocalKeyProvider(keyDirectory).getPublicKey(KEY_ARN);
+
+        LocalKeyProvider restartedKeyProvider = new LocalKeyProvider(keyDirectory);
+        SignResponse response = restartedKeyProvider.sign(signRequest(KEY_ARN, MessageType.DIGEST));
+
+        assertTrue(Files.exists(keyDirectory.resolve(KEY_ID + ".pem")));
+        assertEquals(publicKey, restartedKeyProvider.getPublicKey(KEY_ARN));
+        assertTrue(verify(publicKey, response));
+    }
+
+    @Test
+    void Should_ThrowIllegalArgumentException_When_SigningAlgorithmIsUnsupported() {
+        SignRequest signRequest =
+                SignRequest.builder()
+                        .keyId(KEY_ALIAS)
+                        .message(SdkBytes.fromByteArray(MESSAGE))
+                        .signingAlgorithm(SigningAlgorithmSpec.ECDSA_SHA_384)
+                        .build();
+        LocalKeyProvider keyProvider = new LocalKeyProvider();
+
+        assertThrows(IllegalArgumentException.class, () -> keyProvider.sign(signRequest));
+    }
+
+    private static SignRequest signRequest(String keyId, MessageType messageType) {
+        byte[] message = messageType == MessageType.DIGEST ? sha256(MESSAGE) : MESSAGE;
+        return SignRequest.builder()
+                .keyId(keyId)
+                .message(SdkBytes.fromByteArray(message))
+                .messageType(messageType)
+                .signingAlgorithm(SigningAlgorithmSpec.ECDSA_SHA_256)
+                .build();
+    }
+
+    private static boolean verify(ECKey publicKey, SignResponse response) throws Exception {
+        Signature signature = Signature.getInstance("SHA256withECDSA");
+        signature.initVerify(publicKey.toECPublicKey());
+        signature.update(MESSAGE);
+        return signature.verify(response.signature().asByteArray());
+    }
+}
@@ -0,0 +1,161 @@
+package uk.gov.di.mobile.wallet.cri.services.signing;
+
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import org.bouncycastle.openssl.PEMException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import uk.gov.di.mobile.wallet.cri.services.ConfigurationService;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PublicKeyCacheTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final String KEY_ALIAS = "alias/test-signing-key";
+
+    @Mock private KeyProvider keyProvider;
+    @Mock private ConfigurationService configurationService;
+    @Mock private Clock clock;
+    private PublicKeyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.instant()).thenReturn(NOW);
+        when(configurationService.getSigningKeyAliases()).thenReturn(List.of(KEY_ALIAS));
+        cache =
+                new PublicKeyCache(
+                        keyProvider,
+                        configurationService,
+                        TTL,
+                        Duration.ofMinutes(1),
+                        Runnable::run,
+                        clock);
+    }
+
+    @Test
+    void Should_LoadOnce_When_RequestedWithinTtl() throws Exception {
+        ECKey key = generateKey("key-1");
+        when(keyProvider.isKeyActive(KEY_ALIAS)).thenReturn(true);
+        when(keyProvider.getPublicKey(KEY_ALIAS)).thenReturn(key);
+
+        assertEquals(List.of(key), cache.getActiveKeys());
+        assertEquals(List.of(key), cache.getActiveKeys());
+
+        verify(keyProvider, times(1)).getPublicKey(KEY_ALIAS);
+    }
+
+    @Test
+    void Should_ReloadInBackground_When_RequestedWithinRefreshAheadWindow() throws Exception {
+        ECKey firstKey = generateKey("key-1");
+        ECKey secondKey = generateKey("key-2");
+        when(keyProvider.isKeyActive(KEY_ALIAS)).thenReturn(true);
+        when(keyProvider.getPublicKey(KEY_ALIAS)).thenReturn(firstKey, secondKey);
+        cache.getActiveKeys();
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL).minusSeconds(30));
+        // The cached keys are returned while the reload runs
+        assertEquals(List.of(firstKey), cache.getActiveKeys());
+        assertEquals(List.of(secondKey), cache.getActiveKeys());
+    }
+
+    @Test
+    void Should_LoadOnCallingThread_When_BackgroundReloadIsRejected() throws Exception {
+        PublicKeyCache rejectingCache =
+                new PublicKeyCache(
+                        keyProvider,
+                        configurationService,
+                        TTL,
+                        Duration.ofMinutes(1),
+                        task -> {
+                            throw new RejectedExecutionException("Executor is shutting down");
+                        },
+                        clock);
+        ECKey firstKey = generateKey("key-1");
+        ECKey secondKey = generateKey("key-2");
+        when(keyProvider.isKeyActive(KEY_ALIAS)).thenReturn(true);
+        when(keyProvider.getPublicKey(KEY_ALIAS)).thenReturn(firstKey, secondKey);
+        rejectingCache.getActiveKeys();
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL).minusSeconds(30));
+        assertEquals(List.of(firstKey), rejectingCache.getActiveKeys());
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL).plusSeconds(1));
+        List<ECKey> keys =
+                assertTimeoutPreemptively(
+                        Duration.ofSeconds(5), () -> rejectingCache.getActiveKeys());
+        assertEquals(List.of(secondKey), keys);
+    }
+
+    @Test
+    void Should_ReturnSameList_When_ReloadedKeysHaveNotChanged() throws Exception {
+        when(keyProvider.isKeyActive(KEY_ALIAS)).thenReturn(true);
+        when(keyProvider.getPublicKey(KEY_ALIAS)).thenReturn(generateKey("key-1"));
+        List<ECKey> first = cache.getActiveKeys();
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL));
+        List<ECKey> second = cache.getActiveKeys();
+
+        assertSame(first, second);
+        verify(keyProvider, times(2)).getPublicKey(KEY_ALIAS);
+    }
+
+    @Test
+    void Should_ReturnLastKnownGoodKeys_When_ReloadFails() throws Exception {
+        ECKey key = generateKey("key-1");
+        when(keyProvider.isKeyActive(KEY_ALIAS)).thenReturn(true);
+        when(keyProvider.getPublicKey(KEY_ALIAS))
+                .thenReturn(key)
+                .thenThrow(SdkClientException.create("KMS unavailable"));
+        List<ECKey> loaded = cache.getActiveKeys();
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL));
+
+        assertSame(loaded, cache.getActiveKeys());
+    }
+
+    @Test
+    void Should_PropagateException_When_FirstLoadFails() throws Exception {
+        when(keyProvider.isKeyActive(KEY_ALIAS)).thenReturn(true);
+        when(keyProvider.getPublicKey(KEY_ALIAS)).thenThrow(new PEMException("Invalid key"));
+
+        PEMException exception = assertThrows(PEMException.class, cache::getActiveKeys);
+        assertEquals("Invalid key", exception.getMessage());
+    }
+
+    @Test
+    void Should_ThrowKeyNotActiveException_When_NoSigningKeyIsActiveAnyMore() throws Exception {
+        when(keyProvider.isKeyActive(KEY_ALIAS)).thenReturn(true, false);
+        when(keyProvider.getPublicKey(KEY_ALIAS)).thenReturn(generateKey("key-1"));
+        cache.getActiveKeys();
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL));
+
+        KeyNotActiveException exception =
+                assertThrows(KeyNotActiveException.class, cache::getActiveKeys);
+        assertEquals("Public key is not active", exception.getMessage());
+    }
+
+    private static ECKey generateKey(String keyId) throws Exception {
+        return new ECKeyGenerator(Curve.P_256).keyID(keyId).generate().toPublicJWK();
+    }
+}
@@ -0,0 +1,211 @@
+package uk.gov.di.mobile.wallet.cri.services.signing;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.kms.model.DisabledException;
+import software.amazon.awssdk.services.kms.model.KmsException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SigningKeyPoolTest {
+
+    private static final List<String> KEY_ALIASES = List.of("key-1", "key-2", "key-3");
+    private static final Clock CLOCK = Clock.fixed(Instant.EPOCH, ZoneOffset.UTC);
+
+    @Test
+    void Should_UseEachKeyInTurn_When_RoundRobin() throws Exception {
+        SigningKeyPool signingKeyPool = new SigningKeyPool(KEY_ALIASES);
+
+        List<String> used = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            used.add(signingKeyPool.withKey(keyAlias -> keyAlias));
+        }
+
+        assertEquals(List.of("key-1", "key-2", "key-3", "key-1", "key-2", "key-3"), used);
+    }
+
+    @Test
+    void Should_UseKeyWithFewestOperationsInFlight_When_LeastLoaded() throws Exception {
+        SigningKeyPool signingKeyPool =
+                new SigningKeyPool(
+                        KEY_ALIASES,
+                        SigningKeyPool.SelectionStrategy.LEAST_LOADED,
+                        Duration.ofSeconds(1),
+                        CLOCK);
+        List<CompletableFuture<String>> inFlight = new ArrayList<>();
+        for (int i = 0; i < KEY_ALIASES.size(); i++) {
+            signingKeyPool.withKeyAsync(keyAlias -> startOperation(inFlight));
+        }
+        inFlight.get(1).complete("key-2");
+
+        String selected = signingKeyPool.withKey(keyAlias -> keyAlias);
+
+        assertEquals("key-2", selected);
+    }
+
+    @Test
+    void Should_RetryWithAnotherKey_When_KeyIsThrottled() throws Exception {
+        SigningKeyPool signingKeyPool = new SigningKeyPool(KEY_ALIASES);
+        List<String> tried = new ArrayList<>();
+
+        String result =
+                signingKeyPool.withKey(
+                        keyAlias -> {
+                            tried.add(keyAlias);
+                            if (keyAlias.equals("key-1")) {
+                                throw new SigningException("Error signing token", throttled());
+                            }
+                            return keyAlias;
+                        });
+
+        assertEquals("key-2", result);
+        assertEquals(List.of("key-1", "key-2"), tried);
+    }
+
+    @Test
+    void Should_PassOverThrottledKey_Until_CooldownElapses() throws Exception {
+        MutableClock clock = new MutableClock();
+        SigningKeyPool signingKeyPool =
+                new SigningKeyPool(
+                        List.of("key-1", "key-2"),
+                        SigningKeyPool.SelectionStrategy.ROUND_ROBIN,
+                        Duration.ofSeconds(1),
+                        clock);
+        signingKeyPool.withKey(
+                keyAlias -> {
+                    if (keyAlias.equals("key-1")) {
+                        throw throttled();
+                    }
+                    return keyAlias;
+                });
+
+        assertEquals("key-2", signingKeyPool.withKey(keyAlias -> keyAlias));
+        assertEquals("key-2", signingKeyPool.withKey(keyAlias -> keyAlias));
+
+        clock.advance(Duration.ofSeconds(1));
+
+        assertEquals("key-1", signingKeyPool.withKey(keyAlias -> keyAlias));
+        assertEquals("key-2", signingKeyPool.withKey(keyAlias -> keyAlias));
+    }
+
+    @Test
+    void Should_ThrowLastException_When_EveryKeyIsThrottled() {
+        SigningKeyPool signingKeyPool = new SigningKeyPool(KEY_ALIASES);
+        List<String> tried = new ArrayList<>();
+        KmsException exception = throttled();
+
+        KmsException thrown =
+                assertThrows(
+                        KmsException.class,
+                        () ->
+                                signingKeyPool.withKey(
+                                        keyAlias -> {
+                                            tried.add(keyAlias);
+                                            throw exception;
+                                        }));
+
+        assertSame(exception, thrown);
+        assertEquals(KEY_ALIASES, tried.stream().sorted().toList());
+    }
+
+    @Test
+    void Should_NotRetry_When_FailureIsNotThrottling() {
+        SigningKeyPool signingKeyPool = new SigningKeyPool(KEY_ALIASES);
+        List<String> tried = new ArrayList<>();
+
+        assertThrows(
+                DisabledException.class,
+                () ->
+                        signingKeyPool.withKey(
+                                keyAlias -> {
+                                    tried.add(keyAlias);
+                                    throw DisabledException.builder().build();
+                                }));
+
+        assertEquals(List.of("key-1"), tried);
+    }
+
+    @Test
+    void Should_RetryAsyncOperationWithAnotherKey_When_KeyIsThrottled() throws Exception {
+        SigningKeyPool signingKeyPool = new SigningKeyPool(KEY_ALIASES);
+
+        String result =
+                signingKeyPool
+                        .withKeyAsync(
+                                keyAlias ->
+                                        keyAlias.equals("key-1")
+                                                ? CompletableFuture.failedFuture(throttled())
+                                                : CompletableFuture.completedFuture(keyAlias))
+                        .get();
+
+        assertEquals("key-2", result);
+    }
+
+    @Test
+    void Should_FailAsyncOperation_When_EveryKeyIsThrottled() {
+        SigningKeyPool signingKeyPool = new SigningKeyPool(KEY_ALIASES);
+        KmsException exception = throttled();
+
+        CompletableFuture<String> result =
+                signingKeyPool.withKeyAsync(keyAlias -> CompletableFuture.failedFuture(exception));
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, result::get);
+        assertSame(exception, thrown.getCause());
+    }
+
+    @Test
+    void Should_ThrowIllegalArgumentException_When_NoKeysAreGiven() {
+        assertThrows(IllegalArgumentException.class, () -> new SigningKeyPool(List.of()));
+    }
+
+    private static CompletableFuture<String> startOperation(
+            List<CompletableFuture<String>> inFlight) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        inFlight.add(future);
+        return future;
+    }
+
+    private static KmsException throttled() {
+        return (KmsException)
+                KmsException.builder()
+                        .statusCode(400)
+                        .awsErrorDetails(
+                                AwsErrorDetails.builder().errorCode("ThrottlingException").build())
+                        .build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant = Instant.EPOCH;
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}